@@ -0,0 +1,98 @@
+package hr.fer.oprpp1.custom.collections;
+
+import java.util.Arrays;
+
+/**
+ * The {@code IntStack} class represents a stack of {@code int} values. It is the primitive specialization of
+ * {@link ObjectStack}: the values are kept in an {@code int[]} array, so pushing a value never boxes it.
+ * The array doubles when it is full and is halved when the stack shrinks to a quarter of its capacity.
+ * 
+ * @author Iva Maria Ivanković
+ * @version 1.0
+ */
+public class IntStack {
+	
+	/**
+	 * The values on the stack, the top of the stack being at the index {@code size}-1.
+	 */
+	private int[] elements;
+	
+	/**
+	 * The number of values on the stack.
+	 */
+	private int size;
+	
+	/**
+	 * Default constructor.
+	 */
+	public IntStack() {
+		this.elements = new int[ObjectStack.DEFAULT_CAPACITY];
+	}
+	
+	/**
+	 * Determines whether the stack is empty.
+	 * 
+	 * @return {@code true} if the stack contains no values, {@code false} otherwise.
+	 */
+	public boolean isEmpty() {
+		return this.size == 0;
+	}
+	
+	/**
+	 * Determines the size of the stack.
+	 * 
+	 * @return the number of values on the stack.
+	 */
+	public int size() {
+		return this.size;
+	}
+	
+	/**
+	 * Pushes the provided {@code value} onto the top of the stack.
+	 * 
+	 * @param value the value which is to be pushed onto the stack.
+	 */
+	public void push(int value) {
+		if(this.size == this.elements.length) {
+			this.elements = Arrays.copyOf(this.elements, 2 * this.elements.length);
+		}
+		this.elements[this.size++] = value;
+	}
+	
+	/**
+	 * Removes last value pushed onto the stack and returns it.
+	 * 
+	 * @return the value which was last put onto the top of the stack.
+	 * @throws EmptyStackException when there is nothing to pop from the stack because the stack is empty.
+	 */
+	public int pop() {
+		if(this.size == 0) throw new EmptyStackException("The stack is empty. There is nothing to pop.");
+		
+		int popped = this.elements[--this.size];
+		if(this.size < this.elements.length / 4 && this.elements.length > ObjectStack.DEFAULT_CAPACITY) {
+			this.elements = Arrays.copyOf(this.elements, this.elements.length / 2);
+		}
+		return popped;
+	}
+	
+	/**
+	 * Retrieves last value that was put on the top of the stack.
+	 * 
+	 * @return the value which was last put onto the top of the stack.
+	 * @throws EmptyStackException when the stack is empty.
+	 */
+	public int peek() {
+		if(this.size == 0) throw new EmptyStackException("The stack is empty.");
+		
+		return this.elements[this.size - 1];
+	}
+	
+	/**
+	 * Removes all values from the stack and returns the array to its default capacity.
+	 */
+	public void clear() {
+		this.elements = new int[ObjectStack.DEFAULT_CAPACITY];
+		this.size = 0;
+	}
+	
+}
@@ -1,6 +1,6 @@
 package hr.fer.oprpp1.custom.collections.demo;
 
-import hr.fer.oprpp1.custom.collections.ObjectStack;
+import hr.fer.oprpp1.custom.collections.IntStack;
 
 /**
  * The {@code StackDemo} class represents a command-line application which accepts a single command-line argument: an expression
@@ -21,14 +21,14 @@ public class StackDemo {
 		
 		String[] split = args[0].split("\\s+");
 		
-		ObjectStack stack = new ObjectStack();
+		IntStack stack = new IntStack();
 		
 		for(String symbol : split) {
 			if(isNumeric(symbol)) {
-				stack.push(symbol);
+				stack.push(Integer.parseInt(symbol));
 			} else {
-				int operator2 = Integer.parseInt(stack.pop().toString());
-				int operator1 = Integer.parseInt(stack.pop().toString());
+				int operator2 = stack.pop();
+				int operator1 = stack.pop();
 				
 				switch(symbol) {
 					case "+":
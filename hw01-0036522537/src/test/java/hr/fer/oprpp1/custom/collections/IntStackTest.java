@@ -0,0 +1,39 @@
+package hr.fer.oprpp1.custom.collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+
+public class IntStackTest {
+	
+	@Test
+	public void testPushAndPop() {
+		IntStack stack = new IntStack();
+		for(int i = 0; i < 100; i++) stack.push(i);
+		assertEquals(100, stack.size());
+		
+		for(int i = 99; i >= 0; i--) {
+			assertEquals(i, stack.peek());
+			assertEquals(i, stack.pop());
+		}
+		assertTrue(stack.isEmpty());
+	}
+	
+	@Test
+	public void testEmptyStackThrows() {
+		IntStack stack = new IntStack();
+		assertThrows(EmptyStackException.class, stack::pop);
+		assertThrows(EmptyStackException.class, stack::peek);
+	}
+	
+	@Test
+	public void testClear() {
+		IntStack stack = new IntStack();
+		stack.push(3);
+		stack.push(7);
+		stack.clear();
+		
+		assertTrue(stack.isEmpty());
+		assertThrows(EmptyStackException.class, stack::pop);
+	}
+	
+}
@@ -0,0 +1,130 @@
+package hr.fer.oprpp1.custom.collections.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import hr.fer.oprpp1.custom.collections.ArrayIndexedCollection;
+
+/**
+ * Compares the bulk operations of {@link ArrayIndexedCollection} ({@code addAll}, {@code insertAll},
+ * {@code removeRange} and {@code removeIf}) with the element-by-element idioms they replace, on lists
+ * of one million elements. Every benchmark works on a fresh copy of the list, made in an invocation-level
+ * setup so that the copying is not measured.
+ *
+ * @author Iva Maria Ivanković
+ * @version 1.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@State(Scope.Thread)
+public class ArrayIndexedCollectionBenchmark {
+
+	/**
+	 * The number of elements in the list.
+	 */
+	@Param({"1000000"})
+	private int size;
+
+	/**
+	 * The number of elements inserted or removed by the batch benchmarks.
+	 */
+	@Param({"1000"})
+	private int batch;
+
+	/**
+	 * The original list, copied before every invocation.
+	 */
+	private ArrayIndexedCollection<Integer> source;
+
+	/**
+	 * A small list which is inserted into the list under test.
+	 */
+	private ArrayIndexedCollection<Integer> inserted;
+
+	/**
+	 * The list under test.
+	 */
+	private ArrayIndexedCollection<Integer> list;
+
+	@Setup(Level.Trial)
+	public void setUpTrial() {
+		this.source = new ArrayIndexedCollection<>(this.size);
+		for(int i = 0; i < this.size; i++) this.source.add(i);
+
+		this.inserted = new ArrayIndexedCollection<>(this.batch);
+		for(int i = 0; i < this.batch; i++) this.inserted.add(-i);
+	}
+
+	@Setup(Level.Invocation)
+	public void setUpInvocation() {
+		this.list = new ArrayIndexedCollection<>(this.source);
+	}
+
+	@Benchmark
+	public ArrayIndexedCollection<Integer> addOneByOne() {
+		ArrayIndexedCollection<Integer> copy = new ArrayIndexedCollection<>();
+		this.source.forEach(copy::add);
+		return copy;
+	}
+
+	@Benchmark
+	public ArrayIndexedCollection<Integer> addAll() {
+		ArrayIndexedCollection<Integer> copy = new ArrayIndexedCollection<>();
+		copy.addAll(this.source);
+		return copy;
+	}
+
+	@Benchmark
+	public ArrayIndexedCollection<Integer> insertOneByOne() {
+		for(int i = 0; i < this.batch; i++) this.list.insert(this.inserted.get(i), this.size / 2 + i);
+		return this.list;
+	}
+
+	@Benchmark
+	public ArrayIndexedCollection<Integer> insertAll() {
+		this.list.insertAll(this.inserted, this.size / 2);
+		return this.list;
+	}
+
+	@Benchmark
+	public ArrayIndexedCollection<Integer> removeOneByOne() {
+		for(int i = 0; i < this.batch; i++) this.list.remove(this.size / 2);
+		return this.list;
+	}
+
+	@Benchmark
+	public ArrayIndexedCollection<Integer> removeRange() {
+		this.list.removeRange(this.size / 2, this.size / 2 + this.batch);
+		return this.list;
+	}
+
+	@Benchmark
+	public ArrayIndexedCollection<Integer> removeEveryTenthOneByOne() {
+		for(int i = this.list.size() - 1; i >= 0; i--) {
+			if(this.list.get(i) % 10 == 0) this.list.remove(i);
+		}
+		return this.list;
+	}
+
+	@Benchmark
+	public ArrayIndexedCollection<Integer> removeEveryTenthWithRemoveIf() {
+		this.list.removeIf(value -> value % 10 == 0);
+		return this.list;
+	}
+
+}
@@ -0,0 +1,52 @@
+package hr.fer.oprpp1.custom.collections.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks comparing the collections of this project with the ones of {@code java.util}
+ * ({@link ListVsJdkBenchmark} and {@link MapVsJdkBenchmark}) with the GC profiler attached, so that
+ * every result reports the allocation rate ({@code gc.alloc.rate.norm}, bytes per operation) next to
+ * the number of operations per millisecond, and writes the results into {@code jmh-result.json}.
+ * <p>
+ * The benchmarks are built with the {@code jmh} profile and can then be run either through this class
+ * or directly through the JMH launcher:
+ * <pre>
+ * mvn -Pjmh package -DskipTests
+ * java -cp target/benchmarks.jar hr.fer.oprpp1.custom.collections.benchmarks.BenchmarkRunner [regex]
+ * java -jar target/benchmarks.jar VsJdk -prof gc -p size=10000
+ * </pre>
+ * The optional {@code regex} selects the benchmarks which are run, by default all of the comparisons.
+ *
+ * @author Iva Maria Ivanković
+ * @version 1.0
+ */
+public class BenchmarkRunner {
+
+	/**
+	 * The regular expression matching the benchmarks which are run when no other one is provided.
+	 */
+	private static final String DEFAULT_INCLUDE = "VsJdkBenchmark";
+
+	/**
+	 * The method which is called when the program starts.
+	 *
+	 * @param args an optional regular expression selecting the benchmarks.
+	 * @throws RunnerException when the benchmarks fail.
+	 */
+	public static void main(String[] args) throws RunnerException {
+		Options options = new OptionsBuilder()
+				.include(args.length > 0 ? args[0] : DEFAULT_INCLUDE)
+				.addProfiler(GCProfiler.class)
+				.resultFormat(ResultFormatType.JSON)
+				.result("jmh-result.json")
+				.build();
+
+		new Runner(options).run();
+	}
+
+}
@@ -0,0 +1,119 @@
+package hr.fer.oprpp1.custom.collections.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import hr.fer.oprpp1.custom.collections.ArrayIndexedCollection;
+import hr.fer.oprpp1.custom.collections.Collection;
+import hr.fer.oprpp1.custom.collections.ElementsGetter;
+import hr.fer.oprpp1.custom.collections.LinkedListIndexedCollection;
+import hr.fer.oprpp1.custom.collections.SimpleHashtable;
+import hr.fer.oprpp1.custom.collections.SimpleHashtable.TableEntry;
+
+/**
+ * Compares a traversal of a collection one element at a time through {@code ElementsGetter.processRemaining()}
+ * with a traversal a chunk at a time through {@code ElementsGetter.processChunks()}, summing the elements
+ * with a processor whose body is as small as possible, so that the cost of the traversal itself is measured.
+ * The hashtable benchmarks sum the values of the entries.
+ *
+ * @author Iva Maria Ivanković
+ * @version 1.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ChunkedTraversalBenchmark {
+
+	/**
+	 * The collection under test.
+	 */
+	@Param({"array", "linked"})
+	private String implementation;
+
+	/**
+	 * The number of elements in the collection.
+	 */
+	@Param({"10000"})
+	private int size;
+
+	/**
+	 * The length of the buffer, the largest number of elements in a chunk.
+	 */
+	@Param({"256"})
+	private int chunkSize;
+
+	private Collection<Integer> collection;
+
+	private SimpleHashtable<Integer, Integer> table;
+
+	private Integer[] buffer;
+
+	private TableEntry<Integer, Integer>[] entryBuffer;
+
+	@Setup(Level.Trial)
+	@SuppressWarnings("unchecked")
+	public void setUp() {
+		this.collection = "array".equals(this.implementation) ? new ArrayIndexedCollection<>() : new LinkedListIndexedCollection<>();
+		this.table = new SimpleHashtable<>();
+		for(int i = 0; i < this.size; i++) {
+			this.collection.add(i);
+			this.table.put(i, i);
+		}
+
+		this.buffer = new Integer[this.chunkSize];
+		this.entryBuffer = (TableEntry<Integer, Integer>[])new TableEntry<?, ?>[this.chunkSize];
+	}
+
+	@Benchmark
+	public long perElement() {
+		long[] sum = new long[1];
+		this.collection.createElementsGetter().processRemaining(value -> sum[0] += value);
+		return sum[0];
+	}
+
+	@Benchmark
+	public long chunked() {
+		long[] sum = new long[1];
+		this.collection.createElementsGetter().processChunks(this.buffer, (chunk, length) -> {
+			long partial = 0;
+			for(int i = 0; i < length; i++) partial += chunk[i];
+			sum[0] += partial;
+		});
+		return sum[0];
+	}
+
+	@Benchmark
+	public long hashtablePerElement() {
+		long[] sum = new long[1];
+		this.table.createElementsGetter().processRemaining(entry -> sum[0] += entry.getValue());
+		return sum[0];
+	}
+
+	@Benchmark
+	public long hashtableChunked() {
+		long[] sum = new long[1];
+		ElementsGetter<TableEntry<Integer, Integer>> getter = this.table.createElementsGetter();
+		getter.processChunks(this.entryBuffer, (chunk, length) -> {
+			long partial = 0;
+			for(int i = 0; i < length; i++) partial += chunk[i].getValue();
+			sum[0] += partial;
+		});
+		return sum[0];
+	}
+
+}
@@ -0,0 +1,104 @@
+package hr.fer.oprpp1.custom.collections.benchmarks;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import hr.fer.oprpp1.custom.collections.ConcurrentSimpleHashtable;
+import hr.fer.oprpp1.custom.collections.SimpleHashtable;
+
+/**
+ * Measures the throughput of a table shared between threads, comparing the {@link ConcurrentSimpleHashtable}
+ * with a {@link SimpleHashtable} guarded by a single global lock. Every operation is a {@code get} of a random
+ * key, except for the {@code writePercent} of them which are {@code put} calls.
+ * <p>
+ * The number of threads is set on the command line, so the scaling is measured by running the benchmark
+ * once for every thread count, for example:
+ * <pre>
+ * for t in 1 2 4 8; do java -jar target/benchmarks.jar ConcurrentHashtableBenchmark -t $t; done
+ * </pre>
+ *
+ * @author Iva Maria Ivanković
+ * @version 1.0
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ConcurrentHashtableBenchmark {
+
+	/**
+	 * The number of distinct keys.
+	 */
+	@Param({"100000"})
+	private int size;
+
+	/**
+	 * The percentage of operations which are writes.
+	 */
+	@Param({"10", "50"})
+	private int writePercent;
+
+	/**
+	 * Boxed keys, so that the benchmark does not measure boxing.
+	 */
+	private Integer[] keys;
+
+	/**
+	 * The concurrent table under test.
+	 */
+	private ConcurrentSimpleHashtable<Integer, Integer> concurrent;
+
+	/**
+	 * The table under test which is guarded by a global lock.
+	 */
+	private SimpleHashtable<Integer, Integer> synchronizedTable;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		this.keys = new Integer[this.size];
+		this.concurrent = new ConcurrentSimpleHashtable<>();
+		this.synchronizedTable = new SimpleHashtable<>();
+
+		for(int i = 0; i < this.size; i++) {
+			this.keys[i] = i;
+			this.concurrent.put(this.keys[i], i);
+			this.synchronizedTable.put(this.keys[i], i);
+		}
+	}
+
+	@Benchmark
+	public Integer concurrent() {
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		Integer key = this.keys[random.nextInt(this.size)];
+
+		if(random.nextInt(100) < this.writePercent) return this.concurrent.put(key, key);
+		return this.concurrent.get(key);
+	}
+
+	@Benchmark
+	public Integer globalLock() {
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		Integer key = this.keys[random.nextInt(this.size)];
+
+		synchronized(this.synchronizedTable) {
+			if(random.nextInt(100) < this.writePercent) return this.synchronizedTable.put(key, key);
+			return this.synchronizedTable.get(key);
+		}
+	}
+
+}
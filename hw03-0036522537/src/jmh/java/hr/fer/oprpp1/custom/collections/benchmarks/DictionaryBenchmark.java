@@ -0,0 +1,83 @@
+package hr.fer.oprpp1.custom.collections.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import hr.fer.oprpp1.custom.collections.Dictionary;
+
+/**
+ * Compares lookups in a {@link Dictionary} that stays in the compact, linearly searched layout with
+ * lookups in a {@link Dictionary} that is hashed from the start, across small sizes, in order to find the
+ * size at which hashing starts to pay off ({@code Dictionary.DEFAULT_COMPACT_THRESHOLD}).
+ * String keys are used, since their {@code equals()} is more expensive than the one of boxed numbers.
+ *
+ * @author Iva Maria Ivanković
+ * @version 1.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class DictionaryBenchmark {
+
+	/**
+	 * The number of entries in the dictionaries.
+	 */
+	@Param({"2", "4", "8", "16", "32", "64"})
+	private int size;
+
+	/**
+	 * Copies of the stored keys, so that lookups do not succeed on reference equality.
+	 */
+	private String[] lookupKeys;
+
+	/**
+	 * The dictionary which is never hashed.
+	 */
+	private Dictionary<String, Integer> linear;
+
+	/**
+	 * The dictionary which is hashed from the start.
+	 */
+	private Dictionary<String, Integer> hashed;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		this.linear = new Dictionary<>(Integer.MAX_VALUE);
+		this.hashed = new Dictionary<>(0);
+		this.lookupKeys = new String[this.size];
+
+		for(int i = 0; i < this.size; i++) {
+			String key = "key-" + i;
+			this.linear.put(key, i);
+			this.hashed.put(key, i);
+			this.lookupKeys[i] = new String(key);
+		}
+	}
+
+	@Benchmark
+	public void linearGet(Blackhole blackhole) {
+		for(String key : this.lookupKeys) blackhole.consume(this.linear.get(key));
+	}
+
+	@Benchmark
+	public void hashedGet(Blackhole blackhole) {
+		for(String key : this.lookupKeys) blackhole.consume(this.hashed.get(key));
+	}
+
+}
@@ -0,0 +1,119 @@
+package hr.fer.oprpp1.custom.collections.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import hr.fer.oprpp1.custom.collections.OpenAddressingHashtable;
+import hr.fer.oprpp1.custom.collections.SimpleHashtable;
+
+/**
+ * Compares the chained {@link SimpleHashtable} with the {@link OpenAddressingHashtable} on
+ * a lookup-heavy workload (random {@code get} calls, half of them misses) and on a churn-heavy
+ * workload (a sliding window of keys where every operation removes the oldest key and puts a new one).
+ * Keys are scrambled integers, so that neither table profits from sequential hash codes.
+ *
+ * @author Iva Maria Ivanković
+ * @version 1.0
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class HashtableBenchmark {
+
+	/**
+	 * The number of pairs stored in the tables.
+	 */
+	@Param({"1000", "100000", "1000000"})
+	private int size;
+
+	/**
+	 * Keys that are looked up; every other key is not stored in the tables.
+	 */
+	private Integer[] lookupKeys;
+
+	/**
+	 * The chained table under test.
+	 */
+	private SimpleHashtable<Integer, Integer> chained;
+
+	/**
+	 * The open-addressing table under test.
+	 */
+	private OpenAddressingHashtable<Integer, Integer> openAddressing;
+
+	/**
+	 * The next key to be put by the churn benchmarks, the oldest key is {@code nextKey - size}.
+	 */
+	private int nextKey;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		Random random = new Random(42);
+
+		this.lookupKeys = new Integer[4096];
+		for(int i = 0; i < this.lookupKeys.length; i++) {
+			this.lookupKeys[i] = key(random.nextInt(2 * this.size));
+		}
+
+		this.chained = new SimpleHashtable<>(2 * this.size);
+		this.openAddressing = new OpenAddressingHashtable<>(2 * this.size);
+		for(int i = 0; i < this.size; i++) {
+			this.chained.put(key(i), i);
+			this.openAddressing.put(key(i), i);
+		}
+		this.nextKey = this.size;
+	}
+
+	@Benchmark
+	public void chainedLookup(Blackhole blackhole) {
+		for(Integer key : this.lookupKeys) blackhole.consume(this.chained.get(key));
+	}
+
+	@Benchmark
+	public void openAddressingLookup(Blackhole blackhole) {
+		for(Integer key : this.lookupKeys) blackhole.consume(this.openAddressing.get(key));
+	}
+
+	@Benchmark
+	public Integer chainedChurn() {
+		int key = this.nextKey++;
+		this.chained.remove(key(key - this.size));
+		return this.chained.put(key(key), key);
+	}
+
+	@Benchmark
+	public Integer openAddressingChurn() {
+		int key = this.nextKey++;
+		this.openAddressing.remove(key(key - this.size));
+		return this.openAddressing.put(key(key), key);
+	}
+
+	/**
+	 * Maps the provided sequence number to a key, using a multiplication by an odd constant
+	 * so that distinct numbers are mapped to distinct keys.
+	 *
+	 * @param number the sequence number of the key.
+	 * @return the key.
+	 */
+	private static Integer key(int number) {
+		return number * 0x9E3779B9;
+	}
+
+}
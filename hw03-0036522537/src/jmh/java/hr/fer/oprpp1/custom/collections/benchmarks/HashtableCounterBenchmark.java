@@ -0,0 +1,80 @@
+package hr.fer.oprpp1.custom.collections.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import hr.fer.oprpp1.custom.collections.SimpleHashtable;
+
+/**
+ * Counts occurrences of words in a {@link SimpleHashtable}, comparing the {@code get} followed by {@code put}
+ * idiom, which hashes every word twice, with a single {@code merge} call.
+ *
+ * @author Iva Maria Ivanković
+ * @version 1.0
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class HashtableCounterBenchmark {
+
+	/**
+	 * The number of distinct words.
+	 */
+	@Param({"100", "10000"})
+	private int distinctWords;
+
+	/**
+	 * The counted words, drawn from {@code distinctWords} distinct values.
+	 */
+	private String[] words;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		Random random = new Random(42);
+
+		this.words = new String[100_000];
+		for(int i = 0; i < this.words.length; i++) {
+			this.words[i] = "word-" + random.nextInt(this.distinctWords);
+		}
+	}
+
+	@Benchmark
+	public SimpleHashtable<String, Integer> getThenPut() {
+		SimpleHashtable<String, Integer> counters = new SimpleHashtable<>();
+
+		for(String word : this.words) {
+			Integer count = counters.get(word);
+			counters.put(word, count == null ? 1 : count + 1);
+		}
+
+		return counters;
+	}
+
+	@Benchmark
+	public SimpleHashtable<String, Integer> merge() {
+		SimpleHashtable<String, Integer> counters = new SimpleHashtable<>();
+
+		for(String word : this.words) {
+			counters.merge(word, 1, Integer::sum);
+		}
+
+		return counters;
+	}
+
+}
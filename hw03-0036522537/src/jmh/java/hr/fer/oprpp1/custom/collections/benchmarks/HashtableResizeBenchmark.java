@@ -0,0 +1,64 @@
+package hr.fer.oprpp1.custom.collections.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import hr.fer.oprpp1.custom.collections.SimpleHashtable;
+
+/**
+ * Samples the latency of single {@code put} calls into a growing {@link SimpleHashtable}, so that
+ * the percentiles reported by JMH (p99, p99.99, max) show the stalls caused by resizing the table
+ * at once, compared with the incremental resize.
+ *
+ * @author Iva Maria Ivanković
+ * @version 1.0
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@State(Scope.Thread)
+public class HashtableResizeBenchmark {
+
+	/**
+	 * Whether the table under test grows incrementally.
+	 */
+	@Param({"false", "true"})
+	private boolean incrementalResize;
+
+	/**
+	 * The table under test, recreated for every iteration so that it keeps passing through resizes.
+	 */
+	private SimpleHashtable<Integer, Integer> table;
+
+	/**
+	 * The next key to be put.
+	 */
+	private int nextKey;
+
+	@Setup(Level.Iteration)
+	public void setUp() {
+		this.table = new SimpleHashtable<>(16, this.incrementalResize);
+		this.nextKey = 0;
+	}
+
+	@Benchmark
+	public Integer put() {
+		int key = this.nextKey++;
+		return this.table.put(key, key);
+	}
+
+}
@@ -0,0 +1,113 @@
+package hr.fer.oprpp1.custom.collections.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import hr.fer.oprpp1.custom.collections.ArrayIndexedCollection;
+import hr.fer.oprpp1.custom.collections.LinkedListIndexedCollection;
+import hr.fer.oprpp1.custom.collections.List;
+import hr.fer.oprpp1.custom.collections.UnrolledLinkedListIndexedCollection;
+
+/**
+ * Compares the {@link List} implementations on building a list by inserting at random positions,
+ * on random indexed {@code get} calls and on a full iteration with {@code forEach}.
+ *
+ * @author Iva Maria Ivanković
+ * @version 1.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ListBenchmark {
+
+	/**
+	 * The implementation under test.
+	 */
+	@Param({"array", "linked", "unrolled"})
+	private String implementation;
+
+	/**
+	 * The number of elements in the list.
+	 */
+	@Param({"10000", "100000"})
+	private int size;
+
+	/**
+	 * Positions at which the elements are inserted, the i-th one is smaller than i.
+	 */
+	private int[] insertPositions;
+
+	/**
+	 * Indexes which are read by the lookup benchmark.
+	 */
+	private int[] lookupIndexes;
+
+	/**
+	 * The prebuilt list read by the lookup and iteration benchmarks.
+	 */
+	private List<Integer> list;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		Random random = new Random(42);
+
+		this.insertPositions = new int[this.size];
+		for(int i = 1; i < this.size; i++) this.insertPositions[i] = random.nextInt(i);
+
+		this.lookupIndexes = new int[1024];
+		for(int i = 0; i < this.lookupIndexes.length; i++) this.lookupIndexes[i] = random.nextInt(this.size);
+
+		this.list = this.newList();
+		for(int i = 0; i < this.size; i++) this.list.add(i);
+	}
+
+	@Benchmark
+	public List<Integer> randomInsert() {
+		List<Integer> built = this.newList();
+		built.add(0);
+		for(int i = 1; i < this.size; i++) built.insert(i, this.insertPositions[i]);
+		return built;
+	}
+
+	@Benchmark
+	public void randomGet(Blackhole blackhole) {
+		for(int index : this.lookupIndexes) blackhole.consume(this.list.get(index));
+	}
+
+	@Benchmark
+	public void iterate(Blackhole blackhole) {
+		this.list.forEach(blackhole::consume);
+	}
+
+	/**
+	 * Creates an empty list of the implementation under test.
+	 *
+	 * @return the new list.
+	 */
+	private List<Integer> newList() {
+		switch(this.implementation) {
+			case "array": return new ArrayIndexedCollection<>();
+			case "linked": return new LinkedListIndexedCollection<>();
+			case "unrolled": return new UnrolledLinkedListIndexedCollection<>();
+			default: throw new IllegalArgumentException("Unknown implementation: " + this.implementation);
+		}
+	}
+
+}
@@ -0,0 +1,251 @@
+package hr.fer.oprpp1.custom.collections.benchmarks;
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import hr.fer.oprpp1.custom.collections.ArrayIndexedCollection;
+import hr.fer.oprpp1.custom.collections.LinkedListIndexedCollection;
+import hr.fer.oprpp1.custom.collections.List;
+
+/**
+ * Compares {@link ArrayIndexedCollection} and {@link LinkedListIndexedCollection} with their
+ * {@code java.util} counterparts, {@link ArrayList} and {@link LinkedList}, on appending, indexed reads,
+ * inserting and removing at random positions, {@code contains} and a full iteration.
+ * Every implementation is reached through the same {@link Ops} adapter, and every trial runs in its own fork,
+ * so the calls through the adapter are monomorphic and are inlined equally for all implementations.
+ * One operation of {@code get} is a batch of 1024 reads, of {@code insertAndRemove} a batch of 512 pairs
+ * and of {@code contains} a batch of 64 searches.
+ * Run with {@code -prof gc} to see the allocation rate next to the throughput, see {@link BenchmarkRunner}.
+ *
+ * @author Iva Maria Ivanković
+ * @version 1.0
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ListVsJdkBenchmark {
+
+	/**
+	 * The implementation under test.
+	 */
+	@Param({"array", "linked", "java.util.ArrayList", "java.util.LinkedList"})
+	private String implementation;
+
+	/**
+	 * The number of elements in the list.
+	 */
+	@Param({"100", "10000"})
+	private int size;
+
+	/**
+	 * The elements of the list, boxed up front so that boxing is not measured.
+	 */
+	private Integer[] elements;
+
+	/**
+	 * Indexes which are read, inserted at and removed at, all smaller than {@code size}.
+	 */
+	private int[] indexes;
+
+	/**
+	 * Values searched by the {@code contains} benchmark; every other one is not in the list.
+	 */
+	private Integer[] searched;
+
+	/**
+	 * The prebuilt list used by all benchmarks except {@code add}.
+	 */
+	private Ops list;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		Random random = new Random(42);
+
+		this.elements = new Integer[this.size];
+		for(int i = 0; i < this.size; i++) this.elements[i] = i;
+
+		this.indexes = new int[1024];
+		for(int i = 0; i < this.indexes.length; i++) this.indexes[i] = random.nextInt(this.size);
+
+		this.searched = new Integer[64];
+		for(int i = 0; i < this.searched.length; i++) this.searched[i] = random.nextInt(2 * this.size);
+
+		this.list = this.newList();
+		for(Integer element : this.elements) this.list.add(element);
+	}
+
+	@Benchmark
+	public Ops add() {
+		Ops built = this.newList();
+		for(Integer element : this.elements) built.add(element);
+		return built;
+	}
+
+	@Benchmark
+	public void get(Blackhole blackhole) {
+		for(int index : this.indexes) blackhole.consume(this.list.get(index));
+	}
+
+	/**
+	 * Inserts an element at a random position and removes the element at another random position,
+	 * so that the size of the list stays the same from one invocation to the next.
+	 */
+	@Benchmark
+	public void insertAndRemove() {
+		for(int i = 0; i < this.indexes.length; i += 2) {
+			this.list.insert(this.elements[i % this.size], this.indexes[i]);
+			this.list.remove(this.indexes[i + 1]);
+		}
+	}
+
+	@Benchmark
+	public void contains(Blackhole blackhole) {
+		for(Integer value : this.searched) blackhole.consume(this.list.contains(value));
+	}
+
+	@Benchmark
+	public void iterate(Blackhole blackhole) {
+		this.list.forEach(blackhole);
+	}
+
+	/**
+	 * Creates an empty list of the implementation under test.
+	 *
+	 * @return the new list.
+	 */
+	private Ops newList() {
+		switch(this.implementation) {
+			case "array": return new CustomOps(new ArrayIndexedCollection<>());
+			case "linked": return new CustomOps(new LinkedListIndexedCollection<>());
+			case "java.util.ArrayList": return new JdkOps(new ArrayList<>());
+			case "java.util.LinkedList": return new JdkOps(new LinkedList<>());
+			default: throw new IllegalArgumentException("Unknown implementation: " + this.implementation);
+		}
+	}
+
+	/**
+	 * The operations of a list which are measured, implemented once for the lists of this project
+	 * and once for the lists of {@code java.util}.
+	 */
+	public interface Ops {
+
+		void add(Integer value);
+
+		Integer get(int index);
+
+		void insert(Integer value, int position);
+
+		void remove(int index);
+
+		boolean contains(Integer value);
+
+		void forEach(Blackhole blackhole);
+
+	}
+
+	/**
+	 * The operations of a {@link List} of this project.
+	 */
+	private static final class CustomOps implements Ops {
+
+		private final List<Integer> list;
+
+		private CustomOps(List<Integer> list) {
+			this.list = list;
+		}
+
+		@Override
+		public void add(Integer value) {
+			this.list.add(value);
+		}
+
+		@Override
+		public Integer get(int index) {
+			return this.list.get(index);
+		}
+
+		@Override
+		public void insert(Integer value, int position) {
+			this.list.insert(value, position);
+		}
+
+		@Override
+		public void remove(int index) {
+			this.list.remove(index);
+		}
+
+		@Override
+		public boolean contains(Integer value) {
+			return this.list.contains(value);
+		}
+
+		@Override
+		public void forEach(Blackhole blackhole) {
+			this.list.forEach(blackhole::consume);
+		}
+
+	}
+
+	/**
+	 * The operations of a {@link java.util.List}.
+	 */
+	private static final class JdkOps implements Ops {
+
+		private final java.util.List<Integer> list;
+
+		private JdkOps(java.util.List<Integer> list) {
+			this.list = list;
+		}
+
+		@Override
+		public void add(Integer value) {
+			this.list.add(value);
+		}
+
+		@Override
+		public Integer get(int index) {
+			return this.list.get(index);
+		}
+
+		@Override
+		public void insert(Integer value, int position) {
+			this.list.add(position, value);
+		}
+
+		@Override
+		public void remove(int index) {
+			this.list.remove(index);
+		}
+
+		@Override
+		public boolean contains(Integer value) {
+			return this.list.contains(value);
+		}
+
+		@Override
+		public void forEach(Blackhole blackhole) {
+			this.list.forEach(blackhole::consume);
+		}
+
+	}
+
+}
@@ -0,0 +1,341 @@
+package hr.fer.oprpp1.custom.collections.benchmarks;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import hr.fer.oprpp1.custom.collections.Dictionary;
+import hr.fer.oprpp1.custom.collections.SimpleHashtable;
+
+/**
+ * Compares {@link SimpleHashtable} and {@link Dictionary} with {@link HashMap} on building a map with
+ * {@code put}, on lookups of stored and of missing keys and on a remove followed by a put of the same key,
+ * across sizes and three distributions of string keys:
+ * <ul>
+ * <li>{@code sequential} - keys such as {@code "key-17"}, whose hash codes are close to each other,</li>
+ * <li>{@code random} - random base-36 numbers,</li>
+ * <li>{@code colliding} - groups of 16 distinct keys sharing a hash code, built from the colliding
+ * pairs {@code "Aa"} and {@code "BB"}.</li>
+ * </ul>
+ * Since {@link Dictionary} cannot be iterated, iteration is measured by the nested {@link Iteration} benchmark,
+ * which compares only the two tables. Apart from {@code put}, which builds a whole map, one operation is a batch
+ * of 1024 lookups or removals. Run with {@code -prof gc} to see the allocation rate next to
+ * the throughput, see {@link BenchmarkRunner}.
+ *
+ * @author Iva Maria Ivanković
+ * @version 1.0
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MapVsJdkBenchmark {
+
+	/**
+	 * The implementation under test.
+	 */
+	@Param({"simple", "dictionary", "java.util.HashMap"})
+	private String implementation;
+
+	/**
+	 * The number of pairs stored in the map.
+	 */
+	@Param({"100", "100000"})
+	private int size;
+
+	/**
+	 * The distribution of the keys.
+	 */
+	@Param({"sequential", "random", "colliding"})
+	private String keys;
+
+	/**
+	 * The stored keys.
+	 */
+	private String[] stored;
+
+	/**
+	 * Copies of randomly chosen stored keys, so that lookups do not succeed on reference equality.
+	 */
+	private String[] present;
+
+	/**
+	 * Keys of the same distribution which are not stored.
+	 */
+	private String[] missing;
+
+	/**
+	 * The prebuilt map used by all benchmarks except {@code put}.
+	 */
+	private Ops map;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		Random random = new Random(42);
+
+		String[] generated = keys(this.keys, 2 * this.size, random);
+		this.stored = new String[this.size];
+		this.missing = new String[this.size];
+		for(int i = 0; i < this.size; i++) {
+			this.stored[i] = generated[2 * i];
+			this.missing[i] = generated[2 * i + 1];
+		}
+
+		this.present = new String[1024];
+		for(int i = 0; i < this.present.length; i++) this.present[i] = new String(this.stored[random.nextInt(this.size)]);
+
+		this.map = this.newMap();
+		for(String key : this.stored) this.map.put(key, key);
+	}
+
+	@Benchmark
+	public Ops put() {
+		Ops built = this.newMap();
+		for(String key : this.stored) built.put(key, key);
+		return built;
+	}
+
+	@Benchmark
+	public void getPresent(Blackhole blackhole) {
+		for(String key : this.present) blackhole.consume(this.map.get(key));
+	}
+
+	@Benchmark
+	public void getMissing(Blackhole blackhole) {
+		for(int i = 0; i < this.present.length; i++) blackhole.consume(this.map.get(this.missing[i % this.size]));
+	}
+
+	@Benchmark
+	public void removeAndPut() {
+		for(String key : this.present) {
+			this.map.remove(key);
+			this.map.put(key, key);
+		}
+	}
+
+	/**
+	 * Creates an empty map of the implementation under test.
+	 *
+	 * @return the new map.
+	 */
+	private Ops newMap() {
+		switch(this.implementation) {
+			case "simple": return new TableOps(new SimpleHashtable<>());
+			case "dictionary": return new DictionaryOps(new Dictionary<>());
+			case "java.util.HashMap": return new JdkOps(new HashMap<>());
+			default: throw new IllegalArgumentException("Unknown implementation: " + this.implementation);
+		}
+	}
+
+	/**
+	 * Generates distinct keys of the provided distribution.
+	 *
+	 * @param distribution the name of the distribution.
+	 * @param count the number of keys.
+	 * @param random the source of randomness.
+	 * @return the keys, in random order.
+	 */
+	static String[] keys(String distribution, int count, Random random) {
+		String[] keys = new String[count];
+
+		switch(distribution) {
+			case "sequential":
+				for(int i = 0; i < count; i++) keys[i] = "key-" + i;
+				break;
+			case "random":
+				// sufiks s rednim brojem osigurava da su kljucevi razliciti
+				for(int i = 0; i < count; i++) keys[i] = Long.toString(random.nextLong(), 36) + "-" + i;
+				break;
+			case "colliding":
+				for(int i = 0; i < count; i++) {
+					// "Aa" i "BB" imaju isti hash, pa 4 para daju 16 razlicitih kljuceva s istim hashom
+					StringBuilder key = new StringBuilder("key-").append(i >>> 4).append('-');
+					for(int bit = 0; bit < 4; bit++) key.append((i >>> bit & 1) == 0 ? "Aa" : "BB");
+					keys[i] = key.toString();
+				}
+				break;
+			default:
+				throw new IllegalArgumentException("Unknown key distribution: " + distribution);
+		}
+
+		for(int i = count - 1; i > 0; i--) {
+			int j = random.nextInt(i + 1);
+			String key = keys[i];
+			keys[i] = keys[j];
+			keys[j] = key;
+		}
+		return keys;
+	}
+
+	/**
+	 * Compares a full iteration of {@link SimpleHashtable} with a full iteration of {@link HashMap}.
+	 */
+	@BenchmarkMode(Mode.Throughput)
+	@OutputTimeUnit(TimeUnit.MILLISECONDS)
+	@Warmup(iterations = 3, time = 1)
+	@Measurement(iterations = 5, time = 1)
+	@Fork(1)
+	@State(Scope.Thread)
+	public static class Iteration {
+
+		/**
+		 * The implementation under test.
+		 */
+		@Param({"simple", "java.util.HashMap"})
+		private String implementation;
+
+		/**
+		 * The number of pairs stored in the map.
+		 */
+		@Param({"100", "100000"})
+		private int size;
+
+		/**
+		 * The table under test, when {@code implementation} is {@code simple}.
+		 */
+		private SimpleHashtable<String, String> table;
+
+		/**
+		 * The map under test, when {@code implementation} is {@code java.util.HashMap}.
+		 */
+		private Map<String, String> map;
+
+		@Setup(Level.Trial)
+		public void setUp() {
+			this.table = new SimpleHashtable<>();
+			this.map = new HashMap<>();
+			for(String key : keys("random", this.size, new Random(42))) {
+				if(this.implementation.equals("simple")) {
+					this.table.put(key, key);
+				} else {
+					this.map.put(key, key);
+				}
+			}
+		}
+
+		@Benchmark
+		public void iterate(Blackhole blackhole) {
+			if(this.implementation.equals("simple")) {
+				for(SimpleHashtable.TableEntry<String, String> entry : this.table) blackhole.consume(entry.getValue());
+			} else {
+				for(Map.Entry<String, String> entry : this.map.entrySet()) blackhole.consume(entry.getValue());
+			}
+		}
+
+	}
+
+	/**
+	 * The operations of a map which are measured.
+	 */
+	public interface Ops {
+
+		void put(String key, String value);
+
+		String get(String key);
+
+		void remove(String key);
+
+	}
+
+	/**
+	 * The operations of a {@link SimpleHashtable}.
+	 */
+	private static final class TableOps implements Ops {
+
+		private final SimpleHashtable<String, String> table;
+
+		private TableOps(SimpleHashtable<String, String> table) {
+			this.table = table;
+		}
+
+		@Override
+		public void put(String key, String value) {
+			this.table.put(key, value);
+		}
+
+		@Override
+		public String get(String key) {
+			return this.table.get(key);
+		}
+
+		@Override
+		public void remove(String key) {
+			this.table.remove(key);
+		}
+
+	}
+
+	/**
+	 * The operations of a {@link Dictionary}.
+	 */
+	private static final class DictionaryOps implements Ops {
+
+		private final Dictionary<String, String> dictionary;
+
+		private DictionaryOps(Dictionary<String, String> dictionary) {
+			this.dictionary = dictionary;
+		}
+
+		@Override
+		public void put(String key, String value) {
+			this.dictionary.put(key, value);
+		}
+
+		@Override
+		public String get(String key) {
+			return this.dictionary.get(key);
+		}
+
+		@Override
+		public void remove(String key) {
+			this.dictionary.remove(key);
+		}
+
+	}
+
+	/**
+	 * The operations of a {@link Map}.
+	 */
+	private static final class JdkOps implements Ops {
+
+		private final Map<String, String> map;
+
+		private JdkOps(Map<String, String> map) {
+			this.map = map;
+		}
+
+		@Override
+		public void put(String key, String value) {
+			this.map.put(key, value);
+		}
+
+		@Override
+		public String get(String key) {
+			return this.map.get(key);
+		}
+
+		@Override
+		public void remove(String key) {
+			this.map.remove(key);
+		}
+
+	}
+
+}
@@ -0,0 +1,197 @@
+package hr.fer.oprpp1.custom.collections.benchmarks;
+
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Control;
+
+import hr.fer.oprpp1.custom.collections.ConcurrentRingBufferQueue;
+import hr.fer.oprpp1.custom.collections.LinkedListIndexedCollection;
+
+/**
+ * Measures queues shared by two producers and two consumers, comparing the lock-free {@link ConcurrentRingBufferQueue}
+ * with a {@link LinkedListIndexedCollection} guarded by a global lock, which is what the producer/consumer code used
+ * before, and with {@link ArrayBlockingQueue} and {@link ConcurrentLinkedQueue} from {@code java.util.concurrent}.
+ * A producer retries a rejected {@code offer} and a consumer an empty {@code poll} until it succeeds, so every
+ * counted operation moves an element. The {@code transfer} group reports both the throughput and, through sampling,
+ * the latency distribution of a single operation; {@code roundTrip} measures an uncontended offer followed by a poll.
+ * Bounded queues hold at most {@code capacity} elements; {@link ConcurrentLinkedQueue} is unbounded.
+ * <p>
+ * Contention only shows on a machine with at least four hardware threads, see {@link BenchmarkRunner}.
+ *
+ * @author Iva Maria Ivanković
+ * @version 1.0
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Group)
+public class QueueBenchmark {
+
+	/**
+	 * The implementation under test.
+	 */
+	@Param({"ring", "synchronizedLinkedList", "java.util.concurrent.ArrayBlockingQueue", "java.util.concurrent.ConcurrentLinkedQueue"})
+	private String implementation;
+
+	/**
+	 * The largest number of elements in a bounded queue.
+	 */
+	@Param({"1024"})
+	private int capacity;
+
+	/**
+	 * The element which is moved through the queue.
+	 */
+	private final Integer element = 42;
+
+	/**
+	 * The queue under test.
+	 */
+	private Ops queue;
+
+	@Setup(Level.Iteration)
+	public void setUp() {
+		switch(this.implementation) {
+			case "ring": this.queue = new RingOps(new ConcurrentRingBufferQueue<>(this.capacity)); break;
+			case "synchronizedLinkedList": this.queue = new LockedListOps(this.capacity); break;
+			case "java.util.concurrent.ArrayBlockingQueue": this.queue = new JdkOps(new ArrayBlockingQueue<>(this.capacity)); break;
+			case "java.util.concurrent.ConcurrentLinkedQueue": this.queue = new JdkOps(new ConcurrentLinkedQueue<>()); break;
+			default: throw new IllegalArgumentException("Unknown implementation: " + this.implementation);
+		}
+	}
+
+	@Benchmark
+	@Group("transfer")
+	@GroupThreads(2)
+	public void offer(Control control) {
+		while(!this.queue.offer(this.element) && !control.stopMeasurement) Thread.onSpinWait();
+	}
+
+	@Benchmark
+	@Group("transfer")
+	@GroupThreads(2)
+	public Integer poll(Control control) {
+		Integer value;
+		while((value = this.queue.poll()) == null && !control.stopMeasurement) Thread.onSpinWait();
+		return value;
+	}
+
+	@Benchmark
+	@Group("roundTrip")
+	@GroupThreads(1)
+	public Integer roundTrip() {
+		this.queue.offer(this.element);
+		return this.queue.poll();
+	}
+
+	/**
+	 * The operations of a queue which are measured.
+	 */
+	public interface Ops {
+
+		boolean offer(Integer value);
+
+		Integer poll();
+
+	}
+
+	/**
+	 * The operations of a {@link ConcurrentRingBufferQueue}.
+	 */
+	private static final class RingOps implements Ops {
+
+		private final ConcurrentRingBufferQueue<Integer> queue;
+
+		private RingOps(ConcurrentRingBufferQueue<Integer> queue) {
+			this.queue = queue;
+		}
+
+		@Override
+		public boolean offer(Integer value) {
+			return this.queue.offer(value);
+		}
+
+		@Override
+		public Integer poll() {
+			return this.queue.poll();
+		}
+
+	}
+
+	/**
+	 * The operations of a {@link LinkedListIndexedCollection} guarded by its own lock.
+	 */
+	private static final class LockedListOps implements Ops {
+
+		private final LinkedListIndexedCollection<Integer> list = new LinkedListIndexedCollection<>();
+
+		private final int capacity;
+
+		private LockedListOps(int capacity) {
+			this.capacity = capacity;
+		}
+
+		@Override
+		public boolean offer(Integer value) {
+			synchronized(this.list) {
+				if(this.list.size() == this.capacity) return false;
+				this.list.add(value);
+				return true;
+			}
+		}
+
+		@Override
+		public Integer poll() {
+			synchronized(this.list) {
+				if(this.list.isEmpty()) return null;
+				Integer value = this.list.get(0);
+				this.list.remove(0);
+				return value;
+			}
+		}
+
+	}
+
+	/**
+	 * The operations of a {@link Queue} from {@code java.util.concurrent}.
+	 */
+	private static final class JdkOps implements Ops {
+
+		private final Queue<Integer> queue;
+
+		private JdkOps(Queue<Integer> queue) {
+			this.queue = queue;
+		}
+
+		@Override
+		public boolean offer(Integer value) {
+			return this.queue.offer(value);
+		}
+
+		@Override
+		public Integer poll() {
+			return this.queue.poll();
+		}
+
+	}
+
+}
@@ -0,0 +1,98 @@
+package hr.fer.oprpp1.custom.collections.benchmarks;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import hr.fer.oprpp1.custom.collections.SimpleHashtable;
+import hr.fer.oprpp1.custom.collections.SimpleHashtable.TableEntry;
+import hr.fer.oprpp1.custom.collections.SimpleTreeMap;
+
+/**
+ * Compares range reports, which visit the entries whose keys fall into a range in the order of their keys,
+ * over a {@link SimpleTreeMap} with the same reports over a {@link SimpleHashtable}, whose entries have to be
+ * sorted on demand. Every report covers about 100 entries.
+ *
+ * @author Iva Maria Ivanković
+ * @version 1.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TreeMapRangeBenchmark {
+
+	/**
+	 * The number of entries in the maps.
+	 */
+	@Param({"10000", "100000"})
+	private int size;
+
+	/**
+	 * The ordered map under test.
+	 */
+	private SimpleTreeMap<Integer, Integer> treeMap;
+
+	/**
+	 * The hashed map under test.
+	 */
+	private SimpleHashtable<Integer, Integer> hashtable;
+
+	/**
+	 * The source of the lower bounds of the reports.
+	 */
+	private Random random;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		Random keys = new Random(42);
+
+		this.treeMap = new SimpleTreeMap<>();
+		this.hashtable = new SimpleHashtable<>(2 * this.size);
+		while(this.treeMap.size() < this.size) {
+			int key = keys.nextInt(10 * this.size);
+			this.treeMap.put(key, key);
+			this.hashtable.put(key, key);
+		}
+
+		this.random = new Random(7);
+	}
+
+	@Benchmark
+	public void treeMapRange(Blackhole blackhole) {
+		int from = this.random.nextInt(10 * this.size);
+
+		this.treeMap.createElementsGetter(from, true, from + 1000, false).processRemaining(blackhole::consume);
+	}
+
+	@Benchmark
+	public void sortOnDemandRange(Blackhole blackhole) {
+		int from = this.random.nextInt(10 * this.size);
+
+		TableEntry<Integer, Integer>[] entries = this.hashtable.toArray();
+		Arrays.sort(entries, Comparator.comparing(TableEntry::getKey));
+		for(TableEntry<Integer, Integer> entry : entries) {
+			int key = entry.getKey();
+			if(key >= from + 1000) break;
+			if(key >= from) blackhole.consume(entry);
+		}
+	}
+
+}
@@ -0,0 +1,318 @@
+package hr.fer.oprpp1.custom.collections;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * Class {@code ArrayDeque} represents a double-ended queue kept in a circular array, so that elements can be added
+ * and removed at both ends in constant time without allocating a node per element. The array always has a length
+ * which is a power of two, so the positions wrap around with a mask instead of a division, and it doubles when it
+ * is full. The deque is not thread-safe; {@link ConcurrentRingBufferQueue} is meant for sharing elements between threads.
+ *
+ * @author Iva Maria Ivanković
+ * @version 1.0
+ *
+ * @param <T> type of the elements in the deque.
+ */
+public class ArrayDeque<T> implements Collection<T> {
+
+	/**
+	 * The length of the array of a new deque.
+	 */
+	static final int DEFAULT_CAPACITY = 16;
+
+	/**
+	 * The elements of the deque, the first one at the index {@code head}, the following ones
+	 * after it, wrapping around at the end of the array. Unused slots are {@code null}.
+	 */
+	private Object[] elements;
+
+	/**
+	 * The index of the first element.
+	 */
+	private int head;
+
+	/**
+	 * The number of elements in the deque.
+	 */
+	private int size;
+
+	/**
+	 * A variable that serves as a counter of modifications made on the current deque since its creation.
+	 */
+	private long modificationCount;
+
+	/**
+	 * Default constructor which creates an empty deque.
+	 */
+	public ArrayDeque() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * A constructor which creates an empty deque able to hold {@code initialCapacity} elements without growing.
+	 *
+	 * @param initialCapacity the number of elements the deque can hold before its array is enlarged.
+	 * @throws IllegalArgumentException if the provided {@code initialCapacity} is less than 1 or bigger than 2^30.
+	 */
+	public ArrayDeque(int initialCapacity) {
+		if(initialCapacity < 1 || initialCapacity > 1 << 30) throw new IllegalArgumentException("The initial capacity must be between 1 and 2^30.");
+
+		this.elements = new Object[Math.max(2, Integer.highestOneBit(Math.max(1, initialCapacity - 1)) << 1)];
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int size() {
+		return this.size;
+	}
+
+	/**
+	 * Adds the provided element at the end of the deque.
+	 *
+	 * @param value the element which is added.
+	 * @throws NullPointerException when the provided {@code value} is {@code null}.
+	 */
+	@Override
+	public void add(T value) {
+		this.addLast(value);
+	}
+
+	/**
+	 * Adds the provided element at the beginning of the deque.
+	 *
+	 * @param value the element which is added.
+	 * @throws NullPointerException when the provided {@code value} is {@code null}.
+	 */
+	public void addFirst(T value) {
+		if(value == null) throw new NullPointerException("The provided value cannot be null.");
+		if(this.size == this.elements.length) this.grow();
+
+		this.head = (this.head - 1) & (this.elements.length - 1);
+		this.elements[this.head] = value;
+		this.size++;
+		this.modificationCount++;
+	}
+
+	/**
+	 * Adds the provided element at the end of the deque.
+	 *
+	 * @param value the element which is added.
+	 * @throws NullPointerException when the provided {@code value} is {@code null}.
+	 */
+	public void addLast(T value) {
+		if(value == null) throw new NullPointerException("The provided value cannot be null.");
+		if(this.size == this.elements.length) this.grow();
+
+		this.elements[this.index(this.size)] = value;
+		this.size++;
+		this.modificationCount++;
+	}
+
+	/**
+	 * Removes and returns the first element of the deque.
+	 *
+	 * @return the first element.
+	 * @throws NoSuchElementException if the deque is empty.
+	 */
+	public T removeFirst() {
+		T value = this.peekFirst();
+		if(value == null) throw new NoSuchElementException("The deque is empty.");
+
+		this.elements[this.head] = null;
+		this.head = (this.head + 1) & (this.elements.length - 1);
+		this.size--;
+		this.modificationCount++;
+		return value;
+	}
+
+	/**
+	 * Removes and returns the last element of the deque.
+	 *
+	 * @return the last element.
+	 * @throws NoSuchElementException if the deque is empty.
+	 */
+	public T removeLast() {
+		T value = this.peekLast();
+		if(value == null) throw new NoSuchElementException("The deque is empty.");
+
+		this.elements[this.index(this.size - 1)] = null;
+		this.size--;
+		this.modificationCount++;
+		return value;
+	}
+
+	/**
+	 * Fetches the first element of the deque without removing it.
+	 *
+	 * @return the first element, {@code null} if the deque is empty.
+	 */
+	@SuppressWarnings("unchecked")
+	public T peekFirst() {
+		return (T)this.elements[this.head];
+	}
+
+	/**
+	 * Fetches the last element of the deque without removing it.
+	 *
+	 * @return the last element, {@code null} if the deque is empty.
+	 */
+	@SuppressWarnings("unchecked")
+	public T peekLast() {
+		return (T)this.elements[this.index(this.size - 1)];
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean contains(Object value) {
+		return this.indexOf(value) != -1;
+	}
+
+	/**
+	 * Removes the first occurrence of the provided element, moving the elements on the shorter side of it by one.
+	 *
+	 * @param value the element which is removed.
+	 * @return {@code true} if the element has been removed, {@code false} if it is not in the deque.
+	 */
+	@Override
+	public boolean remove(Object value) {
+		int position = this.indexOf(value);
+		if(position == -1) return false;
+
+		if(position < this.size / 2) {
+			for(int i = position; i > 0; i--) this.elements[this.index(i)] = this.elements[this.index(i - 1)];
+			this.elements[this.head] = null;
+			this.head = (this.head + 1) & (this.elements.length - 1);
+		} else {
+			for(int i = position; i < this.size - 1; i++) this.elements[this.index(i)] = this.elements[this.index(i + 1)];
+			this.elements[this.index(this.size - 1)] = null;
+		}
+
+		this.size--;
+		this.modificationCount++;
+		return true;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Object[] toArray() {
+		Object[] array = new Object[this.size];
+
+		int firstPart = Math.min(this.size, this.elements.length - this.head);
+		System.arraycopy(this.elements, this.head, array, 0, firstPart);
+		System.arraycopy(this.elements, 0, array, firstPart, this.size - firstPart);
+		return array;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void clear() {
+		Arrays.fill(this.elements, null);
+		this.head = 0;
+		this.size = 0;
+		this.modificationCount++;
+	}
+
+	/**
+	 * Creates an {@code ElementsGetter} which fetches the elements from the first one to the last one.
+	 *
+	 * @return the new getter.
+	 */
+	@Override
+	public ElementsGetter<T> createElementsGetter() {
+		return new DequeElementsGetter();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString() {
+		return Arrays.toString(this.toArray());
+	}
+
+	/**
+	 * Finds the position of the first occurrence of the provided element, counted from the beginning of the deque.
+	 *
+	 * @param value the element which is searched for.
+	 * @return the position of the element, -1 if it is not in the deque.
+	 */
+	private int indexOf(Object value) {
+		if(value == null) return -1;
+
+		for(int i = 0; i < this.size; i++) {
+			if(value.equals(this.elements[this.index(i)])) return i;
+		}
+		return -1;
+	}
+
+	/**
+	 * Calculates the index in the array of the element at the provided position.
+	 *
+	 * @param position the position of the element, counted from the beginning of the deque.
+	 * @return the index in the array.
+	 */
+	private int index(int position) {
+		return (this.head + position) & (this.elements.length - 1);
+	}
+
+	/**
+	 * Doubles the array, moving the elements to its beginning.
+	 *
+	 * @throws IllegalStateException if the array cannot grow any more.
+	 */
+	private void grow() {
+		if(this.elements.length == 1 << 30) throw new IllegalStateException("The deque cannot hold any more elements.");
+
+		this.elements = Arrays.copyOf(this.toArray(), 2 * this.elements.length);
+		this.head = 0;
+	}
+
+	/**
+	 * Class {@code DequeElementsGetter} represents an {@code ElementsGetter} over the elements of the deque.
+	 *
+	 * @author Iva Maria Ivanković
+	 * @version 1.0
+	 */
+	private class DequeElementsGetter implements ElementsGetter<T> {
+
+		/**
+		 * The position of the next element to be fetched.
+		 */
+		private int position;
+
+		/**
+		 * The number of modifications made on the deque at the moment of creation of the getter.
+		 */
+		private final long savedModificationCount = modificationCount;
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public boolean hasNextElement() {
+			if(this.savedModificationCount != modificationCount) throw CollectionMetrics.concurrentModification("The collection has been modified.");
+			return this.position < size;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		@SuppressWarnings("unchecked")
+		public T getNextElement() {
+			if(!this.hasNextElement()) throw new NoSuchElementException("There are no elements left to fetch.");
+			return (T)elements[index(this.position++)];
+		}
+
+	}
+
+}
@@ -3,6 +3,9 @@ package hr.fer.oprpp1.custom.collections;
 import java.util.Arrays;
 import java.util.ConcurrentModificationException;
 import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
 
 /**
  * The {@code ArrayIndexedCollection} class represents an implementation of a resizable array-backed
@@ -30,6 +33,12 @@ public class ArrayIndexedCollection<T> implements List<T> {
 	 */
 	private long modificationCount = 0;
 	
+	/**
+	 * Whether the {@code elements} array is shared with a snapshot. A shared array is copied before any write
+	 * which could change the elements seen by the snapshot; appending past the current size does not.
+	 */
+	private boolean shared;
+	
 	/**
 	 * The default capacity of the {@code elements} array. It is used when there is no argument provided
 	 * while creating an instance of the {@code ArrayIndexedCollection} class.
@@ -127,11 +136,7 @@ public class ArrayIndexedCollection<T> implements List<T> {
 	public void add(T value) {
 		if(value == null) throw new NullPointerException("The provided value cannot be null.");
 		
-		if(this.elements.length <= this.size) {
-			this.elements = Arrays.copyOf(this.elements, this.elements.length * RESIZE_COEFFICIENT);
-			this.modificationCount++;
-		}
-		
+		this.ensureCapacity(this.size + 1);
 		this.elements[size++] = value;
 		this.modificationCount++;
 	}
@@ -167,13 +172,9 @@ public class ArrayIndexedCollection<T> implements List<T> {
 		if(value == null) throw new NullPointerException("The provided value cannot be null.");
 		if(position >= this.size || position < 0) throw new IndexOutOfBoundsException("The object cannot be placed to that position.");
 		
-		if(this.elements.length <= this.size) {
-			this.elements = Arrays.copyOf(this.elements, this.elements.length * 2);
-		}
-		
-		for(int i = this.size; i > position; i--) {
-			this.elements[i] = this.elements[i - 1];
-		}
+		this.ensureCapacity(this.size + 1);
+		this.unshare();
+		System.arraycopy(this.elements, position, this.elements, position + 1, this.size - position);
 		this.elements[position] = value;
 		this.size++;
 		this.modificationCount++;
@@ -184,9 +185,10 @@ public class ArrayIndexedCollection<T> implements List<T> {
 	 */
 	@Override
 	public boolean remove(Object value) {
-		if(this.indexOf(value) == -1) return false;
+		int index = this.indexOf(value);
+		if(index == -1) return false;
 		
-		this.remove(this.indexOf(value));
+		this.remove(index);
 		return true;
 	}
 	
@@ -200,22 +202,375 @@ public class ArrayIndexedCollection<T> implements List<T> {
 	public void remove(int index) {
 		if(index >= this.size || index < 0) throw new IndexOutOfBoundsException("The provided index is not between 0 and size-1.");
 		
-		for(int i = index; i < this.size; i++) {
-			this.elements[i] = this.elements[i + 1];
-		}
+		this.unshare();
+		System.arraycopy(this.elements, index + 1, this.elements, index, this.size - index - 1);
 		this.size--;
 		this.elements[size] = null;
 		this.modificationCount++;
 	}	
 	
+	/**
+	 * Adds all elements of the given collection to the end of the current collection. The backing array is
+	 * resized at most once, before any element is copied.
+	 * 
+	 * @param other collection from which the elements will be added to the current collection.
+	 * @throws NullPointerException when the given collection is {@code null} or contains {@code null}.
+	 */
+	@Override
+	public void addAll(Collection<? extends T> other) {
+		if(other == null) throw new NullPointerException("The given collection cannot be null.");
+		
+		int otherSize = other.size();
+		this.ensureCapacity(this.size + otherSize);
+		
+		if(other instanceof ArrayIndexedCollection) {
+			System.arraycopy(((ArrayIndexedCollection<?>) other).elements, 0, this.elements, this.size, otherSize);
+			this.size += otherSize;
+		} else {
+			other.forEach(value -> {
+				if(value == null) throw new NullPointerException("The provided value cannot be null.");
+				this.ensureCapacity(this.size + 1);
+				this.elements[this.size++] = value;
+			});
+		}
+		this.modificationCount++;
+	}
+	
+	/**
+	 * Inserts all elements of the given collection at the given {@code position}, in the order in which the given
+	 * collection returns them. The elements at indexes larger than or equal to {@code position} are shifted towards
+	 * the end with a single block copy.
+	 * 
+	 * @param other collection whose elements are to be inserted into the current collection.
+	 * @param position the index at which the first inserted element needs to be placed.
+	 * @throws NullPointerException when the given collection is {@code null} or contains {@code null}.
+	 * @throws IndexOutOfBoundsException when the provided {@code position} is not between 0 and {@code size}.
+	 */
+	public void insertAll(Collection<? extends T> other, int position) {
+		if(other == null) throw new NullPointerException("The given collection cannot be null.");
+		if(position > this.size || position < 0) throw new IndexOutOfBoundsException("The objects cannot be placed to that position.");
+		
+		Object[] inserted;
+		if(other instanceof ArrayIndexedCollection) {
+			inserted = ((ArrayIndexedCollection<?>) other).elements;
+		} else {
+			inserted = new Object[other.size()];
+			int[] index = new int[1];
+			other.forEach(value -> {
+				if(value == null) throw new NullPointerException("The provided value cannot be null.");
+				inserted[index[0]++] = value;
+			});
+		}
+		
+		int count = other.size();
+		this.ensureCapacity(this.size + count);
+		if(this.shared) {
+			//umetanje u dijeljeno polje: kopija vec sadrzi pomaknute elemente
+			T[] copy = Arrays.copyOf(this.elements, this.elements.length);
+			System.arraycopy(this.elements, position, copy, position + count, this.size - position);
+			System.arraycopy(inserted, 0, copy, position, count);
+			this.elements = copy;
+			this.shared = false;
+			this.size += count;
+			this.modificationCount++;
+			return;
+		}
+		System.arraycopy(this.elements, position, this.elements, position + count, this.size - position);
+		if(inserted == this.elements) {
+			//kolekcija je umetnuta u samu sebe, pomaknuti dio se nalazi iza umetnutog
+			System.arraycopy(this.elements, 0, this.elements, position, position);
+			System.arraycopy(this.elements, position + count, this.elements, 2 * position, count - position);
+		} else {
+			System.arraycopy(inserted, 0, this.elements, position, count);
+		}
+		this.size += count;
+		this.modificationCount++;
+	}
+	
+	/**
+	 * Removes the elements at indexes from {@code fromIndex}, inclusive, to {@code toIndex}, exclusive, by shifting the
+	 * elements that came after them closer to the beginning of the list with a single block copy.
+	 * 
+	 * @param fromIndex the index of the first element that is to be removed.
+	 * @param toIndex the index after the last element that is to be removed.
+	 * @throws IndexOutOfBoundsException when {@code fromIndex} is negative, {@code toIndex} is larger than {@code size}
+	 * or {@code fromIndex} is larger than {@code toIndex}.
+	 */
+	public void removeRange(int fromIndex, int toIndex) {
+		if(fromIndex < 0 || toIndex > this.size || fromIndex > toIndex) throw new IndexOutOfBoundsException("The provided range is not within 0 and size.");
+		if(fromIndex == toIndex) return;
+		
+		this.unshare();
+		System.arraycopy(this.elements, toIndex, this.elements, fromIndex, this.size - toIndex);
+		int newSize = this.size - (toIndex - fromIndex);
+		Arrays.fill(this.elements, newSize, this.size, null);
+		this.size = newSize;
+		this.modificationCount++;
+	}
+	
+	/**
+	 * Removes all elements which are accepted by the given tester. The tester is applied to every element
+	 * before the array is changed, and the accepted elements are marked in a bit set; the remaining elements
+	 * are then compacted towards the beginning of the list in a single pass, so the whole operation is linear
+	 * in the size of the list. If the tester modifies the collection, it is left as the tester left it. If the
+	 * tester throws another exception, the elements it accepted before that are still removed. An array shared
+	 * with a snapshot is copied only if at least one element is removed.
+	 * 
+	 * @param tester the tester which determines whether an element is to be removed.
+	 * @return {@code true} if at least one element was removed, {@code false} otherwise.
+	 * @throws NullPointerException when the provided tester is {@code null}.
+	 * @throws ConcurrentModificationException when the tester modifies the current collection.
+	 */
+	public boolean removeIf(Tester<? super T> tester) {
+		if(tester == null) throw new NullPointerException("The provided tester cannot be null.");
+		
+		long savedModificationCount = this.modificationCount;
+		int oldSize = this.size;
+		long[] accepted = null;
+		int removed = 0;
+		try {
+			for(int i = 0; i < oldSize; i++) {
+				boolean remove = tester.test(this.elements[i]);
+				if(savedModificationCount != this.modificationCount) throw CollectionMetrics.concurrentModification("The collection has been modified.");
+				if(remove) {
+					if(accepted == null) accepted = new long[(oldSize + 63) >>> 6];
+					accepted[i >>> 6] |= 1L << i;
+					removed++;
+				}
+			}
+		} finally {
+			// polje se mijenja tek kad su svi elementi ispitani, i samo ako ga tester nije mijenjao
+			if(removed > 0 && savedModificationCount == this.modificationCount) {
+				this.unshare();
+				int write = 0;
+				for(int read = 0; read < oldSize; read++) {
+					if((accepted[read >>> 6] & (1L << read)) == 0) this.elements[write++] = this.elements[read];
+				}
+				Arrays.fill(this.elements, write, oldSize, null);
+				this.size = write;
+				this.modificationCount++;
+			}
+		}
+		return removed > 0;
+	}
+	
+	/**
+	 * Removes all elements from the collection. The capacity of the backing array is kept.
+	 */
+	@SuppressWarnings("unchecked")
 	public void clear() {
-		for(int i = 0; i < this.size; i++) {
-			this.elements[i] = null;
+		if(this.shared) {
+			this.elements = (T[]) new Object[this.elements.length];
+			this.shared = false;
+		} else {
+			Arrays.fill(this.elements, 0, this.size, null);
 		}
 		this.size = 0;
 		this.modificationCount++;
 	}
 	
+	/**
+	 * Makes sure that the backing array can hold at least {@code minCapacity} elements. If it cannot, it is
+	 * reallocated once, to the larger of {@code minCapacity} and its length multiplied by {@code RESIZE_COEFFICIENT}.
+	 * 
+	 * @param minCapacity the required capacity of the backing array.
+	 */
+	private void ensureCapacity(int minCapacity) {
+		if(this.elements.length >= minCapacity) return;
+		
+		int newCapacity = Math.max(minCapacity, this.elements.length * RESIZE_COEFFICIENT);
+		if(CollectionMetrics.ENABLED) CollectionMetrics.recordArrayResize(this.elements.length);
+		this.elements = Arrays.copyOf(this.elements, newCapacity);
+		this.shared = false;
+		this.modificationCount++;
+	}
+	
+	/**
+	 * Copies the {@code elements} array if it is shared with a snapshot, so that it can be modified in place.
+	 */
+	private void unshare() {
+		if(!this.shared) return;
+		
+		this.elements = Arrays.copyOf(this.elements, this.elements.length);
+		this.shared = false;
+	}
+	
+	/**
+	 * Creates an immutable snapshot of the current contents of the collection in constant time. The snapshot
+	 * shares the backing array with the collection until the collection is next modified in a way that would
+	 * change the shared part of the array; such a modification copies the array first. Appending elements does
+	 * not copy the array, since the snapshot never reads past its own size.
+	 * <p>
+	 * Iterating a snapshot never throws a {@code ConcurrentModificationException}, regardless of how the collection
+	 * is modified afterwards. A snapshot can be read by other threads if it is safely published to them, for example
+	 * through a {@code volatile} field or a concurrent queue; the collection itself is still not thread-safe.
+	 * 
+	 * @return an immutable list holding the current elements of the collection.
+	 */
+	public List<T> snapshot() {
+		this.shared = true;
+		return new Snapshot<T>(this.elements, this.size);
+	}
+	
+	/**
+	 * The {@code Snapshot} class represents an immutable view of the elements which an {@code ArrayIndexedCollection}
+	 * held at the moment of creating the snapshot. Every modifying method throws an {@code UnsupportedOperationException}.
+	 * 
+	 * @author Iva Maria Ivanković
+	 * @version 1.0
+	 */
+	private static class Snapshot<T> implements List<T> {
+		
+		/**
+		 * The array shared with the collection, whose first {@code size} elements belong to the snapshot.
+		 */
+		private final T[] elements;
+		
+		/**
+		 * The number of elements in the snapshot.
+		 */
+		private final int size;
+		
+		/**
+		 * Creates a snapshot of the first {@code size} elements of the provided array.
+		 * 
+		 * @param elements the shared array.
+		 * @param size the number of elements in the snapshot.
+		 */
+		private Snapshot(T[] elements, int size) {
+			this.elements = elements;
+			this.size = size;
+		}
+		
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public int size() {
+			return this.size;
+		}
+		
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public T get(int index) {
+			if(index >= this.size || index < 0) throw new IndexOutOfBoundsException("There is no object at that position.");
+			return this.elements[index];
+		}
+		
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public int indexOf(Object value) {
+			if(value == null) return -1;
+			
+			for(int i = 0; i < this.size; i++) {
+				if(this.elements[i].equals(value)) return i;
+			}
+			return -1;
+		}
+		
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public boolean contains(Object value) {
+			return this.indexOf(value) != -1;
+		}
+		
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public Object[] toArray() {
+			return Arrays.copyOf(this.elements, this.size, Object[].class);
+		}
+		
+		/**
+		 * Creates an {@code ElementsGetter} over the elements of the snapshot, which never throws a
+		 * {@code ConcurrentModificationException}.
+		 * 
+		 * @return instance of {@code ElementsGetter} class for use in the context of the current snapshot.
+		 */
+		@Override
+		public ElementsGetter<T> createElementsGetter() {
+			return new ElementsGetter<T>() {
+				private int nextNonFetchedElement;
+				
+				@Override
+				public boolean hasNextElement() {
+					return this.nextNonFetchedElement < size;
+				}
+				
+				@Override
+				public T getNextElement() {
+					if(!this.hasNextElement()) throw new NoSuchElementException("There are no elements left to fetch.");
+					return elements[this.nextNonFetchedElement++];
+				}
+			};
+		}
+		
+		/**
+		 * Creates a {@code Spliterator} over the elements of the snapshot.
+		 * 
+		 * @return an {@code ORDERED}, {@code SIZED}, {@code SUBSIZED}, {@code NONNULL} and {@code IMMUTABLE} spliterator.
+		 */
+		@Override
+		public Spliterator<T> spliterator() {
+			return Spliterators.spliterator(this.elements, 0, this.size, Spliterator.ORDERED | Spliterator.NONNULL | Spliterator.IMMUTABLE);
+		}
+		
+		/**
+		 * Always throws an {@code UnsupportedOperationException}, since a snapshot cannot be modified.
+		 */
+		@Override
+		public void add(T value) {
+			throw new UnsupportedOperationException("A snapshot cannot be modified.");
+		}
+		
+		/**
+		 * Always throws an {@code UnsupportedOperationException}, since a snapshot cannot be modified.
+		 */
+		@Override
+		public void insert(T value, int position) {
+			throw new UnsupportedOperationException("A snapshot cannot be modified.");
+		}
+		
+		/**
+		 * Always throws an {@code UnsupportedOperationException}, since a snapshot cannot be modified.
+		 */
+		@Override
+		public boolean remove(Object value) {
+			throw new UnsupportedOperationException("A snapshot cannot be modified.");
+		}
+		
+		/**
+		 * Always throws an {@code UnsupportedOperationException}, since a snapshot cannot be modified.
+		 */
+		@Override
+		public void remove(int index) {
+			throw new UnsupportedOperationException("A snapshot cannot be modified.");
+		}
+		
+		/**
+		 * Always throws an {@code UnsupportedOperationException}, since a snapshot cannot be modified.
+		 */
+		@Override
+		public void addAll(Collection<? extends T> other) {
+			throw new UnsupportedOperationException("A snapshot cannot be modified.");
+		}
+		
+		/**
+		 * Always throws an {@code UnsupportedOperationException}, since a snapshot cannot be modified.
+		 */
+		@Override
+		public void clear() {
+			throw new UnsupportedOperationException("A snapshot cannot be modified.");
+		}
+	}
+	
 	/**
 	 * {@inheritDoc}
 	 */
@@ -273,7 +628,7 @@ public class ArrayIndexedCollection<T> implements List<T> {
 		 */
 		@Override
 		public boolean hasNextElement() {
-			if(this.savedModificationCount != this.arrayCollection.modificationCount) throw new ConcurrentModificationException("The collection has been modified.");
+			if(this.savedModificationCount != this.arrayCollection.modificationCount) throw CollectionMetrics.concurrentModification("The collection has been modified.");
 			return this.nextNonFetchedElement < this.arrayCollection.size;
 		}
 		
@@ -282,7 +637,7 @@ public class ArrayIndexedCollection<T> implements List<T> {
 		 */
 		@Override
 		public T getNextElement() {
-			if(this.savedModificationCount != this.arrayCollection.modificationCount) throw new ConcurrentModificationException("The collection has been modified.");
+			if(this.savedModificationCount != this.arrayCollection.modificationCount) throw CollectionMetrics.concurrentModification("The collection has been modified.");
 			if(!this.hasNextElement()) throw new NoSuchElementException("There are no elements left to fetch.");
 			return this.arrayCollection.get(nextNonFetchedElement++);
 		}
@@ -298,6 +653,139 @@ public class ArrayIndexedCollection<T> implements List<T> {
 		return new ArrayElementsGetter<T>(this);
 	}
 	
+	/**
+	 * The {@code ArraySpliterator} class represents a {@code Spliterator} over a range of indexes of an
+	 * {@code ArrayIndexedCollection}. It splits its range in halves, so both halves know their exact size.
+	 * The range is bound to the size of the collection on first use, and a modification of the collection
+	 * during the traversal is reported by a {@code ConcurrentModificationException}.
+	 * 
+	 * @author Iva Maria Ivanković
+	 * @version 1.0
+	 */
+	private static class ArraySpliterator<T> implements Spliterator<T> {
+		
+		/**
+		 * Backing collection whose elements are traversed.
+		 */
+		private final ArrayIndexedCollection<T> arrayCollection;
+		
+		/**
+		 * Index of the next element to be traversed.
+		 */
+		private int index;
+		
+		/**
+		 * Index after the last element to be traversed, -1 until the spliterator is first used.
+		 */
+		private int fence;
+		
+		/**
+		 * The number of modifications made on the backing collection at the moment of binding the range.
+		 */
+		private long savedModificationCount;
+		
+		/**
+		 * Creates a spliterator over the elements at indexes from {@code origin}, inclusive, to {@code fence}, exclusive.
+		 * 
+		 * @param collection the collection whose elements are to be traversed.
+		 * @param origin the index of the first element to be traversed.
+		 * @param fence the index after the last element to be traversed, -1 to bind it to the size on first use.
+		 * @param savedModificationCount the expected number of modifications of the collection.
+		 */
+		private ArraySpliterator(ArrayIndexedCollection<T> collection, int origin, int fence, long savedModificationCount) {
+			this.arrayCollection = collection;
+			this.index = origin;
+			this.fence = fence;
+			this.savedModificationCount = savedModificationCount;
+		}
+		
+		/**
+		 * Binds the range to the current size of the collection if it has not been bound yet.
+		 * 
+		 * @return the index after the last element to be traversed.
+		 */
+		private int getFence() {
+			if(this.fence < 0) {
+				this.savedModificationCount = this.arrayCollection.modificationCount;
+				this.fence = this.arrayCollection.size;
+			}
+			return this.fence;
+		}
+		
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public Spliterator<T> trySplit() {
+			int high = this.getFence();
+			int middle = (this.index + high) >>> 1;
+			if(this.index >= middle) return null;
+			
+			Spliterator<T> prefix = new ArraySpliterator<>(this.arrayCollection, this.index, middle, this.savedModificationCount);
+			this.index = middle;
+			return prefix;
+		}
+		
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public boolean tryAdvance(Consumer<? super T> action) {
+			if(action == null) throw new NullPointerException("The provided action cannot be null.");
+			
+			int high = this.getFence();
+			if(this.index >= high) return false;
+			
+			T element = this.arrayCollection.elements[this.index++];
+			action.accept(element);
+			if(this.savedModificationCount != this.arrayCollection.modificationCount) throw CollectionMetrics.concurrentModification("The collection has been modified.");
+			return true;
+		}
+		
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public void forEachRemaining(Consumer<? super T> action) {
+			if(action == null) throw new NullPointerException("The provided action cannot be null.");
+			
+			int high = this.getFence();
+			T[] elements = this.arrayCollection.elements;
+			for(int i = this.index; i < high; i++) {
+				action.accept(elements[i]);
+			}
+			this.index = high;
+			if(this.savedModificationCount != this.arrayCollection.modificationCount) throw CollectionMetrics.concurrentModification("The collection has been modified.");
+		}
+		
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public long estimateSize() {
+			return this.getFence() - this.index;
+		}
+		
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public int characteristics() {
+			return Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.NONNULL;
+		}
+	}
+	
+	/**
+	 * Creates a {@code Spliterator} over the elements of the current collection, which splits its range of indexes
+	 * in halves and therefore parallelizes well.
+	 * 
+	 * @return an {@code ORDERED}, {@code SIZED}, {@code SUBSIZED} and {@code NONNULL} spliterator.
+	 */
+	@Override
+	public Spliterator<T> spliterator() {
+		return new ArraySpliterator<>(this, 0, -1, 0);
+	}
+	
 	/**
 	 * {@inheritDoc}
 	 */
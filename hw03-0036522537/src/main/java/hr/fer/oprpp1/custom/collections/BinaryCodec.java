@@ -0,0 +1,97 @@
+package hr.fer.oprpp1.custom.collections;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * The {@code BinaryCodec} interface represents a conversion of objects to bytes and back,
+ * used for writing collections into binary snapshots and reading them again.
+ *
+ * @author Iva Maria Ivanković
+ * @version 1.0
+ *
+ * @param <T> type of the converted objects.
+ */
+public interface BinaryCodec<T> {
+
+	/**
+	 * A codec storing strings in UTF-8.
+	 */
+	BinaryCodec<String> STRING = new BinaryCodec<String>() {
+		@Override
+		public byte[] encode(String value) {
+			return value.getBytes(StandardCharsets.UTF_8);
+		}
+
+		@Override
+		public String decode(ByteBuffer bytes) {
+			byte[] array = new byte[bytes.remaining()];
+			bytes.get(array);
+			return new String(array, StandardCharsets.UTF_8);
+		}
+	};
+
+	/**
+	 * A codec storing integers in 4 bytes.
+	 */
+	BinaryCodec<Integer> INTEGER = new BinaryCodec<Integer>() {
+		@Override
+		public byte[] encode(Integer value) {
+			return ByteBuffer.allocate(Integer.BYTES).putInt(0, value).array();
+		}
+
+		@Override
+		public Integer decode(ByteBuffer bytes) {
+			return bytes.getInt(bytes.position());
+		}
+	};
+
+	/**
+	 * A codec storing long integers in 8 bytes.
+	 */
+	BinaryCodec<Long> LONG = new BinaryCodec<Long>() {
+		@Override
+		public byte[] encode(Long value) {
+			return ByteBuffer.allocate(Long.BYTES).putLong(0, value).array();
+		}
+
+		@Override
+		public Long decode(ByteBuffer bytes) {
+			return bytes.getLong(bytes.position());
+		}
+	};
+
+	/**
+	 * A codec storing byte arrays as they are.
+	 */
+	BinaryCodec<byte[]> BYTES = new BinaryCodec<byte[]>() {
+		@Override
+		public byte[] encode(byte[] value) {
+			return value;
+		}
+
+		@Override
+		public byte[] decode(ByteBuffer bytes) {
+			byte[] array = new byte[bytes.remaining()];
+			bytes.get(array);
+			return array;
+		}
+	};
+
+	/**
+	 * Converts the provided object to bytes.
+	 *
+	 * @param value the object which is converted, never {@code null}.
+	 * @return the bytes of the object.
+	 */
+	byte[] encode(T value);
+
+	/**
+	 * Converts the provided bytes back to an object.
+	 *
+	 * @param bytes a buffer whose remaining bytes are the ones returned by {@code encode()}.
+	 * @return the decoded object.
+	 */
+	T decode(ByteBuffer bytes);
+
+}
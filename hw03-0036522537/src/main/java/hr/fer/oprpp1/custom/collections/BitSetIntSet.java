@@ -0,0 +1,817 @@
+package hr.fer.oprpp1.custom.collections;
+
+import java.util.Arrays;
+
+/**
+ * Class {@code BitSetIntSet} represents a compressed set of {@code int} values, organised the way Roaring bitmaps are.
+ * The values are split into chunks by their upper 16 bits, and every non-empty chunk keeps its lower 16 bits in
+ * a container: a sorted {@code char} array while the chunk holds at most {@code ARRAY_LIMIT} values, and a bitmap
+ * of 65536 bits (8 KiB) once it holds more. A sparse set therefore costs about two bytes per value and a dense one
+ * about one bit per value, and neither allocates an object per value.
+ * <p>
+ * Union, intersection and difference combine the sets chunk by chunk; two bitmaps are combined a 64-bit word
+ * at a time, two arrays are merged, and an array is combined with a bitmap by testing its values against the bitmap.
+ * The values are visited in ascending order.
+ *
+ * @author Iva Maria Ivanković
+ * @version 1.0
+ */
+public class BitSetIntSet {
+
+	/**
+	 * The largest number of values of a chunk kept in a sorted array; more values take less memory in a bitmap.
+	 */
+	static final int ARRAY_LIMIT = 4096;
+
+	/**
+	 * The number of 64-bit words of a bitmap container.
+	 */
+	private static final int BITMAP_WORDS = 1 << 10;
+
+	/**
+	 * The keys of the non-empty chunks, sorted. A key is the upper 16 bits of the values of the chunk
+	 * with the sign bit flipped, so that the unsigned order of the keys is the signed order of the values.
+	 */
+	private char[] keys;
+
+	/**
+	 * The containers of the non-empty chunks, in the order of their keys.
+	 */
+	private Container[] containers;
+
+	/**
+	 * The number of non-empty chunks.
+	 */
+	private int chunks;
+
+	/**
+	 * Default constructor which creates an empty set.
+	 */
+	public BitSetIntSet() {
+		this.keys = new char[4];
+		this.containers = new Container[4];
+		this.chunks = 0;
+	}
+
+	/**
+	 * A constructor which creates a set holding the provided values.
+	 *
+	 * @param values the values of the set.
+	 * @throws NullPointerException when the provided array is {@code null}.
+	 */
+	public BitSetIntSet(int... values) {
+		this();
+		if(values == null) throw new NullPointerException("The provided values cannot be null.");
+
+		for(int value : values) this.add(value);
+	}
+
+	/**
+	 * Adds the provided value into the set.
+	 *
+	 * @param value the value which is added.
+	 * @return {@code true} if the value has been added, {@code false} if the set already contained it.
+	 */
+	public boolean add(int value) {
+		char key = keyOf(value);
+		int position = this.find(key);
+
+		if(position < 0) {
+			position = -position - 1;
+			this.insertChunk(position, key, new ArrayContainer());
+		}
+
+		Container container = this.containers[position];
+		int oldCardinality = container.cardinality;
+		this.containers[position] = container.add((char)value);
+		return this.containers[position].cardinality != oldCardinality;
+	}
+
+	/**
+	 * Checks whether the provided value is in the set.
+	 *
+	 * @param value the value which is searched for.
+	 * @return {@code true} if the set contains the value, {@code false} otherwise.
+	 */
+	public boolean contains(int value) {
+		int position = this.find(keyOf(value));
+		return position >= 0 && this.containers[position].contains((char)value);
+	}
+
+	/**
+	 * Removes the provided value from the set.
+	 *
+	 * @param value the value which is removed.
+	 * @return {@code true} if the value has been removed, {@code false} if the set did not contain it.
+	 */
+	public boolean remove(int value) {
+		int position = this.find(keyOf(value));
+		if(position < 0) return false;
+
+		Container container = this.containers[position];
+		int oldCardinality = container.cardinality;
+		container = container.remove((char)value);
+
+		if(container.cardinality == 0) {
+			this.removeChunk(position);
+		} else {
+			this.containers[position] = container;
+		}
+		return container.cardinality != oldCardinality;
+	}
+
+	/**
+	 * Determines the number of values in the set, which can be bigger than {@code Integer.MAX_VALUE}.
+	 *
+	 * @return the number of values in the set.
+	 */
+	public long size() {
+		long size = 0;
+		for(int i = 0; i < this.chunks; i++) size += this.containers[i].cardinality;
+		return size;
+	}
+
+	/**
+	 * Indicates whether there are any values in the set.
+	 *
+	 * @return {@code true} if the set is empty, {@code false} otherwise.
+	 */
+	public boolean isEmpty() {
+		return this.chunks == 0;
+	}
+
+	/**
+	 * Removes all values from the set.
+	 */
+	public void clear() {
+		Arrays.fill(this.containers, 0, this.chunks, null);
+		this.chunks = 0;
+	}
+
+	/**
+	 * Calls the provided processor for every value of the set, in ascending order.
+	 *
+	 * @param processor the processor of the values.
+	 * @throws NullPointerException when the provided processor is {@code null}.
+	 */
+	public void forEach(IntProcessor processor) {
+		if(processor == null) throw new NullPointerException("The provided processor cannot be null.");
+
+		for(int i = 0; i < this.chunks; i++) this.containers[i].forEach((this.keys[i] ^ 0x8000) << 16, processor);
+	}
+
+	/**
+	 * Creates an array holding the values of the set in ascending order.
+	 *
+	 * @return the array of values.
+	 * @throws IllegalStateException when the set holds more values than an array can.
+	 */
+	public int[] toArray() {
+		long size = this.size();
+		if(size > Integer.MAX_VALUE - 8) throw new IllegalStateException("The set is too big to be stored in an array.");
+
+		int[] array = new int[(int)size];
+		int index = 0;
+		for(int i = 0; i < this.chunks; i++) index = this.containers[i].copyTo((this.keys[i] ^ 0x8000) << 16, array, index);
+		return array;
+	}
+
+	/**
+	 * Creates a new set holding the values contained in the current or in the provided set.
+	 *
+	 * @param other the other set.
+	 * @return the union of the sets.
+	 * @throws NullPointerException when the provided set is {@code null}.
+	 */
+	public BitSetIntSet union(BitSetIntSet other) {
+		return this.combine(other, Operation.UNION);
+	}
+
+	/**
+	 * Creates a new set holding the values contained in both the current and the provided set.
+	 *
+	 * @param other the other set.
+	 * @return the intersection of the sets.
+	 * @throws NullPointerException when the provided set is {@code null}.
+	 */
+	public BitSetIntSet intersection(BitSetIntSet other) {
+		return this.combine(other, Operation.INTERSECTION);
+	}
+
+	/**
+	 * Creates a new set holding the values contained in the current set, but not in the provided one.
+	 *
+	 * @param other the other set.
+	 * @return the difference of the sets.
+	 * @throws NullPointerException when the provided set is {@code null}.
+	 */
+	public BitSetIntSet difference(BitSetIntSet other) {
+		return this.combine(other, Operation.DIFFERENCE);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean equals(Object obj) {
+		if(this == obj) return true;
+		if(!(obj instanceof BitSetIntSet)) return false;
+
+		BitSetIntSet other = (BitSetIntSet)obj;
+		if(this.chunks != other.chunks) return false;
+
+		for(int i = 0; i < this.chunks; i++) {
+			if(this.keys[i] != other.keys[i] || !this.containers[i].sameValues(other.containers[i])) return false;
+		}
+		return true;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int hashCode() {
+		int[] hash = {1};
+		this.forEach(value -> hash[0] = 31 * hash[0] + value);
+		return hash[0];
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder("[");
+		this.forEach(value -> {
+			if(sb.length() > 1) sb.append(", ");
+			sb.append(value);
+		});
+		return sb.append("]").toString();
+	}
+
+	/**
+	 * Combines the current set with the provided one chunk by chunk.
+	 *
+	 * @param other the other set.
+	 * @param operation the operation applied to the chunks.
+	 * @return the new set.
+	 * @throws NullPointerException when the provided set is {@code null}.
+	 */
+	private BitSetIntSet combine(BitSetIntSet other, Operation operation) {
+		if(other == null) throw new NullPointerException("The provided set cannot be null.");
+
+		BitSetIntSet result = new BitSetIntSet();
+		int i = 0, j = 0;
+
+		while(i < this.chunks || j < other.chunks) {
+			int thisKey = i < this.chunks ? this.keys[i] : Integer.MAX_VALUE;
+			int otherKey = j < other.chunks ? other.keys[j] : Integer.MAX_VALUE;
+
+			Container container;
+			char key;
+			if(thisKey == otherKey) {
+				key = this.keys[i];
+				container = operation.apply(this.containers[i++], other.containers[j++]);
+			} else if(thisKey < otherKey) {
+				key = this.keys[i];
+				container = operation == Operation.INTERSECTION ? null : this.containers[i].copy();
+				i++;
+			} else {
+				key = other.keys[j];
+				container = operation == Operation.UNION ? other.containers[j].copy() : null;
+				j++;
+			}
+
+			if(container != null && container.cardinality > 0) result.insertChunk(result.chunks, key, container);
+		}
+
+		return result;
+	}
+
+	/**
+	 * Finds the chunk with the provided key.
+	 *
+	 * @param key the key of the chunk.
+	 * @return the position of the chunk, or {@code -(insertion point) - 1} if there is no such chunk.
+	 */
+	private int find(char key) {
+		// provjera zadnjeg bloka ubrzava dodavanje uzlaznih vrijednosti
+		if(this.chunks > 0 && this.keys[this.chunks - 1] == key) return this.chunks - 1;
+		return Arrays.binarySearch(this.keys, 0, this.chunks, key);
+	}
+
+	/**
+	 * Inserts a new chunk at the provided position.
+	 *
+	 * @param position the position of the chunk.
+	 * @param key the key of the chunk.
+	 * @param container the container of the chunk.
+	 */
+	private void insertChunk(int position, char key, Container container) {
+		if(this.chunks == this.keys.length) {
+			this.keys = Arrays.copyOf(this.keys, 2 * this.chunks);
+			this.containers = Arrays.copyOf(this.containers, 2 * this.chunks);
+		}
+
+		System.arraycopy(this.keys, position, this.keys, position + 1, this.chunks - position);
+		System.arraycopy(this.containers, position, this.containers, position + 1, this.chunks - position);
+		this.keys[position] = key;
+		this.containers[position] = container;
+		this.chunks++;
+	}
+
+	/**
+	 * Removes the chunk at the provided position.
+	 *
+	 * @param position the position of the chunk.
+	 */
+	private void removeChunk(int position) {
+		System.arraycopy(this.keys, position + 1, this.keys, position, this.chunks - position - 1);
+		System.arraycopy(this.containers, position + 1, this.containers, position, this.chunks - position - 1);
+		this.containers[--this.chunks] = null;
+	}
+
+	/**
+	 * Calculates the key of the chunk holding the provided value.
+	 *
+	 * @param value the value.
+	 * @return the key of its chunk.
+	 */
+	private static char keyOf(int value) {
+		return (char)((value >>> 16) ^ 0x8000);
+	}
+
+	/**
+	 * The operations which combine two sets.
+	 */
+	private enum Operation {
+
+		UNION {
+			@Override
+			Container apply(Container first, Container second) {
+				return first.or(second);
+			}
+		},
+
+		INTERSECTION {
+			@Override
+			Container apply(Container first, Container second) {
+				return first.and(second);
+			}
+		},
+
+		DIFFERENCE {
+			@Override
+			Container apply(Container first, Container second) {
+				return first.andNot(second);
+			}
+		};
+
+		/**
+		 * Combines the containers of two chunks with the same key into a new container.
+		 *
+		 * @param first the container of the current set.
+		 * @param second the container of the other set.
+		 * @return the new container, possibly empty.
+		 */
+		abstract Container apply(Container first, Container second);
+
+	}
+
+	/**
+	 * Class {@code Container} represents the lower 16 bits of the values of a chunk.
+	 * The modifying methods return the container which holds the result, which is either
+	 * the same container or a new one of the other kind.
+	 *
+	 * @author Iva Maria Ivanković
+	 * @version 1.0
+	 */
+	private abstract static class Container {
+
+		/**
+		 * The number of values in the container.
+		 */
+		int cardinality;
+
+		/**
+		 * Adds the provided value into the container.
+		 *
+		 * @param value the lower 16 bits of the value.
+		 * @return the container holding the result.
+		 */
+		abstract Container add(char value);
+
+		/**
+		 * Removes the provided value from the container.
+		 *
+		 * @param value the lower 16 bits of the value.
+		 * @return the container holding the result.
+		 */
+		abstract Container remove(char value);
+
+		/**
+		 * Checks whether the container holds the provided value.
+		 *
+		 * @param value the lower 16 bits of the value.
+		 * @return {@code true} if the value is in the container, {@code false} otherwise.
+		 */
+		abstract boolean contains(char value);
+
+		/**
+		 * Creates an independent copy of the container.
+		 *
+		 * @return the copy.
+		 */
+		abstract Container copy();
+
+		/**
+		 * Creates a new container holding the values of the current or of the provided container.
+		 *
+		 * @param other the other container.
+		 * @return the union of the containers.
+		 */
+		abstract Container or(Container other);
+
+		/**
+		 * Creates a new container holding the values of both the current and the provided container.
+		 *
+		 * @param other the other container.
+		 * @return the intersection of the containers, possibly empty.
+		 */
+		abstract Container and(Container other);
+
+		/**
+		 * Creates a new container holding the values of the current container which are not in the provided one.
+		 *
+		 * @param other the other container.
+		 * @return the difference of the containers, possibly empty.
+		 */
+		abstract Container andNot(Container other);
+
+		/**
+		 * Calls the processor for every value of the container.
+		 *
+		 * @param high the upper 16 bits of the values, already shifted into place.
+		 * @param processor the processor of the values.
+		 */
+		abstract void forEach(int high, IntProcessor processor);
+
+		/**
+		 * Copies the values of the container into the provided array.
+		 *
+		 * @param high the upper 16 bits of the values, already shifted into place.
+		 * @param array the array which the values are copied into.
+		 * @param index the index of the first copied value.
+		 * @return the index following the last copied value.
+		 */
+		abstract int copyTo(int high, int[] array, int index);
+
+		/**
+		 * Checks whether the provided container holds the same values.
+		 *
+		 * @param other the other container.
+		 * @return {@code true} if the values are the same, {@code false} otherwise.
+		 */
+		boolean sameValues(Container other) {
+			if(this.cardinality != other.cardinality) return false;
+			return this.andNot(other).cardinality == 0;
+		}
+
+	}
+
+	/**
+	 * Class {@code ArrayContainer} represents a chunk holding at most {@code ARRAY_LIMIT} values
+	 * as a sorted array of their lower 16 bits.
+	 *
+	 * @author Iva Maria Ivanković
+	 * @version 1.0
+	 */
+	private static final class ArrayContainer extends Container {
+
+		/**
+		 * The sorted values, valid up to {@code cardinality}.
+		 */
+		private char[] values;
+
+		/**
+		 * Creates an empty container.
+		 */
+		private ArrayContainer() {
+			this(new char[4], 0);
+		}
+
+		/**
+		 * Creates a container with the provided sorted values.
+		 *
+		 * @param values the sorted values.
+		 * @param cardinality the number of valid values.
+		 */
+		private ArrayContainer(char[] values, int cardinality) {
+			this.values = values;
+			this.cardinality = cardinality;
+		}
+
+		@Override
+		Container add(char value) {
+			int position = this.cardinality > 0 && this.values[this.cardinality - 1] < value
+					? -this.cardinality - 1
+					: Arrays.binarySearch(this.values, 0, this.cardinality, value);
+			if(position >= 0) return this;
+
+			if(this.cardinality == ARRAY_LIMIT) return this.toBitmap().add(value);
+
+			position = -position - 1;
+			if(this.cardinality == this.values.length) this.values = Arrays.copyOf(this.values, Math.min(ARRAY_LIMIT, 2 * this.cardinality));
+			System.arraycopy(this.values, position, this.values, position + 1, this.cardinality - position);
+			this.values[position] = value;
+			this.cardinality++;
+			return this;
+		}
+
+		@Override
+		Container remove(char value) {
+			int position = Arrays.binarySearch(this.values, 0, this.cardinality, value);
+			if(position < 0) return this;
+
+			System.arraycopy(this.values, position + 1, this.values, position, this.cardinality - position - 1);
+			this.cardinality--;
+			return this;
+		}
+
+		@Override
+		boolean contains(char value) {
+			return Arrays.binarySearch(this.values, 0, this.cardinality, value) >= 0;
+		}
+
+		@Override
+		Container copy() {
+			return new ArrayContainer(Arrays.copyOf(this.values, this.cardinality), this.cardinality);
+		}
+
+		@Override
+		Container or(Container other) {
+			if(other instanceof BitmapContainer) return other.or(this);
+
+			ArrayContainer array = (ArrayContainer)other;
+			if(this.cardinality + array.cardinality > ARRAY_LIMIT) {
+				BitmapContainer bitmap = this.toBitmap();
+				for(int i = 0; i < array.cardinality; i++) bitmap.set(array.values[i]);
+				return bitmap.cardinality > ARRAY_LIMIT ? bitmap : bitmap.toArray();
+			}
+
+			char[] merged = new char[this.cardinality + array.cardinality];
+			int i = 0, j = 0, k = 0;
+			while(i < this.cardinality && j < array.cardinality) {
+				char a = this.values[i], b = array.values[j];
+				if(a <= b) i++;
+				if(b <= a) j++;
+				merged[k++] = a <= b ? a : b;
+			}
+			while(i < this.cardinality) merged[k++] = this.values[i++];
+			while(j < array.cardinality) merged[k++] = array.values[j++];
+			return new ArrayContainer(merged, k);
+		}
+
+		@Override
+		Container and(Container other) {
+			char[] result = new char[this.cardinality];
+			int k = 0;
+
+			if(other instanceof BitmapContainer) {
+				BitmapContainer bitmap = (BitmapContainer)other;
+				for(int i = 0; i < this.cardinality; i++) {
+					if(bitmap.contains(this.values[i])) result[k++] = this.values[i];
+				}
+			} else {
+				ArrayContainer array = (ArrayContainer)other;
+				int i = 0, j = 0;
+				while(i < this.cardinality && j < array.cardinality) {
+					char a = this.values[i], b = array.values[j];
+					if(a == b) result[k++] = a;
+					if(a <= b) i++;
+					if(b <= a) j++;
+				}
+			}
+
+			return new ArrayContainer(result, k);
+		}
+
+		@Override
+		Container andNot(Container other) {
+			char[] result = new char[this.cardinality];
+			int k = 0;
+
+			if(other instanceof BitmapContainer) {
+				BitmapContainer bitmap = (BitmapContainer)other;
+				for(int i = 0; i < this.cardinality; i++) {
+					if(!bitmap.contains(this.values[i])) result[k++] = this.values[i];
+				}
+			} else {
+				ArrayContainer array = (ArrayContainer)other;
+				int j = 0;
+				for(int i = 0; i < this.cardinality; i++) {
+					char a = this.values[i];
+					while(j < array.cardinality && array.values[j] < a) j++;
+					if(j == array.cardinality || array.values[j] != a) result[k++] = a;
+				}
+			}
+
+			return new ArrayContainer(result, k);
+		}
+
+		@Override
+		void forEach(int high, IntProcessor processor) {
+			for(int i = 0; i < this.cardinality; i++) processor.process(high | this.values[i]);
+		}
+
+		@Override
+		int copyTo(int high, int[] array, int index) {
+			for(int i = 0; i < this.cardinality; i++) array[index++] = high | this.values[i];
+			return index;
+		}
+
+		/**
+		 * Creates a bitmap container holding the values of the current container.
+		 *
+		 * @return the bitmap container.
+		 */
+		private BitmapContainer toBitmap() {
+			BitmapContainer bitmap = new BitmapContainer(new long[BITMAP_WORDS], 0);
+			for(int i = 0; i < this.cardinality; i++) bitmap.set(this.values[i]);
+			return bitmap;
+		}
+
+	}
+
+	/**
+	 * Class {@code BitmapContainer} represents a chunk holding more than {@code ARRAY_LIMIT} values
+	 * as a bitmap of 65536 bits.
+	 *
+	 * @author Iva Maria Ivanković
+	 * @version 1.0
+	 */
+	private static final class BitmapContainer extends Container {
+
+		/**
+		 * The words of the bitmap; the value {@code v} is stored in bit {@code v % 64} of the word {@code v / 64}.
+		 */
+		private final long[] words;
+
+		/**
+		 * Creates a container with the provided bitmap.
+		 *
+		 * @param words the words of the bitmap.
+		 * @param cardinality the number of set bits.
+		 */
+		private BitmapContainer(long[] words, int cardinality) {
+			this.words = words;
+			this.cardinality = cardinality;
+		}
+
+		/**
+		 * Sets the bit of the provided value, keeping the cardinality up to date.
+		 *
+		 * @param value the value.
+		 */
+		private void set(char value) {
+			long before = this.words[value >>> 6];
+			long after = before | (1L << value);
+			this.words[value >>> 6] = after;
+			if(before != after) this.cardinality++;
+		}
+
+		@Override
+		Container add(char value) {
+			this.set(value);
+			return this;
+		}
+
+		@Override
+		Container remove(char value) {
+			long before = this.words[value >>> 6];
+			long after = before & ~(1L << value);
+			if(before == after) return this;
+
+			this.words[value >>> 6] = after;
+			this.cardinality--;
+			return this.cardinality <= ARRAY_LIMIT ? this.toArray() : this;
+		}
+
+		@Override
+		boolean contains(char value) {
+			return (this.words[value >>> 6] & (1L << value)) != 0;
+		}
+
+		@Override
+		Container copy() {
+			return new BitmapContainer(this.words.clone(), this.cardinality);
+		}
+
+		@Override
+		Container or(Container other) {
+			if(other instanceof ArrayContainer) {
+				BitmapContainer result = (BitmapContainer)this.copy();
+				ArrayContainer array = (ArrayContainer)other;
+				for(int i = 0; i < array.cardinality; i++) result.set(array.values[i]);
+				return result;
+			}
+
+			long[] otherWords = ((BitmapContainer)other).words;
+			long[] result = new long[BITMAP_WORDS];
+			int cardinality = 0;
+			for(int i = 0; i < BITMAP_WORDS; i++) {
+				result[i] = this.words[i] | otherWords[i];
+				cardinality += Long.bitCount(result[i]);
+			}
+			return new BitmapContainer(result, cardinality);
+		}
+
+		@Override
+		Container and(Container other) {
+			if(other instanceof ArrayContainer) return other.and(this);
+
+			long[] otherWords = ((BitmapContainer)other).words;
+			long[] result = new long[BITMAP_WORDS];
+			int cardinality = 0;
+			for(int i = 0; i < BITMAP_WORDS; i++) {
+				result[i] = this.words[i] & otherWords[i];
+				cardinality += Long.bitCount(result[i]);
+			}
+			return shrink(result, cardinality);
+		}
+
+		@Override
+		Container andNot(Container other) {
+			if(other instanceof ArrayContainer) {
+				BitmapContainer result = (BitmapContainer)this.copy();
+				ArrayContainer array = (ArrayContainer)other;
+				for(int i = 0; i < array.cardinality; i++) {
+					char value = array.values[i];
+					long before = result.words[value >>> 6];
+					result.words[value >>> 6] = before & ~(1L << value);
+					if(before != result.words[value >>> 6]) result.cardinality--;
+				}
+				return result.cardinality <= ARRAY_LIMIT ? result.toArray() : result;
+			}
+
+			long[] otherWords = ((BitmapContainer)other).words;
+			long[] result = new long[BITMAP_WORDS];
+			int cardinality = 0;
+			for(int i = 0; i < BITMAP_WORDS; i++) {
+				result[i] = this.words[i] & ~otherWords[i];
+				cardinality += Long.bitCount(result[i]);
+			}
+			return shrink(result, cardinality);
+		}
+
+		@Override
+		void forEach(int high, IntProcessor processor) {
+			for(int i = 0; i < BITMAP_WORDS; i++) {
+				for(long word = this.words[i]; word != 0; word &= word - 1) {
+					processor.process(high | (i << 6) | Long.numberOfTrailingZeros(word));
+				}
+			}
+		}
+
+		@Override
+		int copyTo(int high, int[] array, int index) {
+			for(int i = 0; i < BITMAP_WORDS; i++) {
+				for(long word = this.words[i]; word != 0; word &= word - 1) {
+					array[index++] = high | (i << 6) | Long.numberOfTrailingZeros(word);
+				}
+			}
+			return index;
+		}
+
+		/**
+		 * Creates an array container holding the values of the current container.
+		 *
+		 * @return the array container.
+		 */
+		private ArrayContainer toArray() {
+			char[] values = new char[this.cardinality];
+			int k = 0;
+			for(int i = 0; i < BITMAP_WORDS; i++) {
+				for(long word = this.words[i]; word != 0; word &= word - 1) {
+					values[k++] = (char)((i << 6) | Long.numberOfTrailingZeros(word));
+				}
+			}
+			return new ArrayContainer(values, k);
+		}
+
+		/**
+		 * Creates the container for the result of an operation on two bitmaps, converting
+		 * it into an array if it holds few enough values.
+		 *
+		 * @param words the words of the result.
+		 * @param cardinality the number of set bits.
+		 * @return the container of the result.
+		 */
+		private static Container shrink(long[] words, int cardinality) {
+			BitmapContainer bitmap = new BitmapContainer(words, cardinality);
+			return cardinality <= ARRAY_LIMIT ? bitmap.toArray() : bitmap;
+		}
+
+	}
+
+}
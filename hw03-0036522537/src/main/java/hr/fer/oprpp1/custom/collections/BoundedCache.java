@@ -0,0 +1,586 @@
+package hr.fer.oprpp1.custom.collections;
+
+import java.util.function.Function;
+import java.util.function.ToIntBiFunction;
+
+/**
+ * Class {@code BoundedCache} represents a {@code SimpleHashtable} whose total weight is bounded: whenever an
+ * insertion or an update pushes the total weight of the entries over the maximum, entries are evicted until
+ * it fits again. The weight of an entry is 1 by default, or the result of a provided weigher.
+ * <p>
+ * The entries are threaded through access-ordered doubly linked lists, so every operation stays O(1).
+ * Two eviction policies are supported:
+ * <ul>
+ * <li>{@code LRU} evicts the least recently used entry;</li>
+ * <li>{@code WINDOW_TINY_LFU} admits new entries into a small LRU window (1% of the maximum weight), and an entry
+ * leaving the window only stays in the cache if it has been requested more often than the entry it would replace,
+ * as estimated by a count-min sketch of the keys read and written. The main part of the cache is a segmented LRU:
+ * entries hit while on probation are promoted to the protected segment, which holds up to 80% of the main part.
+ * This keeps a burst of one-off keys from flushing out the popular ones. The sketch grows with the number
+ * of entries, not with the maximum weight.</li>
+ * </ul>
+ * The cache counts hits and misses of {@code get()} and {@code computeIfAbsent()}, as well as evictions.
+ * Values cannot be {@code null}. Like {@code SimpleHashtable}, the cache is not thread-safe.
+ * 
+ * @author Iva Maria Ivanković
+ * @version 1.0
+ *
+ * @param <K> type of a key object in the cache.
+ * @param <V> type of a value object in the cache.
+ */
+public class BoundedCache<K, V> extends SimpleHashtable<K, V> {
+	
+	/**
+	 * Enumeration {@code EvictionPolicy} lists the policies which choose the entries to be evicted.
+	 */
+	public enum EvictionPolicy {
+		/**
+		 * Evicts the least recently used entry.
+		 */
+		LRU,
+		/**
+		 * Admits entries from a small LRU window into a segmented LRU by their estimated frequency.
+		 */
+		WINDOW_TINY_LFU
+	}
+	
+	/**
+	 * The share of the maximum weight given to the admission window.
+	 */
+	private static final double WINDOW_SHARE = 0.01;
+	
+	/**
+	 * The share of the main part of the cache given to the protected segment.
+	 */
+	private static final double PROTECTED_SHARE = 0.8;
+	
+	/**
+	 * Class {@code CacheEntry} represents an entry of the cache, linked into the access-ordered list of its region.
+	 * 
+	 * @author Iva Maria Ivanković
+	 * @version 1.0
+	 */
+	private class CacheEntry extends TableEntry<K, V> {
+		
+		/**
+		 * The entry used less recently than the current one in the same region.
+		 */
+		private CacheEntry before;
+		
+		/**
+		 * The entry used more recently than the current one in the same region.
+		 */
+		private CacheEntry after;
+		
+		/**
+		 * The region holding the entry, {@code null} once the entry is removed.
+		 */
+		private Region region;
+		
+		/**
+		 * The weight of the entry.
+		 */
+		private int weight;
+		
+		/**
+		 * Creates a new entry.
+		 * 
+		 * @param hash the spread hash code of the key.
+		 * @param key the key of the entry.
+		 * @param value the value of the entry.
+		 * @param next the entry which follows the new entry in its slot.
+		 */
+		private CacheEntry(int hash, K key, V value, TableEntry<K, V> next) {
+			super(hash, key, value, next);
+		}
+		
+		/**
+		 * Sets the value of the entry and reweighs it, which may evict entries.
+		 * 
+		 * @param value the new value of the entry.
+		 * @throws NullPointerException when the provided value is {@code null}.
+		 */
+		@Override
+		public void setValue(V value) {
+			if(value == null) throw new NullPointerException("The provided value must not be null.");
+			super.setValue(value);
+			if(this.region != null) afterUpdate(this);
+		}
+	}
+	
+	/**
+	 * Class {@code Region} represents an access-ordered list of entries with a bounded total weight.
+	 * 
+	 * @author Iva Maria Ivanković
+	 * @version 1.0
+	 */
+	private class Region {
+		
+		/**
+		 * The least recently used entry of the region.
+		 */
+		private CacheEntry head;
+		
+		/**
+		 * The most recently used entry of the region.
+		 */
+		private CacheEntry tail;
+		
+		/**
+		 * The total weight of the entries in the region.
+		 */
+		private long weight;
+		
+		/**
+		 * The maximum total weight of the entries in the region.
+		 */
+		private final long capacity;
+		
+		/**
+		 * Creates an empty region.
+		 * 
+		 * @param capacity the maximum total weight of the entries in the region.
+		 */
+		private Region(long capacity) {
+			this.capacity = capacity;
+		}
+		
+		/**
+		 * Appends the provided entry as the most recently used one.
+		 * 
+		 * @param entry the entry which is to be appended.
+		 */
+		private void linkLast(CacheEntry entry) {
+			entry.region = this;
+			entry.before = this.tail;
+			entry.after = null;
+			if(this.tail == null) this.head = entry;
+			else this.tail.after = entry;
+			this.tail = entry;
+			this.weight += entry.weight;
+		}
+		
+		/**
+		 * Removes the provided entry from the region.
+		 * 
+		 * @param entry the entry which is to be removed.
+		 */
+		private void unlink(CacheEntry entry) {
+			if(entry.before == null) this.head = entry.after;
+			else entry.before.after = entry.after;
+			if(entry.after == null) this.tail = entry.before;
+			else entry.after.before = entry.before;
+			
+			entry.before = null;
+			entry.after = null;
+			entry.region = null;
+			this.weight -= entry.weight;
+		}
+		
+		/**
+		 * Removes all entries from the region.
+		 */
+		private void clear() {
+			this.head = null;
+			this.tail = null;
+			this.weight = 0;
+		}
+	}
+	
+	/**
+	 * The maximum total weight of the entries.
+	 */
+	private final long maximumWeight;
+	
+	/**
+	 * Determines the weight of an entry from its key and value.
+	 */
+	private final ToIntBiFunction<? super K, ? super V> weigher;
+	
+	/**
+	 * The eviction policy of the cache.
+	 */
+	private final EvictionPolicy policy;
+	
+	/**
+	 * The admission window, which holds all entries of an LRU cache.
+	 */
+	private final Region window;
+	
+	/**
+	 * The probation segment of the main part of a {@code WINDOW_TINY_LFU} cache.
+	 */
+	private final Region probation;
+	
+	/**
+	 * The protected segment of the main part of a {@code WINDOW_TINY_LFU} cache.
+	 */
+	private final Region protectedRegion;
+	
+	/**
+	 * The frequency sketch of a {@code WINDOW_TINY_LFU} cache, {@code null} for an LRU cache.
+	 */
+	private final FrequencySketch sketch;
+	
+	/**
+	 * The total weight of the entries.
+	 */
+	private long totalWeight;
+	
+	/**
+	 * The number of lookups which found an entry.
+	 */
+	private long hitCount;
+	
+	/**
+	 * The number of lookups which did not find an entry.
+	 */
+	private long missCount;
+	
+	/**
+	 * The number of evicted entries.
+	 */
+	private long evictionCount;
+	
+	/**
+	 * Creates an LRU cache holding up to {@code maximumSize} entries.
+	 * 
+	 * @param maximumSize the maximum number of entries.
+	 * @throws IllegalArgumentException when the provided maximum size is less than 1.
+	 */
+	public BoundedCache(long maximumSize) {
+		this(maximumSize, (key, value) -> 1, EvictionPolicy.LRU);
+	}
+	
+	/**
+	 * Creates a cache holding up to {@code maximumSize} entries, which uses the provided eviction policy.
+	 * 
+	 * @param maximumSize the maximum number of entries.
+	 * @param policy the eviction policy.
+	 * @throws IllegalArgumentException when the provided maximum size is less than 1.
+	 * @throws NullPointerException when the provided policy is {@code null}.
+	 */
+	public BoundedCache(long maximumSize, EvictionPolicy policy) {
+		this(maximumSize, (key, value) -> 1, policy);
+	}
+	
+	/**
+	 * Creates a cache whose entries are weighed by the provided weigher and whose total weight cannot exceed
+	 * {@code maximumWeight}.
+	 * 
+	 * @param maximumWeight the maximum total weight of the entries.
+	 * @param weigher determines the weight of an entry from its key and value; weights cannot be negative.
+	 * @param policy the eviction policy.
+	 * @throws IllegalArgumentException when the provided maximum weight is less than 1.
+	 * @throws NullPointerException when the provided weigher or policy is {@code null}.
+	 */
+	public BoundedCache(long maximumWeight, ToIntBiFunction<? super K, ? super V> weigher, EvictionPolicy policy) {
+		super(DEFAULT_NUMBER_OF_SLOTS, true);
+		if(maximumWeight < 1) throw new IllegalArgumentException("The maximum weight cannot be less than 1.");
+		if(weigher == null) throw new NullPointerException("The provided weigher must not be null.");
+		if(policy == null) throw new NullPointerException("The provided eviction policy must not be null.");
+		
+		this.maximumWeight = maximumWeight;
+		this.weigher = weigher;
+		this.policy = policy;
+		
+		if(policy == EvictionPolicy.LRU) {
+			this.window = new Region(maximumWeight);
+			this.probation = null;
+			this.protectedRegion = null;
+			this.sketch = null;
+		} else {
+			long windowCapacity = Math.max(1, (long) (maximumWeight * WINDOW_SHARE));
+			long mainCapacity = maximumWeight - windowCapacity;
+			this.window = new Region(windowCapacity);
+			this.probation = new Region(mainCapacity);
+			this.protectedRegion = new Region((long) (mainCapacity * PROTECTED_SHARE));
+			this.sketch = new FrequencySketch();
+		}
+	}
+	
+	/**
+	 * Inserts or replaces the entry with the provided key, evicting entries if the cache becomes too heavy.
+	 * 
+	 * @throws NullPointerException when the provided key or value is {@code null}.
+	 */
+	@Override
+	public V put(K key, V value) {
+		if(value == null) throw new NullPointerException("The provided value must not be null.");
+		if(this.sketch != null && key != null) this.sketch.increment(key);
+		return super.put(key, value);
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * 
+	 * @throws NullPointerException when the provided key or value is {@code null}.
+	 */
+	@Override
+	public V putIfAbsent(K key, V value) {
+		if(value == null) throw new NullPointerException("The provided value must not be null.");
+		if(this.sketch != null && key != null) this.sketch.increment(key);
+		return super.putIfAbsent(key, value);
+	}
+	
+	/**
+	 * Fetches the value for the provided key, counting a hit or a miss.
+	 * 
+	 * @param key the key for which we want to know the value.
+	 * @return the value for the provided key if it is cached, {@code null} otherwise.
+	 */
+	@Override
+	public V get(Object key) {
+		if(this.sketch != null && key != null) this.sketch.increment(key);
+		
+		V value = super.get(key);
+		if(value == null) this.missCount++;
+		else this.hitCount++;
+		return value;
+	}
+	
+	/**
+	 * Fetches the cached value for the provided key or computes, caches and returns it, counting a hit or a miss.
+	 * This is the method to use for memoizing expensive computations.
+	 * 
+	 * @param key the key of the entry.
+	 * @param mappingFunction the function which computes the value for a missing key.
+	 * @return the cached or the computed value for the provided key.
+	 * @throws NullPointerException when the provided {@code key} or {@code mappingFunction} is {@code null}.
+	 */
+	@Override
+	public V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
+		if(mappingFunction == null) throw new NullPointerException("The provided mapping function must not be null.");
+		if(this.sketch != null && key != null) this.sketch.increment(key);
+		
+		boolean[] computed = new boolean[1];
+		V value = super.computeIfAbsent(key, k -> {
+			computed[0] = true;
+			return mappingFunction.apply(k);
+		});
+		
+		if(computed[0]) this.missCount++;
+		else this.hitCount++;
+		return value;
+	}
+	
+	/**
+	 * Removes all entries from the cache. The counters are not reset.
+	 */
+	@Override
+	public void clear() {
+		super.clear();
+		this.window.clear();
+		if(this.probation != null) {
+			this.probation.clear();
+			this.protectedRegion.clear();
+		}
+		this.totalWeight = 0;
+	}
+	
+	/**
+	 * Fetches the number of lookups which found a cached value.
+	 * 
+	 * @return the number of hits.
+	 */
+	public long hitCount() {
+		return this.hitCount;
+	}
+	
+	/**
+	 * Fetches the number of lookups which did not find a cached value.
+	 * 
+	 * @return the number of misses.
+	 */
+	public long missCount() {
+		return this.missCount;
+	}
+	
+	/**
+	 * Fetches the number of entries evicted because the cache was too heavy.
+	 * 
+	 * @return the number of evictions.
+	 */
+	public long evictionCount() {
+		return this.evictionCount;
+	}
+	
+	/**
+	 * Fetches the total weight of the cached entries.
+	 * 
+	 * @return the total weight of the entries.
+	 */
+	public long weightedSize() {
+		return this.totalWeight;
+	}
+	
+	/**
+	 * Fetches the maximum total weight of the cached entries.
+	 * 
+	 * @return the maximum total weight.
+	 */
+	public long maximumWeight() {
+		return this.maximumWeight;
+	}
+	
+	/**
+	 * Fetches the eviction policy of the cache.
+	 * 
+	 * @return the eviction policy.
+	 */
+	public EvictionPolicy policy() {
+		return this.policy;
+	}
+	
+	/**
+	 * Creates a {@code CacheEntry}, so that the entries of the cache can be linked into the access-ordered lists.
+	 */
+	@Override
+	protected TableEntry<K, V> createEntry(int hash, K key, V value, TableEntry<K, V> next) {
+		return new CacheEntry(hash, key, value, next);
+	}
+	
+	/**
+	 * Marks the accessed entry as the most recently used one of its region. An entry on probation is promoted
+	 * to the protected segment, which may demote the least recently used protected entry back to probation.
+	 */
+	@Override
+	@SuppressWarnings("unchecked")
+	protected void afterAccess(TableEntry<K, V> entry) {
+		CacheEntry cacheEntry = (CacheEntry) entry;
+		Region region = cacheEntry.region;
+		region.unlink(cacheEntry);
+		
+		if(region != this.probation) {
+			region.linkLast(cacheEntry);
+			return;
+		}
+		
+		this.protectedRegion.linkLast(cacheEntry);
+		while(this.protectedRegion.weight > this.protectedRegion.capacity && this.protectedRegion.head != cacheEntry) {
+			CacheEntry demoted = this.protectedRegion.head;
+			this.protectedRegion.unlink(demoted);
+			this.probation.linkLast(demoted);
+		}
+	}
+	
+	/**
+	 * Reweighs the updated entry, marks it as the most recently used one and evicts entries if needed. An entry
+	 * heavier than the whole cache is evicted at once, instead of flushing all other entries.
+	 */
+	@Override
+	@SuppressWarnings("unchecked")
+	protected void afterUpdate(TableEntry<K, V> entry) {
+		CacheEntry cacheEntry = (CacheEntry) entry;
+		Region region = cacheEntry.region;
+		
+		region.unlink(cacheEntry);
+		this.totalWeight -= cacheEntry.weight;
+		cacheEntry.weight = this.weigh(cacheEntry);
+		this.totalWeight += cacheEntry.weight;
+		region.linkLast(cacheEntry);
+		
+		if(cacheEntry.weight > this.maximumWeight) this.evictEntry(cacheEntry);
+		else this.evict();
+	}
+	
+	/**
+	 * Weighs the inserted entry, places it into the window and evicts entries if needed. An entry heavier than
+	 * the whole cache is evicted at once, instead of flushing all other entries.
+	 */
+	@Override
+	@SuppressWarnings("unchecked")
+	protected void afterInsert(TableEntry<K, V> entry) {
+		CacheEntry cacheEntry = (CacheEntry) entry;
+		cacheEntry.weight = this.weigh(cacheEntry);
+		this.totalWeight += cacheEntry.weight;
+		this.window.linkLast(cacheEntry);
+		if(this.sketch != null) this.sketch.ensureCapacity(this.size());
+		
+		if(cacheEntry.weight > this.maximumWeight) this.evictEntry(cacheEntry);
+		else this.evict();
+	}
+	
+	/**
+	 * Unlinks the removed entry from its region.
+	 */
+	@Override
+	@SuppressWarnings("unchecked")
+	protected void afterRemove(TableEntry<K, V> entry) {
+		CacheEntry cacheEntry = (CacheEntry) entry;
+		if(cacheEntry.region == null) return;
+		
+		cacheEntry.region.unlink(cacheEntry);
+		this.totalWeight -= cacheEntry.weight;
+	}
+	
+	/**
+	 * Determines the weight of the provided entry.
+	 * 
+	 * @param entry the entry which is weighed.
+	 * @return the weight of the entry.
+	 * @throws IllegalArgumentException when the weigher returns a negative weight.
+	 */
+	private int weigh(CacheEntry entry) {
+		int weight = this.weigher.applyAsInt(entry.getKey(), entry.getValue());
+		if(weight < 0) throw new IllegalArgumentException("The weight of an entry cannot be negative.");
+		return weight;
+	}
+	
+	/**
+	 * Evicts entries until the total weight does not exceed the maximum weight. In a {@code WINDOW_TINY_LFU} cache,
+	 * every entry leaving the window competes with the least recently used entry of the main part, and the one
+	 * with the lower estimated frequency is evicted.
+	 */
+	private void evict() {
+		if(this.policy == EvictionPolicy.LRU) {
+			while(this.totalWeight > this.maximumWeight) this.evictEntry(this.window.head);
+			return;
+		}
+		
+		//kandidati iz prozora prelaze na probni dio i natjecu se s njegovim najstarijim zapisom
+		while(this.window.weight > this.window.capacity && this.window.head != null) {
+			CacheEntry candidate = this.window.head;
+			this.window.unlink(candidate);
+			this.probation.linkLast(candidate);
+			this.admit(candidate);
+		}
+		
+		while(this.totalWeight > this.maximumWeight) {
+			CacheEntry victim = this.probation.head;
+			if(victim == null) victim = this.protectedRegion.head;
+			if(victim == null) victim = this.window.head;
+			this.evictEntry(victim);
+		}
+	}
+	
+	/**
+	 * Evicts entries while the cache is too heavy, choosing each time between the provided candidate, which has
+	 * just left the window, and the least recently used entry of the main part, until the candidate is evicted
+	 * or the cache is light enough.
+	 * 
+	 * @param candidate the entry which has just been moved from the window to the probation segment.
+	 */
+	private void admit(CacheEntry candidate) {
+		while(this.totalWeight > this.maximumWeight && candidate.region != null) {
+			CacheEntry victim = this.probation.head != candidate ? this.probation.head : this.protectedRegion.head;
+			
+			if(victim == null || this.sketch.frequency(candidate.getKey()) <= this.sketch.frequency(victim.getKey())) {
+				this.evictEntry(candidate);
+			} else {
+				this.evictEntry(victim);
+			}
+		}
+	}
+	
+	/**
+	 * Removes the provided entry from the cache and counts the eviction.
+	 * 
+	 * @param entry the evicted entry.
+	 */
+	private void evictEntry(CacheEntry entry) {
+		this.remove(entry.getKey());
+		this.evictionCount++;
+	}
+	
+}
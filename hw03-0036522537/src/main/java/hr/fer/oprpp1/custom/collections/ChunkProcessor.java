@@ -0,0 +1,22 @@
+package hr.fer.oprpp1.custom.collections;
+
+/**
+ * The {@code ChunkProcessor} interface represents the model of an object capable of performing
+ * some action on a chunk of consecutive elements of a collection at once.
+ * 
+ * @author Iva Maria Ivanković
+ * @version 1.0
+ */
+@FunctionalInterface
+public interface ChunkProcessor<T> {
+	
+	/**
+	 * Performs an operation on the first {@code length} elements of the passed array.
+	 * The array is reused for the following chunks, so it must not be kept after the call.
+	 * 
+	 * @param chunk the array holding the elements of the chunk at its beginning.
+	 * @param length the number of elements in the chunk, at least 1.
+	 */
+	void process(T[] chunk, int length);
+	
+}
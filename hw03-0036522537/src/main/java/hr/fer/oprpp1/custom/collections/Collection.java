@@ -1,5 +1,10 @@
 package hr.fer.oprpp1.custom.collections;
 
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
 /**
  * Interface {@code Collection} represents a general collection of objects.
  * 
@@ -122,4 +127,74 @@ public interface Collection<T> {
 		});
 	}
 	
+	/**
+	 * Calls {@code Processor.process()} for each element of the current collection, in parallel, on the common
+	 * fork-join pool. The elements are split into ranges with {@code spliterator()}, so collections with a
+	 * well-splitting spliterator, such as {@code ArrayIndexedCollection}, are divided evenly among the workers.
+	 * 
+	 * @param processor the processor, which must be safe to call from several threads at once.
+	 * @throws NullPointerException when the provided processor is {@code null}.
+	 */
+	default void parallelForEach(Processor<? super T> processor) {
+		ParallelProcessing.forEach(this.spliterator(), processor, 0);
+	}
+	
+	/**
+	 * Calls {@code Processor.process()} for each element of the current collection, in parallel, on a new
+	 * fork-join pool with the provided number of worker threads.
+	 * 
+	 * @param processor the processor, which must be safe to call from several threads at once.
+	 * @param parallelism the number of worker threads.
+	 * @throws NullPointerException when the provided processor is {@code null}.
+	 * @throws IllegalArgumentException when the provided parallelism is less than 1.
+	 */
+	default void parallelForEach(Processor<? super T> processor, int parallelism) {
+		if(parallelism < 1) throw new IllegalArgumentException("The parallelism cannot be less than 1.");
+		ParallelProcessing.forEach(this.spliterator(), processor, parallelism);
+	}
+	
+	/**
+	 * Adds all elements of the given collection which are accepted by the given tester to the current collection.
+	 * The elements are tested in parallel on the common fork-join pool, while the accepted elements are added to
+	 * the current collection by the calling thread, in the order in which the given collection returns them.
+	 * 
+	 * @param col collection whose elements are tested.
+	 * @param tester the tester, which must be safe to call from several threads at once.
+	 * @throws NullPointerException when the given collection or the given tester is {@code null}.
+	 */
+	default void parallelAddAllSatisfying(Collection<? extends T> col, Tester<? super T> tester) {
+		if(col == null) throw new NullPointerException("The given collection cannot be null.");
+		this.addAll(ParallelProcessing.filter(col.spliterator(), tester, 0));
+	}
+	
+	/**
+	 * Creates a {@code Spliterator} over the elements of the current collection. The default implementation
+	 * walks an {@code ElementsGetter} and splits off batches of elements copied into arrays, so it can be split
+	 * for parallel processing, although not evenly. Collections with random access should override it.
+	 * 
+	 * @return a {@code SIZED} and {@code NONNULL} spliterator over the elements of the current collection.
+	 */
+	default Spliterator<T> spliterator() {
+		return Spliterators.spliterator(this.createElementsGetter().asIterator(), this.size(), Spliterator.NONNULL);
+	}
+	
+	/**
+	 * Creates a sequential {@code Stream} over the elements of the current collection.
+	 * 
+	 * @return a sequential stream over the elements of the current collection.
+	 */
+	default Stream<T> stream() {
+		return StreamSupport.stream(this.spliterator(), false);
+	}
+	
+	/**
+	 * Creates a parallel {@code Stream} over the elements of the current collection, which is processed
+	 * in the common fork-join pool.
+	 * 
+	 * @return a parallel stream over the elements of the current collection.
+	 */
+	default Stream<T> parallelStream() {
+		return StreamSupport.stream(this.spliterator(), true);
+	}
+	
 }
@@ -0,0 +1,674 @@
+package hr.fer.oprpp1.custom.collections;
+
+import java.lang.management.ManagementFactory;
+import java.util.ConcurrentModificationException;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Class {@code CollectionMetrics} collects counters describing how the collections of this package are used:
+ * how often {@code ArrayIndexedCollection} and {@code SimpleHashtable} resize, how many elements the resizes copy,
+ * how many entries a lookup in {@code SimpleHashtable} compares and how many slots a lookup in
+ * {@code OpenAddressingHashtable} probes, how many linear scans {@code Dictionary} performs and how many
+ * {@code ConcurrentModificationException}s are thrown. The counters are global, shared by all instances,
+ * and can be read through {@code snapshot()} or through JMX after {@code registerMBean()} is called.
+ * <p>
+ * The metrics are disabled unless the program is started with the system property
+ * {@code -Dhr.fer.oprpp1.collections.metrics=true}. Since {@code ENABLED} is a static final constant, the JIT
+ * compiler removes the recording code from the collections entirely when they are disabled.
+ * When they are enabled, the counters are {@code LongAdder}s, so recording from many threads does not contend.
+ *
+ * @author Iva Maria Ivanković
+ * @version 1.0
+ */
+public final class CollectionMetrics {
+
+	/**
+	 * The name of the system property enabling the metrics.
+	 */
+	public static final String ENABLED_PROPERTY = "hr.fer.oprpp1.collections.metrics";
+
+	/**
+	 * Indicates whether the metrics are collected.
+	 */
+	public static final boolean ENABLED = Boolean.getBoolean(ENABLED_PROPERTY);
+
+	/**
+	 * The name under which the metrics are registered with the platform MBean server.
+	 */
+	public static final String OBJECT_NAME = "hr.fer.oprpp1.custom.collections:type=CollectionMetrics";
+
+	/**
+	 * The number of buckets of a probe histogram. The last bucket counts all lookups with
+	 * {@code PROBE_BUCKETS - 1} or more probes.
+	 */
+	public static final int PROBE_BUCKETS = 9;
+
+	/**
+	 * The number of resizes of the backing arrays of {@code ArrayIndexedCollection}s.
+	 */
+	private static final LongAdder ARRAY_RESIZES = new LongAdder();
+
+	/**
+	 * The number of elements copied by the resizes of {@code ArrayIndexedCollection}s.
+	 */
+	private static final LongAdder ARRAY_COPIED_ELEMENTS = new LongAdder();
+
+	/**
+	 * The number of resizes of {@code SimpleHashtable}s.
+	 */
+	private static final LongAdder HASHTABLE_RESIZES = new LongAdder();
+
+	/**
+	 * The histogram of the numbers of entries compared by the lookups in {@code SimpleHashtable}s.
+	 * A lookup in a slot converted into a tree records the number of entries in the slot instead.
+	 */
+	private static final ProbeHistogram CHAIN_PROBES = new ProbeHistogram();
+
+	/**
+	 * The histogram of the numbers of slots probed by the lookups in {@code OpenAddressingHashtable}s.
+	 */
+	private static final ProbeHistogram OPEN_ADDRESSING_PROBES = new ProbeHistogram();
+
+	/**
+	 * The number of linear scans performed by compact {@code Dictionary}s.
+	 */
+	private static final LongAdder DICTIONARY_SCANS = new LongAdder();
+
+	/**
+	 * The number of entries compared by the linear scans of compact {@code Dictionary}s.
+	 */
+	private static final LongAdder DICTIONARY_SCANNED_ENTRIES = new LongAdder();
+
+	/**
+	 * The number of thrown {@code ConcurrentModificationException}s.
+	 */
+	private static final LongAdder CONCURRENT_MODIFICATIONS = new LongAdder();
+
+	/**
+	 * Private constructor, since the class holds only static members.
+	 */
+	private CollectionMetrics() {
+	}
+
+	/**
+	 * Records a resize of the backing array of an {@code ArrayIndexedCollection}.
+	 *
+	 * @param copiedElements the number of elements copied into the new array.
+	 */
+	static void recordArrayResize(int copiedElements) {
+		ARRAY_RESIZES.increment();
+		ARRAY_COPIED_ELEMENTS.add(copiedElements);
+	}
+
+	/**
+	 * Records a resize of a {@code SimpleHashtable}.
+	 */
+	static void recordHashtableResize() {
+		HASHTABLE_RESIZES.increment();
+	}
+
+	/**
+	 * Records a lookup in a {@code SimpleHashtable}.
+	 *
+	 * @param probes the number of entries of the slot compared with the key, or the number of entries
+	 * in the slot if the slot has been converted into a tree.
+	 */
+	static void recordChainProbes(int probes) {
+		CHAIN_PROBES.record(probes);
+	}
+
+	/**
+	 * Records a lookup in an {@code OpenAddressingHashtable}.
+	 *
+	 * @param probes the number of slots visited before the key or an empty slot was found.
+	 */
+	static void recordOpenAddressingProbes(int probes) {
+		OPEN_ADDRESSING_PROBES.record(probes);
+	}
+
+	/**
+	 * Records a linear scan of a compact {@code Dictionary}.
+	 *
+	 * @param scannedEntries the number of entries compared with the key.
+	 */
+	static void recordDictionaryScan(int scannedEntries) {
+		DICTIONARY_SCANS.increment();
+		DICTIONARY_SCANNED_ENTRIES.add(scannedEntries);
+	}
+
+	/**
+	 * Creates the exception thrown when a collection is modified during an iteration,
+	 * recording it if the metrics are enabled.
+	 *
+	 * @param message the message of the exception.
+	 * @return the exception, which is to be thrown by the caller.
+	 */
+	static ConcurrentModificationException concurrentModification(String message) {
+		if(ENABLED) CONCURRENT_MODIFICATIONS.increment();
+		return new ConcurrentModificationException(message);
+	}
+
+	/**
+	 * Takes a snapshot of the current values of the metrics. The values are read one by one while other
+	 * threads may keep recording, so they are not guaranteed to be consistent with each other.
+	 *
+	 * @return the snapshot of the metrics.
+	 */
+	public static Snapshot snapshot() {
+		return new Snapshot();
+	}
+
+	/**
+	 * Resets all metrics to zero.
+	 */
+	public static void reset() {
+		ARRAY_RESIZES.reset();
+		ARRAY_COPIED_ELEMENTS.reset();
+		HASHTABLE_RESIZES.reset();
+		CHAIN_PROBES.reset();
+		OPEN_ADDRESSING_PROBES.reset();
+		DICTIONARY_SCANS.reset();
+		DICTIONARY_SCANNED_ENTRIES.reset();
+		CONCURRENT_MODIFICATIONS.reset();
+	}
+
+	/**
+	 * Registers the metrics with the platform MBean server under {@code OBJECT_NAME}, unless they are registered already.
+	 *
+	 * @throws IllegalStateException if the registration fails.
+	 */
+	public static synchronized void registerMBean() {
+		try {
+			MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+			ObjectName name = new ObjectName(OBJECT_NAME);
+			if(!server.isRegistered(name)) server.registerMBean(new MXBeanImpl(), name);
+		} catch(JMException e) {
+			throw new IllegalStateException("The collection metrics could not be registered.", e);
+		}
+	}
+
+	/**
+	 * Class {@code ProbeHistogram} represents a histogram of the numbers of probes made by lookups,
+	 * with one bucket for each number smaller than {@code PROBE_BUCKETS - 1} and one for all bigger numbers.
+	 * Only the lookups falling into the last bucket also add to the total and the maximum of their probes,
+	 * the other ones are recovered from the buckets, so that a typical lookup updates a single counter.
+	 *
+	 * @author Iva Maria Ivanković
+	 * @version 1.0
+	 */
+	private static final class ProbeHistogram {
+
+		/**
+		 * The numbers of lookups in the buckets.
+		 */
+		private final LongAdder[] buckets = new LongAdder[PROBE_BUCKETS];
+
+		/**
+		 * The total number of probes made by the lookups in the last bucket.
+		 */
+		private final LongAdder overflowProbes = new LongAdder();
+
+		/**
+		 * The largest number of probes made by a single lookup in the last bucket.
+		 */
+		private final LongAccumulator overflowMaximum = new LongAccumulator(Math::max, 0);
+
+		/**
+		 * Creates an empty histogram.
+		 */
+		private ProbeHistogram() {
+			for(int i = 0; i < this.buckets.length; i++) this.buckets[i] = new LongAdder();
+		}
+
+		/**
+		 * Records a lookup.
+		 *
+		 * @param count the number of probes made by the lookup.
+		 */
+		private void record(int count) {
+			if(count < PROBE_BUCKETS - 1) {
+				this.buckets[count].increment();
+				return;
+			}
+			
+			this.buckets[PROBE_BUCKETS - 1].increment();
+			this.overflowProbes.add(count);
+			this.overflowMaximum.accumulate(count);
+		}
+
+		/**
+		 * Resets the histogram.
+		 */
+		private void reset() {
+			for(LongAdder bucket : this.buckets) bucket.reset();
+			this.overflowProbes.reset();
+			this.overflowMaximum.reset();
+		}
+
+		/**
+		 * Fetches the numbers of lookups in the buckets.
+		 *
+		 * @return a new array with the numbers of lookups.
+		 */
+		private long[] counts() {
+			long[] counts = new long[this.buckets.length];
+			for(int i = 0; i < counts.length; i++) counts[i] = this.buckets[i].sum();
+			return counts;
+		}
+
+		/**
+		 * Calculates the total number of probes.
+		 *
+		 * @param counts the numbers of lookups in the buckets.
+		 * @return the total number of probes.
+		 */
+		private long probes(long[] counts) {
+			long probes = this.overflowProbes.sum();
+			for(int i = 0; i < PROBE_BUCKETS - 1; i++) probes += i * counts[i];
+			return probes;
+		}
+
+		/**
+		 * Calculates the largest number of probes made by a single lookup.
+		 *
+		 * @param counts the numbers of lookups in the buckets.
+		 * @return the largest number of probes, 0 if there were no lookups.
+		 */
+		private long maximum(long[] counts) {
+			if(counts[PROBE_BUCKETS - 1] != 0) return this.overflowMaximum.get();
+			
+			for(int i = PROBE_BUCKETS - 2; i > 0; i--) {
+				if(counts[i] != 0) return i;
+			}
+			return 0;
+		}
+
+	}
+
+	/**
+	 * Class {@code Snapshot} represents the values of the metrics at the moment the snapshot was taken.
+	 *
+	 * @author Iva Maria Ivanković
+	 * @version 1.0
+	 */
+	public static final class Snapshot {
+
+		/**
+		 * The number of resizes of the backing arrays of {@code ArrayIndexedCollection}s.
+		 */
+		private final long arrayResizes;
+
+		/**
+		 * The number of elements copied by the resizes of {@code ArrayIndexedCollection}s.
+		 */
+		private final long arrayCopiedElements;
+
+		/**
+		 * The number of resizes of {@code SimpleHashtable}s.
+		 */
+		private final long hashtableResizes;
+
+		/**
+		 * The numbers of lookups in {@code SimpleHashtable}s by the number of compared entries.
+		 */
+		private final long[] chainProbeHistogram;
+
+		/**
+		 * The total number of entries compared by the lookups in {@code SimpleHashtable}s.
+		 */
+		private final long chainProbes;
+
+		/**
+		 * The largest number of entries compared by a lookup in a {@code SimpleHashtable}.
+		 */
+		private final long maximumChainProbes;
+
+		/**
+		 * The numbers of lookups in {@code OpenAddressingHashtable}s by the number of probed slots.
+		 */
+		private final long[] openAddressingProbeHistogram;
+
+		/**
+		 * The total number of slots probed by the lookups in {@code OpenAddressingHashtable}s.
+		 */
+		private final long openAddressingProbes;
+
+		/**
+		 * The largest number of slots probed by a lookup in an {@code OpenAddressingHashtable}.
+		 */
+		private final long maximumOpenAddressingProbes;
+
+		/**
+		 * The number of linear scans performed by compact {@code Dictionary}s.
+		 */
+		private final long dictionaryScans;
+
+		/**
+		 * The number of entries compared by the linear scans of compact {@code Dictionary}s.
+		 */
+		private final long dictionaryScannedEntries;
+
+		/**
+		 * The number of thrown {@code ConcurrentModificationException}s.
+		 */
+		private final long concurrentModifications;
+
+
+		/**
+		 * Reads the current values of the metrics.
+		 */
+		private Snapshot() {
+			this.arrayResizes = ARRAY_RESIZES.sum();
+			this.arrayCopiedElements = ARRAY_COPIED_ELEMENTS.sum();
+			this.hashtableResizes = HASHTABLE_RESIZES.sum();
+			this.chainProbeHistogram = CHAIN_PROBES.counts();
+			this.chainProbes = CHAIN_PROBES.probes(this.chainProbeHistogram);
+			this.maximumChainProbes = CHAIN_PROBES.maximum(this.chainProbeHistogram);
+			this.openAddressingProbeHistogram = OPEN_ADDRESSING_PROBES.counts();
+			this.openAddressingProbes = OPEN_ADDRESSING_PROBES.probes(this.openAddressingProbeHistogram);
+			this.maximumOpenAddressingProbes = OPEN_ADDRESSING_PROBES.maximum(this.openAddressingProbeHistogram);
+			this.dictionaryScans = DICTIONARY_SCANS.sum();
+			this.dictionaryScannedEntries = DICTIONARY_SCANNED_ENTRIES.sum();
+			this.concurrentModifications = CONCURRENT_MODIFICATIONS.sum();
+		}
+
+		/**
+		 * Returns how many times the backing array of an {@code ArrayIndexedCollection} was reallocated.
+		 *
+		 * @return the number of resizes of the backing arrays of {@code ArrayIndexedCollection}s.
+		 */
+		public long getArrayResizes() {
+			return this.arrayResizes;
+		}
+
+		/**
+		 * Returns how many element references were copied while reallocating the backing arrays of {@code ArrayIndexedCollection}s.
+		 *
+		 * @return the number of elements (references) copied by the resizes of {@code ArrayIndexedCollection}s.
+		 */
+		public long getArrayCopiedElements() {
+			return this.arrayCopiedElements;
+		}
+
+		/**
+		 * Returns how many times a {@code SimpleHashtable} grew its table.
+		 *
+		 * @return the number of resizes of {@code SimpleHashtable}s.
+		 */
+		public long getHashtableResizes() {
+			return this.hashtableResizes;
+		}
+
+		/**
+		 * Returns the distribution of the lookups in {@code SimpleHashtable}s by the number of entries they compared.
+		 *
+		 * @return the numbers of lookups in {@code SimpleHashtable}s which compared 0, 1, ... entries,
+		 * the last element counting the lookups which compared {@code PROBE_BUCKETS - 1} or more; a lookup in a slot
+		 * converted into a tree is counted by the number of entries in the slot.
+		 */
+		public long[] getChainProbeHistogram() {
+			return this.chainProbeHistogram.clone();
+		}
+
+		/**
+		 * Returns the longest search through a slot of a {@code SimpleHashtable}.
+		 *
+		 * @return the largest number of entries compared by a lookup in a {@code SimpleHashtable}.
+		 */
+		public long getMaximumChainProbes() {
+			return this.maximumChainProbes;
+		}
+
+		/**
+		 * Returns the mean number of entries compared per lookup in a {@code SimpleHashtable}.
+		 *
+		 * @return the average number of entries compared by a lookup in a {@code SimpleHashtable}, 0 if there were none.
+		 */
+		public double getAverageChainProbes() {
+			return average(this.chainProbes, this.chainProbeHistogram);
+		}
+
+		/**
+		 * Returns the distribution of the lookups in {@code OpenAddressingHashtable}s by the number of slots they probed.
+		 *
+		 * @return the numbers of lookups in {@code OpenAddressingHashtable}s which probed 1, 2, ... slots,
+		 * indexed by the number of probed slots, the last element counting the lookups which probed
+		 * {@code PROBE_BUCKETS - 1} or more.
+		 */
+		public long[] getOpenAddressingProbeHistogram() {
+			return this.openAddressingProbeHistogram.clone();
+		}
+
+		/**
+		 * Returns the longest probe sequence of a lookup in an {@code OpenAddressingHashtable}.
+		 *
+		 * @return the largest number of slots probed by a lookup in an {@code OpenAddressingHashtable}.
+		 */
+		public long getMaximumOpenAddressingProbes() {
+			return this.maximumOpenAddressingProbes;
+		}
+
+		/**
+		 * Returns the mean number of slots probed per lookup in an {@code OpenAddressingHashtable}.
+		 *
+		 * @return the average number of slots probed by a lookup in an {@code OpenAddressingHashtable}, 0 if there were none.
+		 */
+		public double getAverageOpenAddressingProbes() {
+			return average(this.openAddressingProbes, this.openAddressingProbeHistogram);
+		}
+
+		/**
+		 * Returns how many lookups in compact {@code Dictionary}s were answered by a linear scan.
+		 *
+		 * @return the number of linear scans performed by compact {@code Dictionary}s.
+		 */
+		public long getDictionaryScans() {
+			return this.dictionaryScans;
+		}
+
+		/**
+		 * Returns how many entries the linear scans of compact {@code Dictionary}s compared in total.
+		 *
+		 * @return the number of entries compared by the linear scans of compact {@code Dictionary}s.
+		 */
+		public long getDictionaryScannedEntries() {
+			return this.dictionaryScannedEntries;
+		}
+
+		/**
+		 * Returns how many times a collection of this package detected a concurrent modification.
+		 *
+		 * @return the number of thrown {@code ConcurrentModificationException}s.
+		 */
+		public long getConcurrentModifications() {
+			return this.concurrentModifications;
+		}
+
+		/**
+		 * Calculates the average number of probes per lookup.
+		 *
+		 * @param probes the total number of probes.
+		 * @param histogram the histogram of the lookups.
+		 * @return the average number of probes, 0 if there were no lookups.
+		 */
+		private static double average(long probes, long[] histogram) {
+			long lookups = 0;
+			for(long count : histogram) lookups += count;
+			return lookups == 0 ? 0 : (double)probes / lookups;
+		}
+
+		/**
+		 * Returns a single-line description of the snapshot with the averages and the maximums of the probes.
+		 *
+		 * @return the description of the snapshot.
+		 */
+		@Override
+		public String toString() {
+			return String.format("array resizes: %d (%d elements copied), hashtable resizes: %d, "
+					+ "chain probes: avg %.2f max %d, open addressing probes: avg %.2f max %d, "
+					+ "dictionary scans: %d (%d entries), concurrent modifications: %d",
+					this.arrayResizes, this.arrayCopiedElements, this.hashtableResizes,
+					this.getAverageChainProbes(), this.maximumChainProbes,
+					this.getAverageOpenAddressingProbes(), this.maximumOpenAddressingProbes,
+					this.dictionaryScans, this.dictionaryScannedEntries, this.concurrentModifications);
+		}
+
+	}
+
+	/**
+	 * Class {@code MXBeanImpl} represents the implementation of {@code CollectionMetricsMXBean}
+	 * which reads every attribute from a fresh snapshot.
+	 *
+	 * @author Iva Maria Ivanković
+	 * @version 1.0
+	 */
+	private static final class MXBeanImpl implements CollectionMetricsMXBean {
+
+		/**
+		 * {@inheritDoc}
+		 * <p>
+		 * Reads {@code ENABLED}.
+		 */
+		@Override
+		public boolean isEnabled() {
+			return ENABLED;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 * <p>
+		 * Reads the counter of the resizes of the backing arrays.
+		 */
+		@Override
+		public long getArrayResizes() {
+			return ARRAY_RESIZES.sum();
+		}
+
+		/**
+		 * {@inheritDoc}
+		 * <p>
+		 * Reads the counter of the elements copied by the resizes of the backing arrays.
+		 */
+		@Override
+		public long getArrayCopiedElements() {
+			return ARRAY_COPIED_ELEMENTS.sum();
+		}
+
+		/**
+		 * {@inheritDoc}
+		 * <p>
+		 * Reads the counter of the resizes of {@code SimpleHashtable}s.
+		 */
+		@Override
+		public long getHashtableResizes() {
+			return HASHTABLE_RESIZES.sum();
+		}
+
+		/**
+		 * {@inheritDoc}
+		 * <p>
+		 * Reads the histogram of the lookups in {@code SimpleHashtable}s.
+		 */
+		@Override
+		public long[] getChainProbeHistogram() {
+			return CHAIN_PROBES.counts();
+		}
+
+		/**
+		 * {@inheritDoc}
+		 * <p>
+		 * Calculates the maximum from a fresh snapshot, since it is recovered from the histogram.
+		 */
+		@Override
+		public long getMaximumChainProbes() {
+			return snapshot().getMaximumChainProbes();
+		}
+
+		/**
+		 * {@inheritDoc}
+		 * <p>
+		 * Calculates the average from a fresh snapshot, since it is recovered from the histogram.
+		 */
+		@Override
+		public double getAverageChainProbes() {
+			return snapshot().getAverageChainProbes();
+		}
+
+		/**
+		 * {@inheritDoc}
+		 * <p>
+		 * Reads the histogram of the lookups in {@code OpenAddressingHashtable}s.
+		 */
+		@Override
+		public long[] getOpenAddressingProbeHistogram() {
+			return OPEN_ADDRESSING_PROBES.counts();
+		}
+
+		/**
+		 * {@inheritDoc}
+		 * <p>
+		 * Calculates the maximum from a fresh snapshot, since it is recovered from the histogram.
+		 */
+		@Override
+		public long getMaximumOpenAddressingProbes() {
+			return snapshot().getMaximumOpenAddressingProbes();
+		}
+
+		/**
+		 * {@inheritDoc}
+		 * <p>
+		 * Calculates the average from a fresh snapshot, since it is recovered from the histogram.
+		 */
+		@Override
+		public double getAverageOpenAddressingProbes() {
+			return snapshot().getAverageOpenAddressingProbes();
+		}
+
+		/**
+		 * {@inheritDoc}
+		 * <p>
+		 * Reads the counter of the linear scans of compact {@code Dictionary}s.
+		 */
+		@Override
+		public long getDictionaryScans() {
+			return DICTIONARY_SCANS.sum();
+		}
+
+		/**
+		 * {@inheritDoc}
+		 * <p>
+		 * Reads the counter of the entries compared by the linear scans of compact {@code Dictionary}s.
+		 */
+		@Override
+		public long getDictionaryScannedEntries() {
+			return DICTIONARY_SCANNED_ENTRIES.sum();
+		}
+
+		/**
+		 * {@inheritDoc}
+		 * <p>
+		 * Reads the counter of the thrown {@code ConcurrentModificationException}s.
+		 */
+		@Override
+		public long getConcurrentModifications() {
+			return CONCURRENT_MODIFICATIONS.sum();
+		}
+
+		/**
+		 * {@inheritDoc}
+		 * <p>
+		 * Resets all metrics through {@code CollectionMetrics.reset()}.
+		 */
+		@Override
+		public void reset() {
+			CollectionMetrics.reset();
+		}
+
+	}
+
+}
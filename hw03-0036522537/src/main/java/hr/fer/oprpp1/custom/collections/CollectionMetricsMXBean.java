@@ -0,0 +1,108 @@
+package hr.fer.oprpp1.custom.collections;
+
+/**
+ * The {@code CollectionMetricsMXBean} interface represents the metrics collected by {@link CollectionMetrics},
+ * exposed through JMX once {@code CollectionMetrics.registerMBean()} has been called.
+ *
+ * @author Iva Maria Ivanković
+ * @version 1.0
+ */
+public interface CollectionMetricsMXBean {
+
+	/**
+	 * Tells whether the metrics are collected, which is decided once at startup by a system property.
+	 *
+	 * @return {@code true} if the metrics are collected, {@code false} otherwise.
+	 */
+	boolean isEnabled();
+
+	/**
+	 * Returns how many times the backing array of an {@code ArrayIndexedCollection} was reallocated.
+	 *
+	 * @return the number of resizes of the backing arrays of {@code ArrayIndexedCollection}s.
+	 */
+	long getArrayResizes();
+
+	/**
+	 * Returns how many element references were copied while reallocating the backing arrays of {@code ArrayIndexedCollection}s.
+	 *
+	 * @return the number of elements copied by the resizes of {@code ArrayIndexedCollection}s.
+	 */
+	long getArrayCopiedElements();
+
+	/**
+	 * Returns how many times a {@code SimpleHashtable} grew its table.
+	 *
+	 * @return the number of resizes of {@code SimpleHashtable}s.
+	 */
+	long getHashtableResizes();
+
+	/**
+	 * Returns the distribution of the lookups in {@code SimpleHashtable}s by the number of entries they compared.
+	 *
+	 * @return the histogram of the numbers of entries compared by the lookups in {@code SimpleHashtable}s.
+	 */
+	long[] getChainProbeHistogram();
+
+	/**
+	 * Returns the longest search through a slot of a {@code SimpleHashtable}.
+	 *
+	 * @return the largest number of entries compared by a lookup in a {@code SimpleHashtable}.
+	 */
+	long getMaximumChainProbes();
+
+	/**
+	 * Returns the mean number of entries compared per lookup in a {@code SimpleHashtable}.
+	 *
+	 * @return the average number of entries compared by a lookup in a {@code SimpleHashtable}.
+	 */
+	double getAverageChainProbes();
+
+	/**
+	 * Returns the distribution of the lookups in {@code OpenAddressingHashtable}s by the number of slots they probed.
+	 *
+	 * @return the histogram of the numbers of slots probed by the lookups in {@code OpenAddressingHashtable}s.
+	 */
+	long[] getOpenAddressingProbeHistogram();
+
+	/**
+	 * Returns the longest probe sequence of a lookup in an {@code OpenAddressingHashtable}.
+	 *
+	 * @return the largest number of slots probed by a lookup in an {@code OpenAddressingHashtable}.
+	 */
+	long getMaximumOpenAddressingProbes();
+
+	/**
+	 * Returns the mean number of slots probed per lookup in an {@code OpenAddressingHashtable}.
+	 *
+	 * @return the average number of slots probed by a lookup in an {@code OpenAddressingHashtable}.
+	 */
+	double getAverageOpenAddressingProbes();
+
+	/**
+	 * Returns how many lookups in compact {@code Dictionary}s were answered by a linear scan.
+	 *
+	 * @return the number of linear scans performed by compact {@code Dictionary}s.
+	 */
+	long getDictionaryScans();
+
+	/**
+	 * Returns how many entries the linear scans of compact {@code Dictionary}s compared in total.
+	 *
+	 * @return the number of entries compared by the linear scans of compact {@code Dictionary}s.
+	 */
+	long getDictionaryScannedEntries();
+
+	/**
+	 * Returns how many times a collection of this package detected a concurrent modification.
+	 *
+	 * @return the number of thrown {@code ConcurrentModificationException}s.
+	 */
+	long getConcurrentModifications();
+
+	/**
+	 * Resets all metrics to zero.
+	 */
+	void reset();
+
+}
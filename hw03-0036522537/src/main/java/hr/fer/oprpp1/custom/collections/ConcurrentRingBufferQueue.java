@@ -0,0 +1,245 @@
+package hr.fer.oprpp1.custom.collections;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/**
+ * Class {@code ConcurrentRingBufferQueue} represents a bounded first-in-first-out queue which can be shared by any
+ * number of producers and consumers without locks. It is Dmitry Vyukov's bounded MPMC queue: the elements are kept
+ * in a ring buffer whose every slot carries a sequence number telling whose turn it is, so a producer claims a slot
+ * with a single compare-and-set of the tail and a consumer with a single compare-and-set of the head, and the two
+ * never touch the same counter. The head and the tail are padded to separate cache lines, so producers and consumers
+ * do not slow each other down by false sharing.
+ * <p>
+ * The queue never blocks: {@code offer()} returns {@code false} when the queue is full and {@code poll()} returns
+ * {@code null} when it is empty, and the caller decides whether to spin, yield or park.
+ *
+ * @author Iva Maria Ivanković
+ * @version 1.0
+ *
+ * @param <E> type of the elements in the queue.
+ */
+public class ConcurrentRingBufferQueue<E> {
+
+	/**
+	 * The handle for the elements of the {@code sequences} array.
+	 */
+	private static final VarHandle SEQUENCES = MethodHandles.arrayElementVarHandle(long[].class);
+
+	/**
+	 * The handle for the elements of the {@code buffer} array.
+	 */
+	private static final VarHandle BUFFER = MethodHandles.arrayElementVarHandle(Object[].class);
+
+	/**
+	 * The elements of the queue.
+	 */
+	private final Object[] buffer;
+
+	/**
+	 * The sequence number of every slot. A slot whose sequence equals a producer's position is free for that
+	 * producer, and a slot whose sequence is one more than a consumer's position holds that consumer's element.
+	 */
+	private final long[] sequences;
+
+	/**
+	 * The mask giving the slot of a position, the capacity minus one.
+	 */
+	private final int mask;
+
+	/**
+	 * The position of the next element to be taken.
+	 */
+	private final PaddedCounter head = new PaddedCounter();
+
+	/**
+	 * The position of the next element to be added.
+	 */
+	private final PaddedCounter tail = new PaddedCounter();
+
+	/**
+	 * A constructor which creates an empty queue holding at most {@code capacity} elements,
+	 * rounded up to the next power of two.
+	 *
+	 * @param capacity the smallest number of elements the queue should be able to hold.
+	 * @throws IllegalArgumentException if the provided {@code capacity} is less than 2 or bigger than 2^30.
+	 */
+	public ConcurrentRingBufferQueue(int capacity) {
+		if(capacity < 2 || capacity > 1 << 30) throw new IllegalArgumentException("The capacity must be between 2 and 2^30.");
+
+		int length = Integer.highestOneBit(capacity - 1) << 1;
+		this.buffer = new Object[length];
+		this.sequences = new long[length];
+		this.mask = length - 1;
+
+		for(int i = 0; i < length; i++) this.sequences[i] = i;
+	}
+
+	/**
+	 * Adds the provided element at the end of the queue, if there is room for it.
+	 *
+	 * @param element the element which is added.
+	 * @return {@code true} if the element has been added, {@code false} if the queue is full.
+	 * @throws NullPointerException when the provided {@code element} is {@code null}.
+	 */
+	public boolean offer(E element) {
+		if(element == null) throw new NullPointerException("The provided element must not be null.");
+
+		long position = this.tail.get();
+		while(true) {
+			int slot = (int)position & this.mask;
+			long difference = (long)SEQUENCES.getAcquire(this.sequences, slot) - position;
+
+			if(difference == 0) {
+				if(this.tail.compareAndSet(position, position + 1)) {
+					BUFFER.set(this.buffer, slot, element);
+					SEQUENCES.setRelease(this.sequences, slot, position + 1);
+					return true;
+				}
+				position = this.tail.get();
+			} else if(difference < 0) {
+				return false; //potrosaci jos nisu oslobodili slot, red je pun
+			} else {
+				position = this.tail.get();
+			}
+		}
+	}
+
+	/**
+	 * Takes the element at the beginning of the queue, if there is one.
+	 *
+	 * @return the taken element, {@code null} if the queue is empty.
+	 */
+	@SuppressWarnings("unchecked")
+	public E poll() {
+		long position = this.head.get();
+		while(true) {
+			int slot = (int)position & this.mask;
+			long difference = (long)SEQUENCES.getAcquire(this.sequences, slot) - (position + 1);
+
+			if(difference == 0) {
+				if(this.head.compareAndSet(position, position + 1)) {
+					E element = (E)BUFFER.get(this.buffer, slot);
+					BUFFER.set(this.buffer, slot, null);
+					SEQUENCES.setRelease(this.sequences, slot, position + this.mask + 1);
+					return element;
+				}
+				position = this.head.get();
+			} else if(difference < 0) {
+				return null; //proizvodac jos nije upisao element, red je prazan
+			} else {
+				position = this.head.get();
+			}
+		}
+	}
+
+	/**
+	 * Determines the number of elements in the queue. While other threads use the queue,
+	 * the result is only an estimate which may already be out of date.
+	 *
+	 * @return the number of elements in the queue, between 0 and the capacity.
+	 */
+	public int size() {
+		while(true) {
+			long head = this.head.get();
+			long tail = this.tail.get();
+			if(head == this.head.get()) return (int)Math.max(0, Math.min(tail - head, this.capacity()));
+		}
+	}
+
+	/**
+	 * Indicates whether the queue is empty, with the same reservations as {@code size()}.
+	 *
+	 * @return {@code true} if the queue appears to be empty, {@code false} otherwise.
+	 */
+	public boolean isEmpty() {
+		return this.size() == 0;
+	}
+
+	/**
+	 * Determines the largest number of elements the queue can hold.
+	 *
+	 * @return the capacity of the queue.
+	 */
+	public int capacity() {
+		return this.mask + 1;
+	}
+
+	/**
+	 * Class {@code PaddedCounter} represents a {@code long} counter which is surrounded by unused fields filling
+	 * a cache line on each side, so that no other frequently written field can share its cache line. The fields
+	 * are declared in a chain of superclasses because the JVM lays out the fields of a superclass before
+	 * the fields of its subclasses, but is free to reorder the fields declared in a single class.
+	 *
+	 * @author Iva Maria Ivanković
+	 * @version 1.0
+	 */
+	private static final class PaddedCounter extends PaddedCounterValue {
+
+		@SuppressWarnings("unused")
+		private long p9, p10, p11, p12, p13, p14, p15;
+
+	}
+
+	/**
+	 * Class {@code PaddedCounterValue} holds the value of a {@code PaddedCounter}, after the padding on its left side.
+	 *
+	 * @author Iva Maria Ivanković
+	 * @version 1.0
+	 */
+	private static class PaddedCounterValue extends PaddedCounterLeftPadding {
+
+		/**
+		 * The handle for the {@code value} field.
+		 */
+		private static final VarHandle VALUE;
+
+		static {
+			try {
+				VALUE = MethodHandles.lookup().findVarHandle(PaddedCounterValue.class, "value", long.class);
+			} catch(ReflectiveOperationException e) {
+				throw new ExceptionInInitializerError(e);
+			}
+		}
+
+		/**
+		 * The value of the counter.
+		 */
+		private volatile long value;
+
+		/**
+		 * Reads the value of the counter.
+		 *
+		 * @return the value.
+		 */
+		long get() {
+			return this.value;
+		}
+
+		/**
+		 * Sets the value of the counter to {@code update} if it is equal to {@code expected}.
+		 *
+		 * @param expected the expected value.
+		 * @param update the new value.
+		 * @return {@code true} if the value has been set, {@code false} otherwise.
+		 */
+		boolean compareAndSet(long expected, long update) {
+			return VALUE.compareAndSet(this, expected, update);
+		}
+
+	}
+
+	/**
+	 * Class {@code PaddedCounterLeftPadding} holds the padding on the left side of a {@code PaddedCounter}.
+	 *
+	 * @author Iva Maria Ivanković
+	 * @version 1.0
+	 */
+	private static class PaddedCounterLeftPadding {
+
+		@SuppressWarnings("unused")
+		private long p1, p2, p3, p4, p5, p6, p7;
+
+	}
+
+}
@@ -0,0 +1,913 @@
+package hr.fer.oprpp1.custom.collections;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Class {@code ConcurrentSimpleHashtable} represents a table for storing objects in key-value pairs
+ * which can be shared between threads without external synchronization. It offers the public interface
+ * of {@link SimpleHashtable} with the following differences:
+ * <ul>
+ * <li>reads ({@code get}, {@code containsKey}, {@code containsValue}) take no locks,</li>
+ * <li>writes lock only one of the lock stripes, the stripe being determined by the slot of the key,
+ * so that writes to different stripes proceed in parallel,</li>
+ * <li>the table grows one stripe at a time: only the writers to the stripe being moved wait, the writers to
+ * the stripes already moved continue in the new backing array and the others in the old one,</li>
+ * <li>iterators are weakly consistent: they never throw a {@code ConcurrentModificationException}
+ * and reflect the state of the table at some point at or since their creation.</li>
+ * </ul>
+ *
+ * @author Iva Maria Ivanković
+ * @version 1.0
+ *
+ * @param <K> type of a key object in the table.
+ * @param <V> type of a value object in the table.
+ */
+public class ConcurrentSimpleHashtable<K, V> implements Iterable<SimpleHashtable.TableEntry<K, V>> {
+
+	/**
+	 * A constant which the number of slots in the table is set to when the constructor
+	 * function is called with no provided value for the number of slots.
+	 */
+	static final int DEFAULT_NUMBER_OF_SLOTS = 16;
+
+	/**
+	 * A constant which the number of lock stripes is set to when the constructor
+	 * function is called with no provided concurrency level.
+	 */
+	static final int DEFAULT_CONCURRENCY_LEVEL = 16;
+
+	/**
+	 * A constant factor by which the capacity of the current table is multiplied when
+	 * the number of entries surpasses the {@code Hashing.OVERFILL_QUOTIENT}.
+	 */
+	static final int RESIZE_COEFFICIENT = 2;
+
+	/**
+	 * The backing array of slots. It is replaced as a whole when the table grows.
+	 */
+	private volatile AtomicReferenceArray<Node<K, V>> table;
+
+	/**
+	 * The growth of the table in progress, {@code null} if the table is not growing.
+	 */
+	private volatile Resize<K, V> resize;
+
+	/**
+	 * The lock held by the thread growing the table, so that only one thread moves the nodes.
+	 */
+	private final ReentrantLock resizeLock;
+
+	/**
+	 * Locks guarding the writes into the slots; slot {@code i} is guarded by the lock
+	 * {@code i & (locks.length - 1)}.
+	 */
+	private final ReentrantLock[] locks;
+
+	/**
+	 * The number of entries in the slots guarded by each of the locks, used to determine when the table
+	 * should grow without contending on a shared counter. Each element is guarded by its lock.
+	 */
+	private final int[] stripeSizes;
+
+	/**
+	 * The number of entries in the table.
+	 */
+	private final LongAdder size;
+
+	/**
+	 * Default constructor which creates a new {@code ConcurrentSimpleHashtable} instance with
+	 * the default number of slots and the default concurrency level.
+	 */
+	public ConcurrentSimpleHashtable() {
+		this(DEFAULT_NUMBER_OF_SLOTS, DEFAULT_CONCURRENCY_LEVEL);
+	}
+
+	/**
+	 * A constructor which creates a new {@code ConcurrentSimpleHashtable} instance with the provided
+	 * number of slots and the default concurrency level.
+	 *
+	 * @param numberOfSlots the number of slots which the created table should have.
+	 * @throws IllegalArgumentException when the provided {@code numberOfSlots} is less than 1.
+	 */
+	public ConcurrentSimpleHashtable(int numberOfSlots) {
+		this(numberOfSlots, DEFAULT_CONCURRENCY_LEVEL);
+	}
+
+	/**
+	 * A constructor which creates a new {@code ConcurrentSimpleHashtable} instance with the provided
+	 * number of slots and the number of lock stripes, each rounded up to a power of two.
+	 *
+	 * @param numberOfSlots the number of slots which the created table should have.
+	 * @param concurrencyLevel the expected number of concurrently writing threads.
+	 * @throws IllegalArgumentException when the provided {@code numberOfSlots} or {@code concurrencyLevel} is less than 1.
+	 */
+	public ConcurrentSimpleHashtable(int numberOfSlots, int concurrencyLevel) {
+		if(numberOfSlots < 1) throw new IllegalArgumentException("The initial number of slots cannot be smaller than 1.");
+		if(concurrencyLevel < 1) throw new IllegalArgumentException("The concurrency level cannot be smaller than 1.");
+
+		int stripes = Hashing.tableSizeFor(concurrencyLevel);
+		this.table = new AtomicReferenceArray<>(Hashing.tableSizeFor(Math.max(numberOfSlots, stripes)));
+		this.locks = new ReentrantLock[stripes];
+		for(int i = 0; i < stripes; i++) this.locks[i] = new ReentrantLock();
+		this.stripeSizes = new int[stripes];
+		this.size = new LongAdder();
+		this.resizeLock = new ReentrantLock();
+	}
+
+	/**
+	 * Class {@code Node} represents one key-value pair in a slot of the table. The key and its hash
+	 * never change; the value and the link to the next node are volatile so that the readers, which
+	 * take no locks, observe the writes made under the stripe locks.
+	 *
+	 * @author Iva Maria Ivanković
+	 * @version 1.0
+	 *
+	 * @param <K> type of the {@code key} object in the node.
+	 * @param <V> type of the {@code value} object in the node.
+	 */
+	private static class Node<K, V> {
+
+		/**
+		 * The spread hash code of the key.
+		 */
+		private final int hash;
+
+		/**
+		 * The key of the current node.
+		 */
+		private final K key;
+
+		/**
+		 * The value of the current node.
+		 */
+		private volatile V value;
+
+		/**
+		 * Reference to the next node in the same slot of the table.
+		 */
+		private volatile Node<K, V> next;
+
+		/**
+		 * Constructor which creates a new {@code Node} with the provided properties.
+		 *
+		 * @param hash the spread hash code of the key.
+		 * @param key the key of the node.
+		 * @param value the value of the node.
+		 * @param next reference to the next node in the same slot.
+		 */
+		private Node(int hash, K key, V value, Node<K, V> next) {
+			this.hash = hash;
+			this.key = key;
+			this.value = value;
+			this.next = next;
+		}
+
+	}
+
+	/**
+	 * Class {@code Resize} represents a growth of the table in progress. The stripes are moved into the new
+	 * backing array in order of their indexes, so a stripe has been moved if its index is smaller than
+	 * {@code movedStripes}. Since a slot and the slots which its nodes move into belong to the same stripe,
+	 * a thread holding the lock of a stripe knows in which backing array the nodes of that stripe are.
+	 *
+	 * @author Iva Maria Ivanković
+	 * @version 1.0
+	 *
+	 * @param <K> type of a key object in the table.
+	 * @param <V> type of a value object in the table.
+	 */
+	private static final class Resize<K, V> {
+
+		/**
+		 * The backing array which is being replaced.
+		 */
+		private final AtomicReferenceArray<Node<K, V>> from;
+
+		/**
+		 * The new backing array.
+		 */
+		private final AtomicReferenceArray<Node<K, V>> to;
+
+		/**
+		 * The number of stripes whose nodes have already been moved into the new backing array.
+		 */
+		private volatile int movedStripes;
+
+		/**
+		 * Creates a growth of the provided backing array into the provided new one.
+		 *
+		 * @param from the backing array which is being replaced.
+		 * @param to the new backing array.
+		 */
+		private Resize(AtomicReferenceArray<Node<K, V>> from, AtomicReferenceArray<Node<K, V>> to) {
+			this.from = from;
+			this.to = to;
+		}
+
+	}
+
+	/**
+	 * Inserts a new pair with the provided {@code key} and {@code value} into the current table.
+	 * If a pair with the provided {@code key} already exists, its {@code value} will be overwritten.
+	 *
+	 * @param key the key of the new pair.
+	 * @param value the value of the new pair.
+	 * @return old value for the provided key if it existed, {@code null} otherwise.
+	 * @throws NullPointerException when the provided {@code key} is {@code null}.
+	 */
+	public V put(K key, V value) {
+		if(key == null) throw new NullPointerException("The provided key must not be null.");
+
+		int hash = Hashing.spread(key.hashCode());
+		int stripe = hash & (this.locks.length - 1);
+		AtomicReferenceArray<Node<K, V>> tab;
+		boolean grow;
+
+		this.locks[stripe].lock();
+		try {
+			tab = this.tableFor(hash);
+			int slot = hash & (tab.length() - 1);
+
+			Node<K, V> node = find(tab.get(slot), hash, key);
+			if(node != null) {
+				V oldValue = node.value;
+				node.value = value;
+
+				return oldValue;
+			}
+
+			grow = this.addNode(tab, slot, stripe, hash, key, value);
+		} finally {
+			this.locks[stripe].unlock();
+		}
+
+		if(grow) this.resize(tab);
+		return null;
+	}
+
+	/**
+	 * Inserts a new pair with the provided {@code key} and {@code value} into the current table
+	 * only if there is no pair with the provided {@code key}.
+	 *
+	 * @param key the key of the new pair.
+	 * @param value the value of the new pair.
+	 * @return the value of the existing pair for the provided key if it existed, {@code null} otherwise.
+	 * @throws NullPointerException when the provided {@code key} is {@code null}.
+	 */
+	public V putIfAbsent(K key, V value) {
+		if(key == null) throw new NullPointerException("The provided key must not be null.");
+
+		int hash = Hashing.spread(key.hashCode());
+		int stripe = hash & (this.locks.length - 1);
+		AtomicReferenceArray<Node<K, V>> tab;
+		boolean grow;
+
+		this.locks[stripe].lock();
+		try {
+			tab = this.tableFor(hash);
+			int slot = hash & (tab.length() - 1);
+
+			Node<K, V> node = find(tab.get(slot), hash, key);
+			if(node != null) return node.value;
+
+			grow = this.addNode(tab, slot, stripe, hash, key, value);
+		} finally {
+			this.locks[stripe].unlock();
+		}
+
+		if(grow) this.resize(tab);
+		return null;
+	}
+
+	/**
+	 * Fetches the value for the provided {@code key} or, if there is no pair with that key, computes
+	 * the value with the provided {@code mappingFunction} and inserts it into the table. The function is
+	 * called at most once per missing key, while holding the lock of the key's stripe, so it should be short
+	 * and must not modify the table. If the computed value is {@code null}, no pair is inserted.
+	 *
+	 * @param key the key of the pair.
+	 * @param mappingFunction the function which computes the value for a missing key.
+	 * @return the existing or the computed value for the provided key.
+	 * @throws NullPointerException when the provided {@code key} or {@code mappingFunction} is {@code null}.
+	 */
+	public V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
+		if(key == null) throw new NullPointerException("The provided key must not be null.");
+		if(mappingFunction == null) throw new NullPointerException("The provided mapping function must not be null.");
+
+		Node<K, V> existing = this.findNode(key);
+		if(existing != null) return existing.value;
+
+		int hash = Hashing.spread(key.hashCode());
+		int stripe = hash & (this.locks.length - 1);
+		AtomicReferenceArray<Node<K, V>> tab;
+		boolean grow;
+		V value;
+
+		this.locks[stripe].lock();
+		try {
+			tab = this.tableFor(hash);
+			int slot = hash & (tab.length() - 1);
+
+			Node<K, V> node = find(tab.get(slot), hash, key);
+			if(node != null) return node.value;
+
+			value = mappingFunction.apply(key);
+			if(value == null) return null;
+
+			grow = this.addNode(tab, slot, stripe, hash, key, value);
+		} finally {
+			this.locks[stripe].unlock();
+		}
+
+		if(grow) this.resize(tab);
+		return value;
+	}
+
+	/**
+	 * Inserts a new pair with the provided {@code key} and {@code value} if there is no pair with that key,
+	 * or a pair mapped to {@code null}. Otherwise the value of the pair is replaced with the result of the
+	 * provided {@code remappingFunction} applied to the old and the provided value, and the pair is removed
+	 * if that result is {@code null}. The function is called while holding the lock of the key's stripe,
+	 * so it should be short and must not modify the table.
+	 *
+	 * @param key the key of the pair.
+	 * @param value the value which is inserted or combined with the existing value.
+	 * @param remappingFunction the function which combines the existing and the provided value.
+	 * @return the new value for the provided key, {@code null} if the pair was removed.
+	 * @throws NullPointerException when the provided {@code key}, {@code value} or {@code remappingFunction} is {@code null}.
+	 */
+	public V merge(K key, V value, BiFunction<? super V, ? super V, ? extends V> remappingFunction) {
+		if(key == null) throw new NullPointerException("The provided key must not be null.");
+		if(value == null) throw new NullPointerException("The provided value must not be null.");
+		if(remappingFunction == null) throw new NullPointerException("The provided remapping function must not be null.");
+
+		int hash = Hashing.spread(key.hashCode());
+		int stripe = hash & (this.locks.length - 1);
+		AtomicReferenceArray<Node<K, V>> tab;
+		boolean grow;
+
+		this.locks[stripe].lock();
+		try {
+			tab = this.tableFor(hash);
+			int slot = hash & (tab.length() - 1);
+
+			Node<K, V> previous = null;
+			for(Node<K, V> node = tab.get(slot); node != null; previous = node, node = node.next) {
+				if(node.hash != hash || !node.key.equals(key)) continue;
+
+				V newValue = node.value == null ? value : remappingFunction.apply(node.value, value);
+				if(newValue != null) {
+					node.value = newValue;
+				} else {
+					this.unlink(tab, slot, stripe, previous, node);
+				}
+
+				return newValue;
+			}
+
+			grow = this.addNode(tab, slot, stripe, hash, key, value);
+		} finally {
+			this.locks[stripe].unlock();
+		}
+
+		if(grow) this.resize(tab);
+		return value;
+	}
+
+	/**
+	 * Fetches the value for the provided {@code key} from the table without taking any locks.
+	 *
+	 * @param key the key for which we want to know the value.
+	 * @return the value for the provided key if it exists, {@code null} otherwise.
+	 */
+	public V get(Object key) {
+		Node<K, V> node = this.findNode(key);
+
+		return node == null ? null : node.value;
+	}
+
+	/**
+	 * Determines the size of the current table, calculated as the number of key-value pairs stored
+	 * in its slots. While other threads modify the table, the result is an estimate.
+	 *
+	 * @return the number of key-value pairs stored in the table.
+	 */
+	public int size() {
+		long sum = this.size.sum();
+
+		return sum < 0 ? 0 : (int)Math.min(sum, Integer.MAX_VALUE);
+	}
+
+	/**
+	 * Indicates whether there are any pairs in the table.
+	 *
+	 * @return {@code true} if there are no pairs in the table, {@code false} otherwise.
+	 */
+	public boolean isEmpty() {
+		return this.size() == 0;
+	}
+
+	/**
+	 * Checks if a pair with the provided {@code key} exists in the table, without taking any locks.
+	 *
+	 * @param key the key for which we want to know if it is contained in the table.
+	 * @return {@code true} if there is a pair with the provided key in the table, {@code false} otherwise.
+	 */
+	public boolean containsKey(Object key) {
+		return this.findNode(key) != null;
+	}
+
+	/**
+	 * Checks if a pair with the provided {@code value} exists in the table, without taking any locks.
+	 *
+	 * @param value the value for which we want to know if it is contained in the table.
+	 * @return {@code true} if there is a pair with the provided value in the table, {@code false} otherwise.
+	 */
+	public boolean containsValue(Object value) {
+		IteratorImpl iterator = new IteratorImpl();
+
+		while(iterator.hasNext()) {
+			V current = iterator.nextNode().value;
+			if(current == null ? value == null : current.equals(value)) return true;
+		}
+
+		return false;
+	}
+
+	/**
+	 * Removes a pair with the provided {@code key} from the table.
+	 *
+	 * @param key the key of the pair which we want to remove.
+	 * @return the value of the removed pair if it existed, {@code null} otherwise.
+	 */
+	public V remove(Object key) {
+		if(key == null) return null;
+
+		int hash = Hashing.spread(key.hashCode());
+		int stripe = hash & (this.locks.length - 1);
+
+		this.locks[stripe].lock();
+		try {
+			AtomicReferenceArray<Node<K, V>> tab = this.tableFor(hash);
+			int slot = hash & (tab.length() - 1);
+
+			Node<K, V> previous = null;
+			for(Node<K, V> node = tab.get(slot); node != null; previous = node, node = node.next) {
+				if(node.hash == hash && node.key.equals(key)) {
+					this.unlink(tab, slot, stripe, previous, node);
+					return node.value;
+				}
+			}
+
+			return null;
+		} finally {
+			this.locks[stripe].unlock();
+		}
+	}
+
+	/**
+	 * Replaces the value of the pair with the provided {@code key}, only if such a pair exists.
+	 *
+	 * @param key the key of the pair.
+	 * @param value the new value of the pair.
+	 * @return {@code true} if the pair existed and its value was replaced, {@code false} otherwise.
+	 */
+	private boolean replace(K key, V value) {
+		int hash = Hashing.spread(key.hashCode());
+		int stripe = hash & (this.locks.length - 1);
+
+		this.locks[stripe].lock();
+		try {
+			AtomicReferenceArray<Node<K, V>> tab = this.tableFor(hash);
+			Node<K, V> node = find(tab.get(hash & (tab.length() - 1)), hash, key);
+			if(node == null) return false;
+
+			node.value = value;
+			return true;
+		} finally {
+			this.locks[stripe].unlock();
+		}
+	}
+
+	/**
+	 * Removes all pairs from the current table. Writes that happen concurrently are ordered either
+	 * before or after the whole operation. A growth of the table in progress is finished first.
+	 */
+	public void clear() {
+		this.resizeLock.lock();
+		this.lockAll();
+		try {
+			AtomicReferenceArray<Node<K, V>> tab = this.table;
+
+			for(int slot = 0; slot < tab.length(); slot++) tab.set(slot, null);
+			for(int stripe = 0; stripe < this.stripeSizes.length; stripe++) {
+				this.size.add(-this.stripeSizes[stripe]);
+				this.stripeSizes[stripe] = 0;
+			}
+		} finally {
+			this.unlockAll();
+			this.resizeLock.unlock();
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+
+		sb.append("[");
+
+		boolean first = true;
+		for(SimpleHashtable.TableEntry<K, V> entry : this) {
+			if(!first) sb.append(", ");
+			first = false;
+
+			sb.append(entry.getKey().toString());
+			sb.append("=");
+			sb.append(String.valueOf(entry.getValue()));
+		}
+
+		sb.append("]");
+
+		return sb.toString();
+	}
+
+	/**
+	 * Creates a new array and stores all pairs from the table into that array, in order of their
+	 * appearance in the table. While other threads modify the table, the array reflects the state
+	 * of each slot at the moment it was visited.
+	 *
+	 * @return an array of table entries.
+	 */
+	public SimpleHashtable.TableEntry<K, V>[] toArray() {
+		ArrayIndexedCollection<SimpleHashtable.TableEntry<K, V>> entries = new ArrayIndexedCollection<>(Math.max(1, this.size()));
+		for(SimpleHashtable.TableEntry<K, V> entry : this) entries.add(entry);
+
+		@SuppressWarnings("unchecked")
+		SimpleHashtable.TableEntry<K, V>[] array = (SimpleHashtable.TableEntry<K, V>[])new SimpleHashtable.TableEntry<?, ?>[entries.size()];
+		for(int i = 0; i < array.length; i++) array[i] = entries.get(i);
+
+		return array;
+	}
+
+	/**
+	 * Finds the node with the provided {@code key} in the current backing array.
+	 *
+	 * @param key the key of the node.
+	 * @return the node with the provided key if it exists, {@code null} otherwise.
+	 */
+	private Node<K, V> findNode(Object key) {
+		if(key == null) return null;
+
+		int hash = Hashing.spread(key.hashCode());
+		AtomicReferenceArray<Node<K, V>> tab = this.tableFor(hash);
+
+		return find(tab.get(hash & (tab.length() - 1)), hash, key);
+	}
+
+	/**
+	 * Determines the backing array holding the nodes with the provided hash code: the new backing array
+	 * if the table is growing and the stripe of the hash code has already been moved, the current one otherwise.
+	 * While holding the lock of the stripe, the result cannot change, so the writers write into it directly.
+	 * <p>
+	 * The growth is read before the current backing array, and the thread growing the table replaces the
+	 * backing array before it clears the growth. Therefore a growth which is found to be over has already
+	 * replaced the backing array which is read afterwards.
+	 *
+	 * @param hash the spread hash code of a key.
+	 * @return the backing array holding the slot of the hash code.
+	 */
+	private AtomicReferenceArray<Node<K, V>> tableFor(int hash) {
+		Resize<K, V> resize = this.resize;
+		AtomicReferenceArray<Node<K, V>> tab = this.table;
+
+		if(resize != null && resize.from == tab && (hash & (this.locks.length - 1)) < resize.movedStripes) return resize.to;
+		return tab;
+	}
+
+	/**
+	 * Finds the node with the provided {@code key} in the chain starting with the provided {@code node}.
+	 *
+	 * @param node the first node of a slot.
+	 * @param hash the spread hash code of the key.
+	 * @param key the key of the node.
+	 * @return the node with the provided key if it exists, {@code null} otherwise.
+	 */
+	private static <K, V> Node<K, V> find(Node<K, V> node, int hash, Object key) {
+		for(; node != null; node = node.next) {
+			if(node.hash == hash && node.key.equals(key)) return node;
+		}
+
+		return null;
+	}
+
+	/**
+	 * Inserts a new node at the beginning of the provided slot. Must be called while holding the lock
+	 * of the provided {@code stripe}. The shared size counter is summed up only when the stripe holds
+	 * more than its share of the allowed number of entries.
+	 *
+	 * @param tab the current backing array.
+	 * @param slot the slot of the key.
+	 * @param stripe the stripe of the slot.
+	 * @param hash the spread hash code of the key.
+	 * @param key the key of the new node.
+	 * @param value the value of the new node.
+	 * @return {@code true} if the table should grow, {@code false} otherwise.
+	 */
+	private boolean addNode(AtomicReferenceArray<Node<K, V>> tab, int slot, int stripe, int hash, K key, V value) {
+		tab.set(slot, new Node<>(hash, key, value, tab.get(slot)));
+		this.size.increment();
+
+		double threshold = tab.length() * Hashing.OVERFILL_QUOTIENT;
+		return ++this.stripeSizes[stripe] > threshold / this.locks.length && this.size.sum() > threshold;
+	}
+
+	/**
+	 * Removes the provided {@code node} from its slot. Readers which have already reached the node
+	 * can still continue to the nodes following it. Must be called while holding the lock of the
+	 * provided {@code stripe}.
+	 *
+	 * @param tab the current backing array.
+	 * @param slot the slot of the node.
+	 * @param stripe the stripe of the slot.
+	 * @param previous the node preceding the removed node in the slot, {@code null} if it is the first one.
+	 * @param node the node which is to be removed.
+	 */
+	private void unlink(AtomicReferenceArray<Node<K, V>> tab, int slot, int stripe, Node<K, V> previous, Node<K, V> node) {
+		if(previous == null) {
+			tab.set(slot, node.next);
+		} else {
+			previous.next = node.next;
+		}
+
+		this.stripeSizes[stripe]--;
+		this.size.decrement();
+	}
+
+	/**
+	 * Replaces the provided backing array with one that is {@code RESIZE_COEFFICIENT} times bigger, unless
+	 * another thread has already done so or is doing so. The nodes are moved one stripe at a time, holding
+	 * only the lock of that stripe, so the writers to the other stripes continue: into the new backing array
+	 * if their stripe has already been moved, into the old one otherwise. The readers follow the same rule.
+	 * The old chains are not modified: the nodes are copied, except for the trailing run of each chain that
+	 * belongs to the same new slot, which is shared between the old and the new array.
+	 * <p>
+	 * The number of slots is a multiple of the number of stripes, so a slot and the slots which its nodes
+	 * move into belong to the same stripe, and the sizes of the stripes do not change.
+	 *
+	 * @param tab the backing array which was found to be overfilled.
+	 */
+	private void resize(AtomicReferenceArray<Node<K, V>> tab) {
+		if(!this.resizeLock.tryLock()) return; //tablicu vec povecava druga dretva
+		try {
+			if(tab != this.table) return;
+
+			int oldLength = tab.length();
+			AtomicReferenceArray<Node<K, V>> newTab = new AtomicReferenceArray<>(oldLength * RESIZE_COEFFICIENT);
+			Resize<K, V> resize = new Resize<>(tab, newTab);
+			this.resize = resize;
+
+			for(int stripe = 0; stripe < this.locks.length; stripe++) {
+				this.locks[stripe].lock();
+				try {
+					for(int slot = stripe; slot < oldLength; slot += this.locks.length) transfer(tab.get(slot), newTab);
+					resize.movedStripes = stripe + 1;
+				} finally {
+					this.locks[stripe].unlock();
+				}
+			}
+
+			this.table = newTab;
+			this.resize = null;
+		} finally {
+			this.resizeLock.unlock();
+		}
+	}
+
+	/**
+	 * Moves the nodes of the chain starting with the provided node into the provided new backing array.
+	 * The trailing run of the chain that belongs to the same new slot is shared, the other nodes are copied.
+	 *
+	 * @param head the first node of a slot of the old backing array.
+	 * @param newTab the new backing array.
+	 */
+	private static <K, V> void transfer(Node<K, V> head, AtomicReferenceArray<Node<K, V>> newTab) {
+		if(head == null) return;
+
+		int mask = newTab.length() - 1;
+		Node<K, V> lastRun = head;
+		int lastRunSlot = head.hash & mask;
+		for(Node<K, V> node = head.next; node != null; node = node.next) {
+			int nodeSlot = node.hash & mask;
+			if(nodeSlot != lastRunSlot) {
+				lastRun = node;
+				lastRunSlot = nodeSlot;
+			}
+		}
+		newTab.set(lastRunSlot, lastRun);
+
+		for(Node<K, V> node = head; node != lastRun; node = node.next) {
+			int nodeSlot = node.hash & mask;
+			newTab.set(nodeSlot, new Node<>(node.hash, node.key, node.value, newTab.get(nodeSlot)));
+		}
+	}
+
+	/**
+	 * Acquires the locks of all stripes, in order of their indexes.
+	 */
+	private void lockAll() {
+		for(ReentrantLock lock : this.locks) lock.lock();
+	}
+
+	/**
+	 * Releases the locks of all stripes.
+	 */
+	private void unlockAll() {
+		for(ReentrantLock lock : this.locks) lock.unlock();
+	}
+
+	/**
+	 * Class {@code EntryView} represents a {@code TableEntry} which holds the key and the value of a pair
+	 * at the moment it was visited by an iterator. Setting its value also replaces the value in the table,
+	 * if the pair is still there.
+	 *
+	 * @author Iva Maria Ivanković
+	 * @version 1.0
+	 */
+	private class EntryView extends SimpleHashtable.TableEntry<K, V> {
+
+		/**
+		 * Creates a new view of the provided pair.
+		 *
+		 * @param key the key of the pair.
+		 * @param value the value of the pair.
+		 */
+		private EntryView(K key, V value) {
+			super(key, value);
+		}
+
+		/**
+		 * Sets the value of the current entry and replaces the value of the pair with the key of the entry.
+		 * If the pair has been removed in the meantime, it is not put back into the table.
+		 *
+		 * @param value the value which the value of the current entry is to be set to.
+		 */
+		@Override
+		public void setValue(V value) {
+			super.setValue(value);
+			ConcurrentSimpleHashtable.this.replace(this.getKey(), value);
+		}
+
+	}
+
+	/**
+	 * Class {@code IteratorImpl} represents a weakly consistent implementation of an {@code Iterator}
+	 * for the {@code ConcurrentSimpleHashtable} class. It traverses the backing array that was current
+	 * at the time of its creation and never throws a {@code ConcurrentModificationException}. If the table
+	 * was growing, the nodes of a slot whose stripe has been moved are read from the slots of the new
+	 * backing array which they were moved into.
+	 *
+	 * @author Iva Maria Ivanković
+	 * @version 1.0
+	 */
+	private class IteratorImpl implements Iterator<SimpleHashtable.TableEntry<K, V>> {
+
+		/**
+		 * The backing array at the time of creation of the iterator.
+		 */
+		private final AtomicReferenceArray<Node<K, V>> tab;
+
+		/**
+		 * The growth of {@code tab} in progress at the time of creation of the iterator, {@code null} if there was none.
+		 */
+		private final Resize<K, V> resize;
+
+		/**
+		 * The backing array from which the nodes of the slot {@code currentSlot} are read.
+		 */
+		private AtomicReferenceArray<Node<K, V>> source;
+
+		/**
+		 * The index of the slot of the new backing array, among those which the slot {@code currentSlot}
+		 * is moved into, from which the nodes are read.
+		 */
+		private int part;
+
+		/**
+		 * Next node to be fetched.
+		 */
+		private Node<K, V> nextNode;
+
+		/**
+		 * The slot of the next node to be fetched.
+		 */
+		private int currentSlot;
+
+		/**
+		 * The key of the last fetched pair, {@code null} if there is no such pair.
+		 */
+		private K lastKey;
+
+		/**
+		 * Default constructor.
+		 */
+		public IteratorImpl() {
+			Resize<K, V> resize = ConcurrentSimpleHashtable.this.resize;
+			this.tab = table;
+			this.resize = resize != null && resize.from == this.tab ? resize : null;
+			this.currentSlot = -1;
+			this.advance();
+		}
+
+		/**
+		 * Determines whether there are more pairs in the table to be iterated over.
+		 *
+		 * @return {@code true} if there are more pairs, {@code false} otherwise.
+		 */
+		@Override
+		public boolean hasNext() {
+			return this.nextNode != null;
+		}
+
+		/**
+		 * Fetches the next pair in the iteration.
+		 *
+		 * @return the next pair in the iteration.
+		 * @throws NoSuchElementException when there are no more pairs.
+		 */
+		@Override
+		public SimpleHashtable.TableEntry<K, V> next() {
+			Node<K, V> node = this.nextNode();
+
+			this.lastKey = node.key;
+			return new EntryView(node.key, node.value);
+		}
+
+		/**
+		 * Fetches the next node in the iteration.
+		 *
+		 * @return the next node in the iteration.
+		 * @throws NoSuchElementException when there are no more nodes.
+		 */
+		private Node<K, V> nextNode() {
+			Node<K, V> node = this.nextNode;
+			if(node == null) throw new NoSuchElementException("There are no more entries in the hashtable.");
+
+			this.nextNode = node.next;
+			if(this.nextNode == null) this.advance();
+
+			return node;
+		}
+
+		/**
+		 * Removes the pair with the key of the last fetched entry from the table.
+		 */
+		@Override
+		public void remove() {
+			if(this.lastKey == null) throw new IllegalStateException("The remove() method cannot be called twice after next() method.");
+
+			ConcurrentSimpleHashtable.this.remove(this.lastKey);
+			this.lastKey = null;
+		}
+
+		/**
+		 * Moves {@code nextNode} to the first node of the next non-empty slot.
+		 */
+		private void advance() {
+			while(this.nextNode == null) {
+				if(this.source == null || this.source == this.tab || this.part + 1 == RESIZE_COEFFICIENT) {
+					if(this.currentSlot + 1 >= this.tab.length()) return;
+
+					this.currentSlot++;
+					this.part = 0;
+					boolean moved = this.resize != null && (this.currentSlot & (locks.length - 1)) < this.resize.movedStripes;
+					this.source = moved ? this.resize.to : this.tab;
+				} else {
+					this.part++;
+				}
+
+				this.nextNode = this.source.get(this.currentSlot + this.part * this.tab.length());
+			}
+		}
+
+	}
+
+	/**
+	 * Creates a weakly consistent iterator for {@code TableEntry} instances.
+	 *
+	 * @return new iterator for the current hashtable.
+	 */
+	@Override
+	public Iterator<SimpleHashtable.TableEntry<K, V>> iterator() {
+		return new IteratorImpl();
+	}
+
+}
@@ -0,0 +1,295 @@
+package hr.fer.oprpp1.custom.collections;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * The {@code CopyOnWriteArrayIndexedCollection} class represents a thread-safe array-backed collection of objects
+ * intended for read-mostly use. Every modification copies the backing array under a lock and publishes the copy
+ * through a {@code volatile} field, so readers never lock and never see a partially modified array.
+ * An {@code ElementsGetter} or a {@code Spliterator} traverses the array which was current when it was created:
+ * it never throws a {@code ConcurrentModificationException} and does not see later modifications.
+ * Existence of duplicate elements is allowed; storage of {@code null} references is not allowed.
+ * 
+ * @author Iva Maria Ivanković
+ * @version 1.0
+ */
+public class CopyOnWriteArrayIndexedCollection<T> implements List<T> {
+	
+	/**
+	 * The current elements of the collection. The array is never modified once it is published.
+	 */
+	private volatile Object[] elements;
+	
+	/**
+	 * The lock held by writers while they copy and replace the {@code elements} array.
+	 */
+	private final ReentrantLock lock = new ReentrantLock();
+	
+	/**
+	 * Default constructor. Creates an empty instance of the {@code CopyOnWriteArrayIndexedCollection} class.
+	 */
+	public CopyOnWriteArrayIndexedCollection() {
+		this.elements = new Object[0];
+	}
+	
+	/**
+	 * Creates an instance of the {@code CopyOnWriteArrayIndexedCollection} class holding all elements
+	 * of the given collection.
+	 * 
+	 * @param other the collection whose elements are to be copied.
+	 * @throws NullPointerException when the given collection is {@code null} or contains {@code null}.
+	 */
+	public CopyOnWriteArrayIndexedCollection(Collection<? extends T> other) {
+		if(other == null) throw new NullPointerException("The given collection cannot be null.");
+		
+		Object[] copy = other.toArray();
+		for(Object value : copy) {
+			if(value == null) throw new NullPointerException("The provided value cannot be null.");
+		}
+		this.elements = copy;
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int size() {
+		return this.elements.length;
+	}
+	
+	/**
+	 * Adds the given object at the end of the collection by publishing a copy of the backing array
+	 * which is one element longer.
+	 * 
+	 * @param value object which is to be added to the collection.
+	 * @throws NullPointerException when the provided object is {@code null}.
+	 */
+	@Override
+	public void add(T value) {
+		if(value == null) throw new NullPointerException("The provided value cannot be null.");
+		
+		this.lock.lock();
+		try {
+			Object[] current = this.elements;
+			Object[] copy = Arrays.copyOf(current, current.length + 1);
+			copy[current.length] = value;
+			this.elements = copy;
+		} finally {
+			this.lock.unlock();
+		}
+	}
+	
+	/**
+	 * Adds all elements of the given collection at the end of the current collection with a single copy
+	 * of the backing array.
+	 * 
+	 * @param other collection from which the elements will be added to the current collection.
+	 * @throws NullPointerException when the given collection is {@code null} or contains {@code null}.
+	 */
+	@Override
+	public void addAll(Collection<? extends T> other) {
+		if(other == null) throw new NullPointerException("The given collection cannot be null.");
+		
+		Object[] added = other.toArray();
+		for(Object value : added) {
+			if(value == null) throw new NullPointerException("The provided value cannot be null.");
+		}
+		
+		this.lock.lock();
+		try {
+			Object[] current = this.elements;
+			Object[] copy = Arrays.copyOf(current, current.length + added.length);
+			System.arraycopy(added, 0, copy, current.length, added.length);
+			this.elements = copy;
+		} finally {
+			this.lock.unlock();
+		}
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean contains(Object value) {
+		return this.indexOf(value) != -1;
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	@SuppressWarnings("unchecked")
+	public T get(int index) {
+		Object[] current = this.elements;
+		if(index >= current.length || index < 0) throw new IndexOutOfBoundsException("There is no object at that position.");
+		return (T) current[index];
+	}
+	
+	/**
+	 * Inserts the given {@code value} at the given {@code position} by publishing a copy of the backing array
+	 * with the value in place.
+	 * 
+	 * @param value object which is to be added to the collection.
+	 * @param position the index at which the object needs to be placed.
+	 * @throws NullPointerException when the provided value is {@code null}.
+	 * @throws IndexOutOfBoundsException when the provided {@code position} is not between 0 and {@code size}-1.
+	 */
+	@Override
+	public void insert(T value, int position) {
+		if(value == null) throw new NullPointerException("The provided value cannot be null.");
+		
+		this.lock.lock();
+		try {
+			Object[] current = this.elements;
+			if(position >= current.length || position < 0) throw new IndexOutOfBoundsException("The object cannot be placed to that position.");
+			
+			Object[] copy = new Object[current.length + 1];
+			System.arraycopy(current, 0, copy, 0, position);
+			copy[position] = value;
+			System.arraycopy(current, position, copy, position + 1, current.length - position);
+			this.elements = copy;
+		} finally {
+			this.lock.unlock();
+		}
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int indexOf(Object value) {
+		return indexOf(this.elements, value);
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean remove(Object value) {
+		if(value == null) return false;
+		
+		this.lock.lock();
+		try {
+			Object[] current = this.elements;
+			int index = indexOf(current, value);
+			if(index == -1) return false;
+			
+			this.elements = without(current, index);
+			return true;
+		} finally {
+			this.lock.unlock();
+		}
+	}
+	
+	/**
+	 * Removes the element at the provided index by publishing a copy of the backing array without it.
+	 * 
+	 * @param index the index of the object that needs to be removed from the collection.
+	 * @throws IndexOutOfBoundsException when the provided {@code index} is not between 0 and {@code size}-1.
+	 */
+	@Override
+	public void remove(int index) {
+		this.lock.lock();
+		try {
+			Object[] current = this.elements;
+			if(index >= current.length || index < 0) throw new IndexOutOfBoundsException("The provided index is not between 0 and size-1.");
+			
+			this.elements = without(current, index);
+		} finally {
+			this.lock.unlock();
+		}
+	}
+	
+	/**
+	 * Removes all elements from the collection by publishing an empty array.
+	 */
+	@Override
+	public void clear() {
+		this.lock.lock();
+		try {
+			this.elements = new Object[0];
+		} finally {
+			this.lock.unlock();
+		}
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Object[] toArray() {
+		Object[] current = this.elements;
+		return Arrays.copyOf(current, current.length);
+	}
+	
+	/**
+	 * Creates a new instance of {@code ElementsGetter} class which fetches the elements of the backing array
+	 * that is current at the moment of its creation. It never throws a {@code ConcurrentModificationException}.
+	 * 
+	 * @return instance of {@code ElementsGetter} class for use in the context of the current collection.
+	 */
+	@Override
+	public ElementsGetter<T> createElementsGetter() {
+		Object[] current = this.elements;
+		return new ElementsGetter<T>() {
+			private int nextNonFetchedElement;
+			
+			@Override
+			public boolean hasNextElement() {
+				return this.nextNonFetchedElement < current.length;
+			}
+			
+			@Override
+			@SuppressWarnings("unchecked")
+			public T getNextElement() {
+				if(!this.hasNextElement()) throw new NoSuchElementException("There are no elements left to fetch.");
+				return (T) current[this.nextNonFetchedElement++];
+			}
+		};
+	}
+	
+	/**
+	 * Creates a {@code Spliterator} over the backing array which is current at the moment of the call.
+	 * 
+	 * @return an {@code ORDERED}, {@code SIZED}, {@code SUBSIZED}, {@code NONNULL} and {@code IMMUTABLE} spliterator.
+	 */
+	@Override
+	public Spliterator<T> spliterator() {
+		return Spliterators.spliterator(this.elements, Spliterator.ORDERED | Spliterator.NONNULL | Spliterator.IMMUTABLE);
+	}
+	
+	/**
+	 * Searches the provided array for the provided value.
+	 * 
+	 * @param array the array which is searched.
+	 * @param value the value which is searched for.
+	 * @return the index of the first occurrence of the value, -1 if it is not in the array or if it is {@code null}.
+	 */
+	private static int indexOf(Object[] array, Object value) {
+		if(value == null) return -1;
+		
+		for(int i = 0; i < array.length; i++) {
+			if(array[i].equals(value)) return i;
+		}
+		return -1;
+	}
+	
+	/**
+	 * Creates a copy of the provided array without the element at the provided index.
+	 * 
+	 * @param array the array which is copied.
+	 * @param index the index of the element which is left out.
+	 * @return the new array.
+	 */
+	private static Object[] without(Object[] array, int index) {
+		Object[] copy = new Object[array.length - 1];
+		System.arraycopy(array, 0, copy, 0, index);
+		System.arraycopy(array, index + 1, copy, index, array.length - index - 1);
+		return copy;
+	}
+	
+}
@@ -4,7 +4,10 @@ import java.util.Objects;
 
 /**
  * Class {@code Dictionary} represents a collection for storing key-value pairs of objects.
- * It serves as an adaptor in the Adapter pattern.
+ * It serves as an adaptor in the Adapter pattern. Small dictionaries keep their entries in a compact
+ * {@code ArrayIndexedCollection} which is searched linearly; once the number of entries surpasses the
+ * compact threshold, the keys and the values are moved into a {@code SimpleHashtable}, which makes lookups
+ * independent of the size of the dictionary.
  * 
  * @author Iva Maria Ivanković
  * @version 1.0
@@ -20,11 +23,44 @@ public class Dictionary<K, V> {
 	 */
 	private ArrayIndexedCollection<Entry<K, V>> entries;
 	
+	/**
+	 * The table mapping the keys directly to their values, used instead of the {@code entries} collection
+	 * once the dictionary has grown over the {@code compactThreshold}; {@code null} until then.
+	 */
+	private SimpleHashtable<K, V> index;
+	
+	/**
+	 * The largest number of entries which are kept in the compact {@code entries} collection.
+	 */
+	private final int compactThreshold;
+	
+	/**
+	 * A constant which the compact threshold is set to when the constructor is called with
+	 * no provided threshold. Up to this size, a linear scan is not slower than hashing the key.
+	 */
+	static final int DEFAULT_COMPACT_THRESHOLD = 4;
+	
 	/**
 	 * Default constructor.
 	 */
 	public Dictionary() {
+		this(DEFAULT_COMPACT_THRESHOLD);
+	}
+	
+	/**
+	 * Constructor which creates an empty dictionary that keeps at most {@code compactThreshold}
+	 * entries in the compact layout before moving them into a hashtable.
+	 * 
+	 * @param compactThreshold the largest number of entries searched linearly; 0 makes the dictionary
+	 * hashed from the start and {@code Integer.MAX_VALUE} keeps it compact forever.
+	 * @throws IllegalArgumentException if the provided {@code compactThreshold} is negative.
+	 */
+	public Dictionary(int compactThreshold) {
+		if(compactThreshold < 0) throw new IllegalArgumentException("The compact threshold cannot be negative.");
+		
+		this.compactThreshold = compactThreshold;
 		this.entries = new ArrayIndexedCollection<>();
+		this.index = null;
 	}
 	
 	/**
@@ -87,28 +123,33 @@ public class Dictionary<K, V> {
 	}
 	
 	/**
-	 * Determines whether the backing {@code ArrayIndexedCollection} is empty.
+	 * Determines whether the dictionary is empty.
 	 * 
-	 * @return {@code true} if the array contains no entries, {@code false} otherwise.
+	 * @return {@code true} if the dictionary contains no entries, {@code false} otherwise.
 	 */
 	public boolean isEmpty() {
-		return this.entries.isEmpty();
+		return this.size() == 0;
 	}
 	
 	/**
-	 * Determines the size of the dictionary, calculated as the size of the backing array.
+	 * Determines the size of the dictionary, calculated as the number of its entries.
 	 * 
 	 * @return the size of the current dictionary.
 	 */
 	public int size() {
-		return this.entries.size();
+		return this.index == null ? this.entries.size() : this.index.size();
 	}
 	
 	/**
-	 * Removes all elements from the current dictionary.
+	 * Removes all elements from the current dictionary, which then returns to the compact layout.
 	 */
 	public void clear() {
-		this.entries.clear();
+		if(this.index == null) {
+			this.entries.clear();
+		} else {
+			this.entries = new ArrayIndexedCollection<>();
+			this.index = null;
+		}
 	}
 	
 	/**
@@ -124,13 +165,18 @@ public class Dictionary<K, V> {
 	public V put(K key, V value) {
 		if(key == null) throw new NullPointerException("The provided key must not be null.");
 		
-		Entry<K, V> oldEntry = this.getEntry(key);
+		if(this.index != null) return this.index.put(key, value);
 		
-		if(oldEntry == null) {
+		int position = this.indexOf(key);
+		
+		if(position == -1) {
 			Entry<K, V> newEntry = new Entry<>(key, value);
 			this.entries.add(newEntry);
+			
+			if(this.entries.size() > this.compactThreshold) this.promote();
 			return null;
 		} else {
+			Entry<K, V> oldEntry = this.entries.get(position);
 			V oldValue = oldEntry.value;
 			oldEntry.value = value;
 			return oldValue;
@@ -146,34 +192,27 @@ public class Dictionary<K, V> {
 	 */
 	public V get(Object key) {
 		if(key == null) throw new NullPointerException("The provided key must not be null.");
+		if(this.index != null) return this.index.get(key);
 		
-		@SuppressWarnings("unchecked")
-		Entry<K, V> entry = this.getEntry((K)key);
-		
-		if(entry == null) {
-			return null;
-		} else {
-			return entry.value;
-		}
-		
+		int position = this.indexOf(key);
+		return position == -1 ? null : this.entries.get(position).value;
 	}
 	
 	/**
-	 * Fetches the entry with the provided {@code key} if it exists in the dictionary.
+	 * Fetches the entry with the provided {@code key} if it exists in the dictionary. Once the dictionary
+	 * is hashed, it stores no entries, so a new entry holding the key and its current value is returned.
 	 * 
 	 * @param key the key of the entry that is to be fetched.
 	 * @return the entry with the provided {@code key} if it exists, {@code null} otherwise.
 	 */
 	public Entry<K, V> getEntry(K key) {
-		ElementsGetter<Entry<K, V>> getter = this.entries.createElementsGetter();
-		
-		while(getter.hasNextElement()) {
-			Entry<K, V> entry = getter.getNextElement();
-			
-			if(entry.key.equals(key)) return entry;
+		if(this.index != null) {
+			V value = this.index.get(key);
+			return value == null && !this.index.containsKey(key) ? null : new Entry<>(key, value);
 		}
 		
-		return null;
+		int position = this.indexOf(key);
+		return position == -1 ? null : this.entries.get(position);
 	}
 	
 	/**
@@ -186,17 +225,49 @@ public class Dictionary<K, V> {
 	public V remove(K key) {
 		if(key == null) throw new NullPointerException("The provided key must not be null.");
 		
-		V valueToRemove = this.get(key);
-		if(valueToRemove == null) {
-			return null;
-		} else {
-			Entry<K, V> entryToRemove = new Entry<>(key, valueToRemove);
-			if(this.entries.remove(entryToRemove) == true) {
-				return valueToRemove;
-			} else {
-				return null;
+		if(this.index != null) return this.index.remove(key);
+		
+		int position = this.indexOf(key);
+		if(position == -1) return null;
+		
+		V value = this.entries.get(position).value;
+		this.entries.remove(position);
+		return value;
+	}
+	
+	/**
+	 * Searches the compact {@code entries} collection for the entry with the provided {@code key}.
+	 * 
+	 * @param key the key of the entry.
+	 * @return the position of the entry in the collection, -1 if there is no such entry.
+	 */
+	private int indexOf(Object key) {
+		int size = this.entries.size();
+		for(int i = 0; i < size; i++) {
+			if(this.entries.get(i).key.equals(key)) {
+				if(CollectionMetrics.ENABLED) CollectionMetrics.recordDictionaryScan(i + 1);
+				return i;
 			}
 		}
+		
+		if(CollectionMetrics.ENABLED) CollectionMetrics.recordDictionaryScan(size);
+		return -1;
+	}
+	
+	/**
+	 * Moves the keys and the values of all entries from the compact {@code entries} collection into the
+	 * {@code index} hashtable, whose own entries then hold them; the {@code Entry} objects are dropped.
+	 */
+	private void promote() {
+		SimpleHashtable<K, V> table = new SimpleHashtable<>(2 * this.entries.size());
+		
+		for(int i = 0, size = this.entries.size(); i < size; i++) {
+			Entry<K, V> entry = this.entries.get(i);
+			table.put(entry.key, entry.value);
+		}
+		
+		this.index = table;
+		this.entries = null;
 	}
 
 }
@@ -0,0 +1,21 @@
+package hr.fer.oprpp1.custom.collections;
+
+/**
+ * The {@code DoubleProcessor} interface represents the model of an object capable of performing
+ * some action on a passed {@code double} value. It is the primitive specialization of {@link Processor}
+ * which does not box the passed value.
+ * 
+ * @author Iva Maria Ivanković
+ * @version 1.0
+ */
+@FunctionalInterface
+public interface DoubleProcessor {
+	
+	/**
+	 * Performs an operation on the passed value.
+	 * 
+	 * @param value value upon which the operation is to be performed.
+	 */
+	void process(double value);
+	
+}
@@ -0,0 +1,22 @@
+package hr.fer.oprpp1.custom.collections;
+
+/**
+ * The {@code DoubleTester} interface represents a model of an object which accepts an {@code double} value
+ * and determines whether it is acceptable or not. It is the primitive specialization of {@link Tester}
+ * which does not box the passed value.
+ * 
+ * @author Iva Maria Ivanković
+ * @version 1.0
+ */
+@FunctionalInterface
+public interface DoubleTester {
+	
+	/**
+	 * Determines whether the provided {@code value} is acceptable or not.
+	 * 
+	 * @param value the value which needs to have its acceptance determined.
+	 * @return {@code true} if the provided {@code value} is acceptable, {@code false} otherwise.
+	 */
+	boolean test(double value);
+	
+}
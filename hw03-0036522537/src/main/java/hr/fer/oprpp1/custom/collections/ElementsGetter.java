@@ -1,5 +1,7 @@
 package hr.fer.oprpp1.custom.collections;
 
+import java.util.Iterator;
+
 /**
  * The {@code ElementsGetter} interface represents an object whose purpose is to fetch elements
  * of the collection, one by one, on demand.
@@ -35,4 +37,65 @@ public interface ElementsGetter<T> {
 			p.process(this.getNextElement());
 		}
 	}
-}
+	
+	/**
+	 * Fetches up to {@code buffer.length} of the next non-fetched elements into the beginning of the provided array.
+	 * Collections whose per-element getter is expensive, such as a linked list, override this method and check
+	 * for modifications once per chunk instead of once per element. A collection backed by a flat array keeps this
+	 * implementation, since copying their references into the typed buffer costs a type check per element
+	 * and is slower than fetching them one by one.
+	 * 
+	 * @param buffer the array which the elements are copied into.
+	 * @return the number of fetched elements, 0 when there are no more elements left to fetch.
+	 * @throws NullPointerException when the provided {@code buffer} is {@code null}.
+	 */
+	default int nextChunk(T[] buffer) {
+		if(buffer == null) throw new NullPointerException("The provided buffer cannot be null.");
+		
+		int count = 0;
+		while(count < buffer.length && this.hasNextElement()) {
+			buffer[count++] = this.getNextElement();
+		}
+		return count;
+	}
+	
+	/**
+	 * Calls {@code ChunkProcessor.process()} for the remaining non-fetched elements of the current collection,
+	 * fetching them into the provided array a chunk at a time by {@code nextChunk()}. A processor whose body is
+	 * a simple loop over the chunk is then free of the per-element calls of {@code getNextElement()}.
+	 * 
+	 * @param buffer the array which is filled with the chunks, its length being the size of a chunk.
+	 * @param processor the processor which is called for every chunk.
+	 * @throws NullPointerException when the provided {@code buffer} or {@code processor} is {@code null}.
+	 * @throws IllegalArgumentException when the provided {@code buffer} is empty.
+	 */
+	default void processChunks(T[] buffer, ChunkProcessor<? super T> processor) {
+		if(buffer == null || processor == null) throw new NullPointerException("The provided buffer and processor cannot be null.");
+		if(buffer.length == 0) throw new IllegalArgumentException("The provided buffer cannot be empty.");
+		
+		int count;
+		while((count = this.nextChunk(buffer)) > 0) {
+			processor.process(buffer, count);
+		}
+	}
+	
+	/**
+	 * Adapts the current {@code ElementsGetter} to an {@code Iterator} over the remaining non-fetched elements,
+	 * so that it can be used with the {@code java.util} and {@code java.util.stream} APIs.
+	 * 
+	 * @return an iterator which fetches the elements from the current {@code ElementsGetter}.
+	 */
+	default Iterator<T> asIterator() {
+		return new Iterator<T>() {
+			@Override
+			public boolean hasNext() {
+				return hasNextElement();
+			}
+			
+			@Override
+			public T next() {
+				return getNextElement();
+			}
+		};
+	}
+}
\ No newline at end of file
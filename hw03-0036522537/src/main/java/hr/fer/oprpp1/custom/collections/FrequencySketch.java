@@ -0,0 +1,197 @@
+package hr.fer.oprpp1.custom.collections;
+
+/**
+ * Class {@code FrequencySketch} represents a count-min sketch which estimates how often keys have been seen
+ * recently, in constant memory. Every key increments one counter in each of four rows, and its frequency is
+ * estimated as the smallest of those counters. Counters saturate at 15, and all counters are halved once the
+ * number of increments reaches ten times the number of expected keys, so the estimates follow the recent
+ * popularity of the keys instead of their popularity since the sketch was created.
+ * <p>
+ * The sketch starts small and is enlarged by {@code ensureCapacity()} as the cache holds more entries, so that
+ * a cache whose limit is a large weight, for example in bytes, does not allocate the largest sketch up front.
+ * Enlarging the sketch keeps the estimates: the index of a key in a wider row only adds higher bits to its index
+ * in the narrower row, so every new counter starts with the value of the old counter it extends.
+ * 
+ * @author Iva Maria Ivanković
+ * @version 1.0
+ */
+final class FrequencySketch {
+	
+	/**
+	 * The number of rows, each of which has its own hash function.
+	 */
+	private static final int DEPTH = 4;
+	
+	/**
+	 * The largest value of a counter.
+	 */
+	private static final int MAXIMUM_COUNT = 15;
+	
+	/**
+	 * The number of counters in a row of a new sketch.
+	 */
+	private static final int MINIMUM_WIDTH = 16;
+	
+	/**
+	 * The largest number of counters in a row, which makes the largest sketch 64 MiB.
+	 */
+	static final int MAXIMUM_WIDTH = 1 << 24;
+	
+	/**
+	 * The number of counters in a row for every expected key, which keeps collisions of a key with the keys
+	 * passing through the cache rare enough for the estimates to tell popular keys from one-off ones.
+	 */
+	private static final int COUNTERS_PER_KEY = 8;
+	
+	/**
+	 * Odd constants which the hash codes are multiplied by, one for every row.
+	 */
+	private static final int[] SEEDS = {0x9E3779B9, 0x85EBCA6B, 0xC2B2AE35, 0x27D4EB2F};
+	
+	/**
+	 * The counters, {@code DEPTH} rows of {@code width} counters each, stored row after row.
+	 */
+	private byte[] counters;
+	
+	/**
+	 * The number of counters in a row, a power of two.
+	 */
+	private int width;
+	
+	/**
+	 * The number of increments after which all counters are halved.
+	 */
+	private int sampleSize;
+	
+	/**
+	 * The number of increments since the counters were last halved.
+	 */
+	private int increments;
+	
+	/**
+	 * Creates the smallest sketch, suited for tracking the frequencies of a few keys.
+	 */
+	FrequencySketch() {
+		this.width = MINIMUM_WIDTH;
+		this.counters = new byte[DEPTH * MINIMUM_WIDTH];
+		this.sampleSize = sampleSizeFor(MINIMUM_WIDTH);
+	}
+	
+	/**
+	 * Enlarges the sketch if it is too small for tracking the frequencies of {@code expectedKeys} distinct keys.
+	 * 
+	 * @param expectedKeys the expected number of distinct keys in the cache.
+	 */
+	void ensureCapacity(long expectedKeys) {
+		if(expectedKeys <= this.width / COUNTERS_PER_KEY || this.width == MAXIMUM_WIDTH) return;
+		
+		int newWidth = widthFor(expectedKeys);
+		byte[] newCounters = new byte[DEPTH * newWidth];
+		for(int row = 0; row < DEPTH; row++) {
+			for(int i = 0; i < newWidth; i++) {
+				newCounters[row * newWidth + i] = this.counters[row * this.width + (i & (this.width - 1))];
+			}
+		}
+		
+		this.counters = newCounters;
+		this.width = newWidth;
+		this.sampleSize = sampleSizeFor(newWidth);
+	}
+	
+	/**
+	 * Determines the number of counters in a row needed for tracking {@code expectedKeys} distinct keys.
+	 * 
+	 * @param expectedKeys the expected number of distinct keys.
+	 * @return the width, a power of two between 16 and {@code MAXIMUM_WIDTH}.
+	 */
+	static int widthFor(long expectedKeys) {
+		long requested = Math.min(Math.max(expectedKeys, 1), MAXIMUM_WIDTH / COUNTERS_PER_KEY) * COUNTERS_PER_KEY;
+		return Math.max(MINIMUM_WIDTH, Integer.highestOneBit((int)requested - 1) << 1);
+	}
+	
+	/**
+	 * Determines the number of counters in a row.
+	 * 
+	 * @return the width of the sketch.
+	 */
+	int width() {
+		return this.width;
+	}
+	
+	/**
+	 * Determines the number of increments after which the counters of a sketch of the provided width are halved.
+	 * 
+	 * @param width the number of counters in a row.
+	 * @return ten times the number of keys the sketch is suited for.
+	 */
+	private static int sampleSizeFor(int width) {
+		return 10 * Math.max(width / COUNTERS_PER_KEY, 16);
+	}
+	
+	/**
+	 * Estimates how many times the provided key has been seen recently.
+	 * 
+	 * @param key the key whose frequency is estimated.
+	 * @return the estimated frequency, between 0 and 15.
+	 */
+	int frequency(Object key) {
+		int hash = spread(key.hashCode());
+		int frequency = MAXIMUM_COUNT;
+		for(int row = 0; row < DEPTH; row++) {
+			frequency = Math.min(frequency, this.counters[this.index(hash, row)]);
+		}
+		return frequency;
+	}
+	
+	/**
+	 * Records one occurrence of the provided key.
+	 * 
+	 * @param key the key which has been seen.
+	 */
+	void increment(Object key) {
+		int hash = spread(key.hashCode());
+		for(int row = 0; row < DEPTH; row++) {
+			int index = this.index(hash, row);
+			if(this.counters[index] < MAXIMUM_COUNT) this.counters[index]++;
+		}
+		
+		if(++this.increments == this.sampleSize) this.reset();
+	}
+	
+	/**
+	 * Halves all counters, so that old occurrences weigh less than new ones.
+	 */
+	private void reset() {
+		for(int i = 0; i < this.counters.length; i++) {
+			this.counters[i] >>= 1;
+		}
+		this.increments /= 2;
+	}
+	
+	/**
+	 * Determines the index of the counter of a key in the provided row.
+	 * 
+	 * @param hash the spread hash code of the key.
+	 * @param row the row of the counter.
+	 * @return the index of the counter in the {@code counters} array.
+	 */
+	private int index(int hash, int row) {
+		int rowHash = hash * SEEDS[row];
+		rowHash ^= rowHash >>> 16;
+		return row * this.width + (rowHash & (this.width - 1));
+	}
+	
+	/**
+	 * Mixes the bits of the provided hash code, so that keys with similar hash codes land in different counters.
+	 * 
+	 * @param hash the hash code of a key.
+	 * @return the mixed hash code.
+	 */
+	private static int spread(int hash) {
+		hash ^= hash >>> 17;
+		hash *= 0xED5AD4BB;
+		hash ^= hash >>> 11;
+		return hash;
+	}
+	
+}
@@ -0,0 +1,60 @@
+package hr.fer.oprpp1.custom.collections;
+
+/**
+ * Class {@code Hashing} holds the helpers shared by the hash-based collections of this package:
+ * {@code SimpleHashtable}, {@code ConcurrentSimpleHashtable}, {@code OpenAddressingHashtable},
+ * {@code SimpleHashSet}, {@code OffHeapHashtable} and {@code PersistentHashMap}. All of them have
+ * a power of two slots and select a slot by masking the lowest bits of a spread hash code.
+ *
+ * @author Iva Maria Ivanković
+ * @version 1.0
+ */
+final class Hashing {
+
+	/**
+	 * The maximum allowed ratio of used slots to the total number of slots, after which a table grows.
+	 * For the tables with chained slots, every entry counts as a used slot, so this is the average length
+	 * of a chain. For the tables with open addressing, a slot is used if it is occupied or tombstoned,
+	 * since a probe sequence passes both kinds and stops only at an empty slot.
+	 */
+	static final double OVERFILL_QUOTIENT = 0.75;
+
+	/**
+	 * The largest power of two which is a valid length of an array.
+	 */
+	static final int MAXIMUM_TABLE_SIZE = 1 << 30;
+
+	/**
+	 * Private constructor, since the class holds only static members.
+	 */
+	private Hashing() {
+	}
+
+	/**
+	 * Mixes the higher bits of the provided hash code into the lower ones, which are the only
+	 * bits used for masking with the table length. Without this, keys whose hash codes differ only
+	 * in the higher bits, such as floating-point numbers or multiples of a power of two, would all
+	 * end up in the same few slots.
+	 *
+	 * @param hashCode the hash code of a key.
+	 * @return the spread hash code.
+	 */
+	static int spread(int hashCode) {
+		return hashCode ^ (hashCode >>> 16);
+	}
+
+	/**
+	 * Calculates the smallest power of two that is bigger than or equal to the provided {@code number},
+	 * but not bigger than {@code MAXIMUM_TABLE_SIZE}.
+	 *
+	 * @param number the number for which we want to calculate the next power of two.
+	 * @return the calculated power of two, 1 for numbers smaller than 1.
+	 */
+	static int tableSizeFor(int number) {
+		if(number <= 1) return 1;
+		if(number > MAXIMUM_TABLE_SIZE) return MAXIMUM_TABLE_SIZE;
+
+		return Integer.highestOneBit(number - 1) << 1;
+	}
+
+}
@@ -0,0 +1,293 @@
+package hr.fer.oprpp1.custom.collections;
+
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+
+/**
+ * The {@code IntArrayIndexedCollection} class represents an implementation of a resizable array-backed
+ * collection of {@code int} values. It mirrors the contract of {@link ArrayIndexedCollection}, but stores
+ * the values in an {@code int[]} array instead of boxing them, so every element costs four bytes instead
+ * of a reference and an {@code Integer} object. Existence of duplicate values is allowed.
+ * <p>
+ * Since {@code remove(int)} already removes the element at the provided index, removal of a value is
+ * performed by the {@code removeValue(int)} method.
+ * 
+ * @author Iva Maria Ivanković
+ * @version 1.0
+ */
+public class IntArrayIndexedCollection {
+	
+	/**
+	 * An array of values stored in the current collection.
+	 */
+	private int[] elements;
+	
+	/**
+	 * Current size of the collection, determined as the number of values actually stored in the
+	 * {@code elements} array. Can be lower than or equal to the length of that array.
+	 */
+	private int size;
+	
+	/**
+	 * Represents the number of modifications made on the current collection.
+	 */
+	private long modificationCount = 0;
+	
+	/**
+	 * Default constructor. Creates an instance of the {@code IntArrayIndexedCollection} class with the capacity
+	 * of its {@code elements} array set to the default value.
+	 */
+	public IntArrayIndexedCollection() {
+		this(ArrayIndexedCollection.DEFAULT_CAPACITY);
+	}
+	
+	/**
+	 * Creates an instance of the {@code IntArrayIndexedCollection} class with the capacity of its {@code elements}
+	 * array set to the given value.
+	 * 
+	 * @param initialCapacity number that the capacity of the {@code elements} array is to be set to.
+	 * @throws IllegalArgumentException when the provided capacity is less than 1.
+	 */
+	public IntArrayIndexedCollection(int initialCapacity) {
+		if (initialCapacity < 1) throw new IllegalArgumentException("The initial capacity cannot be less than 1.");
+		this.elements = new int[initialCapacity];
+		this.size = 0;
+	}
+	
+	/**
+	 * Creates an instance of the {@code IntArrayIndexedCollection} class and copies all values from the given
+	 * collection to the current collection.
+	 * 
+	 * @param other the collection from which the values are to be copied into the current collection.
+	 * @throws NullPointerException when the given collection is {@code null}.
+	 */
+	public IntArrayIndexedCollection(IntArrayIndexedCollection other) {
+		if(other == null) throw new NullPointerException("The given collection cannot be null.");
+		this.elements = Arrays.copyOf(other.elements, Math.max(other.size, 1));
+		this.size = other.size;
+	}
+	
+	/**
+	 * Determines the size of the collection.
+	 * 
+	 * @return the number of values in the collection.
+	 */
+	public int size() {
+		return this.size;
+	}
+	
+	/**
+	 * Determines whether the collection is empty.
+	 * 
+	 * @return {@code true} if the collection contains no values, {@code false} otherwise.
+	 */
+	public boolean isEmpty() {
+		return this.size == 0;
+	}
+	
+	/**
+	 * Adds the given value into the first empty place in the {@code elements} array. If the {@code elements}
+	 * array is full, it gets reallocated by doubling its size.
+	 * 
+	 * @param value value which is to be added to the collection.
+	 */
+	public void add(int value) {
+		if(this.elements.length <= this.size) {
+			this.elements = Arrays.copyOf(this.elements, this.elements.length * ArrayIndexedCollection.RESIZE_COEFFICIENT);
+		}
+		
+		this.elements[this.size++] = value;
+		this.modificationCount++;
+	}
+	
+	/**
+	 * Checks whether the collection contains the given value.
+	 * 
+	 * @param value the value for which we want to know whether it is in the collection.
+	 * @return {@code true} if the given value exists in the collection, {@code false} otherwise.
+	 */
+	public boolean contains(int value) {
+		return this.indexOf(value) != -1;
+	}
+	
+	/**
+	 * Returns the value that is stored in the backing array at position {@code index}.
+	 * 
+	 * @param index the position of the value we want to retrieve.
+	 * @return the value at the given position.
+	 * @throws IndexOutOfBoundsException when the index is not between 0 and {@code size}-1.
+	 */
+	public int get(int index) {
+		if(index >= this.size || index < 0) throw new IndexOutOfBoundsException("There is no value at that position.");
+		return this.elements[index];
+	}
+	
+	/**
+	 * Inserts the given {@code value} at the given {@code position} in the backing array by shifting the values
+	 * at indexes larger than or equal to {@code position} one place towards the end.
+	 * 
+	 * @param value value which is to be added to the collection.
+	 * @param position the index at which the value needs to be placed.
+	 * @throws IndexOutOfBoundsException when the provided {@code position} is not between 0 and {@code size}.
+	 */
+	public void insert(int value, int position) {
+		if(position > this.size || position < 0) throw new IndexOutOfBoundsException("The value cannot be placed to that position.");
+		
+		if(this.elements.length <= this.size) {
+			this.elements = Arrays.copyOf(this.elements, this.elements.length * ArrayIndexedCollection.RESIZE_COEFFICIENT);
+		}
+		
+		System.arraycopy(this.elements, position, this.elements, position + 1, this.size - position);
+		this.elements[position] = value;
+		this.size++;
+		this.modificationCount++;
+	}
+	
+	/**
+	 * Searches the collection for the provided {@code value}.
+	 * 
+	 * @param value the value that needs to be found.
+	 * @return index of the first occurrence of the provided value, -1 if {@code value} doesn't exist in the collection.
+	 */
+	public int indexOf(int value) {
+		for(int i = 0; i < this.size; i++) {
+			if(this.elements[i] == value) {
+				return i;
+			}
+		}
+		return -1;
+	}
+	
+	/**
+	 * Removes the first occurrence of the given value from the collection.
+	 * 
+	 * @param value the value which we want to remove from the collection.
+	 * @return {@code true} only if the collection had contained the given value which was then
+	 * removed from it, {@code false} otherwise.
+	 */
+	public boolean removeValue(int value) {
+		int index = this.indexOf(value);
+		if(index == -1) return false;
+		
+		this.remove(index);
+		return true;
+	}
+	
+	/**
+	 * Removes the value at the provided index by shifting the values that came after it one place closer to the
+	 * beginning of the collection.
+	 * 
+	 * @param index the index of the value that needs to be removed from the collection.
+	 * @throws IndexOutOfBoundsException when the provided {@code index} is not between 0 and {@code size}-1.
+	 */
+	public void remove(int index) {
+		if(index >= this.size || index < 0) throw new IndexOutOfBoundsException("The provided index is not between 0 and size-1.");
+		
+		System.arraycopy(this.elements, index + 1, this.elements, index, this.size - index - 1);
+		this.size--;
+		this.modificationCount++;
+	}
+	
+	/**
+	 * Removes all values from the collection. The capacity of the backing array is kept.
+	 */
+	public void clear() {
+		this.size = 0;
+		this.modificationCount++;
+	}
+	
+	/**
+	 * Calls {@code IntProcessor.process()} for each value of the current collection, in order. No value is boxed.
+	 * 
+	 * @param processor the processor which is called for every value in the current collection.
+	 * @throws NullPointerException when the provided processor is {@code null}.
+	 * @throws ConcurrentModificationException when the processor modifies the current collection.
+	 */
+	public void forEach(IntProcessor processor) {
+		if(processor == null) throw new NullPointerException("The provided processor cannot be null.");
+		
+		long savedModificationCount = this.modificationCount;
+		for(int i = 0; i < this.size; i++) {
+			processor.process(this.elements[i]);
+			if(savedModificationCount != this.modificationCount) throw CollectionMetrics.concurrentModification("The collection has been modified.");
+		}
+	}
+	
+	/**
+	 * Adds all values of the given collection to the current collection. The given collection remains unchanged.
+	 * 
+	 * @param other collection from which the values will be added to the current collection.
+	 * @throws NullPointerException when the given collection is {@code null}.
+	 */
+	public void addAll(IntArrayIndexedCollection other) {
+		if(other == null) throw new NullPointerException("The given collection cannot be null.");
+		
+		int otherSize = other.size;
+		if(this.elements.length < this.size + otherSize) {
+			this.elements = Arrays.copyOf(this.elements, Math.max(this.size + otherSize, this.elements.length * ArrayIndexedCollection.RESIZE_COEFFICIENT));
+		}
+		
+		System.arraycopy(other.elements, 0, this.elements, this.size, otherSize);
+		this.size += otherSize;
+		this.modificationCount++;
+	}
+	
+	/**
+	 * Adds all values of the given collection which are accepted by the given tester to the current collection.
+	 * 
+	 * @param other collection from which the values will be added to the current collection.
+	 * @param tester the tester which determines whether a value is to be added.
+	 * @throws NullPointerException when the given collection or the given tester is {@code null}.
+	 */
+	public void addAllSatisfying(IntArrayIndexedCollection other, IntTester tester) {
+		if(other == null) throw new NullPointerException("The given collection cannot be null.");
+		if(tester == null) throw new NullPointerException("The provided tester cannot be null.");
+		
+		//kopije, jer kolekcija moze biti upravo ova
+		int[] values = other.elements;
+		int count = other.size;
+		for(int i = 0; i < count; i++) {
+			if(tester.test(values[i])) {
+				this.add(values[i]);
+			}
+		}
+	}
+	
+	/**
+	 * Allocates a new array of equal size as the current collection and fills it with the current collection's values.
+	 * 
+	 * @return new array filled with the values of the current collection.
+	 */
+	public int[] toArray() {
+		return Arrays.copyOf(this.elements, this.size);
+	}
+	
+	/**
+	 * Checks whether the provided object is an {@code IntArrayIndexedCollection} holding the same values in the same order.
+	 * 
+	 * @param obj the object for which we want to determine equality with the current collection.
+	 * @return {@code true} if the provided object is equal to the current collection, {@code false} otherwise.
+	 */
+	@Override
+	public boolean equals(Object obj) {
+		if(this == obj) return true;
+		if(!(obj instanceof IntArrayIndexedCollection)) return false;
+		IntArrayIndexedCollection other = (IntArrayIndexedCollection) obj;
+		return Arrays.equals(this.elements, 0, this.size, other.elements, 0, other.size);
+	}
+	
+	/**
+	 * Calculates the hash code for the current collection.
+	 * 
+	 * @return the hash code value for the current collection.
+	 */
+	@Override
+	public int hashCode() {
+		int result = 1;
+		for(int i = 0; i < this.size; i++) {
+			result = 31 * result + Integer.hashCode(this.elements[i]);
+		}
+		return result;
+	}
+	
+}
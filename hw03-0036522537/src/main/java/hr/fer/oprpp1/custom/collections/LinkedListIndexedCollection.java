@@ -1,12 +1,20 @@
 package hr.fer.oprpp1.custom.collections;
 
 import java.util.ConcurrentModificationException;
+import java.util.ListIterator;
 import java.util.NoSuchElementException;
 import java.util.Objects;
 
 /**
  * The {@code LinkedListIndexedCollection} class represents a linked list-backed collection of objects. Duplicate
  * elements are allowed; storage of {@code null} references is not allowed.
+ * <p>
+ * The list remembers the node it has accessed last, together with its index, and walks from it whenever
+ * it is closer to the requested index than the first or the last node. Sequential and near-sequential
+ * indexed access, such as {@code for(int i = 0; i < list.size(); i++) list.get(i)}, is therefore linear
+ * instead of quadratic. Since {@code get()} updates the remembered node, concurrent readers need
+ * external synchronization even when nobody modifies the list. For bidirectional traversal with
+ * constant-time insertion and removal, use {@code listIterator()}.
  * 
  * @author Iva Maria Ivanković
  * @version 1.0
@@ -84,6 +92,16 @@ public class LinkedListIndexedCollection<T> implements List<T> {
 	 */
 	private long modificationCount = 0;
 	
+	/**
+	 * The node which was accessed last by index, or {@code null} if there is no such node.
+	 */
+	private ListNode<T> cachedNode;
+	
+	/**
+	 * The index of the {@code cachedNode}.
+	 */
+	private int cachedIndex;
+	
 	/**
 	 * Default constructor. Creates an empty instance of the {@code LinkedListIndexedCollection} class.
 	 */
@@ -119,19 +137,7 @@ public class LinkedListIndexedCollection<T> implements List<T> {
 	 */
 	public void add(T value) {
 		if(value == null) throw new NullPointerException("The provided value cannot be null.");
-		
-		ListNode<T> newNode = new ListNode<T>(value);
-		if(this.first == null) {
-			this.first = newNode;
-			this.last = newNode;
-		} else {
-			this.last.next = newNode;
-			newNode.previous = this.last;
-			this.last = newNode;
-		}
-		
-		this.size++;
-		this.modificationCount++;
+		this.link(value, null, this.size);
 	}
 	
 	/**
@@ -147,50 +153,103 @@ public class LinkedListIndexedCollection<T> implements List<T> {
 	 * {@inheritDoc}
 	 */
 	public T get(int index) {
-		if(index >= this.size || index < 0) throw new IndexOutOfBoundsException("The provided index is not between 0 and size}-1.");
-		
-		ListNode<T> currentNode;
-		if(index <= (this.size - 1) / 2) {
-			currentNode = this.first;
-			for(int i = 0; i < index; i++) {
-				currentNode = currentNode.next;
-			}
-		} else {
-			currentNode = this.last;
-			for(int i = this.size - 1; i > index; i--) {
-				currentNode = currentNode.previous;
-			}
-		}
-		
-		return currentNode.value;
+		return this.getNode(index).value;
 	}
 	
 	/**
-	 * Retrieves the node that is stored in the linked list at the position {@code index}.
+	 * Retrieves the node that is stored in the linked list at the position {@code index}. The walk starts from
+	 * whichever of the first node, the last node and the cached node is the closest to {@code index}, and the
+	 * retrieved node becomes the cached node.
 	 * 
 	 * @param index the index of the node that needs to be retrieved.
 	 * @return the list node at the required position {@code index}.
 	 * @throws IndexOutOfBoundsException when the provided {@code index} is not between 0 and {@code size}-1.
 	 */
 	private ListNode<T> getNode(int index) {
-		if(index >= this.size || index < 0) throw new IndexOutOfBoundsException("The provided index is not between 0 and size}-1.");
+		if(index >= this.size || index < 0) throw new IndexOutOfBoundsException("The provided index is not between 0 and size-1.");
 		
 		ListNode<T> currentNode;
+		int currentIndex;
 		if(index <= (this.size - 1) / 2) {
 			currentNode = this.first;
-			for(int i = 0; i < index; i++) {
-				currentNode = currentNode.next;
-			}
+			currentIndex = 0;
 		} else {
 			currentNode = this.last;
-			for(int i = this.size - 1; i > index; i--) {
-				currentNode = currentNode.previous;
-			}
+			currentIndex = this.size - 1;
+		}
+		if(this.cachedNode != null && Math.abs(index - this.cachedIndex) < Math.abs(index - currentIndex)) {
+			currentNode = this.cachedNode;
+			currentIndex = this.cachedIndex;
 		}
 		
+		while(currentIndex < index) {
+			currentNode = currentNode.next;
+			currentIndex++;
+		}
+		while(currentIndex > index) {
+			currentNode = currentNode.previous;
+			currentIndex--;
+		}
+		
+		this.cachedNode = currentNode;
+		this.cachedIndex = index;
 		return currentNode;
 	}
 	
+	/**
+	 * Links a new node holding the provided {@code value} in front of the provided {@code successor}, or at the end
+	 * of the list if {@code successor} is {@code null}. The new node becomes the cached node.
+	 * 
+	 * @param value the value of the new node.
+	 * @param successor the node which is to follow the new node, {@code null} to append the new node.
+	 * @param index the index which the new node will have.
+	 */
+	private void link(T value, ListNode<T> successor, int index) {
+		ListNode<T> predecessor = successor == null ? this.last : successor.previous;
+		ListNode<T> newNode = new ListNode<T>(predecessor, successor, value);
+		
+		if(predecessor == null) this.first = newNode;
+		else predecessor.next = newNode;
+		if(successor == null) this.last = newNode;
+		else successor.previous = newNode;
+		
+		this.cachedNode = newNode;
+		this.cachedIndex = index;
+		this.size++;
+		this.modificationCount++;
+	}
+	
+	/**
+	 * Unlinks the provided node from the list, keeping the cached node valid.
+	 * 
+	 * @param node the node which is to be removed.
+	 * @param index the index of the node which is to be removed.
+	 */
+	private void unlink(ListNode<T> node, int index) {
+		if(node == this.cachedNode) {
+			if(node.next != null) {
+				this.cachedNode = node.next;
+			} else {
+				this.cachedNode = node.previous;
+				this.cachedIndex = index - 1;
+			}
+		} else if(this.cachedNode != null && index < this.cachedIndex) {
+			this.cachedIndex--;
+		}
+		
+		if(node.previous == null) this.first = node.next;
+		else node.previous.next = node.next;
+		if(node.next == null) this.last = node.previous;
+		else node.next.previous = node.previous;
+		
+		node.previous = null;
+		node.next = null;
+		node.value = null;
+		
+		this.size--;
+		this.modificationCount++;
+	}
+	
 	/**
 	 * Inserts the provided {@code value} at the provided {@code position} as a new node in the linked list.
 	 * 
@@ -202,28 +261,7 @@ public class LinkedListIndexedCollection<T> implements List<T> {
 		if(value == null) throw new NullPointerException("The provided value cannot be null.");
 		if(position > size || position < 0) throw new IndexOutOfBoundsException("The provided position is not between 0 and size.");
 		
-		ListNode<T> newNode = new ListNode<T>(value);
-		if(this.first == null) {
-			this.first = newNode;
-			this.last = newNode;			
-		} else if(position == 0) {
-			newNode.next = this.first;
-			this.first.previous = newNode;
-			this.first = newNode;
-		} else if(position == size) {
-			this.last.next = newNode;
-			newNode.previous = this.last;
-			this.last = newNode;
-		} else {
-			ListNode<T> currentNode = this.getNode(position);
-			currentNode.previous.next = newNode;
-			newNode.previous = currentNode.previous;
-			currentNode.previous = newNode;
-			newNode.next = currentNode;
-		}
-		
-		this.size++;
-		this.modificationCount++;
+		this.link(value, position == this.size ? null : this.getNode(position), position);
 	}
 	
 	/**
@@ -231,10 +269,17 @@ public class LinkedListIndexedCollection<T> implements List<T> {
 	 */
 	@Override
 	public boolean remove(Object value) {
-		if(this.indexOf(value) == -1) return false;
+		if(value == null) return false;
 		
-		this.remove(this.indexOf(value));
-		return true;
+		ListNode<T> currentNode = this.first;
+		for(int i = 0; currentNode != null; i++) {
+			if(currentNode.value.equals(value)) {
+				this.unlink(currentNode, i);
+				return true;
+			}
+			currentNode = currentNode.next;
+		}
+		return false;
 	}
 	
 	/**
@@ -244,31 +289,7 @@ public class LinkedListIndexedCollection<T> implements List<T> {
 	 * @throws IndexOutOfBoundsException when the provided {@code index} is not between 0 and {@code size}-1.
 	 */
 	public void remove(int index) {
-		if(index >= this.size || index < 0) throw new IndexOutOfBoundsException("The provided index is not between 0 and size-1.");
-		
-		ListNode<T> nodeToRemove = new ListNode<T>();
-		if(this.first != null && this.last != null && this.first == this.last) {
-			this.first = null;
-			this.last = null;
-		} else if(index == 0 && this.first != null) {
-			nodeToRemove = this.first;
-			this.first.next.previous = null;
-			this.first = this.first.next;
-		} else if(index == this.size - 1 && this.last != null) {
-			nodeToRemove = this.last;
-			this.last.previous.next = null;
-			this.last = this.last.previous;
-		} else {
-			nodeToRemove = this.getNode(index);
-			nodeToRemove.previous.next = nodeToRemove.next;
-			nodeToRemove.next.previous = nodeToRemove.previous;
-		}
-		nodeToRemove.previous = null;
-		nodeToRemove.next = null;
-		nodeToRemove.value = null;
-		
-		this.size--;
-		this.modificationCount++;
+		this.unlink(this.getNode(index), index);
 	}
 	
 	/**
@@ -277,6 +298,7 @@ public class LinkedListIndexedCollection<T> implements List<T> {
 	public void clear() {
 		this.first = null;
 		this.last = null;
+		this.cachedNode = null;
 		this.size = 0;
 		
 		this.modificationCount++;
@@ -342,7 +364,7 @@ public class LinkedListIndexedCollection<T> implements List<T> {
 		 */
 		@Override
 		public boolean hasNextElement() {
-			if(this.savedModificationCount != this.linkedListCollection.modificationCount) throw new ConcurrentModificationException("The collection has been modified.");
+			if(this.savedModificationCount != this.linkedListCollection.modificationCount) throw CollectionMetrics.concurrentModification("The collection has been modified.");
 			return this.nextNonFetchedNode != null;
 		}
 		
@@ -351,12 +373,30 @@ public class LinkedListIndexedCollection<T> implements List<T> {
 		 */
 		@Override
 		public T getNextElement() {
-			if(this.savedModificationCount != this.linkedListCollection.modificationCount) throw new ConcurrentModificationException("The collection has been modified.");
+			if(this.savedModificationCount != this.linkedListCollection.modificationCount) throw CollectionMetrics.concurrentModification("The collection has been modified.");
 			if(!this.hasNextElement()) throw new NoSuchElementException("There are no elements left to fetch.");
 			T value = this.nextNonFetchedNode.value;
 			this.nextNonFetchedNode = this.nextNonFetchedNode.next;
 			return value;
 		}
+		
+		/**
+		 * {@inheritDoc}
+		 * The nodes are followed in a single loop, checking for modifications once per chunk.
+		 */
+		@Override
+		public int nextChunk(T[] buffer) {
+			if(buffer == null) throw new NullPointerException("The provided buffer cannot be null.");
+			if(this.savedModificationCount != this.linkedListCollection.modificationCount) throw CollectionMetrics.concurrentModification("The collection has been modified.");
+			
+			int count = 0;
+			ListNode<T> node = this.nextNonFetchedNode;
+			for(; node != null && count < buffer.length; node = node.next) {
+				buffer[count++] = node.value;
+			}
+			this.nextNonFetchedNode = node;
+			return count;
+		}
 	}
 	
 	/**
@@ -369,6 +409,196 @@ public class LinkedListIndexedCollection<T> implements List<T> {
 		return new LinkedListElementsGetter<T>(this);
 	}
 		
+	/**
+	 * Creates a bidirectional iterator positioned at the beginning of the list.
+	 * 
+	 * @return a list iterator over the elements of the current collection.
+	 */
+	public ListIterator<T> listIterator() {
+		return new ListIteratorImpl(0);
+	}
+	
+	/**
+	 * Creates a bidirectional iterator whose first call to {@code next()} returns the element at the provided index.
+	 * 
+	 * @param index the index of the element which is to be returned first by {@code next()}.
+	 * @return a list iterator over the elements of the current collection.
+	 * @throws IndexOutOfBoundsException when the provided {@code index} is not between 0 and {@code size}.
+	 */
+	public ListIterator<T> listIterator(int index) {
+		if(index > this.size || index < 0) throw new IndexOutOfBoundsException("The provided index is not between 0 and size.");
+		return new ListIteratorImpl(index);
+	}
+	
+	/**
+	 * Class {@code ListIteratorImpl} represents an implementation of a {@code ListIterator} for the
+	 * {@code LinkedListIndexedCollection} class. The iterator keeps a reference to the node it stands in front of,
+	 * so moving it as well as inserting and removing elements at its position takes constant time. Modifications
+	 * of the list which are not made through the iterator cause a {@code ConcurrentModificationException}.
+	 * 
+	 * @author Iva Maria Ivanković
+	 * @version 1.0
+	 */
+	private class ListIteratorImpl implements ListIterator<T> {
+		
+		/**
+		 * The node which is to be returned by the next call to {@code next()}, {@code null} at the end of the list.
+		 */
+		private ListNode<T> nextNode;
+		
+		/**
+		 * The index of the {@code nextNode}.
+		 */
+		private int nextIndex;
+		
+		/**
+		 * The node which was returned last by {@code next()} or {@code previous()}, {@code null} if it was removed
+		 * or if an element was added since.
+		 */
+		private ListNode<T> lastReturned;
+		
+		/**
+		 * The number of modifications which were made on the list at the time of the last
+		 * modification made through the iterator.
+		 */
+		private long savedModificationCount;
+		
+		/**
+		 * Creates an iterator whose first call to {@code next()} returns the element at the provided index.
+		 * 
+		 * @param index the index of the element which is to be returned first.
+		 */
+		private ListIteratorImpl(int index) {
+			this.nextNode = index == size ? null : getNode(index);
+			this.nextIndex = index;
+			this.savedModificationCount = modificationCount;
+		}
+		
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public boolean hasNext() {
+			this.checkForModification();
+			return this.nextIndex < size;
+		}
+		
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public T next() {
+			if(!this.hasNext()) throw new NoSuchElementException("There are no elements left to fetch.");
+			
+			this.lastReturned = this.nextNode;
+			this.nextNode = this.nextNode.next;
+			this.nextIndex++;
+			return this.lastReturned.value;
+		}
+		
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public boolean hasPrevious() {
+			this.checkForModification();
+			return this.nextIndex > 0;
+		}
+		
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public T previous() {
+			if(!this.hasPrevious()) throw new NoSuchElementException("There are no previous elements.");
+			
+			this.nextNode = this.nextNode == null ? last : this.nextNode.previous;
+			this.lastReturned = this.nextNode;
+			this.nextIndex--;
+			return this.lastReturned.value;
+		}
+		
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public int nextIndex() {
+			return this.nextIndex;
+		}
+		
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public int previousIndex() {
+			return this.nextIndex - 1;
+		}
+		
+		/**
+		 * Removes the element which was returned last by {@code next()} or {@code previous()}.
+		 * 
+		 * @throws IllegalStateException when there is no such element, or it has already been removed, or
+		 * an element has been added since.
+		 */
+		@Override
+		public void remove() {
+			this.checkForModification();
+			if(this.lastReturned == null) throw new IllegalStateException("There is no element to be removed.");
+			
+			if(this.lastReturned == this.nextNode) {
+				//element je vracen s previous()
+				this.nextNode = this.lastReturned.next;
+				unlink(this.lastReturned, this.nextIndex);
+			} else {
+				this.nextIndex--;
+				unlink(this.lastReturned, this.nextIndex);
+			}
+			this.lastReturned = null;
+			this.savedModificationCount = modificationCount;
+		}
+		
+		/**
+		 * Replaces the element which was returned last by {@code next()} or {@code previous()} with the provided value.
+		 * 
+		 * @throws NullPointerException when the provided value is {@code null}.
+		 * @throws IllegalStateException when there is no such element, or it has been removed, or an element has been added since.
+		 */
+		@Override
+		public void set(T value) {
+			if(value == null) throw new NullPointerException("The provided value cannot be null.");
+			this.checkForModification();
+			if(this.lastReturned == null) throw new IllegalStateException("There is no element to be replaced.");
+			
+			this.lastReturned.value = value;
+		}
+		
+		/**
+		 * Inserts the provided value in front of the element which would be returned by {@code next()}.
+		 * 
+		 * @throws NullPointerException when the provided value is {@code null}.
+		 */
+		@Override
+		public void add(T value) {
+			if(value == null) throw new NullPointerException("The provided value cannot be null.");
+			this.checkForModification();
+			
+			link(value, this.nextNode, this.nextIndex);
+			this.nextIndex++;
+			this.lastReturned = null;
+			this.savedModificationCount = modificationCount;
+		}
+		
+		/**
+		 * Checks whether the list has been modified other than through the current iterator.
+		 * 
+		 * @throws ConcurrentModificationException if it has.
+		 */
+		private void checkForModification() {
+			if(this.savedModificationCount != modificationCount) throw CollectionMetrics.concurrentModification("The collection has been modified.");
+		}
+		
+	}
+	
 	/**
 	 * {@inheritDoc}
 	 */
@@ -1,5 +1,8 @@
 package hr.fer.oprpp1.custom.collections;
 
+import java.util.Spliterator;
+import java.util.Spliterators;
+
 /**
  * Interface {@code List} represents a general list collection.
  * 
@@ -45,4 +48,14 @@ public interface List<T> extends Collection<T> {
 	 * @throws IndexOutOfBoundsException when the provided {@code index} is not between 0 and {@code size}-1.
 	 */
 	void remove(int index);
+	
+	/**
+	 * {@inheritDoc}
+	 * The spliterator of a list is also {@code ORDERED}: it encounters the elements in the order of their indexes.
+	 */
+	@Override
+	default Spliterator<T> spliterator() {
+		return Spliterators.spliterator(this.createElementsGetter().asIterator(), this.size(),
+				Spliterator.ORDERED | Spliterator.NONNULL);
+	}
 }
@@ -1,51 +1,71 @@
 package hr.fer.oprpp1.custom.collections;
 
+import java.util.Arrays;
+
 /**
- * The {@code ObjectStack} class represents an implementation of a stack-like collection. 
- * It serves as an adaptor in the Adapter design pattern.
+ * The {@code ObjectStack} class represents an implementation of a stack-like collection. The objects are kept
+ * in an array whose last used index is the top of the stack, so pushing and popping are plain array accesses.
+ * The array doubles when it is full and is halved when the stack shrinks to a quarter of its capacity, so a
+ * stack which was once deep does not keep holding on to a large array.
  * 
  * @author Iva Maria Ivanković
- * @version 1.0
+ * @version 2.0
  */
 public class ObjectStack<T> {
-
+	
+	/**
+	 * The capacity of the array of a new stack. The array is never shrunk below it.
+	 */
+	static final int DEFAULT_CAPACITY = 16;
+	
 	/**
-	 * The collection which server as an adaptee in the Adapter design pattern.
+	 * The objects on the stack, the top of the stack being at the index {@code size}-1.
 	 */
-	private ArrayIndexedCollection<T> adapteeCollection;
+	private Object[] elements;
+	
+	/**
+	 * The number of objects on the stack.
+	 */
+	private int size;
 	
 	/**
 	 * Default constructor.
 	 */
 	public ObjectStack() {
-		this.adapteeCollection = new ArrayIndexedCollection<T>();
+		this.elements = new Object[DEFAULT_CAPACITY];
 	}
 	
 	/**
-	 * Determines whether the backing adaptee collection is empty.
+	 * Determines whether the stack is empty.
 	 * 
-	 * @return {@code true} if the collection contains no objects, {@code false} otherwise.
+	 * @return {@code true} if the stack contains no objects, {@code false} otherwise.
 	 */
 	public boolean isEmpty() {
-		return this.adapteeCollection.isEmpty();
+		return this.size == 0;
 	}
 	
 	/**
-	 * Determines the size of the backing adaptee collection.
+	 * Determines the size of the stack.
 	 * 
-	 * @return the number of objects in the adaptee collection.
+	 * @return the number of objects on the stack.
 	 */
 	public int size() {
-		return this.adapteeCollection.size();
+		return this.size;
 	}
 	
 	/**
-	 * Adds the provided {@code value} to the end of the adaptee collection, i. e. "pushes" it onto the top of the stack.
+	 * Pushes the provided {@code value} onto the top of the stack.
 	 * 
 	 * @param value the value which is to be pushed onto the stack.
+	 * @throws NullPointerException when the provided value is {@code null}.
 	 */
 	public void push(T value) {
-		this.adapteeCollection.add(value);
+		if(value == null) throw new NullPointerException("The provided value cannot be null.");
+		
+		if(this.size == this.elements.length) {
+			this.elements = Arrays.copyOf(this.elements, 2 * this.elements.length);
+		}
+		this.elements[this.size++] = value;
 	}
 	
 	/**
@@ -54,11 +74,16 @@ public class ObjectStack<T> {
 	 * @return the object which was last put onto the top of the stack.
 	 * @throws EmptyStackException when there is nothing to pop from the stack because the stack is empty.
 	 */
+	@SuppressWarnings("unchecked")
 	public T pop() {
-		if(this.isEmpty()) throw new EmptyStackException("The stack is empty. There is nothing to pop.");
+		if(this.size == 0) throw new EmptyStackException("The stack is empty. There is nothing to pop.");
+		
+		T popped = (T) this.elements[--this.size];
+		this.elements[this.size] = null;
 		
-		T popped = this.peek();
-		this.adapteeCollection.remove(this.size() - 1);
+		if(this.size < this.elements.length / 4 && this.elements.length > DEFAULT_CAPACITY) {
+			this.elements = Arrays.copyOf(this.elements, this.elements.length / 2);
+		}
 		return popped;
 	}
 	
@@ -68,17 +93,19 @@ public class ObjectStack<T> {
 	 * @return the object which was last put onto the top of the stack.
 	 * @throws EmptyStackException when the stack is empty.
 	 */
+	@SuppressWarnings("unchecked")
 	public T peek() {
-		if(this.isEmpty()) throw new EmptyStackException("The stack is empty.");
+		if(this.size == 0) throw new EmptyStackException("The stack is empty.");
 		
-		return this.adapteeCollection.get(this.size() - 1);
+		return (T) this.elements[this.size - 1];
 	}
 	
 	/**
-	 * Removes all objects from the stack.
+	 * Removes all objects from the stack and returns the array to its default capacity.
 	 */
 	public void clear() {
-		this.adapteeCollection.clear();
+		this.elements = new Object[DEFAULT_CAPACITY];
+		this.size = 0;
 	}
 	
 }
@@ -0,0 +1,983 @@
+package hr.fer.oprpp1.custom.collections;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Class {@code OffHeapHashtable} represents a table for storing byte or string keys with byte array or
+ * {@code long} values, which keeps all of its data outside the garbage-collected heap. The pairs are serialized
+ * into direct {@code ByteBuffer} segments, one record after another, and located through an open-addressed
+ * index of record addresses and hash codes, which is also kept in direct buffers. Collisions are resolved by
+ * linear probing and removed slots are marked with a tombstone, like in {@link OpenAddressingHashtable}.
+ * <p>
+ * However many pairs the table holds, the heap only sees a handful of buffer objects, so tens of millions of
+ * short keys cost neither heap space nor garbage collection time. String keys are stored in UTF-8, so
+ * {@code put("key", ...)} and {@code put("key".getBytes(UTF_8), ...)} refer to the same pair. Keys are compared
+ * byte by byte and values are copied in and out, so neither can be changed through the arrays passed to or
+ * returned by the table.
+ * <p>
+ * A record whose value is replaced by one of the same length is overwritten in place. Otherwise the new record
+ * is appended and the old one becomes garbage, as does the record of a removed pair. Once the garbage outgrows
+ * the live records, the live records are copied into fresh segments.
+ *
+ * @author Iva Maria Ivanković
+ * @version 1.0
+ */
+public class OffHeapHashtable implements Iterable<OffHeapHashtable.Entry> {
+
+	/**
+	 * A constant which the number of slots in the index is set to when the constructor
+	 * function is called with no provided value for the number of slots.
+	 */
+	static final int DEFAULT_NUMBER_OF_SLOTS = 16;
+
+	/**
+	 * A constant which the largest size of a segment is set to when the constructor is called
+	 * with no provided segment size.
+	 */
+	static final int DEFAULT_SEGMENT_SIZE = 64 << 20;
+
+	/**
+	 * The size of the first segment; every following segment is twice as big as the previous one,
+	 * until the largest segment size is reached.
+	 */
+	static final int INITIAL_SEGMENT_SIZE = 64 << 10;
+
+	/**
+	 * The largest number of slots in the index, limited by the capacity of a direct buffer of addresses:
+	 * 2^27 addresses of 8 bytes fill 1 GiB, while 2^28 of them would not fit into the {@code int} capacity of a buffer.
+	 */
+	static final int MAXIMUM_NUMBER_OF_SLOTS = 1 << 27;
+
+	/**
+	 * A constant factor by which the capacity of the index is multiplied when
+	 * the number of used slots surpasses the {@code Hashing.OVERFILL_QUOTIENT}.
+	 */
+	static final int RESIZE_COEFFICIENT = 2;
+
+	/**
+	 * The size of the header of a record, which holds the length of the key and the length of the value.
+	 */
+	static final int RECORD_HEADER_SIZE = 2 * Integer.BYTES;
+
+	/**
+	 * The address stored in a slot that was never used.
+	 */
+	private static final long EMPTY = 0;
+
+	/**
+	 * The address stored in a slot whose pair has been removed.
+	 */
+	private static final long TOMBSTONE = -1;
+
+	/**
+	 * The addresses of the records, one per slot. An address holds the number of the segment increased by one
+	 * in its upper half and the offset of the record in its lower half, so it is never {@code EMPTY} or {@code TOMBSTONE}.
+	 */
+	private LongBuffer addresses;
+
+	/**
+	 * The hash codes of the keys, one per slot. They are compared before the keys and reused when
+	 * the index is resized.
+	 */
+	private IntBuffer hashes;
+
+	/**
+	 * The number of slots in the index, a power of two.
+	 */
+	private int capacity;
+
+	/**
+	 * The segments holding the records; only the first {@code segmentCount} of them are in use.
+	 */
+	private ByteBuffer[] segments;
+
+	/**
+	 * The number of segments in use. Records are appended to the last one.
+	 */
+	private int segmentCount;
+
+	/**
+	 * The offset in the last segment at which the next record is written.
+	 */
+	private int writeOffset;
+
+	/**
+	 * The largest size of a segment, unless a single record needs more.
+	 */
+	private final int segmentSize;
+
+	/**
+	 * The largest number of slots to which the index may grow, {@code MAXIMUM_NUMBER_OF_SLOTS} unless a smaller
+	 * limit is given to the package-private constructor.
+	 */
+	private final int maximumNumberOfSlots;
+
+	/**
+	 * The number of bytes taken by the records of the pairs in the table.
+	 */
+	private long liveBytes;
+
+	/**
+	 * The number of bytes taken by the records which have been replaced or removed.
+	 */
+	private long garbageBytes;
+
+	/**
+	 * The number of pairs in the table.
+	 */
+	private int size;
+
+	/**
+	 * The number of slots which are currently marked with the {@code TOMBSTONE}.
+	 */
+	private int tombstones;
+
+	/**
+	 * A variable that serves as a counter of modifications made on the current
+	 * table since its creation.
+	 */
+	private int modificationCount;
+
+	/**
+	 * Default constructor which creates an empty table with the default number of slots and segment size.
+	 */
+	public OffHeapHashtable() {
+		this(DEFAULT_NUMBER_OF_SLOTS, DEFAULT_SEGMENT_SIZE);
+	}
+
+	/**
+	 * A constructor which creates an empty table whose index has at least {@code numberOfSlots} slots
+	 * and whose segments grow up to {@code segmentSize} bytes.
+	 *
+	 * @param numberOfSlots the number of slots which the created index should have.
+	 * @param segmentSize the largest size of a segment in bytes.
+	 * @throws IllegalArgumentException when the provided {@code numberOfSlots} or {@code segmentSize} is less than 1.
+	 */
+	public OffHeapHashtable(int numberOfSlots, int segmentSize) {
+		this(numberOfSlots, segmentSize, MAXIMUM_NUMBER_OF_SLOTS);
+	}
+
+	/**
+	 * A constructor which creates an empty table like {@code OffHeapHashtable(int, int)}, but whose index
+	 * cannot grow over {@code maximumNumberOfSlots} slots, so that a full table can be tested.
+	 *
+	 * @param numberOfSlots the number of slots which the created index should have.
+	 * @param segmentSize the largest size of a segment in bytes.
+	 * @param maximumNumberOfSlots the largest number of slots of the index, a power of two not bigger than
+	 * {@code MAXIMUM_NUMBER_OF_SLOTS}.
+	 * @throws IllegalArgumentException when the provided {@code numberOfSlots} or {@code segmentSize} is less than 1.
+	 */
+	OffHeapHashtable(int numberOfSlots, int segmentSize, int maximumNumberOfSlots) {
+		if(numberOfSlots < 1) throw new IllegalArgumentException("The initial number of slots cannot be smaller than 1.");
+		if(segmentSize < 1) throw new IllegalArgumentException("The segment size cannot be smaller than 1.");
+
+		this.segmentSize = segmentSize;
+		this.maximumNumberOfSlots = maximumNumberOfSlots;
+		this.allocateIndex(Math.min(Hashing.tableSizeFor(Math.max(2, numberOfSlots)), maximumNumberOfSlots));
+		this.clearSegments();
+		this.size = 0;
+		this.tombstones = 0;
+		this.modificationCount = 0;
+	}
+
+	/**
+	 * Class {@code Entry} represents a copy of one of the pairs in the table, as returned by its iterator.
+	 *
+	 * @author Iva Maria Ivanković
+	 * @version 1.0
+	 */
+	public static final class Entry {
+
+		/**
+		 * The key of the pair.
+		 */
+		private final byte[] key;
+
+		/**
+		 * The value of the pair.
+		 */
+		private final byte[] value;
+
+		/**
+		 * Creates an entry with the provided key and value.
+		 *
+		 * @param key the key of the pair.
+		 * @param value the value of the pair.
+		 */
+		private Entry(byte[] key, byte[] value) {
+			this.key = key;
+			this.value = value;
+		}
+
+		/**
+		 * Fetches the key of the pair.
+		 *
+		 * @return a copy of the key of the pair.
+		 */
+		public byte[] getKey() {
+			return this.key.clone();
+		}
+
+		/**
+		 * Fetches the key of the pair decoded from UTF-8.
+		 *
+		 * @return the key of the pair as a string.
+		 */
+		public String getKeyAsString() {
+			return new String(this.key, StandardCharsets.UTF_8);
+		}
+
+		/**
+		 * Fetches the value of the pair.
+		 *
+		 * @return a copy of the value of the pair.
+		 */
+		public byte[] getValue() {
+			return this.value.clone();
+		}
+
+		/**
+		 * Fetches the value of the pair stored by {@code putLong()}.
+		 *
+		 * @return the value of the pair as a {@code long}.
+		 * @throws IllegalStateException when the value is not 8 bytes long.
+		 */
+		public long getValueAsLong() {
+			return toLong(this.value);
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public String toString() {
+			return this.getKeyAsString() + "=" + Arrays.toString(this.value);
+		}
+
+	}
+
+	/**
+	 * Inserts a pair with the provided {@code key} and {@code value} into the table.
+	 * If a pair with the provided {@code key} already exists, its {@code value} will be overwritten.
+	 *
+	 * @param key the key of the pair.
+	 * @param value the value of the pair.
+	 * @return old value for the provided key if it existed, {@code null} otherwise.
+	 * @throws NullPointerException when the provided {@code key} or {@code value} is {@code null}.
+	 * @throws IllegalStateException when the key is new and the index cannot grow to make room for it;
+	 * the table is not modified then.
+	 */
+	public byte[] put(byte[] key, byte[] value) {
+		if(key == null) throw new NullPointerException("The provided key must not be null.");
+		if(value == null) throw new NullPointerException("The provided value must not be null.");
+
+		int hash = hash(key);
+		int mask = this.capacity - 1;
+		int index = hash & mask;
+		int firstTombstone = -1;
+
+		while(true) {
+			long address = this.addresses.get(index);
+			if(address == EMPTY) break;
+
+			if(address == TOMBSTONE) {
+				if(firstTombstone == -1) firstTombstone = index;
+			} else if(this.hashes.get(index) == hash && this.keyEquals(address, key)) { //postoji zapis, zamijeni vrijednost
+				byte[] oldValue = this.readValue(address);
+
+				if(oldValue.length == value.length) {
+					ByteBuffer segment = this.segment(address);
+					segment.position(offset(address) + RECORD_HEADER_SIZE + key.length);
+					segment.put(value);
+				} else {
+					this.addresses.put(index, this.append(key, value));
+					this.discard(RECORD_HEADER_SIZE + key.length + oldValue.length);
+				}
+
+				return oldValue;
+			}
+
+			index = (index + 1) & mask;
+		}
+
+		// provjera prije upisa, puni indeks bi zauvijek vrtio linearno ispitivanje
+		int tombstones = firstTombstone == -1 ? this.tombstones : this.tombstones - 1;
+		if(this.mustGrow(this.size + 1, tombstones) && this.capacity * RESIZE_COEFFICIENT > this.maximumNumberOfSlots) {
+			throw new IllegalStateException("The table cannot hold more pairs.");
+		}
+
+		if(firstTombstone != -1) {
+			index = firstTombstone;
+			this.tombstones--;
+		}
+
+		this.addresses.put(index, this.append(key, value));
+		this.hashes.put(index, hash);
+		this.size++;
+		this.modificationCount++;
+
+		this.checkOverfill();
+		return null;
+	}
+
+	/**
+	 * Inserts a pair with the provided string {@code key}, encoded in UTF-8, and {@code value} into the table.
+	 *
+	 * @param key the key of the pair.
+	 * @param value the value of the pair.
+	 * @return old value for the provided key if it existed, {@code null} otherwise.
+	 * @throws NullPointerException when the provided {@code key} or {@code value} is {@code null}.
+	 */
+	public byte[] put(String key, byte[] value) {
+		return this.put(encode(key), value);
+	}
+
+	/**
+	 * Inserts a pair with the provided {@code key} and a {@code long} value, stored in 8 bytes, into the table.
+	 *
+	 * @param key the key of the pair.
+	 * @param value the value of the pair.
+	 * @throws NullPointerException when the provided {@code key} is {@code null}.
+	 */
+	public void putLong(byte[] key, long value) {
+		this.put(key, ByteBuffer.allocate(Long.BYTES).putLong(0, value).array());
+	}
+
+	/**
+	 * Inserts a pair with the provided string {@code key} and a {@code long} value into the table.
+	 *
+	 * @param key the key of the pair.
+	 * @param value the value of the pair.
+	 * @throws NullPointerException when the provided {@code key} is {@code null}.
+	 */
+	public void putLong(String key, long value) {
+		this.putLong(encode(key), value);
+	}
+
+	/**
+	 * Fetches the value for the provided {@code key} from the table.
+	 *
+	 * @param key the key for which we want to know the value.
+	 * @return a copy of the value for the provided key if it exists, {@code null} otherwise.
+	 */
+	public byte[] get(byte[] key) {
+		int index = this.indexOf(key);
+		return index == -1 ? null : this.readValue(this.addresses.get(index));
+	}
+
+	/**
+	 * Fetches the value for the provided string {@code key} from the table.
+	 *
+	 * @param key the key for which we want to know the value.
+	 * @return a copy of the value for the provided key if it exists, {@code null} otherwise.
+	 */
+	public byte[] get(String key) {
+		return key == null ? null : this.get(encode(key));
+	}
+
+	/**
+	 * Fetches the {@code long} value for the provided {@code key} from the table.
+	 *
+	 * @param key the key for which we want to know the value.
+	 * @param defaultValue the value which is returned if there is no pair with the provided key.
+	 * @return the value for the provided key if it exists, {@code defaultValue} otherwise.
+	 * @throws IllegalStateException when the value for the provided key is not 8 bytes long.
+	 */
+	public long getLong(byte[] key, long defaultValue) {
+		int index = this.indexOf(key);
+		if(index == -1) return defaultValue;
+
+		long address = this.addresses.get(index);
+		ByteBuffer segment = this.segment(address);
+		int offset = offset(address);
+		if(segment.getInt(offset + Integer.BYTES) != Long.BYTES) throw new IllegalStateException("The value is not a long.");
+
+		return segment.getLong(offset + RECORD_HEADER_SIZE + segment.getInt(offset));
+	}
+
+	/**
+	 * Fetches the {@code long} value for the provided string {@code key} from the table.
+	 *
+	 * @param key the key for which we want to know the value.
+	 * @param defaultValue the value which is returned if there is no pair with the provided key.
+	 * @return the value for the provided key if it exists, {@code defaultValue} otherwise.
+	 * @throws IllegalStateException when the value for the provided key is not 8 bytes long.
+	 */
+	public long getLong(String key, long defaultValue) {
+		return key == null ? defaultValue : this.getLong(encode(key), defaultValue);
+	}
+
+	/**
+	 * Checks if a pair with the provided {@code key} exists in the table.
+	 *
+	 * @param key the key for which we want to know if it is contained in the table.
+	 * @return {@code true} if there is a pair with the provided key in the table, {@code false} otherwise.
+	 */
+	public boolean containsKey(byte[] key) {
+		return this.indexOf(key) != -1;
+	}
+
+	/**
+	 * Checks if a pair with the provided string {@code key} exists in the table.
+	 *
+	 * @param key the key for which we want to know if it is contained in the table.
+	 * @return {@code true} if there is a pair with the provided key in the table, {@code false} otherwise.
+	 */
+	public boolean containsKey(String key) {
+		return key != null && this.containsKey(encode(key));
+	}
+
+	/**
+	 * Removes the pair with the provided {@code key} from the table.
+	 *
+	 * @param key the key of the pair which we want to remove.
+	 * @return the value of the removed pair if it existed, {@code null} otherwise.
+	 */
+	public byte[] remove(byte[] key) {
+		int index = this.indexOf(key);
+		if(index == -1) return null;
+
+		byte[] value = this.readValue(this.addresses.get(index));
+		this.removeAt(index);
+		return value;
+	}
+
+	/**
+	 * Removes the pair with the provided string {@code key} from the table.
+	 *
+	 * @param key the key of the pair which we want to remove.
+	 * @return the value of the removed pair if it existed, {@code null} otherwise.
+	 */
+	public byte[] remove(String key) {
+		return key == null ? null : this.remove(encode(key));
+	}
+
+	/**
+	 * Determines the number of pairs in the table.
+	 *
+	 * @return the number of pairs stored in the table.
+	 */
+	public int size() {
+		return this.size;
+	}
+
+	/**
+	 * Checks whether the table is empty.
+	 *
+	 * @return {@code true} if the table contains no pairs, {@code false} otherwise.
+	 */
+	public boolean isEmpty() {
+		return this.size == 0;
+	}
+
+	/**
+	 * Removes all pairs from the table and releases its segments.
+	 */
+	public void clear() {
+		this.allocateIndex(this.capacity);
+		this.clearSegments();
+		this.size = 0;
+		this.tombstones = 0;
+		this.modificationCount++;
+	}
+
+	/**
+	 * Determines how many bytes of direct memory the table holds, counting the index and all segments.
+	 *
+	 * @return the number of bytes allocated outside the heap.
+	 */
+	public long offHeapBytes() {
+		long bytes = (long) this.capacity * (Long.BYTES + Integer.BYTES);
+		for(int i = 0; i < this.segmentCount; i++) bytes += this.segments[i].capacity();
+		return bytes;
+	}
+
+	/**
+	 * Copies the records of the pairs in the table into fresh segments, releasing the space taken by
+	 * replaced and removed records. This happens automatically once the garbage outgrows the live records.
+	 */
+	public void compact() {
+		ByteBuffer[] oldSegments = this.segments;
+		this.clearSegments();
+
+		for(int index = 0; index < this.capacity; index++) {
+			long address = this.addresses.get(index);
+			if(address == EMPTY || address == TOMBSTONE) continue;
+
+			ByteBuffer record = oldSegments[segmentIndex(address)].duplicate();
+			int offset = offset(address);
+			record.limit(offset + recordSize(record, offset));
+			record.position(offset);
+
+			this.addresses.put(index, this.appendRecord(record));
+		}
+	}
+
+	/**
+	 * Creates an iterator which visits copies of the pairs in the table.
+	 *
+	 * @return new iterator for the current table.
+	 */
+	@Override
+	public Iterator<Entry> iterator() {
+		return new IteratorImpl();
+	}
+
+	/**
+	 * Finds the slot of the pair with the provided {@code key}.
+	 *
+	 * @param key the key of the pair.
+	 * @return the slot of the pair if it exists, -1 otherwise.
+	 */
+	private int indexOf(byte[] key) {
+		if(key == null) return -1;
+
+		int hash = hash(key);
+		int mask = this.capacity - 1;
+		int index = hash & mask;
+
+		while(true) {
+			long address = this.addresses.get(index);
+			if(address == EMPTY) return -1;
+			if(address != TOMBSTONE && this.hashes.get(index) == hash && this.keyEquals(address, key)) return index;
+
+			index = (index + 1) & mask;
+		}
+	}
+
+	/**
+	 * Marks the provided slot with the {@code TOMBSTONE} and discards the record of its pair.
+	 *
+	 * @param index the slot of the removed pair.
+	 */
+	private void removeAt(int index) {
+		long address = this.addresses.get(index);
+		this.addresses.put(index, TOMBSTONE);
+		this.size--;
+		this.tombstones++;
+		this.modificationCount++;
+
+		this.discard(recordSize(this.segment(address), offset(address)));
+	}
+
+	/**
+	 * Checks whether the key of the record at the provided address equals the provided key.
+	 *
+	 * @param address the address of the record.
+	 * @param key the key which is compared.
+	 * @return {@code true} if the keys are equal, {@code false} otherwise.
+	 */
+	private boolean keyEquals(long address, byte[] key) {
+		ByteBuffer segment = this.segment(address);
+		int offset = offset(address);
+		if(segment.getInt(offset) != key.length) return false;
+
+		int position = offset + RECORD_HEADER_SIZE;
+		for(int i = 0; i < key.length; i++) {
+			if(segment.get(position + i) != key[i]) return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Reads the key of the record at the provided address.
+	 *
+	 * @param address the address of the record.
+	 * @return a copy of the key.
+	 */
+	private byte[] readKey(long address) {
+		ByteBuffer segment = this.segment(address);
+		int offset = offset(address);
+
+		byte[] key = new byte[segment.getInt(offset)];
+		segment.position(offset + RECORD_HEADER_SIZE);
+		segment.get(key);
+		return key;
+	}
+
+	/**
+	 * Reads the value of the record at the provided address.
+	 *
+	 * @param address the address of the record.
+	 * @return a copy of the value.
+	 */
+	private byte[] readValue(long address) {
+		ByteBuffer segment = this.segment(address);
+		int offset = offset(address);
+
+		byte[] value = new byte[segment.getInt(offset + Integer.BYTES)];
+		segment.position(offset + RECORD_HEADER_SIZE + segment.getInt(offset));
+		segment.get(value);
+		return value;
+	}
+
+	/**
+	 * Appends a record with the provided key and value to the last segment.
+	 *
+	 * @param key the key of the record.
+	 * @param value the value of the record.
+	 * @return the address of the record.
+	 * @throws IllegalArgumentException when the record would not fit into a buffer.
+	 */
+	private long append(byte[] key, byte[] value) {
+		long recordSize = (long) RECORD_HEADER_SIZE + key.length + value.length;
+		if(recordSize > Integer.MAX_VALUE) throw new IllegalArgumentException("The key and the value are too big to be stored.");
+
+		ByteBuffer segment = this.reserve((int) recordSize);
+		int offset = this.writeOffset;
+		segment.putInt(offset, key.length);
+		segment.putInt(offset + Integer.BYTES, value.length);
+		segment.position(offset + RECORD_HEADER_SIZE);
+		segment.put(key);
+		segment.put(value);
+
+		return this.commit((int) recordSize);
+	}
+
+	/**
+	 * Appends a copy of the provided record to the last segment.
+	 *
+	 * @param record a buffer whose remaining bytes are the record.
+	 * @return the address of the copied record.
+	 */
+	private long appendRecord(ByteBuffer record) {
+		int recordSize = record.remaining();
+
+		ByteBuffer segment = this.reserve(recordSize);
+		segment.position(this.writeOffset);
+		segment.put(record);
+
+		return this.commit(recordSize);
+	}
+
+	/**
+	 * Makes sure that the last segment has room for a record of the provided size, allocating a new
+	 * segment if needed.
+	 *
+	 * @param recordSize the size of the record in bytes.
+	 * @return the segment which the record is to be written to, at the offset {@code writeOffset}.
+	 */
+	private ByteBuffer reserve(int recordSize) {
+		if(this.segmentCount > 0 && this.segments[this.segmentCount - 1].capacity() - this.writeOffset >= recordSize) {
+			return this.segments[this.segmentCount - 1];
+		}
+
+		int newSize = INITIAL_SEGMENT_SIZE;
+		if(this.segmentCount > 0) newSize = (int) Math.min(2L * this.segments[this.segmentCount - 1].capacity(), Integer.MAX_VALUE);
+		newSize = Math.max(Math.min(newSize, this.segmentSize), recordSize);
+
+		if(this.segmentCount == this.segments.length) this.segments = Arrays.copyOf(this.segments, 2 * this.segments.length);
+		this.segments[this.segmentCount++] = ByteBuffer.allocateDirect(newSize);
+		this.writeOffset = 0;
+
+		return this.segments[this.segmentCount - 1];
+	}
+
+	/**
+	 * Accounts for a record of the provided size which has just been written at the offset {@code writeOffset}
+	 * of the last segment.
+	 *
+	 * @param recordSize the size of the record in bytes.
+	 * @return the address of the record.
+	 */
+	private long commit(int recordSize) {
+		long address = address(this.segmentCount - 1, this.writeOffset);
+		this.writeOffset += recordSize;
+		this.liveBytes += recordSize;
+		return address;
+	}
+
+	/**
+	 * Accounts for a record which has been replaced or removed, and compacts the segments if the garbage
+	 * has outgrown the live records.
+	 *
+	 * @param recordSize the size of the record in bytes.
+	 */
+	private void discard(int recordSize) {
+		this.liveBytes -= recordSize;
+		this.garbageBytes += recordSize;
+
+		if(this.garbageBytes > INITIAL_SEGMENT_SIZE && this.garbageBytes > this.liveBytes) this.compact();
+	}
+
+	/**
+	 * Releases all segments.
+	 */
+	private void clearSegments() {
+		this.segments = new ByteBuffer[4];
+		this.segmentCount = 0;
+		this.writeOffset = 0;
+		this.liveBytes = 0;
+		this.garbageBytes = 0;
+	}
+
+	/**
+	 * Checks whether the index is filled over the percentage {@code Hashing.OVERFILL_QUOTIENT}, counting the
+	 * tombstones, and rebuilds it if it is. The index grows only if the pairs themselves need more room;
+	 * {@code put()} has already made sure that it can.
+	 */
+	private void checkOverfill() {
+		if((double)(this.size + this.tombstones) / this.capacity < Hashing.OVERFILL_QUOTIENT) return;
+
+		this.rehash(this.mustGrow(this.size, this.tombstones) ? this.capacity * RESIZE_COEFFICIENT : this.capacity);
+	}
+
+	/**
+	 * Checks whether an index of the current capacity holding the provided numbers of pairs and tombstones
+	 * is overfilled and would stay overfilled even after dropping the tombstones.
+	 *
+	 * @param size the number of pairs.
+	 * @param tombstones the number of tombstones.
+	 * @return {@code true} if the index would have to grow, {@code false} otherwise.
+	 */
+	private boolean mustGrow(int size, int tombstones) {
+		return (double)(size + tombstones) / this.capacity >= Hashing.OVERFILL_QUOTIENT
+				&& (double)size / this.capacity >= Hashing.OVERFILL_QUOTIENT / RESIZE_COEFFICIENT;
+	}
+
+	/**
+	 * Rebuilds the index with the provided number of slots, dropping the tombstones.
+	 * Stored hash codes are reused, so the keys are not read again.
+	 *
+	 * @param newCapacity the new number of slots, a power of two.
+	 */
+	private void rehash(int newCapacity) {
+		LongBuffer oldAddresses = this.addresses;
+		IntBuffer oldHashes = this.hashes;
+		int oldCapacity = this.capacity;
+
+		this.allocateIndex(newCapacity);
+		int mask = newCapacity - 1;
+		for(int i = 0; i < oldCapacity; i++) {
+			long address = oldAddresses.get(i);
+			if(address == EMPTY || address == TOMBSTONE) continue;
+
+			int hash = oldHashes.get(i);
+			int index = hash & mask;
+			while(this.addresses.get(index) != EMPTY) index = (index + 1) & mask;
+
+			this.addresses.put(index, address);
+			this.hashes.put(index, hash);
+		}
+
+		this.tombstones = 0;
+		this.modificationCount++;
+	}
+
+	/**
+	 * Allocates an empty index with the provided number of slots.
+	 *
+	 * @param capacity the number of slots, a power of two.
+	 */
+	private void allocateIndex(int capacity) {
+		this.capacity = capacity;
+		this.addresses = ByteBuffer.allocateDirect(indexBytes(capacity, Long.BYTES)).order(ByteOrder.nativeOrder()).asLongBuffer();
+		this.hashes = ByteBuffer.allocateDirect(indexBytes(capacity, Integer.BYTES)).order(ByteOrder.nativeOrder()).asIntBuffer();
+	}
+
+	/**
+	 * Calculates the size in bytes of a buffer holding a value of the provided width for every slot, without
+	 * overflowing the {@code int} arithmetic.
+	 *
+	 * @param capacity the number of slots.
+	 * @param width the number of bytes per slot.
+	 * @return the size of the buffer in bytes.
+	 * @throws IllegalStateException if the buffer would be bigger than the largest direct buffer.
+	 */
+	static int indexBytes(int capacity, int width) {
+		long bytes = (long)capacity * width;
+		if(bytes > Integer.MAX_VALUE) throw new IllegalStateException("The index of " + capacity + " slots does not fit into a buffer.");
+		return (int)bytes;
+	}
+
+	/**
+	 * Fetches the segment holding the record at the provided address.
+	 *
+	 * @param address the address of the record.
+	 * @return the segment of the record.
+	 */
+	private ByteBuffer segment(long address) {
+		return this.segments[segmentIndex(address)];
+	}
+
+	/**
+	 * Creates the address of a record.
+	 *
+	 * @param segmentIndex the number of the segment holding the record.
+	 * @param offset the offset of the record in its segment.
+	 * @return the address of the record.
+	 */
+	private static long address(int segmentIndex, int offset) {
+		return ((long) (segmentIndex + 1) << 32) | offset;
+	}
+
+	/**
+	 * Extracts the number of the segment from the provided address.
+	 *
+	 * @param address the address of a record.
+	 * @return the number of the segment holding the record.
+	 */
+	private static int segmentIndex(long address) {
+		return (int) (address >>> 32) - 1;
+	}
+
+	/**
+	 * Extracts the offset in the segment from the provided address.
+	 *
+	 * @param address the address of a record.
+	 * @return the offset of the record in its segment.
+	 */
+	private static int offset(long address) {
+		return (int) address;
+	}
+
+	/**
+	 * Determines the size of the record at the provided offset of the provided segment.
+	 *
+	 * @param segment the segment holding the record.
+	 * @param offset the offset of the record.
+	 * @return the size of the record in bytes.
+	 */
+	private static int recordSize(ByteBuffer segment, int offset) {
+		return RECORD_HEADER_SIZE + segment.getInt(offset) + segment.getInt(offset + Integer.BYTES);
+	}
+
+	/**
+	 * Calculates the hash code of the provided key, which only depends on its bytes,
+	 * and mixes its higher bits into the lower ones.
+	 *
+	 * @param key the key.
+	 * @return the spread hash code of the key.
+	 */
+	private static int hash(byte[] key) {
+		return Hashing.spread(Arrays.hashCode(key));
+	}
+
+	/**
+	 * Encodes the provided string key in UTF-8.
+	 *
+	 * @param key the key.
+	 * @return the bytes of the key.
+	 * @throws NullPointerException when the provided {@code key} is {@code null}.
+	 */
+	private static byte[] encode(String key) {
+		if(key == null) throw new NullPointerException("The provided key must not be null.");
+		return key.getBytes(StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Decodes a {@code long} value stored by {@code putLong()}.
+	 *
+	 * @param value the bytes of the value.
+	 * @return the decoded value.
+	 * @throws IllegalStateException when the value is not 8 bytes long.
+	 */
+	private static long toLong(byte[] value) {
+		if(value.length != Long.BYTES) throw new IllegalStateException("The value is not a long.");
+		return ByteBuffer.wrap(value).getLong();
+	}
+
+	/**
+	 * Class {@code IteratorImpl} represents an implementation of an {@code Iterator}
+	 * for the {@code OffHeapHashtable} class, which visits the slots of the index in order.
+	 *
+	 * @author Iva Maria Ivanković
+	 * @version 1.0
+	 */
+	private class IteratorImpl implements Iterator<Entry> {
+
+		/**
+		 * The slot of the pair returned last, -1 if there is none or if it has been removed.
+		 */
+		private int currentSlot;
+
+		/**
+		 * The slot of the next pair, {@code capacity} if there are no pairs left.
+		 */
+		private int nextSlot;
+
+		/**
+		 * The number of modifications of the table at the time the iterator was created or last modified the table.
+		 */
+		private int savedModificationCount;
+
+		/**
+		 * Default constructor.
+		 */
+		private IteratorImpl() {
+			this.currentSlot = -1;
+			this.nextSlot = this.findOccupied(0);
+			this.savedModificationCount = modificationCount;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 *
+		 * @throws ConcurrentModificationException when the table has been modified.
+		 */
+		@Override
+		public boolean hasNext() {
+			if(this.savedModificationCount != modificationCount) throw CollectionMetrics.concurrentModification("The hashtable has been modified.");
+
+			return this.nextSlot < capacity;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 *
+		 * @throws ConcurrentModificationException when the table has been modified.
+		 * @throws NoSuchElementException when there are no pairs left.
+		 */
+		@Override
+		public Entry next() {
+			if(!this.hasNext()) throw new NoSuchElementException("There are no elements left to fetch.");
+
+			this.currentSlot = this.nextSlot;
+			this.nextSlot = this.findOccupied(this.nextSlot + 1);
+
+			long address = addresses.get(this.currentSlot);
+			return new Entry(readKey(address), readValue(address));
+		}
+
+		/**
+		 * Removes the pair returned last from the table.
+		 *
+		 * @throws ConcurrentModificationException when the table has been modified.
+		 * @throws IllegalStateException when no pair has been returned since the last removal.
+		 */
+		@Override
+		public void remove() {
+			if(this.savedModificationCount != modificationCount) throw CollectionMetrics.concurrentModification("The hashtable has been modified.");
+			if(this.currentSlot == -1) throw new IllegalStateException("The remove() method cannot be called twice after next() method.");
+
+			removeAt(this.currentSlot);
+			this.currentSlot = -1;
+			this.savedModificationCount = modificationCount;
+		}
+
+		/**
+		 * Finds the first occupied slot at or after the provided one.
+		 *
+		 * @param slot the slot where the search starts.
+		 * @return the first occupied slot, {@code capacity} if there is none.
+		 */
+		private int findOccupied(int slot) {
+			while(slot < capacity) {
+				long address = addresses.get(slot);
+				if(address != EMPTY && address != TOMBSTONE) return slot;
+				slot++;
+			}
+			return slot;
+		}
+
+	}
+
+}
@@ -0,0 +1,544 @@
+package hr.fer.oprpp1.custom.collections;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Class {@code OpenAddressingHashtable} represents a table for storing objects in key-value pairs
+ * which offers the same public interface as {@link SimpleHashtable}, but stores its entries
+ * without allocating a node per pair. Keys and values are kept next to each other in a single
+ * array, hash codes in a parallel array, and collisions are resolved by linear probing.
+ * Removed slots are marked with a tombstone so that the probe sequences of the remaining keys
+ * stay intact.
+ *
+ * @author Iva Maria Ivanković
+ * @version 1.0
+ *
+ * @param <K> type of a key object in the table.
+ * @param <V> type of a value object in the table.
+ */
+public class OpenAddressingHashtable<K, V> implements Iterable<SimpleHashtable.TableEntry<K, V>> {
+
+	/**
+	 * A marker which is stored in the {@code slots} array in place of a removed key.
+	 */
+	private static final Object TOMBSTONE = new Object();
+
+	/**
+	 * A constant which the number of slots in the table is set to when the constructor
+	 * function is called with no provided value for the number of slots.
+	 */
+	static final int DEFAULT_NUMBER_OF_SLOTS = 16;
+
+	/**
+	 * A constant factor by which the capacity of the current table is multiplied when
+	 * the number of used slots surpasses the {@code Hashing.OVERFILL_QUOTIENT}.
+	 */
+	static final int RESIZE_COEFFICIENT = 2;
+
+	/**
+	 * Keys and values stored in the table; the key of the slot {@code i} is stored at index {@code 2*i}
+	 * and its value at index {@code 2*i+1}, so that a found key and its value share a cache line.
+	 * A {@code null} key marks a slot that was never used, the {@code TOMBSTONE} marks a slot whose
+	 * key has been removed.
+	 */
+	private Object[] slots;
+
+	/**
+	 * Hash codes of the stored keys, one per slot. They are compared before the {@code equals()}
+	 * method is called and reused when the table is resized.
+	 */
+	private int[] hashes;
+
+	/**
+	 * The number of key-value pairs stored in the table.
+	 */
+	private int size;
+
+	/**
+	 * The number of slots which are currently marked with the {@code TOMBSTONE}.
+	 */
+	private int tombstones;
+
+	/**
+	 * A variable that serves as a counter of modifications made on the current
+	 * hashtable since its creation.
+	 */
+	private int modificationCount;
+
+	/**
+	 * Default constructor which creates a new {@code OpenAddressingHashtable} instance
+	 * and sets its number of slots to the default value.
+	 */
+	public OpenAddressingHashtable() {
+		this(DEFAULT_NUMBER_OF_SLOTS);
+	}
+
+	/**
+	 * A constructor which creates a new {@code OpenAddressingHashtable} instance and sets its
+	 * number of slots to the smallest power of two bigger than or equal to the provided value.
+	 *
+	 * @param numberOfSlots the number of slots which the created table should have.
+	 * @throws IllegalArgumentException when the provided {@code numberOfSlots} is less than 1.
+	 */
+	public OpenAddressingHashtable(int numberOfSlots) {
+		if(numberOfSlots < 1) throw new IllegalArgumentException("The initial number of slots cannot be smaller than 1.");
+
+		this.allocate(Hashing.tableSizeFor(Math.max(2, numberOfSlots)));
+		this.size = 0;
+		this.tombstones = 0;
+		this.modificationCount = 0;
+	}
+
+	/**
+	 * Inserts a new pair with the provided {@code key} and {@code value} into the current table.
+	 * If a pair with the provided {@code key} already exists, its {@code value} will be overwritten.
+	 *
+	 * @param key the key of the new pair.
+	 * @param value the value of the new pair.
+	 * @return old value for the provided key if it existed, {@code null} otherwise.
+	 * @throws NullPointerException when the provided {@code key} is {@code null}.
+	 */
+	@SuppressWarnings("unchecked")
+	public V put(K key, V value) {
+		if(key == null) throw new NullPointerException("The provided key must not be null.");
+
+		int hash = Hashing.spread(key.hashCode());
+		int mask = this.hashes.length - 1;
+		int index = hash & mask;
+		int firstTombstone = -1;
+
+		while(true) {
+			Object current = this.slots[2 * index];
+
+			if(current == null) break;
+
+			if(current == TOMBSTONE) {
+				if(firstTombstone == -1) firstTombstone = index;
+			} else if(this.hashes[index] == hash && current.equals(key)) { //postoji zapis, zamijeni vrijednost
+				V oldValue = (V)this.slots[2 * index + 1];
+				this.slots[2 * index + 1] = value;
+
+				return oldValue;
+			}
+
+			index = (index + 1) & mask;
+		}
+
+		if(firstTombstone != -1) { //ponovno iskoristi prvi obrisani slot na putu
+			index = firstTombstone;
+			this.tombstones--;
+		}
+
+		this.slots[2 * index] = key;
+		this.slots[2 * index + 1] = value;
+		this.hashes[index] = hash;
+		this.size++;
+		this.modificationCount++;
+
+		this.checkOverfill();
+
+		return null;
+	}
+
+	/**
+	 * Fetches the value for the provided {@code key} from the table.
+	 *
+	 * @param key the key for which we want to know the value.
+	 * @return the value for the provided key if it exists, {@code null} otherwise.
+	 */
+	@SuppressWarnings("unchecked")
+	public V get(Object key) {
+		int index = this.indexOf(key);
+
+		return index == -1 ? null : (V)this.slots[2 * index + 1];
+	}
+
+	/**
+	 * Determines the size of the current table, calculated as the number of
+	 * key-value pairs stored in its slots.
+	 *
+	 * @return the number of key-value pairs stored in the table.
+	 */
+	public int size() {
+		return this.size;
+	}
+
+	/**
+	 * Checks if a pair with the provided {@code key} exists in the table.
+	 *
+	 * @param key the key for which we want to know if it is contained in the table.
+	 * @return {@code true} if there is a pair with the provided key in the table, {@code false} otherwise.
+	 */
+	public boolean containsKey(Object key) {
+		return this.indexOf(key) != -1;
+	}
+
+	/**
+	 * Checks if a pair with the provided {@code value} exists in the table.
+	 *
+	 * @param value the value for which we want to know if it is contained in the table.
+	 * @return {@code true} if there is a pair with the provided value in the table, {@code false} otherwise.
+	 */
+	public boolean containsValue(Object value) {
+		for(int i = 0; i < this.hashes.length; i++) {
+			if(!this.isOccupied(i)) continue;
+
+			Object current = this.slots[2 * i + 1];
+			if(current == null ? value == null : current.equals(value)) return true;
+		}
+
+		return false;
+	}
+
+	/**
+	 * Removes a pair with the provided {@code key} from the table.
+	 *
+	 * @param key the key of the pair which we want to remove.
+	 * @return the value of the removed pair if it existed, {@code null} otherwise.
+	 */
+	@SuppressWarnings("unchecked")
+	public V remove(Object key) {
+		int index = this.indexOf(key);
+		if(index == -1) return null;
+
+		V value = (V)this.slots[2 * index + 1];
+		this.removeAt(index);
+
+		return value;
+	}
+
+	/**
+	 * Indicates whether there are any pairs in the table.
+	 *
+	 * @return {@code true} if there are no pairs in the table, {@code false} otherwise.
+	 */
+	public boolean isEmpty() {
+		return this.size == 0;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+
+		sb.append("[");
+
+		boolean first = true;
+		for(int i = 0; i < this.hashes.length; i++) {
+			if(!this.isOccupied(i)) continue;
+
+			if(!first) sb.append(", ");
+			first = false;
+
+			sb.append(this.slots[2 * i].toString());
+			sb.append("=");
+			sb.append(String.valueOf(this.slots[2 * i + 1]));
+		}
+
+		sb.append("]");
+
+		return sb.toString();
+	}
+
+	/**
+	 * Creates a new array and stores all pairs from the table into that array,
+	 * in order of their appearance in the table. Since the table does not keep
+	 * entry objects, the returned entries are created on demand; setting the value
+	 * of an entry writes it through to the table.
+	 *
+	 * @return an array of table entries.
+	 */
+	public SimpleHashtable.TableEntry<K, V>[] toArray() {
+
+		@SuppressWarnings("unchecked")
+		SimpleHashtable.TableEntry<K, V>[] array = (SimpleHashtable.TableEntry<K, V>[])new SimpleHashtable.TableEntry<?, ?>[this.size];
+
+		int index = 0;
+		for(int i = 0; i < this.hashes.length; i++) {
+			if(this.isOccupied(i)) array[index++] = new EntryView(i);
+		}
+
+		return array;
+	}
+
+	/**
+	 * Removes all pairs from the current table.
+	 */
+	public void clear() {
+		Arrays.fill(this.slots, null);
+		this.size = 0;
+		this.tombstones = 0;
+		this.modificationCount++;
+	}
+
+	/**
+	 * Finds the slot in which the provided {@code key} is stored.
+	 *
+	 * @param key the key which is searched for.
+	 * @return the index of the slot holding the key, -1 if the key is not in the table.
+	 */
+	private int indexOf(Object key) {
+		if(key == null) return -1;
+
+		int hash = Hashing.spread(key.hashCode());
+		int mask = this.hashes.length - 1;
+		int index = hash & mask;
+
+		for(int probes = 1; ; probes++) {
+			Object current = this.slots[2 * index];
+
+			if(current == null || this.hashes[index] == hash && current != TOMBSTONE && current.equals(key)) {
+				if(CollectionMetrics.ENABLED) CollectionMetrics.recordOpenAddressingProbes(probes);
+				return current == null ? -1 : index;
+			}
+
+			index = (index + 1) & mask;
+		}
+	}
+
+	/**
+	 * Removes the pair stored in the slot at the provided {@code index}. If the slot that follows
+	 * is empty, no probe sequence passes through the removed slot, so it is emptied together with
+	 * the tombstones directly preceding it instead of being marked with a tombstone.
+	 *
+	 * @param index the index of an occupied slot.
+	 */
+	private void removeAt(int index) {
+		int mask = this.hashes.length - 1;
+
+		this.slots[2 * index + 1] = null;
+
+		if(this.slots[2 * ((index + 1) & mask)] == null) {
+			this.slots[2 * index] = null;
+
+			int previous = (index - 1) & mask;
+			while(this.slots[2 * previous] == TOMBSTONE) {
+				this.slots[2 * previous] = null;
+				this.tombstones--;
+				previous = (previous - 1) & mask;
+			}
+		} else {
+			this.slots[2 * index] = TOMBSTONE;
+			this.tombstones++;
+		}
+
+		this.size--;
+		this.modificationCount++;
+	}
+
+	/**
+	 * Checks whether the current table has more used slots than allowed by the {@code Hashing.OVERFILL_QUOTIENT}.
+	 * If it does, the pairs are rehashed into a new table which is multiplied by the {@code RESIZE_COEFFICIENT}
+	 * if the table holds too many pairs, or is of the same capacity if most of the used slots are tombstones.
+	 */
+	private void checkOverfill() {
+		int capacity = this.hashes.length;
+		if(this.size + this.tombstones < capacity * Hashing.OVERFILL_QUOTIENT) return;
+
+		int newCapacity = this.size >= capacity * Hashing.OVERFILL_QUOTIENT / RESIZE_COEFFICIENT ? capacity * RESIZE_COEFFICIENT : capacity;
+		this.rehash(newCapacity);
+	}
+
+	/**
+	 * Moves all pairs into newly allocated arrays with the provided {@code capacity}, dropping all tombstones.
+	 * Stored hash codes are reused, so the {@code hashCode()} method of the keys is not called again.
+	 *
+	 * @param capacity the new number of slots, a power of two.
+	 */
+	private void rehash(int capacity) {
+		Object[] oldSlots = this.slots;
+		int[] oldHashes = this.hashes;
+
+		this.allocate(capacity);
+		int mask = capacity - 1;
+
+		for(int i = 0; i < oldHashes.length; i++) {
+			Object key = oldSlots[2 * i];
+			if(key == null || key == TOMBSTONE) continue;
+
+			int index = oldHashes[i] & mask;
+			while(this.slots[2 * index] != null) index = (index + 1) & mask;
+
+			this.slots[2 * index] = key;
+			this.slots[2 * index + 1] = oldSlots[2 * i + 1];
+			this.hashes[index] = oldHashes[i];
+		}
+
+		this.tombstones = 0;
+		this.modificationCount++;
+	}
+
+	/**
+	 * Allocates the backing arrays with the provided {@code capacity}.
+	 *
+	 * @param capacity the number of slots.
+	 */
+	private void allocate(int capacity) {
+		this.slots = new Object[2 * capacity];
+		this.hashes = new int[capacity];
+	}
+
+	/**
+	 * Determines whether the slot at the provided {@code index} holds a pair.
+	 *
+	 * @param index the index of the slot.
+	 * @return {@code true} if the slot is occupied, {@code false} if it is empty or a tombstone.
+	 */
+	private boolean isOccupied(int index) {
+		Object key = this.slots[2 * index];
+		return key != null && key != TOMBSTONE;
+	}
+
+	/**
+	 * Class {@code EntryView} represents a {@code TableEntry} which is created on demand for
+	 * a pair stored in the table. Setting its value writes the value through to the table.
+	 *
+	 * @author Iva Maria Ivanković
+	 * @version 1.0
+	 */
+	private class EntryView extends SimpleHashtable.TableEntry<K, V> {
+
+		/**
+		 * The index of the slot holding the pair.
+		 */
+		private final int index;
+
+		/**
+		 * The backing array at the time of creation of the view.
+		 */
+		private final Object[] slotsAtCreation;
+
+		/**
+		 * Creates a view of the pair stored in the slot at the provided {@code index}.
+		 *
+		 * @param index the index of an occupied slot.
+		 */
+		@SuppressWarnings("unchecked")
+		private EntryView(int index) {
+			super((K)slots[2 * index], (V)slots[2 * index + 1]);
+			this.index = index;
+			this.slotsAtCreation = slots;
+		}
+
+		/**
+		 * Sets the value of the current entry and of the pair in the table, if the pair is still
+		 * stored in the same slot.
+		 *
+		 * @param value the value which the value of the current entry is to be set to.
+		 */
+		@Override
+		public void setValue(V value) {
+			super.setValue(value);
+
+			if(this.slotsAtCreation == slots && slots[2 * this.index] == this.getKey()) {
+				slots[2 * this.index + 1] = value;
+			}
+		}
+
+	}
+
+	/**
+	 * Class {@code IteratorImpl} represents an implementation of an {@code Iterator}
+	 * for the {@code OpenAddressingHashtable} class.
+	 *
+	 * @author Iva Maria Ivanković
+	 * @version 1.0
+	 */
+	private class IteratorImpl implements Iterator<SimpleHashtable.TableEntry<K, V>> {
+
+		/**
+		 * The slot of the last fetched pair, -1 if there is no such pair.
+		 */
+		private int currentSlot;
+
+		/**
+		 * The slot of the next pair to be fetched, the number of slots if there is no such pair.
+		 */
+		private int nextSlot;
+
+		/**
+		 * The number of modifications which were made on the hashtable
+		 * at the time of creation of the iterator.
+		 */
+		private int savedModificationCount;
+
+		/**
+		 * Default constructor.
+		 */
+		public IteratorImpl() {
+			this.currentSlot = -1;
+			this.nextSlot = this.findOccupied(0);
+			this.savedModificationCount = modificationCount;
+		}
+
+		/**
+		 * Determines whether there are more pairs in the table to be iterated over.
+		 *
+		 * @return {@code true} if there are more pairs, {@code false} otherwise.
+		 */
+		@Override
+		public boolean hasNext() {
+			if(this.savedModificationCount != modificationCount) throw CollectionMetrics.concurrentModification("The hashtable has been modified.");
+
+			return this.nextSlot < hashes.length;
+		}
+
+		/**
+		 * Fetches the next pair in the iteration.
+		 *
+		 * @return the next pair in the iteration.
+		 * @throws NoSuchElementException when there are no more pairs.
+		 */
+		@Override
+		public SimpleHashtable.TableEntry<K, V> next() {
+			if(!this.hasNext()) throw new NoSuchElementException("There are no more entries in the hashtable.");
+
+			this.currentSlot = this.nextSlot;
+			this.nextSlot = this.findOccupied(this.nextSlot + 1);
+
+			return new EntryView(this.currentSlot);
+		}
+
+		/**
+		 * Removes the current pair in the iteration from the table.
+		 */
+		@Override
+		public void remove() {
+			if(this.savedModificationCount != modificationCount) throw CollectionMetrics.concurrentModification("The hashtable has been modified.");
+
+			if(this.currentSlot == -1) throw new IllegalStateException("The remove() method cannot be called twice after next() method.");
+
+			OpenAddressingHashtable.this.removeAt(this.currentSlot);
+			this.currentSlot = -1;
+
+			this.savedModificationCount = modificationCount;
+		}
+
+		/**
+		 * Finds the first occupied slot starting from the provided {@code slot}.
+		 *
+		 * @param slot the first slot to check.
+		 * @return the index of the occupied slot, the number of slots if there is no such slot.
+		 */
+		private int findOccupied(int slot) {
+			while(slot < hashes.length && !isOccupied(slot)) slot++;
+			return slot;
+		}
+
+	}
+
+	/**
+	 * Creates an iterator for {@code TableEntry} instances.
+	 *
+	 * @return new iterator for the current hashtable.
+	 */
+	@Override
+	public Iterator<SimpleHashtable.TableEntry<K, V>> iterator() {
+		return new IteratorImpl();
+	}
+
+}
@@ -0,0 +1,212 @@
+package hr.fer.oprpp1.custom.collections;
+
+import java.util.Spliterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Class {@code ParallelProcessing} holds the fork-join tasks behind the parallel bulk operations of the
+ * collections. A task splits its {@code Spliterator} until the estimated number of elements drops below a
+ * threshold chosen so that every worker gets a few pieces, and then processes its piece sequentially.
+ * 
+ * @author Iva Maria Ivanković
+ * @version 1.0
+ */
+final class ParallelProcessing {
+	
+	/**
+	 * The number of pieces per worker thread that the elements are split into, so that the workers which finish
+	 * early can steal the remaining pieces.
+	 */
+	private static final int PIECES_PER_THREAD = 4;
+	
+	/**
+	 * Private constructor, the class only holds static methods.
+	 */
+	private ParallelProcessing() {
+	}
+	
+	/**
+	 * Calls the provided processor for every element of the provided spliterator, in parallel.
+	 * 
+	 * @param spliterator the spliterator over the elements.
+	 * @param processor the processor, which must be safe to call from several threads at once.
+	 * @param parallelism the number of worker threads, or 0 to use the common fork-join pool.
+	 * @throws NullPointerException when the provided processor is {@code null}.
+	 * @throws IllegalArgumentException when the provided parallelism is negative.
+	 */
+	static <T> void forEach(Spliterator<T> spliterator, Processor<? super T> processor, int parallelism) {
+		if(processor == null) throw new NullPointerException("The provided processor cannot be null.");
+		
+		invoke(new ForEachTask<T>(spliterator, processor, threshold(spliterator, parallelism)), parallelism);
+	}
+	
+	/**
+	 * Collects the elements of the provided spliterator which are accepted by the provided tester, testing them
+	 * in parallel. Every task collects the accepted elements into its own list, and the lists are concatenated
+	 * in encounter order when the tasks are joined, so no synchronization is needed.
+	 * 
+	 * @param spliterator the spliterator over the elements.
+	 * @param tester the tester, which must be safe to call from several threads at once.
+	 * @param parallelism the number of worker threads, or 0 to use the common fork-join pool.
+	 * @return the accepted elements, in encounter order.
+	 * @throws NullPointerException when the provided tester is {@code null}.
+	 * @throws IllegalArgumentException when the provided parallelism is negative.
+	 */
+	static <T> ArrayIndexedCollection<T> filter(Spliterator<T> spliterator, Tester<? super T> tester, int parallelism) {
+		if(tester == null) throw new NullPointerException("The provided tester cannot be null.");
+		
+		return invoke(new FilterTask<T>(spliterator, tester, threshold(spliterator, parallelism)), parallelism);
+	}
+	
+	/**
+	 * Runs the provided task in the common fork-join pool, or in a new pool with the provided parallelism
+	 * which is shut down afterwards.
+	 * 
+	 * @param task the task which is to be run.
+	 * @param parallelism the number of worker threads, or 0 to use the common fork-join pool.
+	 * @return the result of the task.
+	 */
+	private static <R> R invoke(ForkJoinTask<R> task, int parallelism) {
+		if(parallelism == 0) return ForkJoinPool.commonPool().invoke(task);
+		
+		ForkJoinPool pool = new ForkJoinPool(parallelism);
+		try {
+			return pool.invoke(task);
+		} finally {
+			pool.shutdown();
+		}
+	}
+	
+	/**
+	 * Determines the number of elements below which a task stops splitting.
+	 * 
+	 * @param spliterator the spliterator over all elements.
+	 * @param parallelism the number of worker threads, or 0 for the common fork-join pool.
+	 * @return the threshold, at least 1.
+	 * @throws IllegalArgumentException when the provided parallelism is negative.
+	 */
+	private static long threshold(Spliterator<?> spliterator, int parallelism) {
+		if(parallelism < 0) throw new IllegalArgumentException("The parallelism cannot be negative.");
+		
+		int threads = parallelism == 0 ? ForkJoinPool.getCommonPoolParallelism() : parallelism;
+		return Math.max(1, spliterator.estimateSize() / ((long) threads * PIECES_PER_THREAD));
+	}
+	
+	/**
+	 * Class {@code ForEachTask} calls a processor for every element of its spliterator.
+	 * 
+	 * @author Iva Maria Ivanković
+	 * @version 1.0
+	 */
+	private static class ForEachTask<T> extends RecursiveAction {
+		
+		private static final long serialVersionUID = 1L;
+		
+		/**
+		 * The spliterator over the elements of the task.
+		 */
+		private final Spliterator<T> spliterator;
+		
+		/**
+		 * The processor which is called for every element.
+		 */
+		private final Processor<? super T> processor;
+		
+		/**
+		 * The number of elements below which the task stops splitting.
+		 */
+		private final long threshold;
+		
+		/**
+		 * Creates a task over the provided spliterator.
+		 * 
+		 * @param spliterator the spliterator over the elements of the task.
+		 * @param processor the processor which is called for every element.
+		 * @param threshold the number of elements below which the task stops splitting.
+		 */
+		private ForEachTask(Spliterator<T> spliterator, Processor<? super T> processor, long threshold) {
+			this.spliterator = spliterator;
+			this.processor = processor;
+			this.threshold = threshold;
+		}
+		
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		protected void compute() {
+			Spliterator<T> prefix;
+			if(this.spliterator.estimateSize() > this.threshold && (prefix = this.spliterator.trySplit()) != null) {
+				invokeAll(new ForEachTask<T>(prefix, this.processor, this.threshold),
+						new ForEachTask<T>(this.spliterator, this.processor, this.threshold));
+			} else {
+				this.spliterator.forEachRemaining(this.processor::process);
+			}
+		}
+	}
+	
+	/**
+	 * Class {@code FilterTask} collects the elements of its spliterator which are accepted by a tester.
+	 * 
+	 * @author Iva Maria Ivanković
+	 * @version 1.0
+	 */
+	private static class FilterTask<T> extends RecursiveTask<ArrayIndexedCollection<T>> {
+		
+		private static final long serialVersionUID = 1L;
+		
+		/**
+		 * The spliterator over the elements of the task.
+		 */
+		private final Spliterator<T> spliterator;
+		
+		/**
+		 * The tester which determines whether an element is collected.
+		 */
+		private final Tester<? super T> tester;
+		
+		/**
+		 * The number of elements below which the task stops splitting.
+		 */
+		private final long threshold;
+		
+		/**
+		 * Creates a task over the provided spliterator.
+		 * 
+		 * @param spliterator the spliterator over the elements of the task.
+		 * @param tester the tester which determines whether an element is collected.
+		 * @param threshold the number of elements below which the task stops splitting.
+		 */
+		private FilterTask(Spliterator<T> spliterator, Tester<? super T> tester, long threshold) {
+			this.spliterator = spliterator;
+			this.tester = tester;
+			this.threshold = threshold;
+		}
+		
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		protected ArrayIndexedCollection<T> compute() {
+			Spliterator<T> prefix;
+			if(this.spliterator.estimateSize() > this.threshold && (prefix = this.spliterator.trySplit()) != null) {
+				FilterTask<T> prefixTask = new FilterTask<T>(prefix, this.tester, this.threshold);
+				prefixTask.fork();
+				ArrayIndexedCollection<T> suffixResult = new FilterTask<T>(this.spliterator, this.tester, this.threshold).compute();
+				ArrayIndexedCollection<T> result = prefixTask.join();
+				result.addAll(suffixResult);
+				return result;
+			}
+			
+			ArrayIndexedCollection<T> result = new ArrayIndexedCollection<>();
+			this.spliterator.forEachRemaining(value -> {
+				if(this.tester.test(value)) result.add(value);
+			});
+			return result;
+		}
+	}
+	
+}
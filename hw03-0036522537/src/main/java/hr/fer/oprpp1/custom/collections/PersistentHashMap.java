@@ -0,0 +1,912 @@
+package hr.fer.oprpp1.custom.collections;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * Class {@code PersistentHashMap} represents an immutable table of key-value pairs whose modified versions share
+ * most of their structure with the version they were made from. It is a hash array mapped trie: every level of the
+ * trie is selected by the next 5 bits of the hash of a key, and a node stores a 32-bit bitmap of the occupied
+ * positions together with an array holding only the occupied ones, so a sparse node is small. The methods
+ * {@code with()} and {@code without()} leave the map unchanged and return a new one, which copies only the nodes
+ * on the path to the changed pair, at most 7 of them and in practice O(log32 n), and shares all other nodes with
+ * the old version. Keys with the same hash end up together in a collision node at the bottom of the trie.
+ * <p>
+ * A map is built from many pairs much faster through a {@link Transient}, which modifies in place the nodes
+ * it has created itself and is then turned into a map in constant time.
+ * <p>
+ * Keys cannot be {@code null}, values can. A map can be shared freely between threads.
+ *
+ * @author Iva Maria Ivanković
+ * @version 1.0
+ *
+ * @param <K> type of a key object in the map.
+ * @param <V> type of a value object in the map.
+ */
+public final class PersistentHashMap<K, V> implements Iterable<PersistentHashMap.Entry<K, V>> {
+
+	/**
+	 * The number of bits of a hash which select a position on one level of the trie.
+	 */
+	private static final int BITS = 5;
+
+	/**
+	 * The mask selecting a position on one level of the trie.
+	 */
+	private static final int MASK = (1 << BITS) - 1;
+
+	/**
+	 * A marker returned by a lookup of a key which is not in the map.
+	 */
+	private static final Object NOT_FOUND = new Object();
+
+	/**
+	 * The empty map.
+	 */
+	private static final PersistentHashMap<?, ?> EMPTY = new PersistentHashMap<>(0, null);
+
+	/**
+	 * The number of pairs in the map.
+	 */
+	private final int size;
+
+	/**
+	 * The root of the trie, {@code null} if the map is empty.
+	 */
+	private final Node root;
+
+	/**
+	 * Creates a map from its parts.
+	 *
+	 * @param size the number of pairs.
+	 * @param root the root of the trie.
+	 */
+	private PersistentHashMap(int size, Node root) {
+		this.size = size;
+		this.root = root;
+	}
+
+	/**
+	 * Returns the empty map.
+	 *
+	 * @param <K> type of a key object in the map.
+	 * @param <V> type of a value object in the map.
+	 * @return the empty map.
+	 */
+	@SuppressWarnings("unchecked")
+	public static <K, V> PersistentHashMap<K, V> empty() {
+		return (PersistentHashMap<K, V>)EMPTY;
+	}
+
+	/**
+	 * Creates a map holding the entries of the provided table.
+	 *
+	 * @param <K> type of a key object in the map.
+	 * @param <V> type of a value object in the map.
+	 * @param table the table whose entries are copied.
+	 * @return the new map.
+	 * @throws NullPointerException when the provided {@code table} is {@code null}.
+	 */
+	public static <K, V> PersistentHashMap<K, V> copyOf(SimpleHashtable<? extends K, ? extends V> table) {
+		if(table == null) throw new NullPointerException("The given table cannot be null.");
+
+		Transient<K, V> builder = PersistentHashMap.<K, V>empty().asTransient();
+		for(SimpleHashtable.TableEntry<? extends K, ? extends V> entry : table) {
+			builder.put(entry.getKey(), entry.getValue());
+		}
+		return builder.persistent();
+	}
+
+	/**
+	 * Determines the number of key-value pairs in the map.
+	 *
+	 * @return the number of pairs.
+	 */
+	public int size() {
+		return this.size;
+	}
+
+	/**
+	 * Indicates whether there are any pairs in the map.
+	 *
+	 * @return {@code true} if there are no pairs in the map, {@code false} otherwise.
+	 */
+	public boolean isEmpty() {
+		return this.size == 0;
+	}
+
+	/**
+	 * Fetches the value for the provided {@code key}.
+	 *
+	 * @param key the key for which we want to know the value.
+	 * @return the value for the provided key if it exists, {@code null} otherwise.
+	 */
+	@SuppressWarnings("unchecked")
+	public V get(Object key) {
+		Object value = find(this.root, key);
+		return value == NOT_FOUND ? null : (V)value;
+	}
+
+	/**
+	 * Checks if a pair with the provided {@code key} exists in the map, regardless of its value.
+	 *
+	 * @param key the key for which we want to know if it is contained in the map.
+	 * @return {@code true} if there is a pair with the provided key in the map, {@code false} otherwise.
+	 */
+	public boolean containsKey(Object key) {
+		return find(this.root, key) != NOT_FOUND;
+	}
+
+	/**
+	 * Creates a map which differs from the current one only in the value for the provided key.
+	 *
+	 * @param key the key of the pair.
+	 * @param value the value for the key.
+	 * @return the new map, or the current one if it already maps the key to the same value.
+	 * @throws NullPointerException when the provided {@code key} is {@code null}.
+	 */
+	public PersistentHashMap<K, V> with(K key, V value) {
+		if(key == null) throw new NullPointerException("The provided key must not be null.");
+
+		SizeChange change = new SizeChange();
+		Node start = this.root == null ? BitmapNode.EMPTY : this.root;
+		Node newRoot = start.with(null, 0, hash(key), key, value, change);
+		if(newRoot == this.root) return this;
+		return new PersistentHashMap<>(this.size + change.delta, newRoot);
+	}
+
+	/**
+	 * Creates a map which holds the pairs of the current one except the pair with the provided key.
+	 *
+	 * @param key the key of the removed pair.
+	 * @return the new map, or the current one if it has no pair with the key.
+	 */
+	public PersistentHashMap<K, V> without(Object key) {
+		if(key == null || this.root == null) return this;
+
+		Node newRoot = this.root.without(null, 0, hash(key), key, new SizeChange());
+		if(newRoot == this.root) return this;
+		return newRoot == null ? empty() : new PersistentHashMap<>(this.size - 1, newRoot);
+	}
+
+	/**
+	 * Creates a transient map holding the pairs of the current one, which can be modified in place
+	 * without affecting the current map.
+	 *
+	 * @return the new transient map.
+	 */
+	public Transient<K, V> asTransient() {
+		return new Transient<>(this);
+	}
+
+	/**
+	 * Creates an iterator over the pairs of the map, in no particular order.
+	 *
+	 * @return new iterator for the current map.
+	 */
+	@Override
+	public Iterator<Entry<K, V>> iterator() {
+		return new EntryIterator<>(this.root);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder("[");
+		for(Entry<K, V> entry : this) {
+			if(sb.length() > 1) sb.append(", ");
+			sb.append(entry);
+		}
+		return sb.append("]").toString();
+	}
+
+	/**
+	 * Calculates the hash of a key, mixing its higher bits into the lower ones, which select the positions
+	 * on the first levels of the trie.
+	 *
+	 * @param key the key.
+	 * @return the hash of the key.
+	 */
+	private static int hash(Object key) {
+		return Hashing.spread(key.hashCode());
+	}
+
+	/**
+	 * Looks up the value for the provided key in the trie with the provided root.
+	 *
+	 * @param root the root of the trie, {@code null} for an empty trie.
+	 * @param key the key.
+	 * @return the value for the key, {@code NOT_FOUND} if the trie has no pair with the key.
+	 */
+	private static Object find(Node root, Object key) {
+		if(key == null || root == null) return NOT_FOUND;
+		return root.find(0, hash(key), key);
+	}
+
+	/**
+	 * Creates a node holding two pairs whose keys differ.
+	 *
+	 * @param edit the token of a transient, {@code null} for a persistent map.
+	 * @param shift the shift of the created node.
+	 * @param key1 the key of the first pair.
+	 * @param value1 the value of the first pair.
+	 * @param hash2 the hash of the key of the second pair.
+	 * @param key2 the key of the second pair.
+	 * @param value2 the value of the second pair.
+	 * @return the new node.
+	 */
+	private static Node createNode(Object edit, int shift, Object key1, Object value1, int hash2, Object key2, Object value2) {
+		int hash1 = hash(key1);
+		if(hash1 == hash2) return new CollisionNode(edit, hash1, new Object[] {key1, value1, key2, value2});
+
+		SizeChange change = new SizeChange();
+		return BitmapNode.EMPTY
+				.with(edit, shift, hash1, key1, value1, change)
+				.with(edit, shift, hash2, key2, value2, change);
+	}
+
+	/**
+	 * Removes a pair of slots from the provided array.
+	 *
+	 * @param array the array of pairs.
+	 * @param index the index of the pair.
+	 * @return a new array without the pair.
+	 */
+	private static Object[] removePair(Object[] array, int index) {
+		Object[] newArray = new Object[array.length - 2];
+		System.arraycopy(array, 0, newArray, 0, 2 * index);
+		System.arraycopy(array, 2 * index + 2, newArray, 2 * index, newArray.length - 2 * index);
+		return newArray;
+	}
+
+	/**
+	 * Class {@code SizeChange} records how a modification of the trie has changed the number of pairs.
+	 *
+	 * @author Iva Maria Ivanković
+	 * @version 1.0
+	 */
+	private static final class SizeChange {
+
+		/**
+		 * 1 if a pair has been added, -1 if one has been removed, 0 otherwise.
+		 */
+		private int delta;
+
+	}
+
+	/**
+	 * Class {@code Node} represents a node of the trie. Its array holds pairs of slots: a key and its value,
+	 * or {@code null} and a child node.
+	 *
+	 * @author Iva Maria Ivanković
+	 * @version 1.0
+	 */
+	private abstract static class Node {
+
+		/**
+		 * The token of the transient which has created the node and may modify it, {@code null} if no one may.
+		 */
+		final Object edit;
+
+		/**
+		 * The pairs of the node.
+		 */
+		Object[] array;
+
+		/**
+		 * Creates a node with the provided owner and pairs.
+		 *
+		 * @param edit the token of the owner.
+		 * @param array the pairs.
+		 */
+		Node(Object edit, Object[] array) {
+			this.edit = edit;
+			this.array = array;
+		}
+
+		/**
+		 * Checks whether the owner of the provided token may modify the node.
+		 *
+		 * @param edit the token of a transient, {@code null} for a persistent map.
+		 * @return {@code true} if the node can be modified in place, {@code false} if it has to be copied.
+		 */
+		boolean isEditableBy(Object edit) {
+			return edit != null && this.edit == edit;
+		}
+
+		/**
+		 * Looks up the value for the provided key under the node.
+		 *
+		 * @param shift the shift of the node.
+		 * @param hash the hash of the key.
+		 * @param key the key.
+		 * @return the value for the key, {@code NOT_FOUND} if there is no pair with the key.
+		 */
+		abstract Object find(int shift, int hash, Object key);
+
+		/**
+		 * Maps the provided key to the provided value under the node.
+		 *
+		 * @param edit the token of a transient, {@code null} for a persistent map.
+		 * @param shift the shift of the node.
+		 * @param hash the hash of the key.
+		 * @param key the key.
+		 * @param value the value.
+		 * @param change records whether a pair has been added.
+		 * @return the node with the pair, the current node itself if nothing has changed or it has been modified in place.
+		 */
+		abstract Node with(Object edit, int shift, int hash, Object key, Object value, SizeChange change);
+
+		/**
+		 * Removes the pair with the provided key under the node.
+		 *
+		 * @param edit the token of a transient, {@code null} for a persistent map.
+		 * @param shift the shift of the node.
+		 * @param hash the hash of the key.
+		 * @param key the key.
+		 * @param change records whether a pair has been removed.
+		 * @return the node without the pair, the current node itself if nothing has changed or it has been
+		 *         modified in place, {@code null} if no pairs are left.
+		 */
+		abstract Node without(Object edit, int shift, int hash, Object key, SizeChange change);
+
+	}
+
+	/**
+	 * Class {@code BitmapNode} represents an inner node of the trie, holding up to 32 pairs and child nodes.
+	 * The bit {@code i} of its bitmap is set if the position {@code i} is occupied, and the occupied positions
+	 * are stored in the array in their order.
+	 *
+	 * @author Iva Maria Ivanković
+	 * @version 1.0
+	 */
+	private static final class BitmapNode extends Node {
+
+		/**
+		 * The node without pairs, which every new trie starts from.
+		 */
+		static final BitmapNode EMPTY = new BitmapNode(null, 0, new Object[0]);
+
+		/**
+		 * The occupied positions of the node.
+		 */
+		int bitmap;
+
+		/**
+		 * Creates a node with the provided owner, bitmap and pairs.
+		 *
+		 * @param edit the token of the owner.
+		 * @param bitmap the occupied positions.
+		 * @param array the pairs.
+		 */
+		BitmapNode(Object edit, int bitmap, Object[] array) {
+			super(edit, array);
+			this.bitmap = bitmap;
+		}
+
+		/**
+		 * Determines the index in the array of the pair at the position marked by the provided bit.
+		 *
+		 * @param bit the bit of the position.
+		 * @return the number of occupied positions before it.
+		 */
+		private int index(int bit) {
+			return Integer.bitCount(this.bitmap & (bit - 1));
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		Object find(int shift, int hash, Object key) {
+			int bit = 1 << ((hash >>> shift) & MASK);
+			if((this.bitmap & bit) == 0) return NOT_FOUND;
+
+			int index = this.index(bit);
+			Object storedKey = this.array[2 * index];
+			Object storedValue = this.array[2 * index + 1];
+			if(storedKey == null) return ((Node)storedValue).find(shift + BITS, hash, key);
+			return key.equals(storedKey) ? storedValue : NOT_FOUND;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		Node with(Object edit, int shift, int hash, Object key, Object value, SizeChange change) {
+			int bit = 1 << ((hash >>> shift) & MASK);
+			int index = this.index(bit);
+
+			if((this.bitmap & bit) != 0) {
+				Object storedKey = this.array[2 * index];
+				Object storedValue = this.array[2 * index + 1];
+
+				if(storedKey == null) {
+					Node child = (Node)storedValue;
+					Node newChild = child.with(edit, shift + BITS, hash, key, value, change);
+					return newChild == child ? this : this.withSlot(edit, 2 * index + 1, newChild);
+				}
+				if(key.equals(storedKey)) {
+					return storedValue == value ? this : this.withSlot(edit, 2 * index + 1, value);
+				}
+
+				//dva razlicita kljuca na istoj poziciji, spustaju se razinu nize
+				change.delta = 1;
+				BitmapNode node = this.editable(edit);
+				node.array[2 * index] = null;
+				node.array[2 * index + 1] = createNode(edit, shift + BITS, storedKey, storedValue, hash, key, value);
+				return node;
+			}
+
+			change.delta = 1;
+			Object[] newArray = new Object[this.array.length + 2];
+			System.arraycopy(this.array, 0, newArray, 0, 2 * index);
+			newArray[2 * index] = key;
+			newArray[2 * index + 1] = value;
+			System.arraycopy(this.array, 2 * index, newArray, 2 * index + 2, this.array.length - 2 * index);
+
+			if(this.isEditableBy(edit)) {
+				this.array = newArray;
+				this.bitmap |= bit;
+				return this;
+			}
+			return new BitmapNode(edit, this.bitmap | bit, newArray);
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		Node without(Object edit, int shift, int hash, Object key, SizeChange change) {
+			int bit = 1 << ((hash >>> shift) & MASK);
+			if((this.bitmap & bit) == 0) return this;
+
+			int index = this.index(bit);
+			Object storedKey = this.array[2 * index];
+			Object storedValue = this.array[2 * index + 1];
+
+			if(storedKey == null) {
+				Node child = (Node)storedValue;
+				Node newChild = child.without(edit, shift + BITS, hash, key, change);
+				if(newChild == child) return this;
+				if(newChild != null) return this.withSlot(edit, 2 * index + 1, newChild);
+			} else if(!key.equals(storedKey)) {
+				return this;
+			}
+
+			change.delta = -1;
+			if(this.bitmap == bit) return null;
+			if(this.isEditableBy(edit)) {
+				this.array = removePair(this.array, index);
+				this.bitmap ^= bit;
+				return this;
+			}
+			return new BitmapNode(edit, this.bitmap ^ bit, removePair(this.array, index));
+		}
+
+		/**
+		 * Sets a slot of the array, in place if the node is editable, in a copy of the node otherwise.
+		 *
+		 * @param edit the token of a transient, {@code null} for a persistent map.
+		 * @param slot the index of the slot in the array.
+		 * @param value the new content of the slot.
+		 * @return the node with the slot set.
+		 */
+		private BitmapNode withSlot(Object edit, int slot, Object value) {
+			BitmapNode node = this.editable(edit);
+			node.array[slot] = value;
+			return node;
+		}
+
+		/**
+		 * Returns a node which can be modified by the owner of the provided token: the current node
+		 * if the owner has created it, or its copy belonging to the owner otherwise.
+		 *
+		 * @param edit the token of a transient, {@code null} for a persistent map.
+		 * @return the node which can be modified.
+		 */
+		private BitmapNode editable(Object edit) {
+			return this.isEditableBy(edit) ? this : new BitmapNode(edit, this.bitmap, this.array.clone());
+		}
+
+	}
+
+	/**
+	 * Class {@code CollisionNode} represents a node holding the pairs whose keys have the same hash,
+	 * which are searched linearly.
+	 *
+	 * @author Iva Maria Ivanković
+	 * @version 1.0
+	 */
+	private static final class CollisionNode extends Node {
+
+		/**
+		 * The hash shared by all keys of the node.
+		 */
+		private final int hash;
+
+		/**
+		 * Creates a node with the provided owner, hash and pairs.
+		 *
+		 * @param edit the token of the owner.
+		 * @param hash the hash of all keys.
+		 * @param array the pairs.
+		 */
+		CollisionNode(Object edit, int hash, Object[] array) {
+			super(edit, array);
+			this.hash = hash;
+		}
+
+		/**
+		 * Finds the pair with the provided key.
+		 *
+		 * @param key the key.
+		 * @return the index of the pair, -1 if there is no pair with the key.
+		 */
+		private int indexOf(Object key) {
+			for(int i = 0; i < this.array.length; i += 2) {
+				if(key.equals(this.array[i])) return i / 2;
+			}
+			return -1;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		Object find(int shift, int hash, Object key) {
+			if(hash != this.hash) return NOT_FOUND;
+
+			int index = this.indexOf(key);
+			return index == -1 ? NOT_FOUND : this.array[2 * index + 1];
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		Node with(Object edit, int shift, int hash, Object key, Object value, SizeChange change) {
+			if(hash != this.hash) {
+				//novi kljuc ima drugaciji hash, cvor se spusta ispod novog cvora s bitmapom
+				BitmapNode parent = new BitmapNode(edit, 1 << ((this.hash >>> shift) & MASK), new Object[] {null, this});
+				return parent.with(edit, shift, hash, key, value, change);
+			}
+
+			int index = this.indexOf(key);
+			Object[] newArray;
+			if(index != -1) {
+				if(this.array[2 * index + 1] == value) return this;
+
+				newArray = this.isEditableBy(edit) ? this.array : this.array.clone();
+				newArray[2 * index + 1] = value;
+			} else {
+				change.delta = 1;
+				newArray = new Object[this.array.length + 2];
+				System.arraycopy(this.array, 0, newArray, 0, this.array.length);
+				newArray[this.array.length] = key;
+				newArray[this.array.length + 1] = value;
+			}
+
+			if(this.isEditableBy(edit)) {
+				this.array = newArray;
+				return this;
+			}
+			return new CollisionNode(edit, hash, newArray);
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		Node without(Object edit, int shift, int hash, Object key, SizeChange change) {
+			int index = hash == this.hash ? this.indexOf(key) : -1;
+			if(index == -1) return this;
+
+			change.delta = -1;
+			if(this.array.length == 2) return null;
+			if(this.isEditableBy(edit)) {
+				this.array = removePair(this.array, index);
+				return this;
+			}
+			return new CollisionNode(edit, hash, removePair(this.array, index));
+		}
+
+	}
+
+	/**
+	 * Class {@code Entry} represents an immutable key-value pair of the map.
+	 *
+	 * @author Iva Maria Ivanković
+	 * @version 1.0
+	 *
+	 * @param <K> type of the key.
+	 * @param <V> type of the value.
+	 */
+	public static final class Entry<K, V> {
+
+		/**
+		 * The key of the pair.
+		 */
+		private final K key;
+
+		/**
+		 * The value of the pair.
+		 */
+		private final V value;
+
+		/**
+		 * Creates a pair.
+		 *
+		 * @param key the key.
+		 * @param value the value.
+		 */
+		private Entry(K key, V value) {
+			this.key = key;
+			this.value = value;
+		}
+
+		/**
+		 * Getter for the key of the pair.
+		 *
+		 * @return the key.
+		 */
+		public K getKey() {
+			return this.key;
+		}
+
+		/**
+		 * Getter for the value of the pair.
+		 *
+		 * @return the value.
+		 */
+		public V getValue() {
+			return this.value;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public int hashCode() {
+			return Objects.hash(this.key, this.value);
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public boolean equals(Object obj) {
+			if(this == obj) return true;
+			if(!(obj instanceof Entry)) return false;
+			Entry<?, ?> other = (Entry<?, ?>)obj;
+			return this.key.equals(other.key) && Objects.equals(this.value, other.value);
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public String toString() {
+			return this.key + "=" + this.value;
+		}
+
+	}
+
+	/**
+	 * Class {@code EntryIterator} represents an iterator over the pairs of a trie, depth first.
+	 * The trie never changes, so the iterator never throws a {@code ConcurrentModificationException}.
+	 *
+	 * @author Iva Maria Ivanković
+	 * @version 1.0
+	 *
+	 * @param <K> type of a key object in the map.
+	 * @param <V> type of a value object in the map.
+	 */
+	private static final class EntryIterator<K, V> implements Iterator<Entry<K, V>> {
+
+		/**
+		 * The arrays of the nodes on the path from the root to the current node; the trie has at most 8 levels.
+		 */
+		private final Object[][] arrays = new Object[8][];
+
+		/**
+		 * The index of the next slot to visit in each array on the path.
+		 */
+		private final int[] indexes = new int[8];
+
+		/**
+		 * The level of the current node, -1 when the iteration is over.
+		 */
+		private int depth = -1;
+
+		/**
+		 * The next pair to be returned, {@code null} when the iteration is over.
+		 */
+		private Entry<K, V> next;
+
+		/**
+		 * Creates an iterator over the trie with the provided root.
+		 *
+		 * @param root the root, {@code null} for an empty trie.
+		 */
+		private EntryIterator(Node root) {
+			if(root != null) {
+				this.depth = 0;
+				this.arrays[0] = root.array;
+			}
+			this.advance();
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public boolean hasNext() {
+			return this.next != null;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public Entry<K, V> next() {
+			if(this.next == null) throw new NoSuchElementException("There are no entries left to fetch.");
+
+			Entry<K, V> entry = this.next;
+			this.advance();
+			return entry;
+		}
+
+		/**
+		 * Finds the next pair, descending into child nodes and returning to their parents as needed.
+		 */
+		@SuppressWarnings("unchecked")
+		private void advance() {
+			while(this.depth >= 0) {
+				Object[] array = this.arrays[this.depth];
+				int index = this.indexes[this.depth];
+
+				if(index >= array.length) {
+					this.indexes[this.depth--] = 0;
+					continue;
+				}
+				this.indexes[this.depth] = index + 2;
+
+				if(array[index] != null) {
+					this.next = new Entry<>((K)array[index], (V)array[index + 1]);
+					return;
+				}
+				this.arrays[++this.depth] = ((Node)array[index + 1]).array;
+			}
+			this.next = null;
+		}
+
+	}
+
+	/**
+	 * Class {@code Transient} represents a map under construction, which is modified in place. It copies a node
+	 * of the map it was created from before modifying it, but only once, since the copy belongs to the transient.
+	 * Calling {@code persistent()} turns it into a {@code PersistentHashMap} in constant time, after which the
+	 * transient cannot be used any more. A transient is not thread-safe.
+	 *
+	 * @author Iva Maria Ivanković
+	 * @version 1.0
+	 *
+	 * @param <K> type of a key object in the map.
+	 * @param <V> type of a value object in the map.
+	 */
+	public static final class Transient<K, V> {
+
+		/**
+		 * The token marking the nodes created by this transient, {@code null} after {@code persistent()} has been called.
+		 */
+		private Object edit;
+
+		/**
+		 * The number of pairs.
+		 */
+		private int size;
+
+		/**
+		 * The root of the trie, {@code null} if there are no pairs.
+		 */
+		private Node root;
+
+		/**
+		 * Creates a transient holding the pairs of the provided map.
+		 *
+		 * @param map the map whose pairs the transient starts with.
+		 */
+		private Transient(PersistentHashMap<K, V> map) {
+			this.edit = new Object();
+			this.size = map.size;
+			this.root = map.root;
+		}
+
+		/**
+		 * Determines the number of pairs.
+		 *
+		 * @return the number of pairs.
+		 */
+		public int size() {
+			return this.size;
+		}
+
+		/**
+		 * Fetches the value for the provided {@code key}.
+		 *
+		 * @param key the key for which we want to know the value.
+		 * @return the value for the provided key if it exists, {@code null} otherwise.
+		 * @throws IllegalStateException if {@code persistent()} has already been called.
+		 */
+		@SuppressWarnings("unchecked")
+		public V get(Object key) {
+			this.ensureEditable();
+			Object value = find(this.root, key);
+			return value == NOT_FOUND ? null : (V)value;
+		}
+
+		/**
+		 * Maps the provided key to the provided value.
+		 *
+		 * @param key the key of the pair.
+		 * @param value the value for the key.
+		 * @return the current transient.
+		 * @throws NullPointerException when the provided {@code key} is {@code null}.
+		 * @throws IllegalStateException if {@code persistent()} has already been called.
+		 */
+		public Transient<K, V> put(K key, V value) {
+			this.ensureEditable();
+			if(key == null) throw new NullPointerException("The provided key must not be null.");
+
+			SizeChange change = new SizeChange();
+			Node start = this.root == null ? BitmapNode.EMPTY : this.root;
+			this.root = start.with(this.edit, 0, hash(key), key, value, change);
+			this.size += change.delta;
+			return this;
+		}
+
+		/**
+		 * Removes the pair with the provided key, if there is one.
+		 *
+		 * @param key the key of the removed pair.
+		 * @return the current transient.
+		 * @throws IllegalStateException if {@code persistent()} has already been called.
+		 */
+		public Transient<K, V> remove(Object key) {
+			this.ensureEditable();
+			if(key == null || this.root == null) return this;
+
+			SizeChange change = new SizeChange();
+			this.root = this.root.without(this.edit, 0, hash(key), key, change);
+			this.size += change.delta;
+			return this;
+		}
+
+		/**
+		 * Turns the transient into a map holding its pairs. The transient cannot be used afterwards.
+		 *
+		 * @return the map.
+		 * @throws IllegalStateException if {@code persistent()} has already been called.
+		 */
+		public PersistentHashMap<K, V> persistent() {
+			this.ensureEditable();
+			this.edit = null;
+			return this.root == null ? empty() : new PersistentHashMap<>(this.size, this.root);
+		}
+
+		/**
+		 * Checks that the transient can still be used.
+		 *
+		 * @throws IllegalStateException if {@code persistent()} has already been called.
+		 */
+		private void ensureEditable() {
+			if(this.edit == null) throw new IllegalStateException("The transient has already been made persistent.");
+		}
+
+	}
+
+}
@@ -0,0 +1,693 @@
+package hr.fer.oprpp1.custom.collections;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * Class {@code PersistentVector} represents an immutable list whose modified versions share most of their structure
+ * with the version they were made from. The elements are kept in a trie of arrays of 32 elements, the leaves holding
+ * the elements and the inner nodes holding up to 32 children each, plus a separate array with the last, at most 32,
+ * elements called the tail. The methods {@code with()}, {@code append()} and {@code withoutLast()} leave the vector
+ * unchanged and return a new one, which copies only the arrays on the path from the root to the changed element,
+ * that is O(log32 n) arrays of 32 references, and shares all other arrays with the old version. Appending and
+ * removing at the end usually copy only the tail.
+ * <p>
+ * A vector is built from many elements much faster through a {@link Transient}, which modifies in place the arrays
+ * it has created itself and is then turned into a vector in constant time.
+ * <p>
+ * A vector cannot hold {@code null} elements. Every modifying method inherited from {@code List}
+ * throws an {@code UnsupportedOperationException}. A vector can be shared freely between threads.
+ *
+ * @author Iva Maria Ivanković
+ * @version 1.0
+ *
+ * @param <T> type of the elements in the vector.
+ */
+public final class PersistentVector<T> implements List<T> {
+
+	/**
+	 * The number of bits of an index which select a child on one level of the trie.
+	 */
+	private static final int BITS = 5;
+
+	/**
+	 * The number of children of an inner node and of elements in a leaf.
+	 */
+	private static final int WIDTH = 1 << BITS;
+
+	/**
+	 * The mask selecting the index of a child on one level of the trie.
+	 */
+	private static final int MASK = WIDTH - 1;
+
+	/**
+	 * The root of an empty vector, shared by all vectors with at most 32 elements.
+	 */
+	private static final Node EMPTY_NODE = new Node(null, new Object[WIDTH]);
+
+	/**
+	 * The empty vector.
+	 */
+	private static final PersistentVector<?> EMPTY = new PersistentVector<>(0, BITS, EMPTY_NODE, new Object[0]);
+
+	/**
+	 * The number of elements in the vector.
+	 */
+	private final int size;
+
+	/**
+	 * The number of bits an index is shifted by to select a child of the root.
+	 */
+	private final int shift;
+
+	/**
+	 * The root of the trie holding all elements except the ones in the tail.
+	 */
+	private final Node root;
+
+	/**
+	 * The last elements of the vector, exactly as many as there are of them.
+	 */
+	private final Object[] tail;
+
+	/**
+	 * Creates a vector from its parts.
+	 *
+	 * @param size the number of elements.
+	 * @param shift the shift of the root.
+	 * @param root the root of the trie.
+	 * @param tail the tail.
+	 */
+	private PersistentVector(int size, int shift, Node root, Object[] tail) {
+		this.size = size;
+		this.shift = shift;
+		this.root = root;
+		this.tail = tail;
+	}
+
+	/**
+	 * Returns the empty vector.
+	 *
+	 * @param <T> type of the elements in the vector.
+	 * @return the empty vector.
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T> PersistentVector<T> empty() {
+		return (PersistentVector<T>)EMPTY;
+	}
+
+	/**
+	 * Creates a vector holding the elements of the provided collection, in the order
+	 * in which its {@code ElementsGetter} fetches them.
+	 *
+	 * @param <T> type of the elements in the vector.
+	 * @param collection the collection whose elements are copied.
+	 * @return the new vector.
+	 * @throws NullPointerException when the provided {@code collection} is {@code null}.
+	 */
+	public static <T> PersistentVector<T> copyOf(Collection<? extends T> collection) {
+		if(collection == null) throw new NullPointerException("The given collection cannot be null.");
+
+		Transient<T> builder = PersistentVector.<T>empty().asTransient();
+		collection.forEach(builder::add);
+		return builder.persistent();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int size() {
+		return this.size;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	@SuppressWarnings("unchecked")
+	public T get(int index) {
+		return (T)arrayFor(index, this.size, this.shift, this.root, this.tail)[index & MASK];
+	}
+
+	/**
+	 * Creates a vector which differs from the current one only in the element at the provided index.
+	 *
+	 * @param index the index of the replaced element.
+	 * @param value the new element at that index.
+	 * @return the new vector.
+	 * @throws IndexOutOfBoundsException if the provided {@code index} is not between 0 and {@code size}-1.
+	 * @throws NullPointerException when the provided {@code value} is {@code null}.
+	 */
+	public PersistentVector<T> with(int index, T value) {
+		if(index >= this.size || index < 0) throw new IndexOutOfBoundsException("There is no object at that position.");
+		if(value == null) throw new NullPointerException("The provided value cannot be null.");
+
+		if(index >= tailOffset(this.size)) {
+			Object[] newTail = this.tail.clone();
+			newTail[index & MASK] = value;
+			return new PersistentVector<>(this.size, this.shift, this.root, newTail);
+		}
+		return new PersistentVector<>(this.size, this.shift, set(null, this.shift, this.root, index, value), this.tail);
+	}
+
+	/**
+	 * Creates a vector which holds the elements of the current one followed by the provided element.
+	 *
+	 * @param value the appended element.
+	 * @return the new vector.
+	 * @throws NullPointerException when the provided {@code value} is {@code null}.
+	 */
+	public PersistentVector<T> append(T value) {
+		if(value == null) throw new NullPointerException("The provided value cannot be null.");
+
+		if(this.size - tailOffset(this.size) < WIDTH) {
+			Object[] newTail = Arrays.copyOf(this.tail, this.tail.length + 1);
+			newTail[this.tail.length] = value;
+			return new PersistentVector<>(this.size + 1, this.shift, this.root, newTail);
+		}
+
+		//rep je pun, spusta se u stablo kao novi list
+		Node tailNode = new Node(null, this.tail);
+		int newShift = this.shift;
+		Node newRoot;
+		if((this.size >>> BITS) > (1 << this.shift)) {
+			newRoot = new Node(null, new Object[WIDTH]);
+			newRoot.array[0] = this.root;
+			newRoot.array[1] = newPath(null, this.shift, tailNode);
+			newShift += BITS;
+		} else {
+			newRoot = pushTail(null, this.size, this.shift, this.root, tailNode);
+		}
+		return new PersistentVector<>(this.size + 1, newShift, newRoot, new Object[] {value});
+	}
+
+	/**
+	 * Creates a vector which holds the elements of the current one except the last one.
+	 *
+	 * @return the new vector.
+	 * @throws NoSuchElementException if the vector is empty.
+	 */
+	public PersistentVector<T> withoutLast() {
+		if(this.size == 0) throw new NoSuchElementException("The vector is empty.");
+		if(this.size == 1) return empty();
+
+		if(this.size - tailOffset(this.size) > 1) {
+			return new PersistentVector<>(this.size - 1, this.shift, this.root, Arrays.copyOf(this.tail, this.tail.length - 1));
+		}
+
+		//rep ostaje prazan, zadnji list postaje novi rep
+		Object[] newTail = arrayFor(this.size - 2, this.size, this.shift, this.root, this.tail);
+		Node newRoot = this.popTail(this.shift, this.root);
+		int newShift = this.shift;
+		if(newRoot == null) newRoot = EMPTY_NODE;
+		if(this.shift > BITS && newRoot.array[1] == null) {
+			newRoot = (Node)newRoot.array[0];
+			newShift -= BITS;
+		}
+		return new PersistentVector<>(this.size - 1, newShift, newRoot, newTail);
+	}
+
+	/**
+	 * Creates a transient vector holding the elements of the current one, which can be modified in place
+	 * without affecting the current vector.
+	 *
+	 * @return the new transient vector.
+	 */
+	public Transient<T> asTransient() {
+		return new Transient<>(this);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int indexOf(Object value) {
+		if(value == null) return -1;
+
+		for(int i = 0; i < this.size; i++) {
+			if(value.equals(this.get(i))) return i;
+		}
+		return -1;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean contains(Object value) {
+		return this.indexOf(value) != -1;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Object[] toArray() {
+		Object[] array = new Object[this.size];
+		int tailOffset = tailOffset(this.size);
+		for(int index = 0; index < tailOffset; index += WIDTH) {
+			System.arraycopy(arrayFor(index, this.size, this.shift, this.root, this.tail), 0, array, index, WIDTH);
+		}
+		System.arraycopy(this.tail, 0, array, tailOffset, this.size - tailOffset);
+		return array;
+	}
+
+	/**
+	 * Creates an {@code ElementsGetter} which fetches the elements a leaf at a time. It never throws
+	 * a {@code ConcurrentModificationException}, since the vector cannot be modified.
+	 *
+	 * @return new getter for the current vector.
+	 */
+	@Override
+	public ElementsGetter<T> createElementsGetter() {
+		return new VectorElementsGetter();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString() {
+		return Arrays.toString(this.toArray());
+	}
+
+	/**
+	 * Always throws an {@code UnsupportedOperationException}, since a vector cannot be modified; see {@code append()}.
+	 */
+	@Override
+	public void add(T value) {
+		throw new UnsupportedOperationException("A persistent vector cannot be modified.");
+	}
+
+	/**
+	 * Always throws an {@code UnsupportedOperationException}, since a vector cannot be modified.
+	 */
+	@Override
+	public void insert(T value, int position) {
+		throw new UnsupportedOperationException("A persistent vector cannot be modified.");
+	}
+
+	/**
+	 * Always throws an {@code UnsupportedOperationException}, since a vector cannot be modified.
+	 */
+	@Override
+	public boolean remove(Object value) {
+		throw new UnsupportedOperationException("A persistent vector cannot be modified.");
+	}
+
+	/**
+	 * Always throws an {@code UnsupportedOperationException}, since a vector cannot be modified; see {@code withoutLast()}.
+	 */
+	@Override
+	public void remove(int index) {
+		throw new UnsupportedOperationException("A persistent vector cannot be modified.");
+	}
+
+	/**
+	 * Always throws an {@code UnsupportedOperationException}, since a vector cannot be modified; see {@code empty()}.
+	 */
+	@Override
+	public void clear() {
+		throw new UnsupportedOperationException("A persistent vector cannot be modified.");
+	}
+
+	/**
+	 * Determines the index of the first element in the tail of a vector with the provided size.
+	 *
+	 * @param size the number of elements in the vector.
+	 * @return the index of the first element in the tail.
+	 */
+	private static int tailOffset(int size) {
+		return size < WIDTH ? 0 : ((size - 1) >>> BITS) << BITS;
+	}
+
+	/**
+	 * Finds the array holding the element at the provided index: the tail or a leaf of the trie.
+	 *
+	 * @param index the index of the element.
+	 * @param size the number of elements in the vector.
+	 * @param shift the shift of the root.
+	 * @param root the root of the trie.
+	 * @param tail the tail.
+	 * @return the array holding the element at the index {@code index & MASK}.
+	 * @throws IndexOutOfBoundsException if the provided {@code index} is not between 0 and {@code size}-1.
+	 */
+	private static Object[] arrayFor(int index, int size, int shift, Node root, Object[] tail) {
+		if(index >= size || index < 0) throw new IndexOutOfBoundsException("There is no object at that position.");
+		if(index >= tailOffset(size)) return tail;
+
+		Node node = root;
+		for(int level = shift; level > 0; level -= BITS) {
+			node = (Node)node.array[(index >>> level) & MASK];
+		}
+		return node.array;
+	}
+
+	/**
+	 * Returns a node which can be modified by the owner of the provided token: the node itself
+	 * if the owner has created it, or its copy belonging to the owner otherwise.
+	 *
+	 * @param edit the token of a transient, {@code null} for a persistent vector which never modifies a node.
+	 * @param node the node.
+	 * @return the node which can be modified.
+	 */
+	private static Node editable(Object edit, Node node) {
+		if(edit != null && node.edit == edit) return node;
+		return new Node(edit, node.array.clone());
+	}
+
+	/**
+	 * Sets the element at the provided index of the trie, copying the nodes on the way unless they are editable.
+	 *
+	 * @param edit the token of a transient, {@code null} for a persistent vector.
+	 * @param level the shift of the provided node.
+	 * @param node the node containing the index.
+	 * @param index the index of the element.
+	 * @param value the new element.
+	 * @return the node with the element set.
+	 */
+	private static Node set(Object edit, int level, Node node, int index, Object value) {
+		Node result = editable(edit, node);
+		if(level == 0) {
+			result.array[index & MASK] = value;
+		} else {
+			int subIndex = (index >>> level) & MASK;
+			result.array[subIndex] = set(edit, level - BITS, (Node)node.array[subIndex], index, value);
+		}
+		return result;
+	}
+
+	/**
+	 * Adds a full tail as the last leaf of the trie, which has room for it under the provided node.
+	 *
+	 * @param edit the token of a transient, {@code null} for a persistent vector.
+	 * @param size the number of elements in the vector, including the full tail.
+	 * @param level the shift of the provided node.
+	 * @param parent the node under which the leaf is added.
+	 * @param tailNode the leaf holding the elements of the tail.
+	 * @return the node with the leaf added.
+	 */
+	private static Node pushTail(Object edit, int size, int level, Node parent, Node tailNode) {
+		int subIndex = ((size - 1) >>> level) & MASK;
+		Node result = editable(edit, parent);
+		Node toInsert;
+		if(level == BITS) {
+			toInsert = tailNode;
+		} else {
+			Node child = (Node)parent.array[subIndex];
+			toInsert = child != null ? pushTail(edit, size, level - BITS, child, tailNode) : newPath(edit, level - BITS, tailNode);
+		}
+		result.array[subIndex] = toInsert;
+		return result;
+	}
+
+	/**
+	 * Creates a chain of inner nodes, each with a single child, ending with the provided leaf.
+	 *
+	 * @param edit the token of a transient, {@code null} for a persistent vector.
+	 * @param level the shift of the first node of the chain.
+	 * @param node the leaf.
+	 * @return the first node of the chain.
+	 */
+	private static Node newPath(Object edit, int level, Node node) {
+		if(level == 0) return node;
+
+		Node result = new Node(edit, new Object[WIDTH]);
+		result.array[0] = newPath(edit, level - BITS, node);
+		return result;
+	}
+
+	/**
+	 * Removes the last leaf of the trie.
+	 *
+	 * @param level the shift of the provided node.
+	 * @param node the node containing the last leaf.
+	 * @return the node without the last leaf, {@code null} if it has no children left.
+	 */
+	private Node popTail(int level, Node node) {
+		int subIndex = ((this.size - 2) >>> level) & MASK;
+		if(level > BITS) {
+			Node newChild = this.popTail(level - BITS, (Node)node.array[subIndex]);
+			if(newChild == null && subIndex == 0) return null;
+
+			Node result = editable(null, node);
+			result.array[subIndex] = newChild;
+			return result;
+		}
+		if(subIndex == 0) return null;
+
+		Node result = editable(null, node);
+		result.array[subIndex] = null;
+		return result;
+	}
+
+	/**
+	 * Class {@code Node} represents a node of the trie: a leaf holding 32 elements or an inner node holding up to 32 children.
+	 *
+	 * @author Iva Maria Ivanković
+	 * @version 1.0
+	 */
+	private static final class Node {
+
+		/**
+		 * The token of the transient which has created the node and may modify it, {@code null} if no one may.
+		 */
+		private final Object edit;
+
+		/**
+		 * The elements or the children of the node.
+		 */
+		private final Object[] array;
+
+		/**
+		 * Creates a node with the provided owner and array.
+		 *
+		 * @param edit the token of the owner.
+		 * @param array the elements or the children.
+		 */
+		private Node(Object edit, Object[] array) {
+			this.edit = edit;
+			this.array = array;
+		}
+
+	}
+
+	/**
+	 * Class {@code Transient} represents a vector under construction, which is modified in place. It copies a node
+	 * of the vector it was created from before modifying it, but only once, since the copy belongs to the transient.
+	 * Calling {@code persistent()} turns it into a {@code PersistentVector} in constant time, after which the transient
+	 * cannot be used any more. A transient is not thread-safe.
+	 *
+	 * @author Iva Maria Ivanković
+	 * @version 1.0
+	 *
+	 * @param <T> type of the elements in the vector.
+	 */
+	public static final class Transient<T> {
+
+		/**
+		 * The token marking the nodes created by this transient, {@code null} after {@code persistent()} has been called.
+		 */
+		private Object edit;
+
+		/**
+		 * The number of elements.
+		 */
+		private int size;
+
+		/**
+		 * The shift of the root.
+		 */
+		private int shift;
+
+		/**
+		 * The root of the trie.
+		 */
+		private Node root;
+
+		/**
+		 * The tail, always an array of 32 elements, of which the first {@code size - tailOffset(size)} are used.
+		 */
+		private Object[] tail;
+
+		/**
+		 * Creates a transient holding the elements of the provided vector.
+		 *
+		 * @param vector the vector whose elements the transient starts with.
+		 */
+		private Transient(PersistentVector<T> vector) {
+			this.edit = new Object();
+			this.size = vector.size;
+			this.shift = vector.shift;
+			this.root = editable(this.edit, vector.root);
+			this.tail = Arrays.copyOf(vector.tail, WIDTH);
+		}
+
+		/**
+		 * Determines the number of elements.
+		 *
+		 * @return the number of elements.
+		 */
+		public int size() {
+			return this.size;
+		}
+
+		/**
+		 * Fetches the element at the provided index.
+		 *
+		 * @param index the index of the element.
+		 * @return the element.
+		 * @throws IndexOutOfBoundsException if the provided {@code index} is not between 0 and {@code size}-1.
+		 * @throws IllegalStateException if {@code persistent()} has already been called.
+		 */
+		@SuppressWarnings("unchecked")
+		public T get(int index) {
+			this.ensureEditable();
+			return (T)arrayFor(index, this.size, this.shift, this.root, this.tail)[index & MASK];
+		}
+
+		/**
+		 * Replaces the element at the provided index.
+		 *
+		 * @param index the index of the replaced element.
+		 * @param value the new element.
+		 * @return the current transient.
+		 * @throws IndexOutOfBoundsException if the provided {@code index} is not between 0 and {@code size}-1.
+		 * @throws NullPointerException when the provided {@code value} is {@code null}.
+		 * @throws IllegalStateException if {@code persistent()} has already been called.
+		 */
+		public Transient<T> set(int index, T value) {
+			this.ensureEditable();
+			if(index >= this.size || index < 0) throw new IndexOutOfBoundsException("There is no object at that position.");
+			if(value == null) throw new NullPointerException("The provided value cannot be null.");
+
+			if(index >= tailOffset(this.size)) {
+				this.tail[index & MASK] = value;
+			} else {
+				this.root = PersistentVector.set(this.edit, this.shift, this.root, index, value);
+			}
+			return this;
+		}
+
+		/**
+		 * Adds the provided element at the end.
+		 *
+		 * @param value the added element.
+		 * @return the current transient.
+		 * @throws NullPointerException when the provided {@code value} is {@code null}.
+		 * @throws IllegalStateException if {@code persistent()} has already been called.
+		 */
+		public Transient<T> add(T value) {
+			this.ensureEditable();
+			if(value == null) throw new NullPointerException("The provided value cannot be null.");
+
+			if(this.size - tailOffset(this.size) < WIDTH) {
+				this.tail[this.size & MASK] = value;
+				this.size++;
+				return this;
+			}
+
+			Node tailNode = new Node(this.edit, this.tail);
+			this.tail = new Object[WIDTH];
+			this.tail[0] = value;
+			if((this.size >>> BITS) > (1 << this.shift)) {
+				Node newRoot = new Node(this.edit, new Object[WIDTH]);
+				newRoot.array[0] = this.root;
+				newRoot.array[1] = newPath(this.edit, this.shift, tailNode);
+				this.root = newRoot;
+				this.shift += BITS;
+			} else {
+				this.root = pushTail(this.edit, this.size, this.shift, this.root, tailNode);
+			}
+			this.size++;
+			return this;
+		}
+
+		/**
+		 * Turns the transient into a vector holding its elements. The transient cannot be used afterwards.
+		 *
+		 * @return the vector.
+		 * @throws IllegalStateException if {@code persistent()} has already been called.
+		 */
+		public PersistentVector<T> persistent() {
+			this.ensureEditable();
+			this.edit = null;
+
+			if(this.size == 0) return empty();
+			return new PersistentVector<>(this.size, this.shift, this.root, Arrays.copyOf(this.tail, this.size - tailOffset(this.size)));
+		}
+
+		/**
+		 * Checks that the transient can still be used.
+		 *
+		 * @throws IllegalStateException if {@code persistent()} has already been called.
+		 */
+		private void ensureEditable() {
+			if(this.edit == null) throw new IllegalStateException("The transient has already been made persistent.");
+		}
+
+	}
+
+	/**
+	 * Class {@code VectorElementsGetter} represents an {@code ElementsGetter} over the elements of the vector,
+	 * which finds the array of the next element only when it crosses into a new leaf.
+	 *
+	 * @author Iva Maria Ivanković
+	 * @version 1.0
+	 */
+	private class VectorElementsGetter implements ElementsGetter<T> {
+
+		/**
+		 * The index of the next element to be fetched.
+		 */
+		private int index;
+
+		/**
+		 * The array holding the element at the index {@code index}, if {@code index} is not a multiple of 32.
+		 */
+		private Object[] array;
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public boolean hasNextElement() {
+			return this.index < size;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		@SuppressWarnings("unchecked")
+		public T getNextElement() {
+			if(!this.hasNextElement()) throw new NoSuchElementException("There are no elements left to fetch.");
+
+			if((this.index & MASK) == 0) this.array = arrayFor(this.index, size, shift, root, tail);
+			return (T)this.array[this.index++ & MASK];
+		}
+
+		/**
+		 * {@inheritDoc}
+		 * The elements are copied a leaf at a time with {@code System.arraycopy()}.
+		 */
+		@Override
+		public int nextChunk(T[] buffer) {
+			if(buffer == null) throw new NullPointerException("The provided buffer cannot be null.");
+
+			int count = 0;
+			while(count < buffer.length && this.index < size) {
+				if((this.index & MASK) == 0) this.array = arrayFor(this.index, size, shift, root, tail);
+
+				int length = Math.min(buffer.length - count, Math.min(WIDTH - (this.index & MASK), size - this.index));
+				System.arraycopy(this.array, this.index & MASK, buffer, count, length);
+				count += length;
+				this.index += length;
+			}
+			return count;
+		}
+
+	}
+
+}
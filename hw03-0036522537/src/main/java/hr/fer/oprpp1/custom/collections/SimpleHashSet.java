@@ -0,0 +1,465 @@
+package hr.fer.oprpp1.custom.collections;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * Class {@code SimpleHashSet} represents a collection of distinct objects, meant to replace a
+ * {@code SimpleHashtable} whose values are only ever {@code Boolean.TRUE}. It allocates no node per element:
+ * the elements are kept in a single array, their hash codes in a parallel array, and collisions are resolved
+ * by linear probing, the same way as in {@link OpenAddressingHashtable}. Removed slots are marked with
+ * a tombstone so that the probe sequences of the remaining elements stay intact.
+ *
+ * @author Iva Maria Ivanković
+ * @version 1.0
+ *
+ * @param <E> type of the elements in the set.
+ */
+public class SimpleHashSet<E> implements Collection<E> {
+
+	/**
+	 * A marker which is stored in the {@code elements} array in place of a removed element.
+	 */
+	private static final Object TOMBSTONE = new Object();
+
+	/**
+	 * A constant which the number of slots in the set is set to when the constructor
+	 * function is called with no provided value for the number of slots.
+	 */
+	static final int DEFAULT_NUMBER_OF_SLOTS = 16;
+
+	/**
+	 * The elements of the set. A {@code null} marks a slot that was never used, the {@code TOMBSTONE} marks
+	 * a slot whose element has been removed.
+	 */
+	private Object[] elements;
+
+	/**
+	 * Hash codes of the stored elements, one per slot. They are compared before the {@code equals()}
+	 * method is called and reused when the set is resized.
+	 */
+	private int[] hashes;
+
+	/**
+	 * The number of elements in the set.
+	 */
+	private int size;
+
+	/**
+	 * The number of slots which are currently marked with the {@code TOMBSTONE}.
+	 */
+	private int tombstones;
+
+	/**
+	 * A variable that serves as a counter of modifications made on the current set since its creation.
+	 */
+	private long modificationCount;
+
+	/**
+	 * Default constructor which creates an empty set with the default number of slots.
+	 */
+	public SimpleHashSet() {
+		this.allocate(DEFAULT_NUMBER_OF_SLOTS);
+	}
+
+	/**
+	 * A constructor which creates an empty set able to hold {@code expectedSize} elements without resizing.
+	 *
+	 * @param expectedSize the number of elements which the set is expected to hold.
+	 * @throws IllegalArgumentException when the provided {@code expectedSize} is negative.
+	 */
+	public SimpleHashSet(int expectedSize) {
+		if(expectedSize < 0) throw new IllegalArgumentException("The expected size cannot be negative.");
+
+		this.allocate(Hashing.tableSizeFor((int)Math.min(Integer.MAX_VALUE / 2, Math.max(2, (long)(expectedSize / Hashing.OVERFILL_QUOTIENT) + 1))));
+	}
+
+	/**
+	 * A constructor which creates a set holding the elements of the provided collection.
+	 *
+	 * @param other the collection whose elements are added to the set.
+	 * @throws NullPointerException when the provided collection is {@code null}.
+	 */
+	public SimpleHashSet(Collection<? extends E> other) {
+		this(requireCollection(other).size());
+		this.addAll(other);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int size() {
+		return this.size;
+	}
+
+	/**
+	 * Adds the provided element into the set, unless it already contains an equal element.
+	 *
+	 * @param value the element which is added.
+	 * @throws NullPointerException when the provided {@code value} is {@code null}.
+	 */
+	@Override
+	public void add(E value) {
+		this.addIfAbsent(value);
+	}
+
+	/**
+	 * Adds the provided element into the set, unless it already contains an equal element.
+	 *
+	 * @param value the element which is added.
+	 * @return {@code true} if the element has been added, {@code false} if the set already contained it.
+	 * @throws NullPointerException when the provided {@code value} is {@code null}.
+	 */
+	public boolean addIfAbsent(E value) {
+		if(value == null) throw new NullPointerException("The provided value cannot be null.");
+
+		int hash = Hashing.spread(value.hashCode());
+		int mask = this.hashes.length - 1;
+		int index = hash & mask;
+		int firstTombstone = -1;
+
+		while(true) {
+			Object current = this.elements[index];
+
+			if(current == null) break;
+
+			if(current == TOMBSTONE) {
+				if(firstTombstone == -1) firstTombstone = index;
+			} else if(this.hashes[index] == hash && current.equals(value)) {
+				return false;
+			}
+
+			index = (index + 1) & mask;
+		}
+
+		if(firstTombstone != -1) { //ponovno iskoristi prvi obrisani slot na putu
+			index = firstTombstone;
+			this.tombstones--;
+		}
+
+		this.elements[index] = value;
+		this.hashes[index] = hash;
+		this.size++;
+		this.modificationCount++;
+
+		this.checkOverfill();
+
+		return true;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean contains(Object value) {
+		return this.indexOf(value) != -1;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean remove(Object value) {
+		int index = this.indexOf(value);
+		if(index == -1) return false;
+
+		this.removeAt(index);
+		return true;
+	}
+
+	/**
+	 * Removes from the set all elements contained in the provided collection.
+	 *
+	 * @param other the collection of the elements which are removed.
+	 * @return {@code true} if the set has changed, {@code false} otherwise.
+	 * @throws NullPointerException when the provided collection is {@code null}.
+	 */
+	public boolean removeAll(Collection<?> other) {
+		requireCollection(other);
+
+		int oldSize = this.size;
+		if(other.size() < this.size) {
+			other.forEach(this::remove);
+		} else {
+			this.removeIf(element -> other.contains(element));
+		}
+
+		return this.size != oldSize;
+	}
+
+	/**
+	 * Removes from the set all elements which are not contained in the provided collection.
+	 *
+	 * @param other the collection of the elements which are kept.
+	 * @return {@code true} if the set has changed, {@code false} otherwise.
+	 * @throws NullPointerException when the provided collection is {@code null}.
+	 */
+	public boolean retainAll(Collection<?> other) {
+		requireCollection(other);
+
+		return this.removeIf(element -> !other.contains(element));
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Object[] toArray() {
+		Object[] array = new Object[this.size];
+
+		int index = 0;
+		for(int i = 0; i < this.elements.length; i++) {
+			if(this.isOccupied(i)) array[index++] = this.elements[i];
+		}
+
+		return array;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void clear() {
+		Arrays.fill(this.elements, null);
+		this.size = 0;
+		this.tombstones = 0;
+		this.modificationCount++;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public ElementsGetter<E> createElementsGetter() {
+		return new SetElementsGetter();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder("[");
+
+		for(int i = 0; i < this.elements.length; i++) {
+			if(!this.isOccupied(i)) continue;
+
+			if(sb.length() > 1) sb.append(", ");
+			sb.append(this.elements[i]);
+		}
+
+		return sb.append("]").toString();
+	}
+
+	/**
+	 * Removes all elements which satisfy the provided tester, rehashing the set once at the end
+	 * instead of leaving a tombstone for each removed element.
+	 *
+	 * @param tester the tester selecting the elements which are removed.
+	 * @return {@code true} if any element has been removed, {@code false} otherwise.
+	 */
+	@SuppressWarnings("unchecked")
+	private boolean removeIf(Tester<? super E> tester) {
+		int oldSize = this.size;
+
+		for(int i = 0; i < this.elements.length; i++) {
+			if(this.isOccupied(i) && tester.test((E)this.elements[i])) {
+				this.elements[i] = TOMBSTONE;
+				this.tombstones++;
+				this.size--;
+			}
+		}
+
+		if(this.size == oldSize) return false;
+
+		this.rehash(this.hashes.length);
+		return true;
+	}
+
+	/**
+	 * Finds the slot in which the provided element is stored.
+	 *
+	 * @param value the element which is searched for.
+	 * @return the index of the slot holding the element, -1 if the element is not in the set.
+	 */
+	private int indexOf(Object value) {
+		if(value == null) return -1;
+
+		int hash = Hashing.spread(value.hashCode());
+		int mask = this.hashes.length - 1;
+		int index = hash & mask;
+
+		while(true) {
+			Object current = this.elements[index];
+
+			if(current == null) return -1;
+			if(this.hashes[index] == hash && current != TOMBSTONE && current.equals(value)) return index;
+
+			index = (index + 1) & mask;
+		}
+	}
+
+	/**
+	 * Removes the element stored in the slot at the provided {@code index}. If the slot that follows
+	 * is empty, no probe sequence passes through the removed slot, so it is emptied together with
+	 * the tombstones directly preceding it instead of being marked with a tombstone.
+	 *
+	 * @param index the index of an occupied slot.
+	 */
+	private void removeAt(int index) {
+		int mask = this.hashes.length - 1;
+
+		if(this.elements[(index + 1) & mask] == null) {
+			this.elements[index] = null;
+
+			int previous = (index - 1) & mask;
+			while(this.elements[previous] == TOMBSTONE) {
+				this.elements[previous] = null;
+				this.tombstones--;
+				previous = (previous - 1) & mask;
+			}
+		} else {
+			this.elements[index] = TOMBSTONE;
+			this.tombstones++;
+		}
+
+		this.size--;
+		this.modificationCount++;
+	}
+
+	/**
+	 * Checks whether the set has more used slots than allowed by the {@code Hashing.OVERFILL_QUOTIENT}. If it does,
+	 * the elements are rehashed into twice as many slots if the set holds too many elements, or into the same
+	 * number of slots if most of the used slots are tombstones.
+	 */
+	private void checkOverfill() {
+		int capacity = this.hashes.length;
+		if(this.size + this.tombstones < capacity * Hashing.OVERFILL_QUOTIENT) return;
+
+		this.rehash(this.size >= capacity * Hashing.OVERFILL_QUOTIENT / 2 ? 2 * capacity : capacity);
+	}
+
+	/**
+	 * Moves all elements into newly allocated arrays with the provided {@code capacity}, dropping all tombstones.
+	 * Stored hash codes are reused, so the {@code hashCode()} method of the elements is not called again.
+	 *
+	 * @param capacity the new number of slots, a power of two.
+	 */
+	private void rehash(int capacity) {
+		Object[] oldElements = this.elements;
+		int[] oldHashes = this.hashes;
+
+		this.allocate(capacity);
+		int mask = capacity - 1;
+
+		for(int i = 0; i < oldHashes.length; i++) {
+			Object element = oldElements[i];
+			if(element == null || element == TOMBSTONE) continue;
+
+			int index = oldHashes[i] & mask;
+			while(this.elements[index] != null) index = (index + 1) & mask;
+
+			this.elements[index] = element;
+			this.hashes[index] = oldHashes[i];
+		}
+
+		this.tombstones = 0;
+		this.modificationCount++;
+	}
+
+	/**
+	 * Allocates the backing arrays with the provided {@code capacity}.
+	 *
+	 * @param capacity the number of slots.
+	 */
+	private void allocate(int capacity) {
+		this.elements = new Object[capacity];
+		this.hashes = new int[capacity];
+	}
+
+	/**
+	 * Determines whether the slot at the provided {@code index} holds an element.
+	 *
+	 * @param index the index of the slot.
+	 * @return {@code true} if the slot is occupied, {@code false} if it is empty or a tombstone.
+	 */
+	private boolean isOccupied(int index) {
+		Object element = this.elements[index];
+		return element != null && element != TOMBSTONE;
+	}
+
+	/**
+	 * Checks that the provided collection is not {@code null}.
+	 *
+	 * @param other the collection which is checked.
+	 * @return the provided collection.
+	 * @throws NullPointerException when the provided collection is {@code null}.
+	 */
+	private static <T extends Collection<?>> T requireCollection(T other) {
+		if(other == null) throw new NullPointerException("The given collection cannot be null.");
+		return other;
+	}
+
+	/**
+	 * Class {@code SetElementsGetter} represents an {@code ElementsGetter} over the elements of the set.
+	 *
+	 * @author Iva Maria Ivanković
+	 * @version 1.0
+	 */
+	private class SetElementsGetter implements ElementsGetter<E> {
+
+		/**
+		 * The slot of the next element to be fetched, the number of slots if there is no such element.
+		 */
+		private int nextSlot;
+
+		/**
+		 * The number of modifications made on the set at the moment of creation of the getter.
+		 */
+		private final long savedModificationCount;
+
+		/**
+		 * Creates a getter positioned at the first element of the set.
+		 */
+		private SetElementsGetter() {
+			this.nextSlot = this.findOccupied(0);
+			this.savedModificationCount = modificationCount;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public boolean hasNextElement() {
+			if(this.savedModificationCount != modificationCount) throw CollectionMetrics.concurrentModification("The collection has been modified.");
+			return this.nextSlot < elements.length;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		@SuppressWarnings("unchecked")
+		public E getNextElement() {
+			if(!this.hasNextElement()) throw new NoSuchElementException("There are no elements left to fetch.");
+
+			E element = (E)elements[this.nextSlot];
+			this.nextSlot = this.findOccupied(this.nextSlot + 1);
+			return element;
+		}
+
+		/**
+		 * Finds the first occupied slot starting from the provided {@code slot}.
+		 *
+		 * @param slot the first slot to check.
+		 * @return the index of the occupied slot, the number of slots if there is no such slot.
+		 */
+		private int findOccupied(int slot) {
+			while(slot < elements.length && !isOccupied(slot)) slot++;
+			return slot;
+		}
+
+	}
+
+}
@@ -1,10 +1,27 @@
 package hr.fer.oprpp1.custom.collections;
 
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
 import java.util.ConcurrentModificationException;
 import java.util.Iterator;
+import java.util.NoSuchElementException;
 import java.util.Objects;
+import java.util.Spliterator;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
-import static java.lang.Math.abs;
 
 /**
  * Class {@code SimpleHashtable} represents a table for storing objects in key-value pairs.  
@@ -22,6 +39,53 @@ public class SimpleHashtable<K, V> implements Iterable<SimpleHashtable.TableEntr
 	 */
 	private TableEntry<K, V>[] table;
 	
+	/**
+	 * The previous backing array while an incremental resize is in progress, {@code null} otherwise.
+	 * Its slots below {@code migrationIndex} have already been moved into {@code table}.
+	 */
+	private TableEntry<K, V>[] oldTable;
+	
+	/**
+	 * The first slot of {@code oldTable} whose entries have not yet been moved into {@code table}.
+	 */
+	private int migrationIndex;
+	
+	/**
+	 * The number of slots of {@code oldTable} moved by a single call of {@code migrate()}: {@code MIGRATION_STEP}
+	 * at the start of an incremental resize, all of them for a table which is not resized incrementally.
+	 */
+	private int migrationStep = MIGRATION_STEP;
+	
+	/**
+	 * The last entry of the slot searched by the most recent {@code findInSlot()}, {@code null} if the slot was empty.
+	 * A new entry is linked after it, so that an insertion does not have to walk the slot once more.
+	 */
+	private TableEntry<K, V> slotTail;
+	
+	/**
+	 * The entry preceding the entry found by the most recent {@code findInSlot()}, {@code null} if the found
+	 * entry is the first one in its slot or if the slot has been converted into a tree. A found entry can be
+	 * unlinked through it without walking the slot once more.
+	 */
+	private TableEntry<K, V> slotPrevious;
+	
+	/**
+	 * The tree bins of the slots of {@code table} holding too many entries to be searched one by one,
+	 * indexed by slot. It is {@code null} while no slot of {@code table} has been converted into a tree.
+	 */
+	private TreeBin<K, V>[] treeBins;
+	
+	/**
+	 * The tree bins of the slots of {@code oldTable}, {@code null} if there are none.
+	 */
+	private TreeBin<K, V>[] oldTreeBins;
+	
+	/**
+	 * Indicates whether the table grows incrementally, by moving a few slots of the old table on
+	 * every subsequent insertion or removal, instead of moving all entries at once.
+	 */
+	private final boolean incrementalResize;
+	
 	/**
 	 * The number of the current {@code SimpleHashtable} instance, calculated as the number
 	 * of key-value pairs stored in the table.
@@ -35,15 +99,41 @@ public class SimpleHashtable<K, V> implements Iterable<SimpleHashtable.TableEntr
 	static final int DEFAULT_NUMBER_OF_SLOTS = 16;
 	
 	/**
-	 * A constant which represents the maximum allowed number of occupied slots.
+	 * A constant factor by which the capacity of the current table is multiplied when 
+	 * the number of occupied slots surpasses the {@code Hashing.OVERFILL_QUOTIENT}.
 	 */
-	static final double OVERFILL_QUOTIENT = 0.75;
+	static final int RESIZE_COEFFICIENT = 2;
 	
 	/**
-	 * A constant factor by which the capacity of the current table is multiplied when 
-	 * the number of occupied slots surpasses the {@code OVERFILL_QUOTIENT}.
+	 * The largest power of two which can be the length of an array, and therefore the largest number of slots.
 	 */
-	static final int RESIZE_COEFFICIENT = 2;
+	static final int MAXIMUM_NUMBER_OF_SLOTS = 1 << 30;
+	
+	/**
+	 * A constant which represents the number of slots of the old table that are moved into the new
+	 * table on every insertion or removal during an incremental resize. Since the next resize is
+	 * triggered only after at least {@code oldLength * Hashing.OVERFILL_QUOTIENT} more insertions, any value
+	 * bigger than {@code 1 / Hashing.OVERFILL_QUOTIENT} finishes the migration before it is needed again.
+	 * Should the table still overfill before then, the step is doubled instead of finishing the migration at once.
+	 */
+	static final int MIGRATION_STEP = 4;
+	
+	/**
+	 * The number of entries in a slot at which the slot is converted into a balanced tree, so that
+	 * keys with colliding hash codes cannot make lookups linear in the number of entries.
+	 */
+	static final int TREEIFY_THRESHOLD = 8;
+	
+	/**
+	 * The number of entries in a slot at which a tree bin is dropped again. It is smaller than the
+	 * {@code TREEIFY_THRESHOLD}, so that a slot hovering around the threshold is not rebuilt on every change.
+	 */
+	static final int UNTREEIFY_THRESHOLD = 6;
+	
+	/**
+	 * The first four bytes of a snapshot written by {@code save()}, the characters "SHT1".
+	 */
+	static final int SNAPSHOT_MAGIC = 0x53485431;
 	
 	/**
 	 * A variable that serves as a counter of modifications made on the current
@@ -66,11 +156,29 @@ public class SimpleHashtable<K, V> implements Iterable<SimpleHashtable.TableEntr
 	 * @param numberOfSlots the number of slots which the created table should have.
 	 * @throws IllegalArgumentException when the provided {@code numberOfSlots} is less than 1.
 	 */
-	@SuppressWarnings("unchecked")
 	public SimpleHashtable(int numberOfSlots) {
+		this(numberOfSlots, false);
+	}
+	
+	/**
+	 * A constructor which creates a new {@code SimpleHashtable} instance, sets its
+	 * number of slots, {@code size}, to the provided value and determines whether the table
+	 * grows incrementally. An incrementally growing table never moves all of its entries during
+	 * a single operation, so the duration of a single {@code put()} stays bounded as the table grows.
+	 * 
+	 * @param numberOfSlots the number of slots which the created table should have.
+	 * @param incrementalResize {@code true} if the entries should be moved into a bigger table
+	 * gradually, over the subsequent insertions and removals, {@code false} if they should be moved at once.
+	 * @throws IllegalArgumentException when the provided {@code numberOfSlots} is less than 1.
+	 */
+	@SuppressWarnings("unchecked")
+	public SimpleHashtable(int numberOfSlots, boolean incrementalResize) {
 		if(numberOfSlots < 1) throw new IllegalArgumentException("The initial number of slots cannot be smaller than 1.");
 		
 		this.table = (TableEntry<K, V>[])new TableEntry[nextPowerOfTwo(numberOfSlots)];
+		this.oldTable = null;
+		this.migrationIndex = 0;
+		this.incrementalResize = incrementalResize;
 		this.size = 0;
 		this.modificationCount = 0;
 	}
@@ -97,6 +205,12 @@ public class SimpleHashtable<K, V> implements Iterable<SimpleHashtable.TableEntr
 		 */
 		private V value;
 		
+		/**
+		 * The spread hash code of the key, stored so that resizing and lookups do not have to call
+		 * the {@code hashCode()} method of the key again.
+		 */
+		private final int hash;
+		
 		/**
 		 * Reference to the next {@code TableEntry} in the same slot of the table as the current entry.
 		 */
@@ -111,11 +225,7 @@ public class SimpleHashtable<K, V> implements Iterable<SimpleHashtable.TableEntr
 		 * @throws NullPointerException when the provided {@code key} is {@code null}.
 		 */
 		protected TableEntry(K key, V value) {
-			if(key == null) throw new NullPointerException("The provided key must not be null.");
-			
-			this.key = key;
-			this.value = value;
-			this.next = null;
+			this(key, value, null);
 		}
 		
 		/**
@@ -128,8 +238,23 @@ public class SimpleHashtable<K, V> implements Iterable<SimpleHashtable.TableEntr
 		 * @throws NullPointerException when the provided {@code key} is {@code null}.
 		 */
 		protected TableEntry(K key, V value, TableEntry<K,V> next) {
+			this(Hashing.spread(Objects.requireNonNull(key, "The provided key must not be null.").hashCode()), key, value, next);
+		}
+		
+		/**
+		 * Constructor which creates a new {@code TableEntry} instance with an already computed
+		 * spread hash code of the {@code key}, so that the {@code hashCode()} method of the key is not called again.
+		 * 
+		 * @param hash the spread hash code of the key.
+		 * @param key the key of the entry.
+		 * @param value the value of the entry.
+		 * @param next reference to the next entry in the same slot.
+		 * @throws NullPointerException when the provided {@code key} is {@code null}.
+		 */
+		protected TableEntry(int hash, K key, V value, TableEntry<K,V> next) {
 			if(key == null) throw new NullPointerException("The provided key must not be null.");
 			
+			this.hash = hash;
 			this.key = key;
 			this.value = value;
 			this.next = next;
@@ -197,64 +322,147 @@ public class SimpleHashtable<K, V> implements Iterable<SimpleHashtable.TableEntr
 	public V put(K key, V value) {
 		if(key == null) throw new NullPointerException("The provided key must not be null.");
 		
-		int slot = this.slot(key);
+		int hash = Hashing.spread(key.hashCode());
+		TableEntry<K, V>[] bucketTable = this.tableFor(hash);
+		int slot = slotFor(hash, bucketTable.length);
 		
-		if(this.containsKey(key)) { //postoji zapis, pronadi ga i zamijeni, vrati staru vrijednost
-			TableEntry<K, V> entry = this.table[slot];
-			
-			while(entry != null) {
-				if(entry.key.equals(key)) {
-					V oldValue = entry.value;
-					entry.setValue(value);
-					
-					return oldValue;
-				}
-				
-				entry = entry.next;
-			}
-		} else { //ne postoji zapis
-			TableEntry<K, V> entry = this.table[slot];
+		TableEntry<K, V> entry = this.findInSlot(bucketTable, slot, hash, key);
+		if(entry != null) { //postoji zapis, zamijeni vrijednost i vrati staru
+			V oldValue = entry.value;
+			entry.value = value;
+			this.afterUpdate(entry);
 			
-			if(entry == null) { //ne postoji nista u trenutnom slotu, kreiraj novi zapis i vrati null
-				this.table[slot] = new TableEntry<K, V>(key, value, null);
-				this.size++;
-				this.modificationCount++;
-				
-				return null;
-			} else {			
-				while(entry.next != null) entry = entry.next; //postoji nesto u trenutnom slotu, dodaj ga na kraj i vrati null
-				
-				entry.next = new TableEntry<K, V>(key, value, null);
-				this.size++;
-				this.modificationCount++;
-				
-				return null;
-			}
+			return oldValue;
 		}
 		
+		this.addEntry(bucketTable, slot, this.slotTail, hash, key, value);
 		return null;
 	}
 	
 	/**
-	 * Fetches the value for the provided {@code key} from the table.
+	 * Inserts a new {@code TableEntry} with the provided {@code key} and {@code value}
+	 * into the current table only if there is no entry with the provided {@code key}.
 	 * 
-	 * @param key the key for which we want to know the value.
-	 * @return the value for the provided key if it exists, {@code null} otherwise.
+	 * @param key the key of the new entry.
+	 * @param value the value of the new entry.
+	 * @return the value of the existing entry for the provided key if it existed, {@code null} otherwise.
+	 * @throws NullPointerException when the provided {@code key} is {@code null}.
 	 */
-	public V get(Object key) {
-		if(key == null) return null;
+	public V putIfAbsent(K key, V value) {
+		if(key == null) throw new NullPointerException("The provided key must not be null.");
 		
-		int slot = this.slot(key);
-		TableEntry<K, V> entry = this.table[slot];
+		int hash = Hashing.spread(key.hashCode());
+		TableEntry<K, V>[] bucketTable = this.tableFor(hash);
+		int slot = slotFor(hash, bucketTable.length);
 		
-		while(entry != null) {
-			if(entry.key.equals(key)) return entry.value;
-			entry = entry.next;
+		TableEntry<K, V> entry = this.findInSlot(bucketTable, slot, hash, key);
+		if(entry != null) {
+			this.afterAccess(entry);
+			return entry.value;
 		}
 		
+		this.addEntry(bucketTable, slot, this.slotTail, hash, key, value);
 		return null;
 	}
 	
+	/**
+	 * Fetches the value for the provided {@code key} or, if there is no entry with that key,
+	 * computes the value with the provided {@code mappingFunction} and inserts it into the table.
+	 * If the computed value is {@code null}, no entry is inserted.
+	 * 
+	 * @param key the key of the entry.
+	 * @param mappingFunction the function which computes the value for a missing key.
+	 * @return the existing or the computed value for the provided key.
+	 * @throws NullPointerException when the provided {@code key} or {@code mappingFunction} is {@code null}.
+	 * @throws ConcurrentModificationException when the {@code mappingFunction} modifies the table.
+	 */
+	public V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
+		if(key == null) throw new NullPointerException("The provided key must not be null.");
+		if(mappingFunction == null) throw new NullPointerException("The provided mapping function must not be null.");
+		
+		int hash = Hashing.spread(key.hashCode());
+		TableEntry<K, V>[] bucketTable = this.tableFor(hash);
+		int slot = slotFor(hash, bucketTable.length);
+		
+		TableEntry<K, V> entry = this.findInSlot(bucketTable, slot, hash, key);
+		if(entry != null) {
+			this.afterAccess(entry);
+			return entry.value;
+		}
+		
+		TableEntry<K, V> tail = this.slotTail; //funkcija smije citati tablicu i time promijeniti slotTail
+		int savedModificationCount = this.modificationCount;
+		V value = mappingFunction.apply(key);
+		if(savedModificationCount != this.modificationCount) throw CollectionMetrics.concurrentModification("The hashtable has been modified by the mapping function.");
+		
+		if(value != null) this.addEntry(bucketTable, slot, tail, hash, key, value);
+		return value;
+	}
+	
+	/**
+	 * Inserts a new {@code TableEntry} with the provided {@code key} and {@code value} if there
+	 * is no entry with that key, or an entry mapped to {@code null}. Otherwise the value of the entry is
+	 * replaced with the result of the provided {@code remappingFunction} applied to the old and the provided
+	 * value, and the entry is removed if that result is {@code null}.
+	 * 
+	 * @param key the key of the entry.
+	 * @param value the value which is inserted or combined with the existing value.
+	 * @param remappingFunction the function which combines the existing and the provided value.
+	 * @return the new value for the provided key, {@code null} if the entry was removed.
+	 * @throws NullPointerException when the provided {@code key}, {@code value} or {@code remappingFunction} is {@code null}.
+	 * @throws ConcurrentModificationException when the {@code remappingFunction} modifies the table.
+	 */
+	public V merge(K key, V value, BiFunction<? super V, ? super V, ? extends V> remappingFunction) {
+		if(key == null) throw new NullPointerException("The provided key must not be null.");
+		if(value == null) throw new NullPointerException("The provided value must not be null.");
+		if(remappingFunction == null) throw new NullPointerException("The provided remapping function must not be null.");
+		
+		int hash = Hashing.spread(key.hashCode());
+		TableEntry<K, V>[] bucketTable = this.tableFor(hash);
+		int slot = slotFor(hash, bucketTable.length);
+		
+		TableEntry<K, V> entry = this.findInSlot(bucketTable, slot, hash, key);
+		if(entry == null) {
+			this.addEntry(bucketTable, slot, this.slotTail, hash, key, value);
+			return value;
+		}
+		
+		if(entry.value == null) {
+			entry.value = value;
+			this.afterUpdate(entry);
+			return value;
+		}
+		
+		TableEntry<K, V> previous = this.slotPrevious; //funkcija smije citati tablicu i time promijeniti slotPrevious
+		int savedModificationCount = this.modificationCount;
+		V newValue = remappingFunction.apply(entry.value, value);
+		if(savedModificationCount != this.modificationCount) throw CollectionMetrics.concurrentModification("The hashtable has been modified by the remapping function.");
+		
+		if(newValue != null) {
+			entry.value = newValue;
+			this.afterUpdate(entry);
+		} else {
+			this.unlink(bucketTable, slot, previous, entry);
+			this.migrate();
+		}
+		
+		return newValue;
+	}
+	
+	/**
+	 * Fetches the value for the provided {@code key} from the table.
+	 * 
+	 * @param key the key for which we want to know the value.
+	 * @return the value for the provided key if it exists, {@code null} otherwise.
+	 */
+	public V get(Object key) {
+		TableEntry<K, V> entry = this.findEntry(key);
+		if(entry == null) return null;
+		
+		this.afterAccess(entry);
+		return entry.value;
+	}
+	
 	/**
 	 * Determines the size of the current table, calculated as the number of
 	 * key-value pairs stored in its slots.
@@ -266,16 +474,13 @@ public class SimpleHashtable<K, V> implements Iterable<SimpleHashtable.TableEntr
 	}
 	
 	/**
-	 * Checks if an entry with the provided {@code key} exists in the table.
+	 * Checks if an entry with the provided {@code key} exists in the table, regardless of its value.
 	 * 
 	 * @param key the key for which we want to know if it is contained in the table.
 	 * @return {@code true} if there is an entry with the provided key in the table, {@code false} otherwise.
 	 */
 	public boolean containsKey(Object key) {
-		if(key == null) return false;
-		
-		if(this.get(key) != null) return true;
-		return false;
+		return this.findEntry(key) != null;
 	}
 	
 	/**
@@ -285,7 +490,9 @@ public class SimpleHashtable<K, V> implements Iterable<SimpleHashtable.TableEntr
 	 * @return {@code true} if there is an entry with the provided value in the table, {@code false} otherwise.
 	 */
 	public boolean containsValue(Object value) {
-		for(TableEntry<K, V> entry : this.table) {
+		for(int slot = 0; slot < this.numberOfBuckets(); slot++) {
+			TableEntry<K, V> entry = this.bucket(slot);
+			
 			while(entry != null) {
 				if(entry.value != null) {
 					if(entry.value.equals(value)) return true;
@@ -307,41 +514,202 @@ public class SimpleHashtable<K, V> implements Iterable<SimpleHashtable.TableEntr
 	 * @return the value of the removed entry if it existed, {@code null} otherwise.
 	 */
 	public V remove(Object key) {
+		TableEntry<K, V> entry = this.removeEntry(key);
+		if(entry == null) return null;
+		
+		this.migrate();
+		return entry.value;
+	}
+	
+	/**
+	 * Finds the entry with the provided {@code key}.
+	 * 
+	 * @param key the key of the entry.
+	 * @return the entry with the provided key if it exists, {@code null} otherwise.
+	 */
+	private TableEntry<K, V> findEntry(Object key) {
 		if(key == null) return null;
-		if(!(this.containsKey(key))) return null;
 		
-		V value = null;
-		int slot = this.slot(key);
+		int hash = Hashing.spread(key.hashCode());
+		TableEntry<K, V>[] bucketTable = this.tableFor(hash);
+		return this.findInSlot(bucketTable, slotFor(hash, bucketTable.length), hash, key);
+	}
+	
+	/**
+	 * Finds the entry with the provided {@code key} in the provided slot, searching its tree bin
+	 * if the slot has been converted into a tree, or its entries one by one otherwise.
+	 * The last entry of the slot is remembered in {@code slotTail}, so that a missing key can be appended to it,
+	 * and the entry preceding a found entry in {@code slotPrevious}, so that the found entry can be unlinked.
+	 * 
+	 * @param bucketTable the backing array holding the slot of the key.
+	 * @param slot the slot of the key.
+	 * @param hash the spread hash code of the key.
+	 * @param key the key of the entry.
+	 * @return the entry with the provided key if it exists, {@code null} otherwise.
+	 */
+	private TableEntry<K, V> findInSlot(TableEntry<K, V>[] bucketTable, int slot, int hash, Object key) {
+		TreeBin<K, V> bin = this.treeBin(bucketTable, slot);
+		if(bin != null) {
+			// duljina liste se biljezi i za stablo, inace najgusci pretinci ne bi bili vidljivi
+			if(CollectionMetrics.ENABLED) CollectionMetrics.recordChainProbes(bin.size);
+			this.slotTail = bin.last.entry;
+			this.slotPrevious = null;
+			return bin.find(hash, key);
+		}
 		
-		TableEntry<K, V> entry = this.table[slot];
-		if(entry.key.equals(key)) { //na pocetku slota
-			value = entry.value;
-			
-			this.table[slot] = entry.next;
-			this.size--;
-			this.modificationCount++;
-			
-			return value;
-
-		} else { //nije na pocetku slota
-			TableEntry<K, V> previous;
-			
-			while(entry.next != null) {
-				previous = entry;
-				entry = entry.next;
-				
-				if(entry.key.equals(key)) {
-					value = entry.value;
-					previous.next = entry.next;
-					
-					this.size--;
-					this.modificationCount++;
-					break;
-				}
+		int probes = 0;
+		TableEntry<K, V> last = null;
+		for(TableEntry<K, V> entry = bucketTable[slot]; entry != null; last = entry, entry = entry.next) {
+			probes++;
+			if(entry.hash == hash && entry.key.equals(key)) {
+				if(CollectionMetrics.ENABLED) CollectionMetrics.recordChainProbes(probes);
+				this.slotPrevious = last;
+				return entry;
 			}
-			
-			return value;
 		}
+		
+		if(CollectionMetrics.ENABLED) CollectionMetrics.recordChainProbes(probes);
+		this.slotTail = last;
+		return null;
+	}
+	
+	/**
+	 * Inserts a new entry at the end of the provided slot and, since the number of entries
+	 * has changed, advances an incremental resize and checks whether the table should grow.
+	 * 
+	 * @param bucketTable the backing array holding the slot of the key.
+	 * @param slot the slot of the key.
+	 * @param tail the last entry of the slot found by {@code findInSlot()}, {@code null} if the slot is empty.
+	 * @param hash the spread hash code of the key.
+	 * @param key the key of the new entry.
+	 * @param value the value of the new entry.
+	 */
+	private void addEntry(TableEntry<K, V>[] bucketTable, int slot, TableEntry<K, V> tail, int hash, K key, V value) {
+		TableEntry<K, V> entry = this.createEntry(hash, key, value, null);
+		if(tail == null) bucketTable[slot] = entry;
+		else tail.next = entry;
+		
+		TreeBin<K, V> bin = this.treeBin(bucketTable, slot);
+		if(bin != null) {
+			bin.addLast(entry);
+		} else if(chainLength(bucketTable[slot], TREEIFY_THRESHOLD) == TREEIFY_THRESHOLD) {
+			this.treeify(bucketTable, slot);
+		}
+		
+		this.size++;
+		this.modificationCount++;
+		
+		this.migrate();
+		this.checkOverfill();
+		this.afterInsert(entry);
+	}
+	
+	/**
+	 * Removes an entry with the provided {@code key} from the table without advancing an
+	 * incremental resize, so that the remaining entries stay in their slots.
+	 * 
+	 * @param key the key of the entry which we want to remove.
+	 * @return the removed entry if it existed, {@code null} otherwise.
+	 */
+	private TableEntry<K, V> removeEntry(Object key) {
+		if(key == null) return null;
+		
+		int hash = Hashing.spread(key.hashCode());
+		TableEntry<K, V>[] bucketTable = this.tableFor(hash);
+		int slot = slotFor(hash, bucketTable.length);
+		
+		TreeBin<K, V> bin = this.treeBin(bucketTable, slot);
+		if(bin != null) {
+			TableEntry<K, V> entry = bin.find(hash, key);
+			if(entry != null) this.unlink(bucketTable, slot, null, entry);
+			return entry;
+		}
+		
+		TableEntry<K, V> previous = null;
+		for(TableEntry<K, V> entry = bucketTable[slot]; entry != null; previous = entry, entry = entry.next) {
+			if(entry.hash == hash && entry.key.equals(key)) {
+				this.unlink(bucketTable, slot, previous, entry);
+				return entry;
+			}
+		}
+		
+		return null;
+	}
+	
+	/**
+	 * Removes the provided {@code entry} from its slot. A tree bin which becomes small enough
+	 * is dropped, leaving the entries of the slot in their list.
+	 * 
+	 * @param bucketTable the backing array holding the slot of the entry.
+	 * @param slot the slot of the entry.
+	 * @param previous the entry preceding the removed entry in the slot, {@code null} if it is the first one
+	 * or if the slot has been converted into a tree.
+	 * @param entry the entry which is to be removed.
+	 */
+	private void unlink(TableEntry<K, V>[] bucketTable, int slot, TableEntry<K, V> previous, TableEntry<K, V> entry) {
+		TreeBin<K, V> bin = this.treeBin(bucketTable, slot);
+		if(bin != null) {
+			bucketTable[slot] = bin.remove(entry);
+			if(bin.size <= UNTREEIFY_THRESHOLD) this.treeBinsOf(bucketTable)[slot] = null;
+		} else if(previous == null) { //na pocetku slota
+			bucketTable[slot] = entry.next;
+		} else {
+			previous.next = entry.next;
+		}
+		
+		this.size--;
+		this.modificationCount++;
+		this.afterRemove(entry);
+	}
+	
+	/**
+	 * Creates a new entry for the table. Subclasses can override this method to store
+	 * additional bookkeeping in their own subclass of {@code TableEntry}.
+	 * 
+	 * @param hash the spread hash code of the key, which the entry has to store.
+	 * @param key the key of the new entry.
+	 * @param value the value of the new entry.
+	 * @param next the entry which follows the new entry in its slot.
+	 * @return the new entry.
+	 */
+	protected TableEntry<K, V> createEntry(int hash, K key, V value, TableEntry<K, V> next) {
+		return new TableEntry<K, V>(hash, key, value, next);
+	}
+	
+	/**
+	 * Called after an existing entry has been read by {@code get()}, {@code putIfAbsent()} or
+	 * {@code computeIfAbsent()}. Does nothing by default.
+	 * 
+	 * @param entry the accessed entry.
+	 */
+	protected void afterAccess(TableEntry<K, V> entry) {
+	}
+	
+	/**
+	 * Called after the value of an existing entry has been replaced by {@code put()} or {@code merge()}.
+	 * Does nothing by default.
+	 * 
+	 * @param entry the updated entry.
+	 */
+	protected void afterUpdate(TableEntry<K, V> entry) {
+	}
+	
+	/**
+	 * Called after a new entry has been inserted and the table has possibly grown. The table may be
+	 * modified from this method, for example to evict other entries. Does nothing by default.
+	 * 
+	 * @param entry the inserted entry.
+	 */
+	protected void afterInsert(TableEntry<K, V> entry) {
+	}
+	
+	/**
+	 * Called after an entry has been removed from the table, except by {@code clear()}.
+	 * Does nothing by default.
+	 * 
+	 * @param entry the removed entry.
+	 */
+	protected void afterRemove(TableEntry<K, V> entry) {
 	}
 	
 	/**
@@ -362,7 +730,9 @@ public class SimpleHashtable<K, V> implements Iterable<SimpleHashtable.TableEntr
 		
 		sb.append("[");
 		
-		for(TableEntry<K, V> entry : this.table) {
+		for(int slot = 0; slot < this.numberOfBuckets(); slot++) {
+			TableEntry<K, V> entry = this.bucket(slot);
+			
 			while(entry != null) {
 				sb.append(entry.key.toString());
 				sb.append("=");
@@ -395,7 +765,9 @@ public class SimpleHashtable<K, V> implements Iterable<SimpleHashtable.TableEntr
 		TableEntry<K, V>[] array = (TableEntry<K, V>[])new TableEntry[this.size];
 		
 		int index = 0;
-		for(TableEntry<K, V> entry : this.table) {
+		for(int slot = 0; slot < this.numberOfBuckets(); slot++) {
+			TableEntry<K, V> entry = this.bucket(slot);
+			
 			while(entry != null) {
 				array[index++] = entry;
 				entry = entry.next;
@@ -412,19 +784,117 @@ public class SimpleHashtable<K, V> implements Iterable<SimpleHashtable.TableEntr
 		for(int i = 0; i < this.table.length; i++) {
 			this.table[i] = null;
 		}
+		this.oldTable = null;
+		this.treeBins = null;
+		this.oldTreeBins = null;
+		this.migrationIndex = 0;
 		this.size = 0;
 		this.modificationCount++;
 	}
 	
 	/**
-	 * Calculates the smallest power of two that is bigger than or equal to the provided {@code number}.
+	 * Writes a binary snapshot of the table into the provided file, which can be read again by {@code load()}.
+	 * The snapshot starts with the magic number, the number of slots of the table and the number of entries,
+	 * followed by the entries, each stored as its spread hash code, the length and the bytes of its key and
+	 * the length and the bytes of its value (-1 for a {@code null} value). Storing the hash codes lets
+	 * {@code load()} place every entry into its slot without calling {@code hashCode()} again.
+	 * 
+	 * @param file the file which the snapshot is written to; an existing file is overwritten.
+	 * @param keyCodec the codec converting the keys to bytes.
+	 * @param valueCodec the codec converting the values to bytes.
+	 * @throws IOException when the file cannot be written.
+	 * @throws NullPointerException when the provided {@code file} or either of the codecs is {@code null}.
+	 */
+	public void save(Path file, BinaryCodec<? super K> keyCodec, BinaryCodec<? super V> valueCodec) throws IOException {
+		if(file == null) throw new NullPointerException("The provided file must not be null.");
+		if(keyCodec == null || valueCodec == null) throw new NullPointerException("The provided codecs must not be null.");
+		
+		try(DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file), 1 << 16))) {
+			out.writeInt(SNAPSHOT_MAGIC);
+			out.writeInt(this.table.length);
+			out.writeInt(this.size);
+			
+			for(int slot = 0; slot < this.numberOfBuckets(); slot++) {
+				for(TableEntry<K, V> entry = this.bucket(slot); entry != null; entry = entry.next) {
+					out.writeInt(entry.hash);
+					
+					byte[] key = keyCodec.encode(entry.key);
+					out.writeInt(key.length);
+					out.write(key);
+					
+					if(entry.value == null) {
+						out.writeInt(-1);
+					} else {
+						byte[] value = valueCodec.encode(entry.value);
+						out.writeInt(value.length);
+						out.write(value);
+					}
+				}
+			}
+		}
+	}
+	
+	/**
+	 * Reads a table from a snapshot written by {@code save()}. The file is memory-mapped and every entry is
+	 * linked straight into the slot given by its stored hash code, so neither {@code hashCode()} nor
+	 * {@code equals()} of the keys is called and the table is never resized while loading.
+	 * Since the hash codes are not recomputed, the keys have to have the same hash codes in every run
+	 * of the program, which holds for strings and boxed primitive values, but not for identity hash codes.
+	 * 
+	 * @param <K> type of a key object in the table.
+	 * @param <V> type of a value object in the table.
+	 * @param file the file holding the snapshot.
+	 * @param keyCodec the codec converting bytes to keys.
+	 * @param valueCodec the codec converting bytes to values.
+	 * @return the table read from the snapshot.
+	 * @throws IOException when the file cannot be read or is not a valid snapshot.
+	 * @throws NullPointerException when the provided {@code file} or either of the codecs is {@code null}.
+	 */
+	public static <K, V> SimpleHashtable<K, V> load(Path file, BinaryCodec<K> keyCodec, BinaryCodec<V> valueCodec) throws IOException {
+		if(file == null) throw new NullPointerException("The provided file must not be null.");
+		if(keyCodec == null || valueCodec == null) throw new NullPointerException("The provided codecs must not be null.");
+		
+		try(FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			MappedInput in = new MappedInput(channel);
+			if(in.readInt() != SNAPSHOT_MAGIC) throw new IOException("The file is not a hashtable snapshot.");
+			
+			int length = in.readInt();
+			int size = in.readInt();
+			if(length < 1 || Integer.bitCount(length) != 1 || length > MAXIMUM_NUMBER_OF_SLOTS || size < 0) {
+				throw new IOException("The snapshot header is corrupted.");
+			}
+			
+			SimpleHashtable<K, V> table = new SimpleHashtable<>(length);
+			TableEntry<K, V>[] slots = table.table;
+			for(int i = 0; i < size; i++) {
+				int hash = in.readInt();
+				K key = keyCodec.decode(in.slice(in.readInt()));
+				
+				int valueLength = in.readInt();
+				V value = valueLength == -1 ? null : valueCodec.decode(in.slice(valueLength));
+				
+				int slot = slotFor(hash, length);
+				slots[slot] = new TableEntry<>(hash, key, value, slots[slot]);
+			}
+			table.size = size;
+			
+			for(int slot = 0; slot < length; slot++) {
+				if(chainLength(slots[slot], TREEIFY_THRESHOLD) == TREEIFY_THRESHOLD) table.treeify(slots, slot);
+			}
+			
+			return table;
+		}
+	}
+	
+	/**
+	 * Calculates the smallest power of two that is bigger than or equal to the provided {@code number},
+	 * but not bigger than {@code MAXIMUM_NUMBER_OF_SLOTS}.
 	 * 
 	 * @param number the number for which we want to calculate the next power of two.
 	 * @return the calculated power of two.
 	 */
-	public int nextPowerOfTwo(int number) {		
-		int numberOfSlots = (int) Math.pow(2, Math.ceil(Math.log(number) / Math.log(2)));	
-		return numberOfSlots;
+	public int nextPowerOfTwo(int number) {
+		return Math.min(Hashing.tableSizeFor(number), MAXIMUM_NUMBER_OF_SLOTS);
 	}
 	
 	/**
@@ -434,48 +904,731 @@ public class SimpleHashtable<K, V> implements Iterable<SimpleHashtable.TableEntr
 	 * @return slot of the current table for the provided key.
 	 */
 	public int slot(Object key) {
-		int slot = abs(key.hashCode() % this.table.length);
-		return slot;
+		return slotFor(Hashing.spread(key.hashCode()), this.table.length);
 	}
 	
 	/**
-	 * Checks whether the current table is filled over the percentage {@code OVERFILL_QUOTIENT}.
-	 * If it is, the capacity is multiplied by the {@code RESIZE_COEFFICIENT}.
+	 * Determines the slot that a key with the provided {@code hash} belongs to in a table
+	 * with the provided {@code length}. Since the length is always a power of two, the slot
+	 * consists of the lowest bits of the hash code.
+	 * 
+	 * @param hash the spread hash code of the key.
+	 * @param length the number of slots in the table, a power of two.
+	 * @return slot of the table for the provided hash code.
 	 */
-	@SuppressWarnings("unchecked")
-	public void checkOverfill() {
-		if(this.size / (this.table.length) >= OVERFILL_QUOTIENT) {
-			TableEntry<K, V>[] oldTable = this.toArray();
-	        this.table = (TableEntry<K, V>[])new TableEntry[this.table.length * RESIZE_COEFFICIENT];
-	        
-	        for(TableEntry<K, V> entry : oldTable) {
-	        	int slot = this.slot(entry.key);
-	        	TableEntry<K, V> currentEntry = this.table[slot];
-	        	
-	        	if(currentEntry == null) {
-	        		this.table[slot] = new TableEntry<K, V>(entry.key, entry.value);
-	        	} else {
-	        		TableEntry<K, V> tableElement = this.table[slot];
-	        		while(tableElement.next != null) tableElement = tableElement.next;
-	        		
-	        		tableElement.next = new TableEntry<K, V>(entry.key, entry.value);
-	        	}
-	        }
-	        
-	        this.modificationCount++;
-		}
+	private static int slotFor(int hash, int length) {
+		return hash & (length - 1);
 	}
 	
 	/**
-	 * Class {@code IteratorImpl} represents an implementation of an {@code Iterator}
-	 * for the {@code SimpleHashtable} class.
+	 * Determines the backing array which holds the slot for a key with the provided {@code hash}.
+	 * During an incremental resize, the keys whose slots in the old table have not been moved yet
+	 * are still stored in the old table.
 	 * 
-	 * @author Iva Maria Ivanković
-	 * @version 1.0
+	 * @param hash the spread hash code of the key.
+	 * @return the backing array holding the slot of the key.
 	 */
-	private class IteratorImpl implements Iterator<SimpleHashtable.TableEntry<K, V>> {
-
-		/**
+	private TableEntry<K, V>[] tableFor(int hash) {
+		if(this.oldTable != null && slotFor(hash, this.oldTable.length) >= this.migrationIndex) return this.oldTable;
+		return this.table;
+	}
+	
+	/**
+	 * Fetches the tree bins of the provided backing array.
+	 * 
+	 * @param bucketTable either the current or the old backing array.
+	 * @return the tree bins of the backing array, {@code null} if none of its slots has been converted into a tree.
+	 */
+	private TreeBin<K, V>[] treeBinsOf(TableEntry<K, V>[] bucketTable) {
+		return bucketTable == this.table ? this.treeBins : this.oldTreeBins;
+	}
+	
+	/**
+	 * Fetches the tree bin of the provided slot.
+	 * 
+	 * @param bucketTable the backing array holding the slot.
+	 * @param slot the slot whose tree bin is fetched.
+	 * @return the tree bin of the slot, {@code null} if the slot has not been converted into a tree.
+	 */
+	private TreeBin<K, V> treeBin(TableEntry<K, V>[] bucketTable, int slot) {
+		TreeBin<K, V>[] bins = this.treeBinsOf(bucketTable);
+		return bins == null ? null : bins[slot];
+	}
+	
+	/**
+	 * Converts the provided slot into a tree, keeping its entries in their list as well,
+	 * so that iteration and resizing do not have to know about tree bins.
+	 * 
+	 * @param bucketTable the backing array holding the slot.
+	 * @param slot the slot which is converted into a tree.
+	 */
+	@SuppressWarnings("unchecked")
+	private void treeify(TableEntry<K, V>[] bucketTable, int slot) {
+		TreeBin<K, V>[] bins = this.treeBinsOf(bucketTable);
+		if(bins == null) {
+			bins = (TreeBin<K, V>[])new TreeBin<?, ?>[bucketTable.length];
+			if(bucketTable == this.table) this.treeBins = bins;
+			else this.oldTreeBins = bins;
+		}
+		
+		bins[slot] = new TreeBin<>(bucketTable[slot]);
+	}
+	
+	/**
+	 * Counts the entries in the list starting with the provided entry, stopping at {@code limit}.
+	 * 
+	 * @param entry the first entry of the list.
+	 * @param limit the largest count which is of interest.
+	 * @return the number of entries in the list, or {@code limit} if there are more of them.
+	 */
+	private static <K, V> int chainLength(TableEntry<K, V> entry, int limit) {
+		int length = 0;
+		for(; entry != null && length < limit; entry = entry.next) length++;
+		return length;
+	}
+	
+	/**
+	 * Determines the number of slots which have to be visited to reach all entries: the slots of the
+	 * current table followed, during an incremental resize, by the slots of the old table.
+	 * 
+	 * @return the number of slots holding the entries of the table.
+	 */
+	private int numberOfBuckets() {
+		return this.oldTable == null ? this.table.length : this.table.length + this.oldTable.length;
+	}
+	
+	/**
+	 * Fetches the first entry of the slot at the provided position, counting the slots of the current
+	 * table first and the slots of the old table after them.
+	 * 
+	 * @param index the position of the slot, between 0 and {@code numberOfBuckets()}-1.
+	 * @return the first entry of the slot, {@code null} if the slot is empty.
+	 */
+	private TableEntry<K, V> bucket(int index) {
+		return index < this.table.length ? this.table[index] : this.oldTable[index - this.table.length];
+	}
+	
+	/**
+	 * Checks whether the current table is filled over the percentage {@code Hashing.OVERFILL_QUOTIENT}.
+	 * If it is, the capacity is multiplied by the {@code RESIZE_COEFFICIENT}. The existing entries
+	 * are relinked into the new backing array, either all at once or, for an incrementally resized
+	 * table, a few slots at a time over the subsequent insertions and removals.
+	 */
+	@SuppressWarnings("unchecked")
+	public void checkOverfill() {
+		if((double)this.size / this.table.length < Hashing.OVERFILL_QUOTIENT) return;
+		if(this.table.length == MAXIMUM_NUMBER_OF_SLOTS) return;
+		
+		if(this.oldTable != null) { //prethodno povecanje jos nije gotovo, ubrzava se umjesto da se dovrsi odjednom
+			this.migrationStep = Math.min(2 * this.migrationStep, this.oldTable.length);
+			return;
+		}
+		if(CollectionMetrics.ENABLED) CollectionMetrics.recordHashtableResize();
+		
+		this.oldTable = this.table;
+		this.oldTreeBins = this.treeBins;
+		this.treeBins = null;
+		this.migrationIndex = 0;
+		this.table = (TableEntry<K, V>[])new TableEntry[this.table.length * RESIZE_COEFFICIENT];
+		this.modificationCount++;
+		
+		this.migrationStep = this.incrementalResize ? MIGRATION_STEP : this.oldTable.length;
+		if(!this.incrementalResize) this.migrate();
+	}
+	
+	/**
+	 * Moves the entries of up to {@code migrationStep} slots of the old table into the current table,
+	 * if an incremental resize is in progress. The entries are relinked, not copied, and keep their order.
+	 * An old slot is split only among the slots {@code migrationIndex + k * oldTable.length}, which stay
+	 * empty until it is moved, so each entry is appended to the last entry moved into its new slot.
+	 */
+	@SuppressWarnings("unchecked")
+	private void migrate() {
+		if(this.oldTable == null) return;
+		
+		TableEntry<K, V>[] tails = (TableEntry<K, V>[])new TableEntry<?, ?>[RESIZE_COEFFICIENT];
+		int end = Math.min(this.migrationIndex + this.migrationStep, this.oldTable.length);
+		for(; this.migrationIndex < end; this.migrationIndex++) {
+			TableEntry<K, V> entry = this.oldTable[this.migrationIndex];
+			this.oldTable[this.migrationIndex] = null;
+			Arrays.fill(tails, null);
+			
+			while(entry != null) {
+				TableEntry<K, V> next = entry.next;
+				int slot = slotFor(entry.hash, this.table.length);
+				int target = slot / this.oldTable.length;
+				
+				entry.next = null;
+				if(tails[target] == null) this.table[slot] = entry;
+				else tails[target].next = entry;
+				tails[target] = entry;
+				
+				entry = next;
+			}
+			
+			if(this.oldTreeBins != null && this.oldTreeBins[this.migrationIndex] != null) {
+				//zapisi stabla dijele se na slotove s istim nizim bitovima sazetka
+				this.oldTreeBins[this.migrationIndex] = null;
+				for(int slot = this.migrationIndex; slot < this.table.length; slot += this.oldTable.length) {
+					if(chainLength(this.table[slot], UNTREEIFY_THRESHOLD + 1) > UNTREEIFY_THRESHOLD) this.treeify(this.table, slot);
+				}
+			}
+		}
+		
+		if(this.migrationIndex == this.oldTable.length) {
+			this.oldTable = null;
+			this.oldTreeBins = null;
+			this.migrationIndex = 0;
+		}
+	}
+	
+	/**
+	 * Class {@code TreeBin} represents a slot of the table holding so many entries that they are also kept
+	 * in a left-leaning red-black tree, which bounds a lookup in the slot to O(log n) comparisons. The entries
+	 * are ordered by their hash codes, then by the names of the classes of their keys, then, for keys of
+	 * the same {@code Comparable} class, by their natural order, and finally by the order of insertion.
+	 * Keys which are not comparable and have equal hash codes can therefore be found only by searching both
+	 * subtrees, but keys chosen to collide on purpose, such as strings, are comparable.
+	 * <p>
+	 * The entries of the slot stay linked through their {@code next} references, in the same order as before
+	 * the conversion, and the nodes of the tree are linked in that order too, so that an entry can be
+	 * removed from the list without searching for its predecessor.
+	 * 
+	 * @author Iva Maria Ivanković
+	 * @version 1.0
+	 *
+	 * @param <K> type of a key object in the table.
+	 * @param <V> type of a value object in the table.
+	 */
+	private static final class TreeBin<K, V> {
+		
+		/**
+		 * Class {@code Node} represents a node of the tree holding a single entry.
+		 * 
+		 * @author Iva Maria Ivanković
+		 * @version 1.0
+		 */
+		private static final class Node<K, V> {
+			
+			/**
+			 * The entry of the node.
+			 */
+			private final TableEntry<K, V> entry;
+			
+			/**
+			 * The insertion number of the node, which orders entries that are otherwise equal.
+			 */
+			private final long sequence;
+			
+			/**
+			 * The left and the right child of the node.
+			 */
+			private Node<K, V> left, right;
+			
+			/**
+			 * Indicates whether the link from the parent to the node is red.
+			 */
+			private boolean red;
+			
+			/**
+			 * The nodes of the preceding and the following entry in the list of the slot.
+			 */
+			private Node<K, V> previous, next;
+			
+			/**
+			 * Creates a red node for the provided entry.
+			 * 
+			 * @param entry the entry of the node.
+			 * @param sequence the insertion number of the node.
+			 */
+			private Node(TableEntry<K, V> entry, long sequence) {
+				this.entry = entry;
+				this.sequence = sequence;
+				this.red = true;
+			}
+		}
+		
+		/**
+		 * The root of the tree.
+		 */
+		private Node<K, V> root;
+		
+		/**
+		 * The node of the first entry in the list of the slot.
+		 */
+		private Node<K, V> first;
+		
+		/**
+		 * The node of the last entry in the list of the slot.
+		 */
+		private Node<K, V> last;
+		
+		/**
+		 * The number of entries in the slot.
+		 */
+		private int size;
+		
+		/**
+		 * The insertion number of the next node.
+		 */
+		private long nextSequence;
+		
+		/**
+		 * The class of the first key inserted into the bin.
+		 */
+		private Class<?> keyClass;
+		
+		/**
+		 * Indicates whether keys of more than one class have been inserted into the bin. Such keys are placed
+		 * by the names of their classes, so the natural order of the keys can no longer steer a search.
+		 */
+		private boolean mixedKeyClasses;
+		
+		/**
+		 * Creates a tree bin holding the entries of the list starting with the provided entry.
+		 * 
+		 * @param head the first entry of the slot.
+		 */
+		private TreeBin(TableEntry<K, V> head) {
+			Node<K, V> last = null;
+			for(TableEntry<K, V> entry = head; entry != null; entry = entry.next) {
+				Node<K, V> node = new Node<>(entry, this.nextSequence++);
+				if(last == null) this.first = node;
+				else last.next = node;
+				node.previous = last;
+				last = node;
+				
+				this.insert(node);
+			}
+			this.last = last;
+		}
+		
+		/**
+		 * Finds the entry with the provided key.
+		 * 
+		 * @param hash the spread hash code of the key.
+		 * @param key the key of the entry.
+		 * @return the entry with the provided key if it exists, {@code null} otherwise.
+		 */
+		private TableEntry<K, V> find(int hash, Object key) {
+			Node<K, V> node = find(this.root, hash, key, !this.mixedKeyClasses);
+			return node == null ? null : node.entry;
+		}
+		
+		/**
+		 * Adds the provided entry, which has just become the last entry in the list of the slot.
+		 * 
+		 * @param entry the new last entry of the slot.
+		 */
+		private void addLast(TableEntry<K, V> entry) {
+			Node<K, V> node = new Node<>(entry, this.nextSequence++);
+			node.previous = this.last;
+			if(this.last != null) this.last.next = node;
+			else this.first = node;
+			this.last = node;
+			
+			this.insert(node);
+		}
+		
+		/**
+		 * Removes the provided entry from the tree and from the list of the slot.
+		 * 
+		 * @param entry the entry which is removed, it has to be in the slot.
+		 * @return the first entry of the slot after the removal, {@code null} if the slot is empty.
+		 */
+		private TableEntry<K, V> remove(TableEntry<K, V> entry) {
+			Node<K, V> node = find(this.root, entry.hash, entry.key, !this.mixedKeyClasses);
+			
+			if(node.previous == null) {
+				this.first = node.next;
+			} else {
+				node.previous.next = node.next;
+				node.previous.entry.next = entry.next;
+			}
+			if(node.next != null) node.next.previous = node.previous;
+			else this.last = node.previous;
+			
+			if(!isRed(this.root.left) && !isRed(this.root.right)) this.root.red = true;
+			this.root = this.delete(this.root, node);
+			if(this.root != null) this.root.red = false;
+			this.size--;
+			
+			return this.first == null ? null : this.first.entry;
+		}
+		
+		/**
+		 * Inserts the provided node into the tree.
+		 * 
+		 * @param node the inserted node.
+		 */
+		private void insert(Node<K, V> node) {
+			Class<?> keyClass = node.entry.key.getClass();
+			if(this.keyClass == null) this.keyClass = keyClass;
+			else if(this.keyClass != keyClass) this.mixedKeyClasses = true;
+			
+			this.root = insert(this.root, node);
+			this.root.red = false;
+			this.size++;
+		}
+		
+		/**
+		 * Finds the node with the provided key in the subtree with the provided root. The hash codes always
+		 * steer the search. The natural order of the keys steers it only if {@code ordered} is set, that is
+		 * if all keys in the bin are of the same class; a key of another class equal to the searched key could
+		 * otherwise have been placed by the order of class names into the subtree which would be skipped.
+		 * Keys with equal hash codes which cannot be ordered make the search look into both subtrees.
+		 * 
+		 * @param node the root of the subtree.
+		 * @param hash the spread hash code of the key.
+		 * @param key the key of the entry.
+		 * @param ordered whether the natural order of the keys can be used to choose a subtree.
+		 * @return the node with the provided key if it exists, {@code null} otherwise.
+		 */
+		private static <K, V> Node<K, V> find(Node<K, V> node, int hash, Object key, boolean ordered) {
+			while(node != null) {
+				TableEntry<K, V> entry = node.entry;
+				
+				if(hash != entry.hash) {
+					node = hash < entry.hash ? node.left : node.right;
+					continue;
+				}
+				if(entry.key == key || entry.key.equals(key)) return node;
+				
+				if(node.left == null) {
+					node = node.right;
+				} else if(node.right == null) {
+					node = node.left;
+				} else {
+					int comparison = ordered ? compareComparable(key, entry.key) : 0;
+					if(comparison != 0) {
+						node = comparison < 0 ? node.left : node.right;
+					} else { //kljucevi se ne mogu usporediti, trazi u oba podstabla
+						Node<K, V> found = find(node.right, hash, key, ordered);
+						if(found != null) return found;
+						
+						node = node.left;
+					}
+				}
+			}
+			
+			return null;
+		}
+		
+		/**
+		 * Compares the provided nodes by the order of the tree, in which no two nodes are equal.
+		 * 
+		 * @param first the first node.
+		 * @param second the second node.
+		 * @return a negative number, zero or a positive number if the first node comes before, is the same as
+		 * or comes after the second node.
+		 */
+		private static <K, V> int compare(Node<K, V> first, Node<K, V> second) {
+			int comparison = Integer.compare(first.entry.hash, second.entry.hash);
+			if(comparison == 0) comparison = compareKeys(first.entry.key, second.entry.key);
+			if(comparison == 0) comparison = Long.compare(first.sequence, second.sequence);
+			return comparison;
+		}
+		
+		/**
+		 * Compares the provided keys for placing a new node: by the names of their classes and, for keys
+		 * of the same {@code Comparable} class, by their natural order. The order by class names is only
+		 * a tie-break for insertion, {@code find()} never relies on it and stops relying on the natural order
+		 * once keys of different classes share the bin.
+		 * 
+		 * @param first the first key.
+		 * @param second the second key.
+		 * @return the result of the comparison, zero if the keys cannot be ordered.
+		 */
+		private static int compareKeys(Object first, Object second) {
+			Class<?> firstClass = first.getClass();
+			Class<?> secondClass = second.getClass();
+			if(firstClass != secondClass) return firstClass.getName().compareTo(secondClass.getName());
+			
+			return compareComparable(first, second);
+		}
+		
+		/**
+		 * Compares the provided keys by their natural order if they are of the same {@code Comparable} class.
+		 * 
+		 * @param first the first key.
+		 * @param second the second key.
+		 * @return the result of the comparison, zero if the keys are of different classes or cannot be ordered.
+		 */
+		@SuppressWarnings({"unchecked", "rawtypes"})
+		private static int compareComparable(Object first, Object second) {
+			if(first.getClass() != second.getClass() || !(first instanceof Comparable)) return 0;
+			
+			try {
+				return ((Comparable)first).compareTo(second);
+			} catch(ClassCastException ex) { //usporediv s nekim drugim razredom
+				return 0;
+			}
+		}
+		
+		/**
+		 * Inserts the provided node into the subtree with the provided root.
+		 * 
+		 * @param root the root of the subtree.
+		 * @param node the inserted node.
+		 * @return the root of the subtree after the insertion.
+		 */
+		private static <K, V> Node<K, V> insert(Node<K, V> root, Node<K, V> node) {
+			if(root == null) return node;
+			
+			if(compare(node, root) < 0) root.left = insert(root.left, node);
+			else root.right = insert(root.right, node);
+			
+			return balance(root);
+		}
+		
+		/**
+		 * Deletes the provided node from the subtree with the provided root.
+		 * 
+		 * @param root the root of the subtree, which contains the node.
+		 * @param node the deleted node.
+		 * @return the root of the subtree after the deletion.
+		 */
+		private Node<K, V> delete(Node<K, V> root, Node<K, V> node) {
+			if(compare(node, root) < 0) {
+				if(!isRed(root.left) && !isRed(root.left.left)) root = moveRedLeft(root);
+				root.left = this.delete(root.left, node);
+				return balance(root);
+			}
+			
+			if(isRed(root.left)) root = rotateRight(root);
+			if(root == node && root.right == null) return null;
+			if(!isRed(root.right) && !isRed(root.right.left)) root = moveRedRight(root);
+			
+			if(root == node) { //na mjesto cvora dolazi najmanji cvor desnog podstabla
+				Node<K, V> successor = root.right;
+				while(successor.left != null) successor = successor.left;
+				
+				successor.right = deleteMin(root.right);
+				successor.left = root.left;
+				successor.red = root.red;
+				root = successor;
+			} else {
+				root.right = this.delete(root.right, node);
+			}
+			
+			return balance(root);
+		}
+		
+		/**
+		 * Deletes the smallest node from the subtree with the provided root.
+		 * 
+		 * @param root the root of the subtree.
+		 * @return the root of the subtree after the deletion.
+		 */
+		private static <K, V> Node<K, V> deleteMin(Node<K, V> root) {
+			if(root.left == null) return null;
+			
+			if(!isRed(root.left) && !isRed(root.left.left)) root = moveRedLeft(root);
+			root.left = deleteMin(root.left);
+			return balance(root);
+		}
+		
+		/**
+		 * Restores the invariants of a left-leaning red-black tree at the provided node.
+		 * 
+		 * @param node the node which is balanced.
+		 * @return the node which takes its place.
+		 */
+		private static <K, V> Node<K, V> balance(Node<K, V> node) {
+			if(isRed(node.right) && !isRed(node.left)) node = rotateLeft(node);
+			if(isRed(node.left) && isRed(node.left.left)) node = rotateRight(node);
+			if(isRed(node.left) && isRed(node.right)) flipColors(node);
+			return node;
+		}
+		
+		/**
+		 * Makes the left child of the provided node or one of its children red.
+		 * 
+		 * @param node the node whose left child is black, like the left child of that child.
+		 * @return the node which takes its place.
+		 */
+		private static <K, V> Node<K, V> moveRedLeft(Node<K, V> node) {
+			flipColors(node);
+			if(isRed(node.right.left)) {
+				node.right = rotateRight(node.right);
+				node = rotateLeft(node);
+				flipColors(node);
+			}
+			return node;
+		}
+		
+		/**
+		 * Makes the right child of the provided node or one of its children red.
+		 * 
+		 * @param node the node whose right child is black, like the left child of that child.
+		 * @return the node which takes its place.
+		 */
+		private static <K, V> Node<K, V> moveRedRight(Node<K, V> node) {
+			flipColors(node);
+			if(isRed(node.left.left)) {
+				node = rotateRight(node);
+				flipColors(node);
+			}
+			return node;
+		}
+		
+		/**
+		 * Rotates the provided node to the left.
+		 * 
+		 * @param node the node whose right child is red.
+		 * @return the right child, which takes the place of the node.
+		 */
+		private static <K, V> Node<K, V> rotateLeft(Node<K, V> node) {
+			Node<K, V> child = node.right;
+			node.right = child.left;
+			child.left = node;
+			child.red = node.red;
+			node.red = true;
+			return child;
+		}
+		
+		/**
+		 * Rotates the provided node to the right.
+		 * 
+		 * @param node the node whose left child is red.
+		 * @return the left child, which takes the place of the node.
+		 */
+		private static <K, V> Node<K, V> rotateRight(Node<K, V> node) {
+			Node<K, V> child = node.left;
+			node.left = child.right;
+			child.right = node;
+			child.red = node.red;
+			node.red = true;
+			return child;
+		}
+		
+		/**
+		 * Inverts the colors of the provided node and its children.
+		 * 
+		 * @param node the node whose children are both present.
+		 */
+		private static <K, V> void flipColors(Node<K, V> node) {
+			node.red = !node.red;
+			node.left.red = !node.left.red;
+			node.right.red = !node.right.red;
+		}
+		
+		/**
+		 * Checks whether the link to the provided node is red.
+		 * 
+		 * @param node the node, possibly {@code null}.
+		 * @return {@code true} if the node exists and is red, {@code false} otherwise.
+		 */
+		private static <K, V> boolean isRed(Node<K, V> node) {
+			return node != null && node.red;
+		}
+		
+	}
+	
+	/**
+	 * Class {@code MappedInput} represents a reader of a file which maps the file into memory in windows of
+	 * up to {@code WINDOW_SIZE} bytes, so that files bigger than a single buffer can be read as well.
+	 * 
+	 * @author Iva Maria Ivanković
+	 * @version 1.0
+	 */
+	private static final class MappedInput {
+		
+		/**
+		 * The largest number of bytes mapped at once.
+		 */
+		private static final int WINDOW_SIZE = 1 << 30;
+		
+		/**
+		 * The channel of the file.
+		 */
+		private final FileChannel channel;
+		
+		/**
+		 * The size of the file.
+		 */
+		private final long fileSize;
+		
+		/**
+		 * The position in the file where the current window starts.
+		 */
+		private long windowStart;
+		
+		/**
+		 * The current window.
+		 */
+		private MappedByteBuffer window;
+		
+		/**
+		 * Creates a reader positioned at the beginning of the file.
+		 * 
+		 * @param channel the channel of the file.
+		 * @throws IOException when the file cannot be mapped.
+		 */
+		private MappedInput(FileChannel channel) throws IOException {
+			this.channel = channel;
+			this.fileSize = channel.size();
+			this.windowStart = 0;
+			this.window = channel.map(FileChannel.MapMode.READ_ONLY, 0, Math.min(WINDOW_SIZE, this.fileSize));
+		}
+		
+		/**
+		 * Reads the next four bytes as an integer.
+		 * 
+		 * @return the read integer.
+		 * @throws IOException when the file ends or cannot be mapped.
+		 */
+		private int readInt() throws IOException {
+			this.ensure(Integer.BYTES);
+			return this.window.getInt();
+		}
+		
+		/**
+		 * Fetches the next {@code length} bytes without copying them.
+		 * 
+		 * @param length the number of bytes.
+		 * @return a buffer whose remaining bytes are the next {@code length} bytes of the file.
+		 * @throws IOException when the file ends or cannot be mapped.
+		 */
+		private ByteBuffer slice(int length) throws IOException {
+			if(length < 0) throw new IOException("The snapshot is corrupted.");
+			this.ensure(length);
+			
+			ByteBuffer slice = this.window.slice();
+			slice.limit(length);
+			this.window.position(this.window.position() + length);
+			return slice;
+		}
+		
+		/**
+		 * Makes sure that the next {@code length} bytes are in the current window, mapping a new window
+		 * starting at the current position if they are not.
+		 * 
+		 * @param length the number of bytes.
+		 * @throws IOException when the file ends or cannot be mapped.
+		 */
+		private void ensure(int length) throws IOException {
+			if(this.window.remaining() >= length) return;
+			
+			long position = this.windowStart + this.window.position();
+			if(this.fileSize - position < length) throw new EOFException("The snapshot is truncated.");
+			
+			this.windowStart = position;
+			this.window = this.channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(Math.max(WINDOW_SIZE, length), this.fileSize - position));
+		}
+		
+	}
+	
+	/**
+	 * Class {@code IteratorImpl} represents an implementation of an {@code Iterator}
+	 * for the {@code SimpleHashtable} class.
+	 * 
+	 * @author Iva Maria Ivanković
+	 * @version 1.0
+	 */
+	private class IteratorImpl implements Iterator<SimpleHashtable.TableEntry<K, V>> {
+
+		/**
 		 * Last fetched entry from the table.
 		 */
 		private TableEntry<K, V> currentEntry;
@@ -486,7 +1639,8 @@ public class SimpleHashtable<K, V> implements Iterable<SimpleHashtable.TableEntr
 		private TableEntry<K, V> nextEntry;
 		
 		/**
-		 * The slot that the iterator is currently at.
+		 * The slot that the iterator is currently at, counting the slots of the current table
+		 * first and the slots of the old table after them.
 		 */
 		private int currentSlot;
 		
@@ -507,9 +1661,9 @@ public class SimpleHashtable<K, V> implements Iterable<SimpleHashtable.TableEntr
 			
 			while(true) {
 				this.currentSlot++;
-				if(this.currentSlot >= table.length) break;
+				if(this.currentSlot >= numberOfBuckets()) break;
 				
-				this.nextEntry = table[this.currentSlot];
+				this.nextEntry = bucket(this.currentSlot);
 				
 				if(this.nextEntry != null) break;
 			}
@@ -522,7 +1676,7 @@ public class SimpleHashtable<K, V> implements Iterable<SimpleHashtable.TableEntr
 		 */
 		@Override
 		public boolean hasNext() {
-			if(this.savedModificationCount != modificationCount) throw new ConcurrentModificationException("The hashtable has been modified.");
+			if(this.savedModificationCount != modificationCount) throw CollectionMetrics.concurrentModification("The hashtable has been modified.");
 			
 			if(this.nextEntry != null) return true;
 			return false;
@@ -542,9 +1696,9 @@ public class SimpleHashtable<K, V> implements Iterable<SimpleHashtable.TableEntr
 			if(this.nextEntry == null) {
 	            while (true) {
 	            	this.currentSlot++;
-	                if (this.currentSlot >= table.length) break;
+	                if (this.currentSlot >= numberOfBuckets()) break;
 	
-	                this.nextEntry = table[this.currentSlot];
+	                this.nextEntry = bucket(this.currentSlot);
 	                if(this.nextEntry != null) break;
 	            }
 			}
@@ -557,11 +1711,11 @@ public class SimpleHashtable<K, V> implements Iterable<SimpleHashtable.TableEntr
 		 */
 		@Override
 		public void remove() {
-			if(this.savedModificationCount != modificationCount) throw new ConcurrentModificationException("The hashtable has been modified."); 
+			if(this.savedModificationCount != modificationCount) throw CollectionMetrics.concurrentModification("The hashtable has been modified."); 
 			
 			if(this.currentEntry == null) throw new IllegalStateException("The remove() method cannot be called twice after next() method.");
 			
-			SimpleHashtable.this.remove(this.currentEntry.key);
+			SimpleHashtable.this.removeEntry(this.currentEntry.key);
 			this.currentEntry = null;
 			
 			this.savedModificationCount = modificationCount;
@@ -579,4 +1733,261 @@ public class SimpleHashtable<K, V> implements Iterable<SimpleHashtable.TableEntr
 		Iterator<TableEntry<K, V>> iterator = new IteratorImpl();
 		return iterator;
 	}
+	
+	/**
+	 * Creates an {@code ElementsGetter} which fetches the entries in the same order as the iterator.
+	 * 
+	 * @return new getter for the current hashtable.
+	 */
+	public ElementsGetter<TableEntry<K, V>> createElementsGetter() {
+		return new TableElementsGetter();
+	}
+	
+	/**
+	 * Class {@code TableElementsGetter} represents an {@code ElementsGetter} over the entries of the hashtable.
+	 * 
+	 * @author Iva Maria Ivanković
+	 * @version 1.0
+	 */
+	private class TableElementsGetter implements ElementsGetter<TableEntry<K, V>> {
+		
+		/**
+		 * Next entry in the table to be fetched, {@code null} when the slot {@code currentSlot} has been exhausted.
+		 */
+		private TableEntry<K, V> nextEntry;
+		
+		/**
+		 * The slot of {@code nextEntry}, counting the slots of the current table first and the slots of the old table after them.
+		 */
+		private int currentSlot = -1;
+		
+		/**
+		 * The number of modifications made on the hashtable at the moment of creation of the getter.
+		 */
+		private final int savedModificationCount = modificationCount;
+		
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public boolean hasNextElement() {
+			if(this.savedModificationCount != modificationCount) throw CollectionMetrics.concurrentModification("The hashtable has been modified.");
+			
+			while(this.nextEntry == null && this.currentSlot + 1 < numberOfBuckets()) {
+				this.nextEntry = bucket(++this.currentSlot);
+			}
+			return this.nextEntry != null;
+		}
+		
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public TableEntry<K, V> getNextElement() {
+			if(!this.hasNextElement()) throw new NoSuchElementException("There are no elements left to fetch.");
+			
+			TableEntry<K, V> entry = this.nextEntry;
+			this.nextEntry = entry.next;
+			return entry;
+		}
+		
+	}
+	
+	/**
+	 * Class {@code BucketSpliterator} represents a {@code Spliterator} over a range of slots of the
+	 * {@code SimpleHashtable}, counting the slots of the current table first and the slots of the old
+	 * table after them. It splits its range of slots in halves; the sizes of the halves are estimated
+	 * from the share of slots they cover. The range is bound to the number of slots on first use.
+	 * 
+	 * @author Iva Maria Ivanković
+	 * @version 1.0
+	 */
+	private class BucketSpliterator implements Spliterator<TableEntry<K, V>> {
+		
+		/**
+		 * The next slot whose entries are to be traversed.
+		 */
+		private int slot;
+		
+		/**
+		 * The slot after the last slot to be traversed, -1 until the spliterator is first used.
+		 */
+		private int fence;
+		
+		/**
+		 * The next entry to be traversed within the current slot.
+		 */
+		private TableEntry<K, V> nextEntry;
+		
+		/**
+		 * The estimated number of entries left to be traversed.
+		 */
+		private int estimatedSize;
+		
+		/**
+		 * The number of modifications made on the hashtable at the moment of binding the range.
+		 */
+		private int savedModificationCount;
+		
+		/**
+		 * Creates a spliterator over the slots from {@code origin}, inclusive, to {@code fence}, exclusive.
+		 * 
+		 * @param origin the first slot to be traversed.
+		 * @param fence the slot after the last slot to be traversed, -1 to bind it on first use.
+		 * @param estimatedSize the estimated number of entries in the range.
+		 * @param savedModificationCount the expected number of modifications of the hashtable.
+		 */
+		private BucketSpliterator(int origin, int fence, int estimatedSize, int savedModificationCount) {
+			this.slot = origin;
+			this.fence = fence;
+			this.estimatedSize = estimatedSize;
+			this.savedModificationCount = savedModificationCount;
+		}
+		
+		/**
+		 * Binds the range to the current number of slots if it has not been bound yet.
+		 * 
+		 * @return the slot after the last slot to be traversed.
+		 */
+		private int getFence() {
+			if(this.fence < 0) {
+				this.savedModificationCount = modificationCount;
+				this.estimatedSize = size;
+				this.fence = numberOfBuckets();
+			}
+			return this.fence;
+		}
+		
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public Spliterator<TableEntry<K, V>> trySplit() {
+			int high = this.getFence();
+			int middle = (this.slot + high) >>> 1;
+			if(this.slot >= middle || this.nextEntry != null) return null;
+			
+			this.estimatedSize >>>= 1;
+			Spliterator<TableEntry<K, V>> prefix = new BucketSpliterator(this.slot, middle, this.estimatedSize, this.savedModificationCount);
+			this.slot = middle;
+			return prefix;
+		}
+		
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public boolean tryAdvance(Consumer<? super TableEntry<K, V>> action) {
+			if(action == null) throw new NullPointerException("The provided action cannot be null.");
+			
+			int high = this.getFence();
+			while(this.nextEntry != null || this.slot < high) {
+				if(this.nextEntry == null) {
+					this.nextEntry = bucket(this.slot++);
+				} else {
+					TableEntry<K, V> entry = this.nextEntry;
+					this.nextEntry = entry.next;
+					action.accept(entry);
+					if(this.savedModificationCount != modificationCount) throw CollectionMetrics.concurrentModification("The hashtable has been modified.");
+					return true;
+				}
+			}
+			return false;
+		}
+		
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public void forEachRemaining(Consumer<? super TableEntry<K, V>> action) {
+			if(action == null) throw new NullPointerException("The provided action cannot be null.");
+			
+			int high = this.getFence();
+			TableEntry<K, V> entry = this.nextEntry;
+			for(int i = this.slot; entry != null || i < high; ) {
+				if(entry == null) {
+					entry = bucket(i++);
+				} else {
+					action.accept(entry);
+					entry = entry.next;
+				}
+			}
+			this.nextEntry = null;
+			this.slot = high;
+			if(this.savedModificationCount != modificationCount) throw CollectionMetrics.concurrentModification("The hashtable has been modified.");
+		}
+		
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public long estimateSize() {
+			this.getFence();
+			return this.estimatedSize;
+		}
+		
+		/**
+		 * {@inheritDoc}
+		 * The spliterator is {@code SIZED} only until it is split.
+		 */
+		@Override
+		public int characteristics() {
+			return (this.fence < 0 || this.estimatedSize == size ? Spliterator.SIZED : 0) | Spliterator.DISTINCT | Spliterator.NONNULL;
+		}
+	}
+	
+	/**
+	 * Creates a {@code Spliterator} over the entries of the hashtable, which splits the range of slots
+	 * in halves and can therefore be processed in parallel.
+	 * 
+	 * @return a {@code DISTINCT} and {@code NONNULL} spliterator over the entries of the hashtable.
+	 */
+	@Override
+	public Spliterator<TableEntry<K, V>> spliterator() {
+		return new BucketSpliterator(0, -1, 0, 0);
+	}
+	
+	/**
+	 * Calls {@code Processor.process()} for each entry of the hashtable, in parallel, on the common fork-join pool.
+	 * The entries are divided among the workers by ranges of slots.
+	 * 
+	 * @param processor the processor, which must be safe to call from several threads at once.
+	 * @throws NullPointerException when the provided processor is {@code null}.
+	 */
+	public void parallelForEach(Processor<? super TableEntry<K, V>> processor) {
+		ParallelProcessing.forEach(this.spliterator(), processor, 0);
+	}
+	
+	/**
+	 * Calls {@code Processor.process()} for each entry of the hashtable, in parallel, on a new fork-join pool
+	 * with the provided number of worker threads. The entries are divided among the workers by ranges of slots.
+	 * 
+	 * @param processor the processor, which must be safe to call from several threads at once.
+	 * @param parallelism the number of worker threads.
+	 * @throws NullPointerException when the provided processor is {@code null}.
+	 * @throws IllegalArgumentException when the provided parallelism is less than 1.
+	 */
+	public void parallelForEach(Processor<? super TableEntry<K, V>> processor, int parallelism) {
+		if(parallelism < 1) throw new IllegalArgumentException("The parallelism cannot be less than 1.");
+		ParallelProcessing.forEach(this.spliterator(), processor, parallelism);
+	}
+	
+	/**
+	 * Creates a sequential {@code Stream} over the entries of the hashtable.
+	 * 
+	 * @return a sequential stream over the entries of the hashtable.
+	 */
+	public Stream<TableEntry<K, V>> stream() {
+		return StreamSupport.stream(this.spliterator(), false);
+	}
+	
+	/**
+	 * Creates a parallel {@code Stream} over the entries of the hashtable, which is processed
+	 * in the common fork-join pool.
+	 * 
+	 * @return a parallel stream over the entries of the hashtable.
+	 */
+	public Stream<TableEntry<K, V>> parallelStream() {
+		return StreamSupport.stream(this.spliterator(), true);
+	}
 }
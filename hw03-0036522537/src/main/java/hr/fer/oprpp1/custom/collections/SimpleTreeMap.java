@@ -0,0 +1,843 @@
+package hr.fer.oprpp1.custom.collections;
+
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * Class {@code SimpleTreeMap} represents a map for storing objects in key-value pairs, ordered by their keys.
+ * The entries are kept in a red-black tree, so insertions, removals and lookups take O(log n) time, and the
+ * entries can be visited in the order of their keys without sorting them first. Besides exact lookups,
+ * the map finds the entries closest to a key ({@code floorEntry()}, {@code ceilingEntry()}, {@code lowerEntry()}
+ * and {@code higherEntry()}) and visits the entries within a range of keys in O(log n + k) time.
+ * <p>
+ * Keys are ordered by the provided comparator or, if there is none, by their natural order. Keys cannot be
+ * {@code null}, values can.
+ * 
+ * @author Iva Maria Ivanković
+ * @version 1.0
+ * 
+ * @param <K> type of a key object in the map.
+ * @param <V> type of a value object in the map.
+ */
+public class SimpleTreeMap<K, V> implements Iterable<SimpleTreeMap.TreeEntry<K, V>> {
+	
+	/**
+	 * The root of the tree, {@code null} if the map is empty.
+	 */
+	private TreeEntry<K, V> root;
+	
+	/**
+	 * The comparator ordering the keys, {@code null} if the keys are ordered by their natural order.
+	 */
+	private final Comparator<? super K> comparator;
+	
+	/**
+	 * The number of entries in the map.
+	 */
+	private int size;
+	
+	/**
+	 * A variable that serves as a counter of modifications made on the current map since its creation.
+	 */
+	private int modificationCount;
+	
+	/**
+	 * Default constructor which creates an empty map ordering its keys by their natural order.
+	 */
+	public SimpleTreeMap() {
+		this(null);
+	}
+	
+	/**
+	 * Constructor which creates an empty map ordering its keys by the provided comparator.
+	 * 
+	 * @param comparator the comparator ordering the keys, {@code null} for the natural order of the keys.
+	 */
+	public SimpleTreeMap(Comparator<? super K> comparator) {
+		this.comparator = comparator;
+		this.root = null;
+		this.size = 0;
+		this.modificationCount = 0;
+	}
+	
+	/**
+	 * Class {@code TreeEntry<K, V>} is used for representing one of the key-value pairs in the map,
+	 * which is also a node of the tree.
+	 * 
+	 * @author Iva Maria Ivanković
+	 * @version 1.0
+	 * 
+	 * @param <K> type of the {@code key} object in the entry.
+	 * @param <V> type of the {@code value} object in the entry.
+	 */
+	public static class TreeEntry<K, V> {
+		
+		/**
+		 * The key of the current entry.
+		 */
+		private final K key;
+		
+		/**
+		 * The value of the current entry.
+		 */
+		private V value;
+		
+		/**
+		 * The left child, the right child and the parent of the current entry in the tree.
+		 */
+		private TreeEntry<K, V> left, right, parent;
+		
+		/**
+		 * Indicates whether the current entry is red.
+		 */
+		private boolean red;
+		
+		/**
+		 * Constructor which creates a new red {@code TreeEntry} instance.
+		 * 
+		 * @param key the key of the entry.
+		 * @param value the value of the entry.
+		 * @param parent the parent of the entry in the tree.
+		 */
+		private TreeEntry(K key, V value, TreeEntry<K, V> parent) {
+			this.key = key;
+			this.value = value;
+			this.parent = parent;
+			this.red = true;
+		}
+		
+		/**
+		 * Fetches the key of the current entry.
+		 * 
+		 * @return the key of the current entry.
+		 */
+		public K getKey() {
+			return this.key;
+		}
+		
+		/**
+		 * Fetches the value of the current entry.
+		 * 
+		 * @return the value of the current entry.
+		 */
+		public V getValue() {
+			return this.value;
+		}
+		
+		/**
+		 * Sets the value of the current entry to the provided {@code value}.
+		 * 
+		 * @param value the value which the value of the current entry is to be set to.
+		 */
+		public void setValue(V value) {
+			this.value = value;
+		}
+		
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public int hashCode() {
+			return Objects.hash(this.key, this.value);
+		}
+		
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public boolean equals(Object obj) {
+			if(this == obj) return true;
+			if(!(obj instanceof TreeEntry<?, ?>)) return false;
+			
+			TreeEntry<?, ?> other = (TreeEntry<?, ?>)obj;
+			return Objects.equals(this.key, other.key) && Objects.equals(this.value, other.value);
+		}
+		
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public String toString() {
+			return this.key + "=" + this.value;
+		}
+	
+	}
+	
+	/**
+	 * Determines the number of entries in the map.
+	 * 
+	 * @return the number of key-value pairs stored in the map.
+	 */
+	public int size() {
+		return this.size;
+	}
+	
+	/**
+	 * Checks whether the map is empty.
+	 * 
+	 * @return {@code true} if the map contains no entries, {@code false} otherwise.
+	 */
+	public boolean isEmpty() {
+		return this.size == 0;
+	}
+	
+	/**
+	 * Inserts a new entry with the provided {@code key} and {@code value} into the map.
+	 * If an entry with the provided {@code key} already exists, its {@code value} will be overwritten.
+	 * 
+	 * @param key the key of the new entry.
+	 * @param value the value of the new entry.
+	 * @return old value for the provided key if it existed, {@code null} otherwise.
+	 * @throws NullPointerException when the provided {@code key} is {@code null}.
+	 * @throws ClassCastException when the provided {@code key} cannot be compared with the keys in the map.
+	 */
+	public V put(K key, V value) {
+		if(key == null) throw new NullPointerException("The provided key must not be null.");
+		
+		TreeEntry<K, V> parent = null;
+		int comparison = 0;
+		for(TreeEntry<K, V> entry = this.root; entry != null; ) {
+			comparison = this.compare(key, entry.key);
+			if(comparison == 0) { //postoji zapis, zamijeni vrijednost i vrati staru
+				V oldValue = entry.value;
+				entry.value = value;
+				return oldValue;
+			}
+			
+			parent = entry;
+			entry = comparison < 0 ? entry.left : entry.right;
+		}
+		
+		if(parent == null) this.compare(key, key); //provjera usporedivosti prvog kljuca
+		
+		TreeEntry<K, V> entry = new TreeEntry<>(key, value, parent);
+		if(parent == null) this.root = entry;
+		else if(comparison < 0) parent.left = entry;
+		else parent.right = entry;
+		
+		this.fixAfterInsertion(entry);
+		this.size++;
+		this.modificationCount++;
+		return null;
+	}
+	
+	/**
+	 * Fetches the value for the provided {@code key} from the map.
+	 * 
+	 * @param key the key for which we want to know the value.
+	 * @return the value for the provided key if it exists, {@code null} otherwise.
+	 * @throws ClassCastException when the provided {@code key} cannot be compared with the keys in the map.
+	 */
+	public V get(Object key) {
+		TreeEntry<K, V> entry = this.getEntry(key);
+		return entry == null ? null : entry.value;
+	}
+	
+	/**
+	 * Checks if an entry with the provided {@code key} exists in the map, regardless of its value.
+	 * 
+	 * @param key the key for which we want to know if it is contained in the map.
+	 * @return {@code true} if there is an entry with the provided key in the map, {@code false} otherwise.
+	 * @throws ClassCastException when the provided {@code key} cannot be compared with the keys in the map.
+	 */
+	public boolean containsKey(Object key) {
+		return this.getEntry(key) != null;
+	}
+	
+	/**
+	 * Removes the entry with the provided {@code key} from the map.
+	 * 
+	 * @param key the key of the entry which we want to remove.
+	 * @return the value of the removed entry if it existed, {@code null} otherwise.
+	 * @throws ClassCastException when the provided {@code key} cannot be compared with the keys in the map.
+	 */
+	public V remove(Object key) {
+		TreeEntry<K, V> entry = this.getEntry(key);
+		if(entry == null) return null;
+		
+		this.deleteEntry(entry);
+		return entry.value;
+	}
+	
+	/**
+	 * Removes all entries from the map.
+	 */
+	public void clear() {
+		this.root = null;
+		this.size = 0;
+		this.modificationCount++;
+	}
+	
+	/**
+	 * Fetches the entry with the smallest key.
+	 * 
+	 * @return the entry with the smallest key, {@code null} if the map is empty.
+	 */
+	public TreeEntry<K, V> firstEntry() {
+		return this.root == null ? null : minimum(this.root);
+	}
+	
+	/**
+	 * Fetches the entry with the largest key.
+	 * 
+	 * @return the entry with the largest key, {@code null} if the map is empty.
+	 */
+	public TreeEntry<K, V> lastEntry() {
+		return this.root == null ? null : maximum(this.root);
+	}
+	
+	/**
+	 * Fetches the entry with the largest key smaller than or equal to the provided {@code key}.
+	 * 
+	 * @param key the key which is searched for.
+	 * @return the entry with the largest key smaller than or equal to the provided one, {@code null} if there is none.
+	 * @throws NullPointerException when the provided {@code key} is {@code null}.
+	 */
+	public TreeEntry<K, V> floorEntry(K key) {
+		return this.closestEntry(key, true, false);
+	}
+	
+	/**
+	 * Fetches the entry with the smallest key bigger than or equal to the provided {@code key}.
+	 * 
+	 * @param key the key which is searched for.
+	 * @return the entry with the smallest key bigger than or equal to the provided one, {@code null} if there is none.
+	 * @throws NullPointerException when the provided {@code key} is {@code null}.
+	 */
+	public TreeEntry<K, V> ceilingEntry(K key) {
+		return this.closestEntry(key, true, true);
+	}
+	
+	/**
+	 * Fetches the entry with the largest key strictly smaller than the provided {@code key}.
+	 * 
+	 * @param key the key which is searched for.
+	 * @return the entry with the largest key smaller than the provided one, {@code null} if there is none.
+	 * @throws NullPointerException when the provided {@code key} is {@code null}.
+	 */
+	public TreeEntry<K, V> lowerEntry(K key) {
+		return this.closestEntry(key, false, false);
+	}
+	
+	/**
+	 * Fetches the entry with the smallest key strictly bigger than the provided {@code key}.
+	 * 
+	 * @param key the key which is searched for.
+	 * @return the entry with the smallest key bigger than the provided one, {@code null} if there is none.
+	 * @throws NullPointerException when the provided {@code key} is {@code null}.
+	 */
+	public TreeEntry<K, V> higherEntry(K key) {
+		return this.closestEntry(key, false, true);
+	}
+	
+	/**
+	 * Creates a new map holding the entries of the current map whose keys are within the provided range.
+	 * The new map uses the same comparator, and later changes of either map are not visible in the other one.
+	 * 
+	 * @param fromKey the lower bound of the range.
+	 * @param fromInclusive {@code true} if an entry with the key {@code fromKey} belongs to the range.
+	 * @param toKey the upper bound of the range.
+	 * @param toInclusive {@code true} if an entry with the key {@code toKey} belongs to the range.
+	 * @return a new map with the entries in the provided range.
+	 * @throws NullPointerException when either of the provided bounds is {@code null}.
+	 * @throws IllegalArgumentException when {@code fromKey} is bigger than {@code toKey}.
+	 */
+	public SimpleTreeMap<K, V> subMap(K fromKey, boolean fromInclusive, K toKey, boolean toInclusive) {
+		SimpleTreeMap<K, V> subMap = new SimpleTreeMap<>(this.comparator);
+		
+		ElementsGetter<TreeEntry<K, V>> getter = this.createElementsGetter(fromKey, fromInclusive, toKey, toInclusive);
+		getter.processRemaining(entry -> subMap.put(entry.key, entry.value));
+		
+		return subMap;
+	}
+	
+	/**
+	 * Creates a getter which fetches the entries of the map in the order of their keys.
+	 * 
+	 * @return a new getter of the entries of the map.
+	 */
+	public ElementsGetter<TreeEntry<K, V>> createElementsGetter() {
+		return new EntryGetter(this.firstEntry(), this.lastEntry());
+	}
+	
+	/**
+	 * Creates a getter which fetches the entries of the map whose keys are within the provided range,
+	 * in the order of their keys. Finding the first entry takes O(log n) time, and every other entry
+	 * is reached in amortized constant time.
+	 * 
+	 * @param fromKey the lower bound of the range.
+	 * @param fromInclusive {@code true} if an entry with the key {@code fromKey} belongs to the range.
+	 * @param toKey the upper bound of the range.
+	 * @param toInclusive {@code true} if an entry with the key {@code toKey} belongs to the range.
+	 * @return a new getter of the entries in the provided range.
+	 * @throws NullPointerException when either of the provided bounds is {@code null}.
+	 * @throws IllegalArgumentException when {@code fromKey} is bigger than {@code toKey}.
+	 */
+	public ElementsGetter<TreeEntry<K, V>> createElementsGetter(K fromKey, boolean fromInclusive, K toKey, boolean toInclusive) {
+		if(fromKey == null || toKey == null) throw new NullPointerException("The provided bounds must not be null.");
+		if(this.compare(fromKey, toKey) > 0) throw new IllegalArgumentException("The lower bound cannot be bigger than the upper bound.");
+		
+		TreeEntry<K, V> first = this.closestEntry(fromKey, fromInclusive, true);
+		TreeEntry<K, V> last = this.closestEntry(toKey, toInclusive, false);
+		if(first == null || last == null || this.compare(first.key, last.key) > 0) return new EntryGetter(null, null);
+		
+		return new EntryGetter(first, last);
+	}
+	
+	/**
+	 * Creates an iterator which visits the entries of the map in the order of their keys.
+	 * 
+	 * @return new iterator for the current map.
+	 */
+	@Override
+	public Iterator<TreeEntry<K, V>> iterator() {
+		return new EntryGetter(this.firstEntry(), this.lastEntry());
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+		
+		sb.append("[");
+		for(TreeEntry<K, V> entry = this.firstEntry(); entry != null; entry = successor(entry)) {
+			if(sb.length() > 1) sb.append(", ");
+			sb.append(entry.key).append("=").append(entry.value);
+		}
+		sb.append("]");
+		
+		return sb.toString();
+	}
+	
+	/**
+	 * Compares the provided keys with the comparator of the map or by their natural order.
+	 * 
+	 * @param first the first key.
+	 * @param second the second key.
+	 * @return a negative number, zero or a positive number if the first key is smaller than, equal to
+	 * or bigger than the second key.
+	 * @throws ClassCastException when the keys cannot be compared.
+	 */
+	@SuppressWarnings("unchecked")
+	private int compare(Object first, Object second) {
+		if(this.comparator != null) return this.comparator.compare((K)first, (K)second);
+		return ((Comparable<Object>)first).compareTo(second);
+	}
+	
+	/**
+	 * Finds the entry with the provided {@code key}.
+	 * 
+	 * @param key the key of the entry.
+	 * @return the entry with the provided key if it exists, {@code null} otherwise.
+	 */
+	private TreeEntry<K, V> getEntry(Object key) {
+		if(key == null) return null;
+		
+		TreeEntry<K, V> entry = this.root;
+		while(entry != null) {
+			int comparison = this.compare(key, entry.key);
+			if(comparison == 0) return entry;
+			
+			entry = comparison < 0 ? entry.left : entry.right;
+		}
+		
+		return null;
+	}
+	
+	/**
+	 * Finds the entry whose key is closest to the provided {@code key} from the requested side.
+	 * 
+	 * @param key the key which is searched for.
+	 * @param inclusive {@code true} if the entry with the provided key itself is acceptable.
+	 * @param above {@code true} to search for the smallest bigger key, {@code false} for the largest smaller key.
+	 * @return the closest entry, {@code null} if there is none.
+	 * @throws NullPointerException when the provided {@code key} is {@code null}.
+	 */
+	private TreeEntry<K, V> closestEntry(K key, boolean inclusive, boolean above) {
+		if(key == null) throw new NullPointerException("The provided key must not be null.");
+		
+		TreeEntry<K, V> closest = null;
+		TreeEntry<K, V> entry = this.root;
+		while(entry != null) {
+			int comparison = this.compare(key, entry.key);
+			if(comparison == 0 && inclusive) return entry;
+			
+			if(above ? comparison < 0 : comparison > 0) { //zapis je s trazene strane kljuca
+				closest = entry;
+				entry = above ? entry.left : entry.right;
+			} else {
+				entry = above ? entry.right : entry.left;
+			}
+		}
+		
+		return closest;
+	}
+	
+	/**
+	 * Removes the provided entry from the tree, relinking the entries instead of moving keys and values
+	 * between them, so that getters and users holding entries are not affected.
+	 * 
+	 * @param entry the entry which is to be removed.
+	 */
+	private void deleteEntry(TreeEntry<K, V> entry) {
+		TreeEntry<K, V> child;
+		TreeEntry<K, V> childParent;
+		boolean removedRed = entry.red;
+		
+		if(entry.left == null) {
+			child = entry.right;
+			childParent = entry.parent;
+			this.transplant(entry, entry.right);
+		} else if(entry.right == null) {
+			child = entry.left;
+			childParent = entry.parent;
+			this.transplant(entry, entry.left);
+		} else { //na mjesto zapisa dolazi njegov sljedbenik
+			TreeEntry<K, V> successor = minimum(entry.right);
+			removedRed = successor.red;
+			child = successor.right;
+			
+			if(successor.parent == entry) {
+				childParent = successor;
+			} else {
+				childParent = successor.parent;
+				this.transplant(successor, successor.right);
+				successor.right = entry.right;
+				successor.right.parent = successor;
+			}
+			
+			this.transplant(entry, successor);
+			successor.left = entry.left;
+			successor.left.parent = successor;
+			successor.red = entry.red;
+		}
+		
+		if(!removedRed) this.fixAfterDeletion(child, childParent);
+		
+		entry.left = null;
+		entry.right = null;
+		entry.parent = null;
+		this.size--;
+		this.modificationCount++;
+	}
+	
+	/**
+	 * Replaces the subtree rooted at {@code replaced} with the subtree rooted at {@code replacement}.
+	 * 
+	 * @param replaced the root of the replaced subtree.
+	 * @param replacement the root of the replacing subtree, possibly {@code null}.
+	 */
+	private void transplant(TreeEntry<K, V> replaced, TreeEntry<K, V> replacement) {
+		if(replaced.parent == null) this.root = replacement;
+		else if(replaced == replaced.parent.left) replaced.parent.left = replacement;
+		else replaced.parent.right = replacement;
+		
+		if(replacement != null) replacement.parent = replaced.parent;
+	}
+	
+	/**
+	 * Restores the red-black properties after the provided red entry has been inserted.
+	 * 
+	 * @param entry the inserted entry.
+	 */
+	private void fixAfterInsertion(TreeEntry<K, V> entry) {
+		while(isRed(entry.parent)) {
+			TreeEntry<K, V> parent = entry.parent;
+			TreeEntry<K, V> grandparent = parent.parent;
+			
+			if(parent == grandparent.left) {
+				TreeEntry<K, V> uncle = grandparent.right;
+				if(isRed(uncle)) {
+					parent.red = false;
+					uncle.red = false;
+					grandparent.red = true;
+					entry = grandparent;
+				} else {
+					if(entry == parent.right) {
+						entry = parent;
+						this.rotateLeft(entry);
+						parent = entry.parent;
+					}
+					parent.red = false;
+					grandparent.red = true;
+					this.rotateRight(grandparent);
+				}
+			} else {
+				TreeEntry<K, V> uncle = grandparent.left;
+				if(isRed(uncle)) {
+					parent.red = false;
+					uncle.red = false;
+					grandparent.red = true;
+					entry = grandparent;
+				} else {
+					if(entry == parent.left) {
+						entry = parent;
+						this.rotateRight(entry);
+						parent = entry.parent;
+					}
+					parent.red = false;
+					grandparent.red = true;
+					this.rotateLeft(grandparent);
+				}
+			}
+		}
+		
+		this.root.red = false;
+	}
+	
+	/**
+	 * Restores the red-black properties after a black entry has been removed, which left the provided
+	 * position with one black entry too few on every path through it.
+	 * 
+	 * @param entry the entry at the position, possibly {@code null}.
+	 * @param parent the parent of the position.
+	 */
+	private void fixAfterDeletion(TreeEntry<K, V> entry, TreeEntry<K, V> parent) {
+		while(entry != this.root && !isRed(entry)) {
+			if(entry == parent.left) {
+				TreeEntry<K, V> sibling = parent.right;
+				if(isRed(sibling)) {
+					sibling.red = false;
+					parent.red = true;
+					this.rotateLeft(parent);
+					sibling = parent.right;
+				}
+				
+				if(!isRed(sibling.left) && !isRed(sibling.right)) {
+					sibling.red = true;
+					entry = parent;
+					parent = entry.parent;
+				} else {
+					if(!isRed(sibling.right)) {
+						sibling.left.red = false;
+						sibling.red = true;
+						this.rotateRight(sibling);
+						sibling = parent.right;
+					}
+					sibling.red = parent.red;
+					parent.red = false;
+					sibling.right.red = false;
+					this.rotateLeft(parent);
+					entry = this.root;
+				}
+			} else {
+				TreeEntry<K, V> sibling = parent.left;
+				if(isRed(sibling)) {
+					sibling.red = false;
+					parent.red = true;
+					this.rotateRight(parent);
+					sibling = parent.left;
+				}
+				
+				if(!isRed(sibling.left) && !isRed(sibling.right)) {
+					sibling.red = true;
+					entry = parent;
+					parent = entry.parent;
+				} else {
+					if(!isRed(sibling.left)) {
+						sibling.right.red = false;
+						sibling.red = true;
+						this.rotateLeft(sibling);
+						sibling = parent.left;
+					}
+					sibling.red = parent.red;
+					parent.red = false;
+					sibling.left.red = false;
+					this.rotateRight(parent);
+					entry = this.root;
+				}
+			}
+		}
+		
+		if(entry != null) entry.red = false;
+	}
+	
+	/**
+	 * Rotates the provided entry to the left, so that its right child takes its place.
+	 * 
+	 * @param entry the entry which is rotated.
+	 */
+	private void rotateLeft(TreeEntry<K, V> entry) {
+		TreeEntry<K, V> child = entry.right;
+		
+		entry.right = child.left;
+		if(child.left != null) child.left.parent = entry;
+		
+		this.transplant(entry, child);
+		child.left = entry;
+		entry.parent = child;
+	}
+	
+	/**
+	 * Rotates the provided entry to the right, so that its left child takes its place.
+	 * 
+	 * @param entry the entry which is rotated.
+	 */
+	private void rotateRight(TreeEntry<K, V> entry) {
+		TreeEntry<K, V> child = entry.left;
+		
+		entry.left = child.right;
+		if(child.right != null) child.right.parent = entry;
+		
+		this.transplant(entry, child);
+		child.right = entry;
+		entry.parent = child;
+	}
+	
+	/**
+	 * Checks whether the provided entry is red.
+	 * 
+	 * @param entry the entry, possibly {@code null}.
+	 * @return {@code true} if the entry exists and is red, {@code false} otherwise.
+	 */
+	private static boolean isRed(TreeEntry<?, ?> entry) {
+		return entry != null && entry.red;
+	}
+	
+	/**
+	 * Finds the entry with the smallest key in the subtree rooted at the provided entry.
+	 * 
+	 * @param entry the root of the subtree.
+	 * @return the entry with the smallest key in the subtree.
+	 */
+	private static <K, V> TreeEntry<K, V> minimum(TreeEntry<K, V> entry) {
+		while(entry.left != null) entry = entry.left;
+		return entry;
+	}
+	
+	/**
+	 * Finds the entry with the largest key in the subtree rooted at the provided entry.
+	 * 
+	 * @param entry the root of the subtree.
+	 * @return the entry with the largest key in the subtree.
+	 */
+	private static <K, V> TreeEntry<K, V> maximum(TreeEntry<K, V> entry) {
+		while(entry.right != null) entry = entry.right;
+		return entry;
+	}
+	
+	/**
+	 * Finds the entry with the next bigger key.
+	 * 
+	 * @param entry the entry whose successor is searched for.
+	 * @return the entry with the next bigger key, {@code null} if the provided entry has the largest key.
+	 */
+	private static <K, V> TreeEntry<K, V> successor(TreeEntry<K, V> entry) {
+		if(entry.right != null) return minimum(entry.right);
+		
+		TreeEntry<K, V> parent = entry.parent;
+		while(parent != null && entry == parent.right) {
+			entry = parent;
+			parent = parent.parent;
+		}
+		return parent;
+	}
+	
+	/**
+	 * Class {@code EntryGetter} represents a getter and an iterator which visit the entries between
+	 * two entries of the map, both included, in the order of their keys.
+	 * 
+	 * @author Iva Maria Ivanković
+	 * @version 1.0
+	 */
+	private class EntryGetter implements ElementsGetter<TreeEntry<K, V>>, Iterator<TreeEntry<K, V>> {
+		
+		/**
+		 * The next entry which is to be returned, {@code null} if there are no entries left.
+		 */
+		private TreeEntry<K, V> nextEntry;
+		
+		/**
+		 * The last entry which is to be returned.
+		 */
+		private final TreeEntry<K, V> lastEntry;
+		
+		/**
+		 * The entry which was returned last, {@code null} if it has been removed.
+		 */
+		private TreeEntry<K, V> currentEntry;
+		
+		/**
+		 * The number of modifications of the map at the time the getter was created or last modified the map.
+		 */
+		private int savedModificationCount;
+		
+		/**
+		 * Creates a getter which visits the entries from {@code firstEntry} to {@code lastEntry}.
+		 * 
+		 * @param firstEntry the first entry which is to be returned, {@code null} if there are none.
+		 * @param lastEntry the last entry which is to be returned.
+		 */
+		private EntryGetter(TreeEntry<K, V> firstEntry, TreeEntry<K, V> lastEntry) {
+			this.nextEntry = firstEntry;
+			this.lastEntry = lastEntry;
+			this.savedModificationCount = modificationCount;
+		}
+		
+		/**
+		 * {@inheritDoc}
+		 * 
+		 * @throws ConcurrentModificationException when the map has been modified.
+		 */
+		@Override
+		public boolean hasNextElement() {
+			if(this.savedModificationCount != modificationCount) throw CollectionMetrics.concurrentModification("The map has been modified.");
+			
+			return this.nextEntry != null;
+		}
+		
+		/**
+		 * {@inheritDoc}
+		 * 
+		 * @throws ConcurrentModificationException when the map has been modified.
+		 * @throws NoSuchElementException when there are no entries left.
+		 */
+		@Override
+		public TreeEntry<K, V> getNextElement() {
+			if(!this.hasNextElement()) throw new NoSuchElementException("There are no elements left to fetch.");
+			
+			this.currentEntry = this.nextEntry;
+			this.nextEntry = this.currentEntry == this.lastEntry ? null : successor(this.currentEntry);
+			return this.currentEntry;
+		}
+		
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public boolean hasNext() {
+			return this.hasNextElement();
+		}
+		
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public TreeEntry<K, V> next() {
+			return this.getNextElement();
+		}
+		
+		/**
+		 * Removes the entry which was returned last from the map.
+		 * 
+		 * @throws ConcurrentModificationException when the map has been modified.
+		 * @throws IllegalStateException when no entry has been returned since the last removal.
+		 */
+		@Override
+		public void remove() {
+			if(this.savedModificationCount != modificationCount) throw CollectionMetrics.concurrentModification("The map has been modified.");
+			if(this.currentEntry == null) throw new IllegalStateException("The remove() method cannot be called twice after next() method.");
+			
+			deleteEntry(this.currentEntry);
+			this.currentEntry = null;
+			this.savedModificationCount = modificationCount;
+		}
+	
+	}
+
+}
@@ -0,0 +1,517 @@
+package hr.fer.oprpp1.custom.collections;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * The {@code UnrolledLinkedListIndexedCollection} class represents an unrolled linked list: a doubly linked list
+ * of chunks, where every chunk stores up to {@code chunkCapacity} elements in a small array. Inserting or removing
+ * an element shifts only the elements of one chunk, while locating an index skips a whole chunk at a time, so
+ * insertions and removals in the middle of the list are cheaper than in {@link ArrayIndexedCollection} and
+ * iteration touches far fewer objects than in {@link LinkedListIndexedCollection}. Duplicate elements are
+ * allowed; storage of {@code null} references is not allowed.
+ * 
+ * @author Iva Maria Ivanković
+ * @version 1.0
+ */
+public class UnrolledLinkedListIndexedCollection<T> implements List<T> {
+	
+	/**
+	 * The {@code Chunk} class represents a node of the unrolled linked list, holding a part of the elements
+	 * of the list in an array.
+	 * 
+	 * @author Iva Maria Ivanković
+	 * @version 1.0
+	 */
+	private static class Chunk {
+		
+		/**
+		 * Pointer to the previous chunk.
+		 */
+		private Chunk previous;
+		
+		/**
+		 * Pointer to the next chunk.
+		 */
+		private Chunk next;
+		
+		/**
+		 * The elements of the chunk, stored at indexes from 0 to {@code count}-1.
+		 */
+		private final Object[] elements;
+		
+		/**
+		 * The number of elements stored in the chunk.
+		 */
+		private int count;
+		
+		/**
+		 * Creates an empty chunk which can hold up to {@code capacity} elements.
+		 * 
+		 * @param capacity the maximum number of elements in the chunk.
+		 */
+		private Chunk(int capacity) {
+			this.elements = new Object[capacity];
+		}
+		
+	}
+	
+	/**
+	 * The default number of elements which a chunk can hold. It is used when there is no argument provided while
+	 * creating an instance of the {@code UnrolledLinkedListIndexedCollection} class.
+	 */
+	static final int DEFAULT_CHUNK_CAPACITY = 256;
+	
+	/**
+	 * The number of elements which a chunk can hold.
+	 */
+	private final int chunkCapacity;
+	
+	/**
+	 * Current size of the collection, determined as the number of elements in all chunks.
+	 */
+	private int size;
+	
+	/**
+	 * Reference to the first chunk of the list.
+	 */
+	private Chunk first;
+	
+	/**
+	 * Reference to the last chunk of the list.
+	 */
+	private Chunk last;
+	
+	/**
+	 * Represents the number of modifications made on the current collection.
+	 */
+	private long modificationCount = 0;
+	
+	/**
+	 * The chunk found by the last call to {@code locate()}.
+	 */
+	private Chunk locatedChunk;
+	
+	/**
+	 * The index of the located element within the {@code locatedChunk}.
+	 */
+	private int locatedOffset;
+	
+	/**
+	 * Default constructor. Creates an empty instance of the {@code UnrolledLinkedListIndexedCollection} class whose
+	 * chunks hold {@code DEFAULT_CHUNK_CAPACITY} elements.
+	 */
+	public UnrolledLinkedListIndexedCollection() {
+		this(DEFAULT_CHUNK_CAPACITY);
+	}
+	
+	/**
+	 * Creates an empty instance of the {@code UnrolledLinkedListIndexedCollection} class whose chunks hold the
+	 * provided number of elements.
+	 * 
+	 * @param chunkCapacity the number of elements which a chunk can hold.
+	 * @throws IllegalArgumentException when the provided chunk capacity is less than 2.
+	 */
+	public UnrolledLinkedListIndexedCollection(int chunkCapacity) {
+		if(chunkCapacity < 2) throw new IllegalArgumentException("The chunk capacity cannot be less than 2.");
+		this.chunkCapacity = chunkCapacity;
+	}
+	
+	/**
+	 * Creates an instance of the {@code UnrolledLinkedListIndexedCollection} class whose chunks hold
+	 * {@code DEFAULT_CHUNK_CAPACITY} elements and copies all elements from the given collection into it.
+	 * 
+	 * @param other the collection from which the elements are to be copied to the newly created collection.
+	 * @throws NullPointerException when the given collection is {@code null}.
+	 */
+	public UnrolledLinkedListIndexedCollection(Collection<? extends T> other) {
+		this(DEFAULT_CHUNK_CAPACITY);
+		if(other == null) throw new NullPointerException("The given collection cannot be null.");
+		this.addAll(other);
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int size() {
+		return this.size;
+	}
+	
+	/**
+	 * Adds the given object at the end of the collection. A new chunk is appended when the last one is full.
+	 * 
+	 * @param value object that is to be added to the collection.
+	 * @throws NullPointerException when the provided object is {@code null}.
+	 */
+	@Override
+	public void add(T value) {
+		if(value == null) throw new NullPointerException("The provided value cannot be null.");
+		
+		if(this.last == null || this.last.count == this.chunkCapacity) {
+			this.linkAfter(this.last, new Chunk(this.chunkCapacity));
+		}
+		this.last.elements[this.last.count++] = value;
+		
+		this.size++;
+		this.modificationCount++;
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean contains(Object value) {
+		return this.indexOf(value) != -1;
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	@SuppressWarnings("unchecked")
+	public T get(int index) {
+		if(index >= this.size || index < 0) throw new IndexOutOfBoundsException("The provided index is not between 0 and size-1.");
+		
+		this.locate(index);
+		return (T) this.locatedChunk.elements[this.locatedOffset];
+	}
+	
+	/**
+	 * Inserts the provided {@code value} at the provided {@code position}. Only the elements of the chunk holding
+	 * that position are shifted; if the chunk is full, it is first split into two half-full chunks.
+	 * 
+	 * @param value the object that needs to be added to the collection.
+	 * @param position the index at which the object needs to be added.
+	 * @throws NullPointerException when the provided value is {@code null}.
+	 * @throws IndexOutOfBoundsException when the provided position is not between 0 and {@code size}.
+	 */
+	@Override
+	public void insert(T value, int position) {
+		if(value == null) throw new NullPointerException("The provided value cannot be null.");
+		if(position > this.size || position < 0) throw new IndexOutOfBoundsException("The provided position is not between 0 and size.");
+		
+		if(position == this.size) {
+			this.add(value);
+			return;
+		}
+		
+		this.locate(position);
+		Chunk chunk = this.locatedChunk;
+		int offset = this.locatedOffset;
+		
+		if(chunk.count == this.chunkCapacity) {
+			Chunk newChunk = new Chunk(this.chunkCapacity);
+			int half = this.chunkCapacity / 2;
+			System.arraycopy(chunk.elements, half, newChunk.elements, 0, chunk.count - half);
+			Arrays.fill(chunk.elements, half, chunk.count, null);
+			newChunk.count = chunk.count - half;
+			chunk.count = half;
+			this.linkAfter(chunk, newChunk);
+			
+			if(offset > half) {
+				chunk = newChunk;
+				offset -= half;
+			}
+		}
+		
+		System.arraycopy(chunk.elements, offset, chunk.elements, offset + 1, chunk.count - offset);
+		chunk.elements[offset] = value;
+		chunk.count++;
+		
+		this.size++;
+		this.modificationCount++;
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean remove(Object value) {
+		if(value == null) return false;
+		
+		for(Chunk chunk = this.first; chunk != null; chunk = chunk.next) {
+			for(int i = 0; i < chunk.count; i++) {
+				if(chunk.elements[i].equals(value)) {
+					this.removeAt(chunk, i);
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+	
+	/**
+	 * Removes the element at the provided index by shifting the elements after it within its chunk.
+	 * 
+	 * @param index the index of the object that needs to be removed from the collection.
+	 * @throws IndexOutOfBoundsException when the provided {@code index} is not between 0 and {@code size}-1.
+	 */
+	@Override
+	public void remove(int index) {
+		if(index >= this.size || index < 0) throw new IndexOutOfBoundsException("The provided index is not between 0 and size-1.");
+		
+		this.locate(index);
+		this.removeAt(this.locatedChunk, this.locatedOffset);
+	}
+	
+	/**
+	 * Removes all elements from the collection by "forgetting" about the current chunks.
+	 */
+	@Override
+	public void clear() {
+		this.first = null;
+		this.last = null;
+		this.size = 0;
+		this.modificationCount++;
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int indexOf(Object value) {
+		if(value == null) return -1;
+		
+		int chunkStart = 0;
+		for(Chunk chunk = this.first; chunk != null; chunk = chunk.next) {
+			for(int i = 0; i < chunk.count; i++) {
+				if(chunk.elements[i].equals(value)) return chunkStart + i;
+			}
+			chunkStart += chunk.count;
+		}
+		return -1;
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Object[] toArray() {
+		Object[] array = new Object[this.size];
+		
+		int position = 0;
+		for(Chunk chunk = this.first; chunk != null; chunk = chunk.next) {
+			System.arraycopy(chunk.elements, 0, array, position, chunk.count);
+			position += chunk.count;
+		}
+		return array;
+	}
+	
+	/**
+	 * Creates a new instance of {@code ElementsGetter} class in order to fetch elements of the
+	 * {@code UnrolledLinkedListIndexedCollection}, chunk by chunk.
+	 * 
+	 * @return instance of {@code ElementsGetter} class for use in the context of the current collection.
+	 */
+	@Override
+	public ElementsGetter<T> createElementsGetter() {
+		return new UnrolledElementsGetter<T>(this);
+	}
+	
+	/**
+	 * Finds the chunk holding the element at the provided index and stores it, together with the element's index
+	 * within the chunk, in {@code locatedChunk} and {@code locatedOffset}. The walk starts from the end of the list
+	 * which is closer to {@code index}.
+	 * 
+	 * @param index the index of the element, between 0 and {@code size}-1.
+	 */
+	private void locate(int index) {
+		Chunk chunk;
+		if(index < this.size / 2) {
+			chunk = this.first;
+			while(index >= chunk.count) {
+				index -= chunk.count;
+				chunk = chunk.next;
+			}
+		} else {
+			chunk = this.last;
+			int chunkStart = this.size - chunk.count;
+			while(index < chunkStart) {
+				chunk = chunk.previous;
+				chunkStart -= chunk.count;
+			}
+			index -= chunkStart;
+		}
+		
+		this.locatedChunk = chunk;
+		this.locatedOffset = index;
+	}
+	
+	/**
+	 * Removes the element at the provided offset of the provided chunk. An emptied chunk is unlinked, and a chunk
+	 * which drops below half of its capacity absorbs its successor if both fit into one chunk.
+	 * 
+	 * @param chunk the chunk holding the element.
+	 * @param offset the index of the element within the chunk.
+	 */
+	private void removeAt(Chunk chunk, int offset) {
+		System.arraycopy(chunk.elements, offset + 1, chunk.elements, offset, chunk.count - offset - 1);
+		chunk.elements[--chunk.count] = null;
+		
+		if(chunk.count == 0) {
+			this.unlink(chunk);
+		} else if(chunk.count < this.chunkCapacity / 2 && chunk.next != null && chunk.count + chunk.next.count <= this.chunkCapacity) {
+			Chunk next = chunk.next;
+			System.arraycopy(next.elements, 0, chunk.elements, chunk.count, next.count);
+			chunk.count += next.count;
+			this.unlink(next);
+		}
+		
+		this.size--;
+		this.modificationCount++;
+	}
+	
+	/**
+	 * Links the provided chunk after the provided predecessor, or at the beginning of the list if the predecessor
+	 * is {@code null}.
+	 * 
+	 * @param predecessor the chunk after which the new chunk is linked.
+	 * @param chunk the new chunk.
+	 */
+	private void linkAfter(Chunk predecessor, Chunk chunk) {
+		Chunk successor = predecessor == null ? this.first : predecessor.next;
+		chunk.previous = predecessor;
+		chunk.next = successor;
+		
+		if(predecessor == null) this.first = chunk;
+		else predecessor.next = chunk;
+		if(successor == null) this.last = chunk;
+		else successor.previous = chunk;
+	}
+	
+	/**
+	 * Unlinks the provided chunk from the list.
+	 * 
+	 * @param chunk the chunk which is to be removed.
+	 */
+	private void unlink(Chunk chunk) {
+		if(chunk.previous == null) this.first = chunk.next;
+		else chunk.previous.next = chunk.next;
+		if(chunk.next == null) this.last = chunk.previous;
+		else chunk.next.previous = chunk.previous;
+		
+		chunk.previous = null;
+		chunk.next = null;
+	}
+	
+	/**
+	 * The {@code UnrolledElementsGetter} class represents an object whose purpose is to fetch elements
+	 * of the {@code UnrolledLinkedListIndexedCollection} instance, one by one, on demand.
+	 * 
+	 * @author Iva Maria Ivanković
+	 * @version 1.0
+	 */
+	private static class UnrolledElementsGetter<T> implements ElementsGetter<T> {
+		
+		/**
+		 * Backing collection whose elements are to be fetched.
+		 */
+		private UnrolledLinkedListIndexedCollection<T> collection;
+		
+		/**
+		 * The chunk holding the first non-fetched element, {@code null} when all elements have been fetched.
+		 */
+		private Chunk chunk;
+		
+		/**
+		 * Index of the first non-fetched element within the {@code chunk}.
+		 */
+		private int offset;
+		
+		/**
+		 * The number of modifications made on the backing collection at the moment of instancing the {@code UnrolledElementsGetter}.
+		 */
+		private long savedModificationCount;
+		
+		/**
+		 * Creates an instance of the {@code UnrolledElementsGetter} class for the provided collection.
+		 * 
+		 * @param collection the collection whose elements are to be fetched.
+		 * @throws NullPointerException when the provided collection is {@code null}.
+		 */
+		public UnrolledElementsGetter(UnrolledLinkedListIndexedCollection<T> collection) {
+			if(collection == null) throw new NullPointerException("The provided collection cannot be null.");
+			this.collection = collection;
+			this.chunk = collection.first;
+			this.offset = 0;
+			this.savedModificationCount = collection.modificationCount;
+		}
+		
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public boolean hasNextElement() {
+			if(this.savedModificationCount != this.collection.modificationCount) throw CollectionMetrics.concurrentModification("The collection has been modified.");
+			return this.chunk != null;
+		}
+		
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		@SuppressWarnings("unchecked")
+		public T getNextElement() {
+			if(!this.hasNextElement()) throw new NoSuchElementException("There are no elements left to fetch.");
+			
+			T value = (T) this.chunk.elements[this.offset++];
+			if(this.offset == this.chunk.count) {
+				this.chunk = this.chunk.next;
+				this.offset = 0;
+			}
+			return value;
+		}
+		
+		/**
+		 * Calls {@code Processor.process()} for each of the remaining non-fetched elements, reading them
+		 * directly from the chunk arrays.
+		 * 
+		 * @param p the processor which is called for every remaining element.
+		 */
+		@Override
+		@SuppressWarnings("unchecked")
+		public void processRemaining(Processor<? super T> p) {
+			while(this.hasNextElement()) {
+				Chunk current = this.chunk;
+				for(; this.offset < current.count; this.offset++) {
+					p.process((T) current.elements[this.offset]);
+					if(this.savedModificationCount != this.collection.modificationCount) throw CollectionMetrics.concurrentModification("The collection has been modified.");
+				}
+				this.chunk = current.next;
+				this.offset = 0;
+			}
+		}
+	}
+	
+	/**
+	 * Checks whether the provided object is an {@code UnrolledLinkedListIndexedCollection} holding equal elements in the same order.
+	 * 
+	 * @param obj the object for which we want to determine equality with the current collection.
+	 * @return {@code true} if the provided object is equal to the current collection, {@code false} otherwise.
+	 */
+	@Override
+	public boolean equals(Object obj) {
+		if(this == obj) return true;
+		if(!(obj instanceof UnrolledLinkedListIndexedCollection)) return false;
+		UnrolledLinkedListIndexedCollection<?> other = (UnrolledLinkedListIndexedCollection<?>) obj;
+		return this.size == other.size && Arrays.equals(this.toArray(), other.toArray());
+	}
+	
+	/**
+	 * Calculates the hash code for the current collection.
+	 * 
+	 * @return the hash code value for the current collection.
+	 */
+	@Override
+	public int hashCode() {
+		int result = 1;
+		for(Chunk chunk = this.first; chunk != null; chunk = chunk.next) {
+			for(int i = 0; i < chunk.count; i++) {
+				result = 31 * result + chunk.elements[i].hashCode();
+			}
+		}
+		return result;
+	}
+	
+}
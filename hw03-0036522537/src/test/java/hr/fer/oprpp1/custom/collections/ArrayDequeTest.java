@@ -0,0 +1,103 @@
+package hr.fer.oprpp1.custom.collections;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ConcurrentModificationException;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class ArrayDequeTest {
+
+	@Test
+	public void testIllegalInitialCapacity() {
+		assertThrows(IllegalArgumentException.class, () -> new ArrayDeque<>(0));
+	}
+
+	@Test
+	public void testAddNull() {
+		assertThrows(NullPointerException.class, () -> new ArrayDeque<>().addFirst(null));
+		assertThrows(NullPointerException.class, () -> new ArrayDeque<>().add(null));
+	}
+
+	@Test
+	public void testBothEnds() {
+		ArrayDeque<Integer> deque = new ArrayDeque<>(2);
+		deque.addLast(2);
+		deque.addFirst(1);
+		deque.addLast(3);
+		deque.addFirst(0);
+
+		assertArrayEquals(new Object[] {0, 1, 2, 3}, deque.toArray());
+		assertEquals(0, deque.peekFirst());
+		assertEquals(3, deque.peekLast());
+		assertEquals(0, deque.removeFirst());
+		assertEquals(3, deque.removeLast());
+		assertEquals("[1, 2]", deque.toString());
+	}
+
+	@Test
+	public void testEmptyDeque() {
+		ArrayDeque<Integer> deque = new ArrayDeque<>();
+
+		assertNull(deque.peekFirst());
+		assertNull(deque.peekLast());
+		assertThrows(NoSuchElementException.class, deque::removeFirst);
+		assertThrows(NoSuchElementException.class, deque::removeLast);
+	}
+
+	@Test
+	public void testContainsAndRemove() {
+		ArrayDeque<String> deque = new ArrayDeque<>(4);
+		deque.add("b");
+		deque.add("c");
+		deque.addFirst("a");
+		deque.add("d");
+
+		assertTrue(deque.contains("c"));
+		assertFalse(deque.contains("e"));
+		assertTrue(deque.remove("b"));
+		assertTrue(deque.remove("c"));
+		assertFalse(deque.remove("c"));
+		assertArrayEquals(new Object[] {"a", "d"}, deque.toArray());
+	}
+
+	@Test
+	public void testElementsGetterModifiedDeque() {
+		ArrayDeque<Integer> deque = new ArrayDeque<>();
+		deque.add(1);
+		ElementsGetter<Integer> getter = deque.createElementsGetter();
+		deque.addFirst(0);
+
+		assertThrows(ConcurrentModificationException.class, getter::getNextElement);
+	}
+
+	@Test
+	public void testRandomOperationsMatchJavaDeque() {
+		Random random = new Random(3);
+		ArrayDeque<Integer> deque = new ArrayDeque<>(1);
+		java.util.ArrayDeque<Integer> expected = new java.util.ArrayDeque<>();
+
+		for(int i = 0; i < 50_000; i++) {
+			switch(random.nextInt(5)) {
+				case 0: deque.addFirst(i); expected.addFirst(i); break;
+				case 1: deque.addLast(i); expected.addLast(i); break;
+				case 2: if(!expected.isEmpty()) assertEquals(expected.removeFirst(), deque.removeFirst()); break;
+				case 3: if(!expected.isEmpty()) assertEquals(expected.removeLast(), deque.removeLast()); break;
+				default:
+					Integer value = i - random.nextInt(20);
+					assertEquals(expected.removeFirstOccurrence(value), deque.remove(value));
+			}
+			assertEquals(expected.size(), deque.size());
+		}
+
+		assertArrayEquals(expected.toArray(), deque.toArray());
+	}
+
+}
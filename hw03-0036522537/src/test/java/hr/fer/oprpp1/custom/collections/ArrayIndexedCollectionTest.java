@@ -0,0 +1,299 @@
+package hr.fer.oprpp1.custom.collections;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Field;
+import java.util.ConcurrentModificationException;
+
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+import java.util.concurrent.atomic.LongAdder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class ArrayIndexedCollectionTest {
+	
+	private ArrayIndexedCollection<Integer> numbers;
+	
+	@BeforeEach
+	public void setUp() {
+		numbers = new ArrayIndexedCollection<>(2);
+		for(int i = 0; i < 6; i++) numbers.add(i);
+	}
+	
+	@Test
+	public void testInsertAndRemoveShiftElements() {
+		numbers.insert(10, 0);
+		numbers.insert(20, 3);
+		numbers.remove(1);
+		
+		assertArrayEquals(new Object[] {10, 1, 20, 2, 3, 4, 5}, numbers.toArray());
+	}
+	
+	@Test
+	public void testRemoveWhenFull() {
+		ArrayIndexedCollection<String> full = new ArrayIndexedCollection<>(2);
+		full.add("a");
+		full.add("b");
+		
+		assertTrue(full.remove("a"));
+		assertFalse(full.remove("c"));
+		assertArrayEquals(new Object[] {"b"}, full.toArray());
+	}
+	
+	@Test
+	public void testRemoveIndexWhenFull() {
+		for(int index = 0; index < 3; index++) {
+			ArrayIndexedCollection<String> full = new ArrayIndexedCollection<>(3);
+			full.add("a");
+			full.add("b");
+			full.add("c");
+			
+			full.remove(index);
+			assertEquals(2, full.size());
+			assertFalse(full.contains(new String[] {"a", "b", "c"}[index]));
+		}
+	}
+	
+	@Test
+	public void testAddAll() {
+		LinkedListIndexedCollection<Integer> linked = new LinkedListIndexedCollection<>();
+		linked.add(7);
+		linked.add(8);
+		
+		numbers.addAll(linked);
+		numbers.addAll(numbers);
+		
+		assertEquals(16, numbers.size());
+		assertArrayEquals(new Object[] {0, 1, 2, 3, 4, 5, 7, 8, 0, 1, 2, 3, 4, 5, 7, 8}, numbers.toArray());
+	}
+	
+	@Test
+	public void testInsertAll() {
+		LinkedListIndexedCollection<Integer> linked = new LinkedListIndexedCollection<>();
+		linked.add(7);
+		linked.add(8);
+		
+		numbers.insertAll(linked, 2);
+		assertArrayEquals(new Object[] {0, 1, 7, 8, 2, 3, 4, 5}, numbers.toArray());
+		
+		numbers.insertAll(linked, numbers.size());
+		assertArrayEquals(new Object[] {0, 1, 7, 8, 2, 3, 4, 5, 7, 8}, numbers.toArray());
+		
+		assertThrows(IndexOutOfBoundsException.class, () -> numbers.insertAll(linked, 11));
+	}
+	
+	@Test
+	public void testInsertAllIntoItself() {
+		ArrayIndexedCollection<Integer> small = new ArrayIndexedCollection<>(10);
+		small.add(1);
+		small.add(2);
+		small.add(3);
+		
+		small.insertAll(small, 1);
+		
+		assertArrayEquals(new Object[] {1, 1, 2, 3, 2, 3}, small.toArray());
+	}
+	
+	@Test
+	public void testRemoveRange() {
+		numbers.removeRange(1, 4);
+		assertArrayEquals(new Object[] {0, 4, 5}, numbers.toArray());
+		
+		numbers.removeRange(1, 1);
+		assertEquals(3, numbers.size());
+		
+		assertThrows(IndexOutOfBoundsException.class, () -> numbers.removeRange(2, 4));
+		assertThrows(IndexOutOfBoundsException.class, () -> numbers.removeRange(2, 1));
+	}
+	
+	@Test
+	public void testRemoveIf() {
+		assertTrue(numbers.removeIf(value -> value % 2 == 0));
+		assertFalse(numbers.removeIf(value -> value > 100));
+		
+		assertArrayEquals(new Object[] {1, 3, 5}, numbers.toArray());
+	}
+	
+	@Test
+	public void testRemoveIfWithThrowingTester() {
+		assertThrows(IllegalStateException.class, () -> numbers.removeIf(value -> {
+			if(value == 3) throw new IllegalStateException();
+			return value == 1;
+		}));
+		
+		assertArrayEquals(new Object[] {0, 2, 3, 4, 5}, numbers.toArray());
+	}
+	
+	@Test
+	public void testRemoveIfModifyingTheCollection() {
+		assertThrows(ConcurrentModificationException.class, () -> numbers.removeIf(value -> {
+			numbers.add(value);
+			return false;
+		}));
+	}
+	
+	@Test
+	public void testRemoveIfModifyingTheCollectionKeepsItConsistent() {
+		assertThrows(ConcurrentModificationException.class, () -> numbers.removeIf(value -> {
+			if(value == 3) numbers.add(9);
+			return value % 2 == 0;
+		}));
+		
+		assertArrayEquals(new Object[] {0, 1, 2, 3, 4, 5, 9}, numbers.toArray());
+	}
+	
+	@Test
+	public void testSpliteratorSplitsEvenly() {
+		Spliterator<Integer> spliterator = numbers.spliterator();
+		Spliterator<Integer> prefix = spliterator.trySplit();
+		
+		assertEquals(3, prefix.estimateSize());
+		assertEquals(3, spliterator.estimateSize());
+		assertTrue(prefix.hasCharacteristics(Spliterator.SUBSIZED | Spliterator.ORDERED));
+	}
+	
+	@Test
+	public void testStreams() {
+		ArrayIndexedCollection<Integer> large = new ArrayIndexedCollection<>();
+		for(int i = 0; i < 100_000; i++) large.add(i);
+		
+		assertEquals(4_999_950_000L, large.parallelStream().mapToLong(Integer::longValue).sum());
+		assertEquals("0,1,2,3,4,5", numbers.stream().map(String::valueOf).collect(Collectors.joining(",")));
+	}
+	
+	@Test
+	public void testSpliteratorConcurrentModification() {
+		Spliterator<Integer> spliterator = numbers.spliterator();
+		
+		assertThrows(ConcurrentModificationException.class, () -> spliterator.forEachRemaining(value -> numbers.add(value)));
+	}
+	
+	@Test
+	public void testParallelForEach() {
+		ArrayIndexedCollection<Integer> large = new ArrayIndexedCollection<>();
+		for(int i = 0; i < 100_000; i++) large.add(i);
+		
+		LongAdder sum = new LongAdder();
+		large.parallelForEach(sum::add, 4);
+		assertEquals(4_999_950_000L, sum.sum());
+		
+		LongAdder count = new LongAdder();
+		large.parallelForEach(value -> count.increment());
+		assertEquals(100_000, count.sum());
+		
+		assertThrows(IllegalArgumentException.class, () -> large.parallelForEach(value -> {}, 0));
+	}
+	
+	@Test
+	public void testParallelAddAllSatisfyingKeepsOrder() {
+		ArrayIndexedCollection<Integer> large = new ArrayIndexedCollection<>();
+		for(int i = 0; i < 100_000; i++) large.add(i);
+		
+		LinkedListIndexedCollection<Integer> multiplesOfSeven = new LinkedListIndexedCollection<>();
+		multiplesOfSeven.parallelAddAllSatisfying(large, value -> value % 7 == 0);
+		
+		assertEquals(14_286, multiplesOfSeven.size());
+		for(int i = 0; i < multiplesOfSeven.size(); i++) assertEquals(7 * i, multiplesOfSeven.get(i));
+	}
+	
+	@Test
+	public void testSnapshotIsNotAffectedByModifications() {
+		List<Integer> snapshot = numbers.snapshot();
+		ElementsGetter<Integer> getter = snapshot.createElementsGetter();
+		
+		numbers.add(6);
+		numbers.remove(0);
+		numbers.insert(9, 1);
+		
+		assertArrayEquals(new Object[] {0, 1, 2, 3, 4, 5}, snapshot.toArray());
+		assertArrayEquals(new Object[] {1, 9, 2, 3, 4, 5, 6}, numbers.toArray());
+		assertEquals(0, getter.getNextElement());
+		
+		List<Integer> second = numbers.snapshot();
+		numbers.clear();
+		assertEquals(7, second.size());
+		assertEquals(6, second.get(6));
+	}
+	
+	@Test
+	public void testSnapshotSurvivesBulkOperations() {
+		List<Integer> snapshot = numbers.snapshot();
+		numbers.removeIf(value -> value % 2 == 0);
+		List<Integer> second = numbers.snapshot();
+		numbers.insertAll(numbers, 1);
+		numbers.removeRange(0, 2);
+		
+		assertArrayEquals(new Object[] {0, 1, 2, 3, 4, 5}, snapshot.toArray());
+		assertArrayEquals(new Object[] {1, 3, 5}, second.toArray());
+		assertArrayEquals(new Object[] {3, 5, 3, 5}, numbers.toArray());
+	}
+	
+	@Test
+	public void testRemoveIfCopiesSharedArrayOnlyWhenRemoving() throws ReflectiveOperationException {
+		List<Integer> snapshot = numbers.snapshot();
+		Object[] shared = backingArrayOf(numbers);
+		
+		assertFalse(numbers.removeIf(value -> value > 100));
+		assertSame(shared, backingArrayOf(numbers));
+		
+		assertThrows(IllegalStateException.class, () -> numbers.removeIf(value -> {
+			throw new IllegalStateException();
+		}));
+		assertSame(shared, backingArrayOf(numbers));
+		
+		assertTrue(numbers.removeIf(value -> value == 3));
+		assertNotSame(shared, backingArrayOf(numbers));
+		assertArrayEquals(new Object[] {0, 1, 2, 3, 4, 5}, snapshot.toArray());
+		assertArrayEquals(new Object[] {0, 1, 2, 4, 5}, numbers.toArray());
+	}
+	
+	@Test
+	public void testSnapshotIsImmutable() {
+		List<Integer> snapshot = numbers.snapshot();
+		
+		assertThrows(UnsupportedOperationException.class, () -> snapshot.add(1));
+		assertThrows(UnsupportedOperationException.class, () -> snapshot.remove(0));
+		assertThrows(UnsupportedOperationException.class, snapshot::clear);
+		assertEquals(15, snapshot.stream().mapToInt(Integer::intValue).sum());
+	}
+	
+	@Test
+	public void testNextChunk() {
+		ElementsGetter<Integer> getter = numbers.createElementsGetter();
+		Integer[] buffer = new Integer[4];
+		
+		assertEquals(0, getter.getNextElement());
+		assertEquals(4, getter.nextChunk(buffer));
+		assertArrayEquals(new Integer[] {1, 2, 3, 4}, buffer);
+		assertEquals(1, getter.nextChunk(buffer));
+		assertEquals(5, buffer[0]);
+		assertEquals(0, getter.nextChunk(buffer));
+		assertFalse(getter.hasNextElement());
+	}
+	
+	@Test
+	public void testProcessChunksModifiedCollection() {
+		ElementsGetter<Integer> getter = numbers.createElementsGetter();
+		LongAdder sum = new LongAdder();
+		
+		assertThrows(ConcurrentModificationException.class, () -> getter.processChunks(new Integer[2], (chunk, length) -> {
+			for(int i = 0; i < length; i++) sum.add(chunk[i]);
+			numbers.add(10);
+		}));
+		assertEquals(1, sum.sum());
+	}
+	
+	private static Object[] backingArrayOf(ArrayIndexedCollection<?> collection) throws ReflectiveOperationException {
+		Field elements = ArrayIndexedCollection.class.getDeclaredField("elements");
+		elements.setAccessible(true);
+		return (Object[]) elements.get(collection);
+	}
+	
+}
@@ -0,0 +1,118 @@
+package hr.fer.oprpp1.custom.collections;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+import java.util.TreeSet;
+
+import org.junit.jupiter.api.Test;
+
+public class BitSetIntSetTest {
+
+	@Test
+	public void testAddContainsRemove() {
+		BitSetIntSet set = new BitSetIntSet();
+
+		assertTrue(set.add(5));
+		assertFalse(set.add(5));
+		assertTrue(set.add(-5));
+		assertTrue(set.add(Integer.MIN_VALUE));
+		assertTrue(set.add(Integer.MAX_VALUE));
+		assertEquals(4, set.size());
+
+		assertTrue(set.contains(-5));
+		assertFalse(set.contains(6));
+
+		assertTrue(set.remove(-5));
+		assertFalse(set.remove(-5));
+		assertEquals(3, set.size());
+	}
+
+	@Test
+	public void testValuesAreVisitedInAscendingOrder() {
+		BitSetIntSet set = new BitSetIntSet(70_000, -1, 3, Integer.MIN_VALUE, -70_000, Integer.MAX_VALUE, 0);
+
+		assertArrayEquals(new int[] {Integer.MIN_VALUE, -70_000, -1, 0, 3, 70_000, Integer.MAX_VALUE}, set.toArray());
+		assertEquals("[-2147483648, -70000, -1, 0, 3, 70000, 2147483647]", set.toString());
+	}
+
+	@Test
+	public void testDenseChunkSwitchesBetweenArrayAndBitmap() {
+		BitSetIntSet set = new BitSetIntSet();
+		for(int i = 0; i < 3 * BitSetIntSet.ARRAY_LIMIT; i += 2) set.add(i);
+		assertEquals(3 * BitSetIntSet.ARRAY_LIMIT / 2, set.size());
+
+		for(int i = 0; i < 3 * BitSetIntSet.ARRAY_LIMIT; i++) assertEquals(i % 2 == 0, set.contains(i));
+
+		for(int i = 0; i < 2 * BitSetIntSet.ARRAY_LIMIT; i += 2) set.remove(i);
+		assertEquals(BitSetIntSet.ARRAY_LIMIT / 2, set.size());
+		assertTrue(set.contains(2 * BitSetIntSet.ARRAY_LIMIT));
+		assertFalse(set.contains(2));
+
+		for(int i = 2 * BitSetIntSet.ARRAY_LIMIT; i < 3 * BitSetIntSet.ARRAY_LIMIT; i += 2) set.remove(i);
+		assertTrue(set.isEmpty());
+	}
+
+	@Test
+	public void testEqualsIgnoresContainerKind() {
+		BitSetIntSet sparse = new BitSetIntSet();
+		BitSetIntSet dense = new BitSetIntSet();
+		for(int i = 0; i < 2 * BitSetIntSet.ARRAY_LIMIT; i++) dense.add(i);
+		for(int i = 10; i < 2 * BitSetIntSet.ARRAY_LIMIT; i++) dense.remove(i);
+		for(int i = 0; i < 10; i++) sparse.add(i);
+
+		assertEquals(sparse, dense);
+		assertEquals(sparse.hashCode(), dense.hashCode());
+
+		sparse.add(-1);
+		assertNotEquals(sparse, dense);
+	}
+
+	@Test
+	public void testSetAlgebraMatchesTreeSet() {
+		Random random = new Random(11);
+
+		for(int round = 0; round < 20; round++) {
+			TreeSet<Integer> first = new TreeSet<>(), second = new TreeSet<>();
+			BitSetIntSet firstSet = new BitSetIntSet(), secondSet = new BitSetIntSet();
+
+			// gusti i rijetki blokovi, kako bi se pokrile sve kombinacije spremnika
+			int firstDensity = 1 + random.nextInt(40), secondDensity = 1 + random.nextInt(40);
+			for(int i = 0; i < 20_000; i++) {
+				int a = random.nextInt(200_000 / firstDensity) * firstDensity - 100_000;
+				int b = random.nextInt(200_000 / secondDensity) * secondDensity - 100_000;
+				first.add(a);
+				firstSet.add(a);
+				second.add(b);
+				secondSet.add(b);
+			}
+
+			TreeSet<Integer> union = new TreeSet<>(first);
+			union.addAll(second);
+			TreeSet<Integer> intersection = new TreeSet<>(first);
+			intersection.retainAll(second);
+			TreeSet<Integer> difference = new TreeSet<>(first);
+			difference.removeAll(second);
+
+			assertArrayEquals(toArray(union), firstSet.union(secondSet).toArray());
+			assertArrayEquals(toArray(intersection), firstSet.intersection(secondSet).toArray());
+			assertArrayEquals(toArray(difference), firstSet.difference(secondSet).toArray());
+			assertArrayEquals(toArray(first), firstSet.toArray());
+		}
+	}
+
+	@Test
+	public void testCombiningWithNull() {
+		assertThrows(NullPointerException.class, () -> new BitSetIntSet().union(null));
+	}
+
+	private static int[] toArray(TreeSet<Integer> set) {
+		return set.stream().mapToInt(Integer::intValue).toArray();
+	}
+
+}
@@ -0,0 +1,174 @@
+package hr.fer.oprpp1.custom.collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import hr.fer.oprpp1.custom.collections.BoundedCache.EvictionPolicy;
+
+public class BoundedCacheTest {
+	
+	@Test
+	public void testLruEvictsLeastRecentlyUsed() {
+		BoundedCache<Integer, String> cache = new BoundedCache<>(3);
+		cache.put(1, "a");
+		cache.put(2, "b");
+		cache.put(3, "c");
+		cache.get(1);
+		cache.put(4, "d");
+		
+		assertEquals(3, cache.size());
+		assertFalse(cache.containsKey(2));
+		assertTrue(cache.containsKey(1));
+		assertTrue(cache.containsKey(3));
+		assertTrue(cache.containsKey(4));
+		assertEquals(1, cache.evictionCount());
+	}
+	
+	@Test
+	public void testLruUpdateRefreshesRecency() {
+		BoundedCache<Integer, String> cache = new BoundedCache<>(2);
+		cache.put(1, "a");
+		cache.put(2, "b");
+		cache.put(1, "c");
+		cache.put(3, "d");
+		
+		assertEquals("c", cache.get(1));
+		assertNull(cache.get(2));
+	}
+	
+	@Test
+	public void testWeigher() {
+		BoundedCache<String, String> cache = new BoundedCache<>(10, (key, value) -> value.length(), EvictionPolicy.LRU);
+		cache.put("a", "aaaa");
+		cache.put("b", "bbbb");
+		assertEquals(8, cache.weightedSize());
+		
+		cache.put("c", "cccc");
+		assertEquals(8, cache.weightedSize());
+		assertFalse(cache.containsKey("a"));
+		
+		cache.put("b", "b");
+		assertEquals(5, cache.weightedSize());
+		
+		cache.put("d", "dddddddddddd");
+		assertFalse(cache.containsKey("d"));
+		assertEquals(5, cache.weightedSize());
+	}
+	
+	@Test
+	public void testHitAndMissCounters() {
+		BoundedCache<Integer, Integer> cache = new BoundedCache<>(10);
+		int[] calls = new int[1];
+		
+		for(int i = 0; i < 3; i++) {
+			assertEquals(49, cache.computeIfAbsent(7, key -> {
+				calls[0]++;
+				return key * key;
+			}));
+		}
+		cache.get(7);
+		cache.get(8);
+		
+		assertEquals(1, calls[0]);
+		assertEquals(3, cache.hitCount());
+		assertEquals(2, cache.missCount());
+	}
+	
+	@Test
+	public void testTinyLfuKeepsFrequentKeysDuringScan() {
+		BoundedCache<Integer, Integer> lru = new BoundedCache<>(100, EvictionPolicy.LRU);
+		BoundedCache<Integer, Integer> tinyLfu = new BoundedCache<>(100, EvictionPolicy.WINDOW_TINY_LFU);
+		
+		for(int round = 0; round < 5; round++) {
+			for(int key = 0; key < 50; key++) {
+				lru.computeIfAbsent(key, k -> k);
+				tinyLfu.computeIfAbsent(key, k -> k);
+			}
+		}
+		for(int key = 1000; key < 2000; key++) {
+			lru.computeIfAbsent(key, k -> k);
+			tinyLfu.computeIfAbsent(key, k -> k);
+		}
+		
+		int lruHot = 0;
+		int tinyLfuHot = 0;
+		for(int key = 0; key < 50; key++) {
+			if(lru.containsKey(key)) lruHot++;
+			if(tinyLfu.containsKey(key)) tinyLfuHot++;
+		}
+		
+		assertEquals(0, lruHot);
+		assertEquals(50, tinyLfuHot);
+		assertTrue(tinyLfu.size() <= 100);
+	}
+	
+	@Test
+	public void testTinyLfuCandidateCompetesWithMainVictim() {
+		BoundedCache<Integer, String> cache = new BoundedCache<>(100, EvictionPolicy.WINDOW_TINY_LFU);
+		for(int i = 0; i < 100; i++) cache.put(i, "v" + i);
+		for(int round = 0; round < 3; round++) {
+			for(int i = 0; i < 100; i++) cache.get(i);
+		}
+		
+		for(int i = 1000; i < 1050; i++) cache.put(i, "once");
+		
+		assertEquals(100, cache.size());
+		assertEquals(1, countKeysAbove(cache, 999)); //samo najnoviji kljuc u prozoru
+		assertTrue(cache.containsKey(1049));
+	}
+	
+	@Test
+	public void testFrequencySketchGrowsWithEntries() {
+		FrequencySketch sketch = new FrequencySketch();
+		assertEquals(16, sketch.width());
+		
+		for(int i = 0; i < 5; i++) sketch.increment("key");
+		sketch.ensureCapacity(1000);
+		assertEquals(8192, sketch.width());
+		assertEquals(5, sketch.frequency("key"));
+		sketch.ensureCapacity(10);
+		assertEquals(8192, sketch.width());
+		
+		assertEquals(FrequencySketch.MAXIMUM_WIDTH, FrequencySketch.widthFor(Long.MAX_VALUE));
+		assertEquals(FrequencySketch.MAXIMUM_WIDTH, FrequencySketch.widthFor(Integer.MAX_VALUE));
+		assertEquals(16, FrequencySketch.widthFor(0));
+	}
+	
+	private static int countKeysAbove(BoundedCache<Integer, String> cache, int threshold) {
+		int count = 0;
+		for(SimpleHashtable.TableEntry<Integer, String> entry : cache) {
+			if(entry.getKey() > threshold) count++;
+		}
+		return count;
+	}
+	
+	@Test
+	public void testRemoveAndClear() {
+		BoundedCache<Integer, Integer> cache = new BoundedCache<>(4, EvictionPolicy.WINDOW_TINY_LFU);
+		for(int i = 0; i < 4; i++) cache.put(i, i);
+		
+		assertEquals(2, cache.remove(2));
+		assertEquals(3, cache.weightedSize());
+		
+		cache.clear();
+		assertEquals(0, cache.size());
+		assertEquals(0, cache.weightedSize());
+		
+		for(int i = 0; i < 10; i++) cache.put(i, i);
+		assertEquals(4, cache.size());
+		assertEquals(4, cache.weightedSize());
+	}
+	
+	@Test
+	public void testInvalidArguments() {
+		assertThrows(IllegalArgumentException.class, () -> new BoundedCache<>(0));
+		assertThrows(NullPointerException.class, () -> new BoundedCache<Integer, Integer>(1, null, EvictionPolicy.LRU));
+		assertThrows(NullPointerException.class, () -> new BoundedCache<Integer, Integer>(1).put(1, null));
+	}
+	
+}
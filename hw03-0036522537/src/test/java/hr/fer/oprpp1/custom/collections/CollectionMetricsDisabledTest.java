@@ -0,0 +1,50 @@
+package hr.fer.oprpp1.custom.collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+
+import org.junit.jupiter.api.*;
+
+public class CollectionMetricsDisabledTest {
+
+	@BeforeEach
+	public void setUp() {
+		assumeFalse(CollectionMetrics.ENABLED, "The metrics are disabled unless the system property is set.");
+	}
+
+	@Test
+	public void testNothingIsRecorded() {
+		CollectionMetrics.Snapshot before = CollectionMetrics.snapshot();
+
+		ArrayIndexedCollection<Integer> collection = new ArrayIndexedCollection<>(2);
+		for(int i = 0; i < 5; i++) collection.add(i);
+
+		SimpleHashtable<String, Integer> table = new SimpleHashtable<>(2);
+		for(int i = 0; i < 100; i++) table.put("key" + i, i);
+		for(int i = 0; i < 100; i++) table.get("key" + i);
+
+		Iterator<SimpleHashtable.TableEntry<String, Integer>> iterator = table.iterator();
+		table.put("a", 1);
+		assertThrows(ConcurrentModificationException.class, iterator::hasNext);
+
+		CollectionMetrics.Snapshot after = CollectionMetrics.snapshot();
+		assertEquals(before.getArrayResizes(), after.getArrayResizes());
+		assertEquals(before.getHashtableResizes(), after.getHashtableResizes());
+		assertArrayEquals(before.getChainProbeHistogram(), after.getChainProbeHistogram());
+		assertEquals(before.getConcurrentModifications(), after.getConcurrentModifications());
+	}
+
+	@Test
+	public void testSnapshotOfDisabledMetricsIsEmpty() {
+		CollectionMetrics.Snapshot snapshot = CollectionMetrics.snapshot();
+
+		assertEquals(0, snapshot.getArrayResizes());
+		assertEquals(0, snapshot.getMaximumChainProbes());
+		assertEquals(0, snapshot.getAverageChainProbes());
+		assertEquals(0, snapshot.getConcurrentModifications());
+	}
+
+}
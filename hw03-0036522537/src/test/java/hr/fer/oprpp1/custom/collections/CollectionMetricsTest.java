@@ -0,0 +1,149 @@
+package hr.fer.oprpp1.custom.collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.lang.management.ManagementFactory;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+
+import javax.management.ObjectName;
+
+import org.junit.jupiter.api.*;
+
+public class CollectionMetricsTest {
+
+	@BeforeEach
+	public void setUp() {
+		assumeTrue(CollectionMetrics.ENABLED, "The metrics are enabled by the metrics-test execution of surefire.");
+	}
+
+	@Test
+	public void testArrayResizes() {
+		CollectionMetrics.Snapshot before = CollectionMetrics.snapshot();
+
+		ArrayIndexedCollection<Integer> collection = new ArrayIndexedCollection<>(2);
+		for(int i = 0; i < 5; i++) collection.add(i);
+
+		CollectionMetrics.Snapshot after = CollectionMetrics.snapshot();
+		assertEquals(2, after.getArrayResizes() - before.getArrayResizes());
+		assertEquals(2 + 4, after.getArrayCopiedElements() - before.getArrayCopiedElements());
+	}
+
+	@Test
+	public void testHashtableResizesAndProbes() {
+		CollectionMetrics.Snapshot before = CollectionMetrics.snapshot();
+
+		SimpleHashtable<String, Integer> table = new SimpleHashtable<>(2);
+		for(int i = 0; i < 100; i++) table.put("key" + i, i);
+		for(int i = 0; i < 100; i++) table.get("key" + i);
+
+		CollectionMetrics.Snapshot after = CollectionMetrics.snapshot();
+		assertTrue(after.getHashtableResizes() - before.getHashtableResizes() >= 6);
+
+		long lookups = 0;
+		long[] histogramBefore = before.getChainProbeHistogram();
+		long[] histogramAfter = after.getChainProbeHistogram();
+		assertEquals(CollectionMetrics.PROBE_BUCKETS, histogramAfter.length);
+		for(int i = 0; i < histogramAfter.length; i++) lookups += histogramAfter[i] - histogramBefore[i];
+		assertTrue(lookups >= 200);
+		assertTrue(after.getMaximumChainProbes() >= 1);
+	}
+
+	@Test
+	public void testTreeBinLookupsRecordSlotLength() {
+		SimpleHashtable<String, Integer> table = new SimpleHashtable<>(64);
+		String[] halves = {"Aa", "BB"};
+		for(int i = 0; i < 16; i++) {
+			// svi kljucevi imaju isti hashCode, pa zavrse u istom pretincu koji postaje stablo
+			String key = halves[i & 1] + halves[(i >> 1) & 1] + halves[(i >> 2) & 1] + halves[(i >> 3) & 1];
+			table.put(key, i);
+		}
+
+		CollectionMetrics.Snapshot before = CollectionMetrics.snapshot();
+		assertEquals(0, table.get("AaAaAaAa"));
+
+		long[] histogramBefore = before.getChainProbeHistogram();
+		long[] histogramAfter = CollectionMetrics.snapshot().getChainProbeHistogram();
+		assertEquals(histogramBefore[CollectionMetrics.PROBE_BUCKETS - 1] + 1, histogramAfter[CollectionMetrics.PROBE_BUCKETS - 1]);
+		assertTrue(CollectionMetrics.snapshot().getMaximumChainProbes() >= 16);
+	}
+
+	@Test
+	public void testOpenAddressingProbes() {
+		CollectionMetrics.Snapshot before = CollectionMetrics.snapshot();
+
+		OpenAddressingHashtable<Integer, Integer> table = new OpenAddressingHashtable<>();
+		table.put(1, 1);
+		table.get(1);
+
+		long[] histogramBefore = before.getOpenAddressingProbeHistogram();
+		long[] histogramAfter = CollectionMetrics.snapshot().getOpenAddressingProbeHistogram();
+		assertEquals(histogramBefore[0], histogramAfter[0]);
+		assertTrue(histogramAfter[1] > histogramBefore[1]);
+	}
+
+	@Test
+	public void testDictionaryScans() {
+		CollectionMetrics.Snapshot before = CollectionMetrics.snapshot();
+
+		Dictionary<String, Integer> dictionary = new Dictionary<>(10);
+		dictionary.put("a", 1);
+		dictionary.put("b", 2);
+		dictionary.get("b");
+
+		CollectionMetrics.Snapshot after = CollectionMetrics.snapshot();
+		assertEquals(3, after.getDictionaryScans() - before.getDictionaryScans());
+		assertEquals(0 + 1 + 2, after.getDictionaryScannedEntries() - before.getDictionaryScannedEntries());
+	}
+
+	@Test
+	public void testConcurrentModifications() {
+		long before = CollectionMetrics.snapshot().getConcurrentModifications();
+
+		SimpleHashtable<String, Integer> table = new SimpleHashtable<>();
+		table.put("a", 1);
+		Iterator<SimpleHashtable.TableEntry<String, Integer>> iterator = table.iterator();
+		table.put("b", 2);
+
+		assertThrows(ConcurrentModificationException.class, iterator::hasNext);
+		assertEquals(1, CollectionMetrics.snapshot().getConcurrentModifications() - before);
+	}
+
+	@Test
+	public void testConcurrentModificationsOfPrimitiveCollections() {
+		long before = CollectionMetrics.snapshot().getConcurrentModifications();
+
+		IntArrayIndexedCollection collection = new IntArrayIndexedCollection();
+		collection.add(1);
+		assertThrows(ConcurrentModificationException.class, () -> collection.forEach(value -> collection.add(value)));
+
+		assertEquals(1, CollectionMetrics.snapshot().getConcurrentModifications() - before);
+	}
+
+	@Test
+	public void testConcurrentModificationsOfTreeMap() {
+		long before = CollectionMetrics.snapshot().getConcurrentModifications();
+
+		SimpleTreeMap<Integer, Integer> map = new SimpleTreeMap<>();
+		map.put(1, 1);
+		map.put(2, 2);
+		Iterator<SimpleTreeMap.TreeEntry<Integer, Integer>> iterator = map.iterator();
+		iterator.next();
+		map.put(3, 3);
+		assertThrows(ConcurrentModificationException.class, iterator::hasNext);
+
+		assertEquals(1, CollectionMetrics.snapshot().getConcurrentModifications() - before);
+	}
+
+	@Test
+	public void testMBean() throws Exception {
+		CollectionMetrics.registerMBean();
+		CollectionMetrics.registerMBean();
+
+		ObjectName name = new ObjectName(CollectionMetrics.OBJECT_NAME);
+		assertEquals(true, ManagementFactory.getPlatformMBeanServer().getAttribute(name, "Enabled"));
+		assertTrue((Long)ManagementFactory.getPlatformMBeanServer().getAttribute(name, "ArrayResizes") >= 0);
+	}
+
+}
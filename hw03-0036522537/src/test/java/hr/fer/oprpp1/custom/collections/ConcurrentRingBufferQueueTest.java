@@ -0,0 +1,86 @@
+package hr.fer.oprpp1.custom.collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.junit.jupiter.api.Test;
+
+public class ConcurrentRingBufferQueueTest {
+
+	@Test
+	public void testIllegalCapacity() {
+		assertThrows(IllegalArgumentException.class, () -> new ConcurrentRingBufferQueue<>(1));
+	}
+
+	@Test
+	public void testCapacityIsRoundedUpToPowerOfTwo() {
+		assertEquals(8, new ConcurrentRingBufferQueue<>(5).capacity());
+		assertEquals(8, new ConcurrentRingBufferQueue<>(8).capacity());
+	}
+
+	@Test
+	public void testOfferNull() {
+		assertThrows(NullPointerException.class, () -> new ConcurrentRingBufferQueue<>(4).offer(null));
+	}
+
+	@Test
+	public void testFifoOrderAndBounds() {
+		ConcurrentRingBufferQueue<Integer> queue = new ConcurrentRingBufferQueue<>(4);
+		assertNull(queue.poll());
+		assertTrue(queue.isEmpty());
+
+		for(int round = 0; round < 3; round++) {
+			for(int i = 0; i < 4; i++) assertTrue(queue.offer(i));
+			assertFalse(queue.offer(4));
+			assertEquals(4, queue.size());
+
+			for(int i = 0; i < 4; i++) assertEquals(i, queue.poll());
+			assertNull(queue.poll());
+		}
+	}
+
+	@Test
+	public void testConcurrentProducersAndConsumers() throws InterruptedException {
+		int producers = 4, consumers = 4, perProducer = 50_000;
+		ConcurrentRingBufferQueue<Integer> queue = new ConcurrentRingBufferQueue<>(64);
+		AtomicLongArray seen = new AtomicLongArray(producers * perProducer);
+		AtomicLong consumed = new AtomicLong();
+
+		Thread[] threads = new Thread[producers + consumers];
+		for(int p = 0; p < producers; p++) {
+			int first = p * perProducer;
+			threads[p] = new Thread(() -> {
+				for(int i = first; i < first + perProducer; i++) {
+					while(!queue.offer(i)) Thread.yield();
+				}
+			});
+		}
+		for(int c = 0; c < consumers; c++) {
+			threads[producers + c] = new Thread(() -> {
+				while(consumed.get() < producers * perProducer) {
+					Integer value = queue.poll();
+					if(value == null) {
+						Thread.yield();
+						continue;
+					}
+					seen.incrementAndGet(value);
+					consumed.incrementAndGet();
+				}
+			});
+		}
+
+		for(Thread thread : threads) thread.start();
+		for(Thread thread : threads) thread.join();
+
+		assertEquals(producers * perProducer, consumed.get());
+		for(int i = 0; i < seen.length(); i++) assertEquals(1, seen.get(i));
+		assertTrue(queue.isEmpty());
+	}
+
+}
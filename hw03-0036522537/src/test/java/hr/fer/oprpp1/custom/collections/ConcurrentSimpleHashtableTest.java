@@ -0,0 +1,192 @@
+package hr.fer.oprpp1.custom.collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import hr.fer.oprpp1.custom.collections.SimpleHashtable.TableEntry;
+
+public class ConcurrentSimpleHashtableTest {
+	
+	private ConcurrentSimpleHashtable<String, Integer> examMarks;
+	
+	@BeforeEach
+	public void setUp() {
+		examMarks = new ConcurrentSimpleHashtable<>(2);
+		examMarks.put("Ivana", 2);
+		examMarks.put("Ante", 2);
+		examMarks.put("Jasna", 2);
+		examMarks.put("Kristina", 5);
+		examMarks.put("Ivana", 5);
+	}
+	
+	@Test
+	public void testIllegalConstructorArguments() {
+		assertThrows(IllegalArgumentException.class, () -> new ConcurrentSimpleHashtable<>(0));
+		assertThrows(IllegalArgumentException.class, () -> new ConcurrentSimpleHashtable<>(16, 0));
+	}
+	
+	@Test
+	public void testPutProvidedNullKey() {
+		assertThrows(NullPointerException.class, () -> examMarks.put(null, 5));
+	}
+	
+	@Test
+	public void testBasicOperations() {
+		assertEquals(4, examMarks.size());
+		assertEquals(5, examMarks.get("Ivana"));
+		assertTrue(examMarks.containsKey("Ante"));
+		assertTrue(examMarks.containsValue(5));
+		assertFalse(examMarks.containsValue(3));
+		
+		assertEquals(2, examMarks.remove("Ante"));
+		assertNull(examMarks.remove("Ante"));
+		assertEquals(3, examMarks.size());
+		
+		examMarks.clear();
+		assertTrue(examMarks.isEmpty());
+		assertNull(examMarks.get("Ivana"));
+	}
+	
+	@Test
+	public void testPutIfAbsentComputeIfAbsentAndMerge() {
+		assertEquals(5, examMarks.putIfAbsent("Ivana", 1));
+		assertNull(examMarks.putIfAbsent("Test", 1));
+		assertEquals(5, examMarks.computeIfAbsent("Test2", String::length));
+		assertEquals(7, examMarks.merge("Kristina", 2, Integer::sum));
+		assertNull(examMarks.merge("Kristina", 2, (oldValue, value) -> null));
+		
+		assertEquals(5, examMarks.size());
+		assertFalse(examMarks.containsKey("Kristina"));
+	}
+	
+	@Test
+	public void testIteratorIsWeaklyConsistent() {
+		Iterator<TableEntry<String, Integer>> iterator = examMarks.iterator();
+		examMarks.put("Test", 4);
+		examMarks.remove("Ante");
+		
+		int count = 0;
+		while(iterator.hasNext()) {
+			iterator.next();
+			count++;
+		}
+		assertTrue(count >= 3 && count <= 5);
+	}
+	
+	@Test
+	public void testIteratorRemoveAndSetValue() {
+		Iterator<TableEntry<String, Integer>> iterator = examMarks.iterator();
+		while(iterator.hasNext()) {
+			TableEntry<String, Integer> entry = iterator.next();
+			if(entry.getKey().equals("Ante")) {
+				iterator.remove();
+				assertThrows(IllegalStateException.class, () -> iterator.remove());
+			} else {
+				entry.setValue(1);
+			}
+		}
+		
+		assertEquals(3, examMarks.size());
+		assertFalse(examMarks.containsKey("Ante"));
+		assertFalse(examMarks.containsValue(5));
+	}
+	
+	@Test
+	public void testSetValueDoesNotResurrectRemovedPair() {
+		Iterator<TableEntry<String, Integer>> iterator = examMarks.iterator();
+		TableEntry<String, Integer> entry = iterator.next();
+		examMarks.remove(entry.getKey());
+		
+		entry.setValue(1);
+		assertEquals(1, entry.getValue());
+		assertFalse(examMarks.containsKey(entry.getKey()));
+		assertEquals(3, examMarks.size());
+	}
+	
+	@Test
+	public void testWritersToMovedStripesDoNotWaitForResize() throws InterruptedException {
+		ConcurrentSimpleHashtable<Integer, Integer> table = new ConcurrentSimpleHashtable<>(16, 4);
+		for(int i = 4; i < 16; i++) table.put(i, i); //po tri kljuca u svakoj od cetiri pruge
+		
+		CountDownLatch entered = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		Thread blocker = new Thread(() -> table.computeIfAbsent(3, key -> { //drzi zakljucanu prugu 3
+			entered.countDown();
+			try {
+				release.await();
+			} catch(InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			return key;
+		}));
+		blocker.start();
+		entered.await();
+		
+		Thread grower = new Thread(() -> table.put(16, 16)); //pruga 0 prelazi prag i tablica se povecava
+		grower.start();
+		try {
+			while(grower.getState() != Thread.State.WAITING) Thread.sleep(1);
+			
+			//pruge 0, 1 i 2 su premjestene, a povecanje ceka na prugu 3
+			assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+				table.put(20, 20);
+				table.remove(5);
+				table.put(6, 60);
+			});
+			assertEquals(20, table.get(20));
+			assertNull(table.get(5));
+			assertEquals(60, table.get(6));
+			assertTrue(table.containsValue(60));
+		} finally {
+			release.countDown();
+		}
+		blocker.join();
+		grower.join();
+		
+		assertEquals(14, table.size());
+		for(int i = 3; i <= 16; i++) {
+			if(i != 5) assertTrue(table.containsKey(i));
+		}
+		assertEquals(20, table.get(20));
+		
+		int count = 0;
+		for(Iterator<TableEntry<Integer, Integer>> iterator = table.iterator(); iterator.hasNext(); iterator.next()) count++;
+		assertEquals(14, count);
+	}
+	
+	@Test
+	public void testConcurrentWritersDuringResize() throws InterruptedException {
+		ConcurrentSimpleHashtable<Integer, Integer> table = new ConcurrentSimpleHashtable<>(2, 4);
+		int threads = 4;
+		int perThread = 20_000;
+		
+		Thread[] workers = new Thread[threads];
+		for(int t = 0; t < threads; t++) {
+			int offset = t * perThread;
+			workers[t] = new Thread(() -> {
+				for(int i = 0; i < perThread; i++) {
+					table.put(offset + i, offset + i);
+					table.merge(-1, 1, Integer::sum);
+				}
+			});
+			workers[t].start();
+		}
+		for(Thread worker : workers) worker.join();
+		
+		assertEquals(threads * perThread + 1, table.size());
+		assertEquals(threads * perThread, table.get(-1));
+		for(int i = 0; i < threads * perThread; i++) assertEquals(i, table.get(i));
+	}
+	
+}
@@ -0,0 +1,87 @@
+package hr.fer.oprpp1.custom.collections;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class CopyOnWriteArrayIndexedCollectionTest {
+	
+	private CopyOnWriteArrayIndexedCollection<String> words;
+	
+	@BeforeEach
+	public void setUp() {
+		words = new CopyOnWriteArrayIndexedCollection<>();
+		words.add("alpha");
+		words.add("beta");
+		words.add("gamma");
+	}
+	
+	@Test
+	public void testModifications() {
+		words.insert("first", 0);
+		words.insert("middle", words.size() - 1);
+		assertTrue(words.remove("beta"));
+		assertFalse(words.remove("beta"));
+		words.remove(0);
+		
+		assertArrayEquals(new Object[] {"alpha", "middle", "gamma"}, words.toArray());
+		assertEquals(2, words.indexOf("gamma"));
+		assertThrows(IndexOutOfBoundsException.class, () -> words.insert("last", words.size()));
+		assertThrows(IndexOutOfBoundsException.class, () -> words.insert("last", -1));
+		assertThrows(NullPointerException.class, () -> words.add(null));
+		assertThrows(IndexOutOfBoundsException.class, () -> words.get(3));
+	}
+	
+	@Test
+	public void testGetterDoesNotSeeLaterModifications() {
+		ElementsGetter<String> getter = words.createElementsGetter();
+		assertEquals("alpha", getter.getNextElement());
+		
+		words.clear();
+		words.add("delta");
+		
+		assertEquals("beta", getter.getNextElement());
+		assertEquals("gamma", getter.getNextElement());
+		assertFalse(getter.hasNextElement());
+		assertArrayEquals(new Object[] {"delta"}, words.toArray());
+	}
+	
+	@Test
+	public void testIteratingWhileModifying() {
+		words.forEach(word -> words.add(word + "!"));
+		
+		assertEquals(6, words.size());
+	}
+	
+	@Test
+	public void testConcurrentWriters() throws InterruptedException {
+		CopyOnWriteArrayIndexedCollection<Integer> numbers = new CopyOnWriteArrayIndexedCollection<>();
+		CountDownLatch start = new CountDownLatch(1);
+		java.util.List<Thread> threads = new ArrayList<>();
+		for(int t = 0; t < 4; t++) {
+			Thread thread = new Thread(() -> {
+				try {
+					start.await();
+				} catch(InterruptedException e) {
+					return;
+				}
+				for(int i = 0; i < 500; i++) numbers.add(i);
+			});
+			thread.start();
+			threads.add(thread);
+		}
+		start.countDown();
+		for(Thread thread : threads) thread.join();
+		
+		assertEquals(2000, numbers.size());
+	}
+	
+}
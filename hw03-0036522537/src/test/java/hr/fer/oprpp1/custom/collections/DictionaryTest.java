@@ -106,4 +106,61 @@ public class DictionaryTest {
 		assertNull(nonEmptyDictionaryContainingIntegerKeysStringValues.remove(7));
 	}
 	
+	@Test
+	public void testNegativeCompactThreshold() {
+		assertThrows(IllegalArgumentException.class, () -> new Dictionary<>(-1));
+	}
+	
+	@Test
+	public void testRemoveEntryWithNullValue() {
+		emptyDictionary.put("key", null);
+		
+		assertNull(emptyDictionary.remove("key"));
+		assertEquals(0, emptyDictionary.size());
+	}
+	
+	@Test
+	public void testDictionaryGrowingPastCompactThreshold() {
+		Dictionary<Integer, Integer> dictionary = new Dictionary<>(4);
+		for(int i = 0; i < 100; i++) dictionary.put(i, i);
+		
+		assertEquals(100, dictionary.size());
+		assertEquals(42, dictionary.put(42, -42));
+		assertEquals(-42, dictionary.get(42));
+		assertEquals(7, dictionary.remove(7));
+		assertNull(dictionary.get(7));
+		assertEquals(99, dictionary.size());
+		
+		dictionary.clear();
+		assertTrue(dictionary.isEmpty());
+		dictionary.put(1, 1);
+		assertEquals(1, dictionary.get(1));
+	}
+	
+	@Test
+	public void testHashedFromTheStart() {
+		Dictionary<String, Integer> dictionary = new Dictionary<>(0);
+		dictionary.put("one", 1);
+		dictionary.put("two", 2);
+		
+		assertEquals(2, dictionary.get("two"));
+		assertEquals(1, dictionary.remove("one"));
+		assertEquals(1, dictionary.size());
+	}
+	
+	@Test
+	public void testHashedDictionaryKeepsNullValues() {
+		Dictionary<String, Integer> dictionary = new Dictionary<>(0);
+		dictionary.put("empty", null);
+		dictionary.put("one", 1);
+		
+		assertNull(dictionary.get("empty"));
+		assertNotNull(dictionary.getEntry("empty"));
+		assertNull(dictionary.getEntry("missing"));
+		assertNull(dictionary.put("empty", 0));
+		assertEquals(0, dictionary.put("empty", null));
+		assertNull(dictionary.remove("empty"));
+		assertEquals(1, dictionary.size());
+	}
+	
 }
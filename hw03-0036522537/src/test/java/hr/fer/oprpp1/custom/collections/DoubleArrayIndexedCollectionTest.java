@@ -0,0 +1,153 @@
+package hr.fer.oprpp1.custom.collections;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ConcurrentModificationException;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class DoubleArrayIndexedCollectionTest {
+	
+	private DoubleArrayIndexedCollection collection;
+	
+	@BeforeEach
+	public void setUp() {
+		collection = new DoubleArrayIndexedCollection(2);
+		collection.add(3.5);
+		collection.add(1);
+		collection.add(4);
+		collection.add(1);
+		collection.add(5);
+	}
+	
+	@Test
+	public void testIllegalInitialCapacity() {
+		assertThrows(IllegalArgumentException.class, () -> new DoubleArrayIndexedCollection(0));
+	}
+	
+	@Test
+	public void testAddGrowsTheCollection() {
+		assertEquals(5, collection.size());
+		assertArrayEquals(new double[] {3.5, 1, 4, 1, 5}, collection.toArray());
+	}
+	
+	@Test
+	public void testGetOutOfBounds() {
+		assertThrows(IndexOutOfBoundsException.class, () -> collection.get(5));
+		assertThrows(IndexOutOfBoundsException.class, () -> collection.get(-1));
+	}
+	
+	@Test
+	public void testInsert() {
+		collection.insert(9, 0);
+		collection.insert(2, 3);
+		collection.insert(6, collection.size());
+		
+		assertArrayEquals(new double[] {9, 3.5, 1, 2, 4, 1, 5, 6}, collection.toArray());
+		assertThrows(IndexOutOfBoundsException.class, () -> collection.insert(0, 9));
+	}
+	
+	@Test
+	public void testRemoveByIndexAndByValue() {
+		collection.remove(0);
+		assertTrue(collection.removeValue(1));
+		assertFalse(collection.removeValue(7));
+		
+		assertArrayEquals(new double[] {4, 1, 5}, collection.toArray());
+		assertEquals(1, collection.indexOf(1));
+		assertFalse(collection.contains(3.5));
+	}
+	
+	@Test
+	public void testClear() {
+		collection.clear();
+		
+		assertTrue(collection.isEmpty());
+		collection.add(8);
+		assertEquals(8.0, collection.get(0));
+	}
+	
+	@Test
+	public void testForEach() {
+		double[] sum = new double[1];
+		collection.forEach(value -> sum[0] += value);
+		
+		assertEquals(14.5, sum[0]);
+	}
+	
+	@Test
+	public void testForEachModifyingTheCollection() {
+		assertThrows(ConcurrentModificationException.class, () -> collection.forEach(value -> collection.add(value)));
+	}
+	
+	@Test
+	public void testAddAllAndAddAllSatisfying() {
+		DoubleArrayIndexedCollection other = new DoubleArrayIndexedCollection(collection);
+		other.addAll(collection);
+		other.addAllSatisfying(other, value -> value < 4);
+		
+		assertArrayEquals(new double[] {3.5, 1, 4, 1, 5, 3.5, 1, 4, 1, 5, 3.5, 1, 1, 3.5, 1, 1}, other.toArray());
+	}
+	
+	@Test
+	public void testEqualsAndHashCode() {
+		DoubleArrayIndexedCollection copy = new DoubleArrayIndexedCollection(collection);
+		
+		assertEquals(collection, copy);
+		assertEquals(collection.hashCode(), copy.hashCode());
+		
+		copy.add(9);
+		assertNotEquals(collection, copy);
+	}
+	
+	@Test
+	public void testNaNIsFound() {
+		collection.add(Double.NaN);
+		
+		assertEquals(5, collection.indexOf(Double.NaN));
+		assertEquals(5, collection.indexOf(0.0 / 0.0));
+		assertTrue(collection.contains(Double.NaN));
+		assertTrue(collection.removeValue(Double.NaN));
+		assertFalse(collection.contains(Double.NaN));
+		assertEquals(5, collection.size());
+	}
+	
+	@Test
+	public void testZeroIsNotNegativeZero() {
+		collection.add(-0.0);
+		
+		assertFalse(collection.contains(0.0));
+		assertEquals(-1, collection.indexOf(0.0));
+		assertEquals(5, collection.indexOf(-0.0));
+		assertFalse(collection.removeValue(0.0));
+		
+		collection.add(0.0);
+		assertEquals(6, collection.indexOf(0.0));
+		assertTrue(collection.removeValue(-0.0));
+		assertEquals(5, collection.indexOf(0.0));
+	}
+	
+	@Test
+	public void testEqualsTreatsNaNAndSignedZeroesLikeIndexOf() {
+		DoubleArrayIndexedCollection first = new DoubleArrayIndexedCollection();
+		first.add(Double.NaN);
+		first.add(0.0);
+		DoubleArrayIndexedCollection second = new DoubleArrayIndexedCollection();
+		second.add(Double.NaN);
+		second.add(0.0);
+		
+		assertEquals(first, second);
+		assertEquals(first.hashCode(), second.hashCode());
+		
+		second.remove(1);
+		second.add(-0.0);
+		assertNotEquals(first, second);
+	}
+	
+}
@@ -0,0 +1,109 @@
+package hr.fer.oprpp1.custom.collections;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ConcurrentModificationException;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class IntArrayIndexedCollectionTest {
+	
+	private IntArrayIndexedCollection collection;
+	
+	@BeforeEach
+	public void setUp() {
+		collection = new IntArrayIndexedCollection(2);
+		collection.add(3);
+		collection.add(1);
+		collection.add(4);
+		collection.add(1);
+		collection.add(5);
+	}
+	
+	@Test
+	public void testIllegalInitialCapacity() {
+		assertThrows(IllegalArgumentException.class, () -> new IntArrayIndexedCollection(0));
+	}
+	
+	@Test
+	public void testAddGrowsTheCollection() {
+		assertEquals(5, collection.size());
+		assertArrayEquals(new int[] {3, 1, 4, 1, 5}, collection.toArray());
+	}
+	
+	@Test
+	public void testGetOutOfBounds() {
+		assertThrows(IndexOutOfBoundsException.class, () -> collection.get(5));
+		assertThrows(IndexOutOfBoundsException.class, () -> collection.get(-1));
+	}
+	
+	@Test
+	public void testInsert() {
+		collection.insert(9, 0);
+		collection.insert(2, 3);
+		collection.insert(6, collection.size());
+		
+		assertArrayEquals(new int[] {9, 3, 1, 2, 4, 1, 5, 6}, collection.toArray());
+		assertThrows(IndexOutOfBoundsException.class, () -> collection.insert(0, 9));
+	}
+	
+	@Test
+	public void testRemoveByIndexAndByValue() {
+		collection.remove(0);
+		assertTrue(collection.removeValue(1));
+		assertFalse(collection.removeValue(7));
+		
+		assertArrayEquals(new int[] {4, 1, 5}, collection.toArray());
+		assertEquals(1, collection.indexOf(1));
+		assertFalse(collection.contains(3));
+	}
+	
+	@Test
+	public void testClear() {
+		collection.clear();
+		
+		assertTrue(collection.isEmpty());
+		collection.add(8);
+		assertEquals(8, collection.get(0));
+	}
+	
+	@Test
+	public void testForEach() {
+		int[] sum = new int[1];
+		collection.forEach(value -> sum[0] += value);
+		
+		assertEquals(14, sum[0]);
+	}
+	
+	@Test
+	public void testForEachModifyingTheCollection() {
+		assertThrows(ConcurrentModificationException.class, () -> collection.forEach(value -> collection.add(value)));
+	}
+	
+	@Test
+	public void testAddAllAndAddAllSatisfying() {
+		IntArrayIndexedCollection other = new IntArrayIndexedCollection(collection);
+		other.addAll(collection);
+		other.addAllSatisfying(other, value -> value % 2 == 1);
+		
+		assertArrayEquals(new int[] {3, 1, 4, 1, 5, 3, 1, 4, 1, 5, 3, 1, 1, 5, 3, 1, 1, 5}, other.toArray());
+	}
+	
+	@Test
+	public void testEqualsAndHashCode() {
+		IntArrayIndexedCollection copy = new IntArrayIndexedCollection(collection);
+		
+		assertEquals(collection, copy);
+		assertEquals(collection.hashCode(), copy.hashCode());
+		
+		copy.add(9);
+		assertNotEquals(collection, copy);
+	}
+	
+}
@@ -0,0 +1,154 @@
+package hr.fer.oprpp1.custom.collections;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ConcurrentModificationException;
+import java.util.ListIterator;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class LinkedListIndexedCollectionTest {
+	
+	private LinkedListIndexedCollection<Integer> numbers;
+	
+	@BeforeEach
+	public void setUp() {
+		numbers = new LinkedListIndexedCollection<>();
+		for(int i = 0; i < 5; i++) numbers.add(i);
+	}
+	
+	@Test
+	public void testSequentialGet() {
+		for(int i = 0; i < numbers.size(); i++) assertEquals(i, numbers.get(i));
+		for(int i = numbers.size() - 1; i >= 0; i--) assertEquals(i, numbers.get(i));
+		
+		assertThrows(IndexOutOfBoundsException.class, () -> numbers.get(5));
+	}
+	
+	@Test
+	public void testGetAfterModificationsMatchesJavaUtilList() {
+		java.util.List<Integer> expected = new java.util.ArrayList<>();
+		for(int i = 0; i < 5; i++) expected.add(i);
+		
+		Random random = new Random(42);
+		for(int step = 0; step < 2000; step++) {
+			int operation = random.nextInt(4);
+			if(operation == 0 || expected.isEmpty()) {
+				int position = random.nextInt(expected.size() + 1);
+				numbers.insert(step, position);
+				expected.add(position, step);
+			} else if(operation == 1) {
+				int index = random.nextInt(expected.size());
+				numbers.remove(index);
+				expected.remove(index);
+			} else {
+				int index = random.nextInt(expected.size());
+				assertEquals(expected.get(index), numbers.get(index));
+			}
+		}
+		
+		assertArrayEquals(expected.toArray(), numbers.toArray());
+	}
+	
+	@Test
+	public void testRemoveByValue() {
+		assertTrue(numbers.remove(Integer.valueOf(2)));
+		assertFalse(numbers.remove(Integer.valueOf(2)));
+		
+		assertArrayEquals(new Object[] {0, 1, 3, 4}, numbers.toArray());
+	}
+	
+	@Test
+	public void testListIteratorTraversal() {
+		ListIterator<Integer> iterator = numbers.listIterator(2);
+		
+		assertEquals(2, iterator.next());
+		assertEquals(3, iterator.next());
+		assertEquals(3, iterator.previous());
+		assertEquals(2, iterator.previous());
+		assertEquals(1, iterator.previous());
+		assertEquals(1, iterator.nextIndex());
+		assertEquals(0, iterator.previousIndex());
+		
+		ListIterator<Integer> atEnd = numbers.listIterator(numbers.size());
+		assertFalse(atEnd.hasNext());
+		assertEquals(4, atEnd.previous());
+		assertThrows(NoSuchElementException.class, () -> numbers.listIterator(0).previous());
+	}
+	
+	@Test
+	public void testListIteratorModifications() {
+		ListIterator<Integer> iterator = numbers.listIterator();
+		while(iterator.hasNext()) {
+			int value = iterator.next();
+			if(value % 2 == 0) {
+				iterator.remove();
+			} else {
+				iterator.set(value * 10);
+				iterator.add(-value);
+			}
+		}
+		assertArrayEquals(new Object[] {10, -1, 30, -3}, numbers.toArray());
+		
+		assertEquals(-3, iterator.previous());
+		iterator.remove();
+		assertThrows(IllegalStateException.class, iterator::remove);
+		iterator.add(7);
+		assertThrows(IllegalStateException.class, () -> iterator.set(8));
+		
+		assertArrayEquals(new Object[] {10, -1, 30, 7}, numbers.toArray());
+		assertEquals(7, numbers.get(3));
+		assertEquals(10, numbers.get(0));
+	}
+	
+	@Test
+	public void testListIteratorConcurrentModification() {
+		ListIterator<Integer> iterator = numbers.listIterator();
+		iterator.next();
+		numbers.add(5);
+		
+		assertThrows(ConcurrentModificationException.class, iterator::next);
+	}
+	
+	@Test
+	public void testStreams() {
+		LinkedListIndexedCollection<Integer> large = new LinkedListIndexedCollection<>();
+		for(int i = 0; i < 100_000; i++) large.add(i);
+		
+		assertEquals(4_999_950_000L, large.parallelStream().mapToLong(Integer::longValue).sum());
+		assertEquals(java.util.List.of(0, 1, 2, 3, 4), numbers.parallelStream().collect(Collectors.toList()));
+	}
+	
+	@Test
+	public void testProcessChunks() {
+		ElementsGetter<Integer> getter = numbers.createElementsGetter();
+		java.util.List<Integer> lengths = new java.util.ArrayList<>();
+		java.util.List<Integer> elements = new java.util.ArrayList<>();
+		
+		getter.processChunks(new Integer[2], (chunk, length) -> {
+			lengths.add(length);
+			for(int i = 0; i < length; i++) elements.add(chunk[i]);
+		});
+		
+		assertEquals(java.util.List.of(2, 2, 1), lengths);
+		assertEquals(java.util.List.of(0, 1, 2, 3, 4), elements);
+		assertEquals(0, getter.nextChunk(new Integer[2]));
+	}
+	
+	@Test
+	public void testNextChunkModifiedCollection() {
+		ElementsGetter<Integer> getter = numbers.createElementsGetter();
+		numbers.remove(0);
+		
+		assertThrows(ConcurrentModificationException.class, () -> getter.nextChunk(new Integer[2]));
+		assertThrows(IllegalArgumentException.class, () -> numbers.createElementsGetter().processChunks(new Integer[0], (chunk, length) -> {}));
+	}
+}
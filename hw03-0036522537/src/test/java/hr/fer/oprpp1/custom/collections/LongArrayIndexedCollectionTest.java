@@ -0,0 +1,123 @@
+package hr.fer.oprpp1.custom.collections;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ConcurrentModificationException;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class LongArrayIndexedCollectionTest {
+	
+	private LongArrayIndexedCollection collection;
+	
+	@BeforeEach
+	public void setUp() {
+		collection = new LongArrayIndexedCollection(2);
+		collection.add(3);
+		collection.add(1);
+		collection.add(4);
+		collection.add(1);
+		collection.add(5);
+	}
+	
+	@Test
+	public void testIllegalInitialCapacity() {
+		assertThrows(IllegalArgumentException.class, () -> new LongArrayIndexedCollection(0));
+	}
+	
+	@Test
+	public void testAddGrowsTheCollection() {
+		assertEquals(5, collection.size());
+		assertArrayEquals(new long[] {3, 1, 4, 1, 5}, collection.toArray());
+	}
+	
+	@Test
+	public void testGetOutOfBounds() {
+		assertThrows(IndexOutOfBoundsException.class, () -> collection.get(5));
+		assertThrows(IndexOutOfBoundsException.class, () -> collection.get(-1));
+	}
+	
+	@Test
+	public void testInsert() {
+		collection.insert(9, 0);
+		collection.insert(2, 3);
+		collection.insert(6, collection.size());
+		
+		assertArrayEquals(new long[] {9, 3, 1, 2, 4, 1, 5, 6}, collection.toArray());
+		assertThrows(IndexOutOfBoundsException.class, () -> collection.insert(0, 9));
+	}
+	
+	@Test
+	public void testRemoveByIndexAndByValue() {
+		collection.remove(0);
+		assertTrue(collection.removeValue(1));
+		assertFalse(collection.removeValue(7));
+		
+		assertArrayEquals(new long[] {4, 1, 5}, collection.toArray());
+		assertEquals(1, collection.indexOf(1));
+		assertFalse(collection.contains(3));
+	}
+	
+	@Test
+	public void testClear() {
+		collection.clear();
+		
+		assertTrue(collection.isEmpty());
+		collection.add(8);
+		assertEquals(8L, collection.get(0));
+	}
+	
+	@Test
+	public void testForEach() {
+		long[] sum = new long[1];
+		collection.forEach(value -> sum[0] += value);
+		
+		assertEquals(14L, sum[0]);
+	}
+	
+	@Test
+	public void testForEachModifyingTheCollection() {
+		assertThrows(ConcurrentModificationException.class, () -> collection.forEach(value -> collection.add(value)));
+	}
+	
+	@Test
+	public void testAddAllAndAddAllSatisfying() {
+		LongArrayIndexedCollection other = new LongArrayIndexedCollection(collection);
+		other.addAll(collection);
+		other.addAllSatisfying(other, value -> value % 2 == 1);
+		
+		assertArrayEquals(new long[] {3, 1, 4, 1, 5, 3, 1, 4, 1, 5, 3, 1, 1, 5, 3, 1, 1, 5}, other.toArray());
+	}
+	
+	@Test
+	public void testEqualsAndHashCode() {
+		LongArrayIndexedCollection copy = new LongArrayIndexedCollection(collection);
+		
+		assertEquals(collection, copy);
+		assertEquals(collection.hashCode(), copy.hashCode());
+		
+		copy.add(9);
+		assertNotEquals(collection, copy);
+	}
+	
+	@Test
+	public void testValuesBeyondIntRange() {
+		long big = 1L << 40;
+		collection.add(big);
+		collection.add(-big);
+		
+		assertEquals(5, collection.indexOf(big));
+		assertEquals(6, collection.indexOf(-big));
+		assertFalse(collection.contains(big + 1));
+		assertFalse(collection.contains((int)big)); //donja 32 bita su nula
+		assertTrue(collection.removeValue(big));
+		assertEquals(-big, collection.get(5));
+	}
+	
+}
@@ -0,0 +1,59 @@
+package hr.fer.oprpp1.custom.collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+public class ObjectStackTest {
+	
+	@Test
+	public void testPushPopPeek() {
+		ObjectStack<String> stack = new ObjectStack<>();
+		stack.push("a");
+		stack.push("b");
+		
+		assertEquals(2, stack.size());
+		assertEquals("b", stack.peek());
+		assertEquals("b", stack.pop());
+		assertEquals("a", stack.pop());
+		assertTrue(stack.isEmpty());
+	}
+	
+	@Test
+	public void testEmptyStack() {
+		ObjectStack<String> stack = new ObjectStack<>();
+		
+		assertThrows(EmptyStackException.class, stack::pop);
+		assertThrows(EmptyStackException.class, stack::peek);
+		assertThrows(NullPointerException.class, () -> stack.push(null));
+	}
+	
+	@Test
+	public void testGrowingAndShrinking() {
+		ObjectStack<Integer> stack = new ObjectStack<>();
+		for(int i = 0; i < 1000; i++) stack.push(i);
+		for(int i = 999; i >= 0; i--) assertEquals(i, stack.pop());
+		
+		stack.push(7);
+		assertEquals(7, stack.peek());
+		
+		stack.clear();
+		assertTrue(stack.isEmpty());
+	}
+	
+	@Test
+	public void testDoubleStack() {
+		DoubleStack doubles = new DoubleStack();
+		for(int i = 0; i < 100; i++) doubles.push(i / 2.0);
+		
+		for(int i = 99; i >= 0; i--) {
+			assertEquals(i / 2.0, doubles.peek());
+			assertEquals(i / 2.0, doubles.pop());
+		}
+		assertThrows(EmptyStackException.class, doubles::pop);
+		assertThrows(EmptyStackException.class, doubles::peek);
+	}
+	
+}
@@ -0,0 +1,149 @@
+package hr.fer.oprpp1.custom.collections;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class OffHeapHashtableTest {
+
+	@Test
+	public void testIndexOfMaximumCapacityFitsIntoBuffers() {
+		assertEquals(1 << 30, OffHeapHashtable.indexBytes(OffHeapHashtable.MAXIMUM_NUMBER_OF_SLOTS, Long.BYTES));
+		assertEquals(1 << 29, OffHeapHashtable.indexBytes(OffHeapHashtable.MAXIMUM_NUMBER_OF_SLOTS, Integer.BYTES));
+		assertThrows(IllegalStateException.class, () -> OffHeapHashtable.indexBytes(1 << 28, Long.BYTES));
+	}
+	
+	@Test
+	public void testFullTableRejectsNewKeysWithoutChangingIt() {
+		OffHeapHashtable table = new OffHeapHashtable(2, 64, 16);
+		int accepted = 0;
+		while(true) {
+			try {
+				table.put("key" + accepted, new byte[] {(byte) accepted});
+			} catch(IllegalStateException ex) {
+				break;
+			}
+			accepted++;
+		}
+		assertEquals(11, accepted);
+		assertEquals(11, table.size());
+		assertFalse(table.containsKey("key11"));
+		
+		assertArrayEquals(new byte[] {0}, table.put("key0", new byte[] {9}));
+		for(int i = 0; i < 1000; i++) { //tombstoni se cisce bez rasta indeksa
+			table.remove("key" + (i % 11));
+			assertNull(table.put("key" + (i % 11), new byte[] {1}));
+		}
+		assertThrows(IllegalStateException.class, () -> table.put("key11", new byte[] {1}));
+		assertEquals(11, table.size());
+		for(int i = 0; i < 11; i++) assertArrayEquals(new byte[] {1}, table.get("key" + i));
+	}
+	
+	@Test
+	public void testPutGetRemove() {
+		OffHeapHashtable table = new OffHeapHashtable();
+
+		assertNull(table.put("Ivana", new byte[] {2}));
+		assertArrayEquals(new byte[] {2}, table.put("Ivana", new byte[] {5}));
+		assertArrayEquals(new byte[] {5}, table.put("Ivana", new byte[] {5, 5}));
+		assertArrayEquals(new byte[] {5, 5}, table.get("Ivana".getBytes(StandardCharsets.UTF_8)));
+		assertTrue(table.containsKey("Ivana"));
+		assertFalse(table.containsKey("Ante"));
+		assertNull(table.get("Ante"));
+
+		assertArrayEquals(new byte[] {5, 5}, table.remove("Ivana"));
+		assertNull(table.remove("Ivana"));
+		assertTrue(table.isEmpty());
+
+		assertThrows(NullPointerException.class, () -> table.put((String) null, new byte[0]));
+		assertThrows(NullPointerException.class, () -> table.put("key", null));
+	}
+
+	@Test
+	public void testValuesAreCopied() {
+		OffHeapHashtable table = new OffHeapHashtable();
+		byte[] key = {1, 2, 3};
+		byte[] value = {4};
+		table.put(key, value);
+
+		key[0] = 9;
+		value[0] = 9;
+		table.get(new byte[] {1, 2, 3})[0] = 9;
+
+		assertArrayEquals(new byte[] {4}, table.get(new byte[] {1, 2, 3}));
+		assertFalse(table.containsKey(key));
+	}
+
+	@Test
+	public void testLongValues() {
+		OffHeapHashtable table = new OffHeapHashtable();
+		table.putLong("count", 42L);
+		table.putLong("count", Long.MIN_VALUE);
+		table.put("text", new byte[] {1});
+
+		assertEquals(Long.MIN_VALUE, table.getLong("count", 0));
+		assertEquals(-1, table.getLong("missing", -1));
+		assertThrows(IllegalStateException.class, () -> table.getLong("text", 0));
+	}
+
+	@Test
+	public void testManyKeysWithCompaction() {
+		Random random = new Random(42);
+		OffHeapHashtable table = new OffHeapHashtable(2, 1 << 16);
+		Map<String, Integer> expected = new HashMap<>();
+
+		for(int i = 0; i < 200_000; i++) {
+			String key = "key-" + random.nextInt(20_000);
+			if(random.nextInt(4) == 0) {
+				table.remove(key);
+				expected.remove(key);
+			} else {
+				table.put(key, new byte[i % 7 + 1]);
+				table.putLong(key, i);
+				expected.put(key, i);
+			}
+		}
+
+		assertEquals(expected.size(), table.size());
+		for(Map.Entry<String, Integer> entry : expected.entrySet()) {
+			assertEquals((long) entry.getValue(), table.getLong(entry.getKey(), -1));
+		}
+		assertTrue(table.offHeapBytes() < 4 << 20);
+	}
+
+	@Test
+	public void testIterator() {
+		OffHeapHashtable table = new OffHeapHashtable();
+		for(int i = 0; i < 100; i++) table.putLong("key" + i, i);
+
+		long sum = 0;
+		Iterator<OffHeapHashtable.Entry> iterator = table.iterator();
+		while(iterator.hasNext()) {
+			OffHeapHashtable.Entry entry = iterator.next();
+			sum += entry.getValueAsLong();
+			assertEquals("key" + entry.getValueAsLong(), entry.getKeyAsString());
+			if(entry.getValueAsLong() % 2 == 0) iterator.remove();
+		}
+
+		assertEquals(4950, sum);
+		assertEquals(50, table.size());
+		assertThrows(IllegalStateException.class, () -> table.iterator().remove());
+
+		Iterator<OffHeapHashtable.Entry> other = table.iterator();
+		table.putLong("new", 1);
+		assertThrows(ConcurrentModificationException.class, other::hasNext);
+	}
+
+}
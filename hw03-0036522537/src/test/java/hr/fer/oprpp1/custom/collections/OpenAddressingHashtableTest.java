@@ -0,0 +1,210 @@
+package hr.fer.oprpp1.custom.collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import hr.fer.oprpp1.custom.collections.SimpleHashtable.TableEntry;
+
+public class OpenAddressingHashtableTest {
+	
+	private OpenAddressingHashtable<Object, Object> emptyHashtable;
+	private OpenAddressingHashtable<String, Integer> examMarks;
+	
+	@BeforeEach
+	public void setUp() {
+		
+		emptyHashtable = new OpenAddressingHashtable<>();
+		
+		examMarks = new OpenAddressingHashtable<>(2);
+		examMarks.put("Ivana", 2);
+		examMarks.put("Ante", 2);
+		examMarks.put("Jasna", 2);
+		examMarks.put("Kristina", 5);
+		examMarks.put("Ivana", 5);
+	}
+	
+	@Test
+	public void testIllegalInitialNumberOfSlots() {
+		assertThrows(IllegalArgumentException.class, () -> new OpenAddressingHashtable<>(0));
+	}
+	
+	@Test
+	public void testPutProvidedNullKey() {
+		assertThrows(NullPointerException.class, () -> examMarks.put(null, 5));
+	}
+	
+	@Test
+	public void testPutWithoutOverwriting() {
+		assertNull(examMarks.put("Test", 4));
+		assertEquals(5, examMarks.size());
+	}
+	
+	@Test
+	public void testPutWithOverwriting() {
+		assertEquals(5, examMarks.put("Kristina", 1));
+		assertEquals(4, examMarks.size());
+		assertEquals(1, examMarks.get("Kristina"));
+	}
+	
+	@Test
+	public void testGetNull() {
+		assertNull(examMarks.get(null));
+	}
+	
+	@Test
+	public void testGetExistingEntry() {
+		assertEquals(5, examMarks.get("Ivana"));
+	}
+	
+	@Test
+	public void testGetNonExistingEntry() {
+		assertNull(examMarks.get("Test"));
+	}
+	
+	@Test
+	public void testContainsKeyMappedToNull() {
+		examMarks.put("Test", null);
+		assertTrue(examMarks.containsKey("Test"));
+	}
+	
+	@Test
+	public void testContainsValue() {
+		assertTrue(examMarks.containsValue(5));
+		assertFalse(examMarks.containsValue(3));
+	}
+	
+	@Test
+	public void testRemoveExistingKey() {
+		assertEquals(5, examMarks.remove("Ivana"));
+		assertEquals(3, examMarks.size());
+		assertFalse(examMarks.containsKey("Ivana"));
+	}
+	
+	@Test
+	public void testRemoveNonExistingKey() {
+		assertNull(examMarks.remove("Test"));
+		assertNull(emptyHashtable.remove(null));
+	}
+	
+	@Test
+	public void testManyPutsAndRemovesKeepAllKeysReachable() {
+		OpenAddressingHashtable<Integer, Integer> table = new OpenAddressingHashtable<>(2);
+		
+		for(int i = 0; i < 10_000; i++) table.put(i, i * 2);
+		for(int i = 0; i < 10_000; i += 3) table.remove(i);
+		for(int i = 0; i < 10_000; i += 6) table.put(i, -i);
+		
+		for(int i = 0; i < 10_000; i++) {
+			if(i % 6 == 0) {
+				assertEquals(-i, table.get(i));
+			} else if(i % 3 == 0) {
+				assertFalse(table.containsKey(i));
+			} else {
+				assertEquals(i * 2, table.get(i));
+			}
+		}
+		assertEquals(10_000 - 10_000 / 3 - 1 + 10_000 / 6 + 1, table.size());
+	}
+	
+	@Test
+	public void testChurnDoesNotLoseEntries() {
+		OpenAddressingHashtable<Integer, Integer> table = new OpenAddressingHashtable<>(16);
+		
+		for(int i = 0; i < 100_000; i++) {
+			table.put(i, i);
+			if(i >= 8) table.remove(i - 8);
+		}
+		
+		assertEquals(8, table.size());
+		for(int i = 100_000 - 8; i < 100_000; i++) assertEquals(i, table.get(i));
+	}
+	
+	@Test
+	public void testToString() {
+		OpenAddressingHashtable<String, Integer> table = new OpenAddressingHashtable<>();
+		table.put("Ivana", 5);
+		
+		assertEquals("[Ivana=5]", table.toString());
+		assertEquals("[]", emptyHashtable.toString());
+	}
+	
+	@Test
+	public void testToArrayNonEmptyHashtable() {
+		TableEntry<String, Integer>[] array = examMarks.toArray();
+		assertEquals(4, array.length);
+	}
+	
+	@Test
+	public void testClear() {
+		examMarks.clear();
+		assertTrue(examMarks.isEmpty());
+		assertNull(examMarks.get("Ivana"));
+	}
+	
+	@Test
+	public void testIteratorVisitsAllEntries() {
+		int sum = 0;
+		int count = 0;
+		for(TableEntry<String, Integer> entry : examMarks) {
+			sum += entry.getValue();
+			count++;
+		}
+		
+		assertEquals(4, count);
+		assertEquals(14, sum);
+	}
+	
+	@Test
+	public void testIteratorSetValueWritesThrough() {
+		for(TableEntry<String, Integer> entry : examMarks) entry.setValue(0);
+		
+		assertEquals(0, examMarks.get("Ivana"));
+		assertFalse(examMarks.containsValue(5));
+	}
+	
+	@Test
+	public void testIteratorRemove() {
+		Iterator<TableEntry<String, Integer>> iterator = examMarks.iterator();
+		while(iterator.hasNext()) {
+			iterator.next();
+			iterator.remove();
+		}
+		
+		assertEquals(0, examMarks.size());
+	}
+	
+	@Test
+	public void testIteratorRemoveTwice() {
+		Iterator<TableEntry<String, Integer>> iterator = examMarks.iterator();
+		iterator.next();
+		iterator.remove();
+		
+		assertThrows(IllegalStateException.class, () -> iterator.remove());
+	}
+	
+	@Test
+	public void testIteratorHasNextModifiedHashtable() {
+		Iterator<TableEntry<String, Integer>> iterator = examMarks.iterator();
+		
+		examMarks.put("Test", 4);
+		assertThrows(ConcurrentModificationException.class, () -> iterator.hasNext());
+	}
+	
+	@Test
+	public void testIteratorRemoveModifedHashtable() {
+		Iterator<TableEntry<String, Integer>> iterator = examMarks.iterator();
+		
+		examMarks.remove("Ivana");
+		assertThrows(ConcurrentModificationException.class, () -> iterator.remove());
+	}
+	
+}
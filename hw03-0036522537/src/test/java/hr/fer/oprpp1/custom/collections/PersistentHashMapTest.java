@@ -0,0 +1,137 @@
+package hr.fer.oprpp1.custom.collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class PersistentHashMapTest {
+
+	/**
+	 * A key whose hash code depends only on its group, so that keys of a group collide.
+	 */
+	private static final class CollidingKey {
+		private final int group, id;
+
+		private CollidingKey(int group, int id) {
+			this.group = group;
+			this.id = id;
+		}
+
+		@Override
+		public int hashCode() {
+			return this.group;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			return obj instanceof CollidingKey && ((CollidingKey)obj).group == this.group && ((CollidingKey)obj).id == this.id;
+		}
+	}
+
+	@Test
+	public void testWithAndWithout() {
+		PersistentHashMap<String, Integer> empty = PersistentHashMap.empty();
+		PersistentHashMap<String, Integer> marks = empty.with("Ivana", 2).with("Ante", 2).with("Jasna", 2).with("Ivana", 5).with("Kristina", null);
+
+		assertEquals(4, marks.size());
+		assertEquals(5, marks.get("Ivana"));
+		assertTrue(marks.containsKey("Kristina"));
+		assertNull(marks.get("Kristina"));
+		assertFalse(marks.containsKey("Josip"));
+		assertTrue(empty.isEmpty());
+		assertThrows(NullPointerException.class, () -> empty.with(null, 1));
+
+		PersistentHashMap<String, Integer> fewer = marks.without("Ante").without("Josip");
+		assertEquals(3, fewer.size());
+		assertFalse(fewer.containsKey("Ante"));
+		assertTrue(marks.containsKey("Ante"));
+		assertSame(marks, marks.with("Ivana", 5));
+		assertSame(marks, marks.without("Josip"));
+	}
+
+	@Test
+	public void testRandomOperationsMatchHashMap() {
+		Random random = new Random(11);
+		PersistentHashMap<Integer, Integer> map = PersistentHashMap.empty();
+		Map<Integer, Integer> expected = new HashMap<>();
+		PersistentHashMap<Integer, Integer> halfway = null;
+		Map<Integer, Integer> expectedHalfway = null;
+
+		for(int i = 0; i < 100_000; i++) {
+			int key = random.nextInt(5000);
+			if(random.nextInt(3) == 0) {
+				map = map.without(key);
+				expected.remove(key);
+			} else {
+				map = map.with(key, i);
+				expected.put(key, i);
+			}
+			if(i == 50_000) {
+				halfway = map;
+				expectedHalfway = new HashMap<>(expected);
+			}
+		}
+
+		assertEquals(expected.size(), map.size());
+		for(Map.Entry<Integer, Integer> entry : expected.entrySet()) assertEquals(entry.getValue(), map.get(entry.getKey()));
+		assertEquals(expectedHalfway.size(), halfway.size());
+		for(Map.Entry<Integer, Integer> entry : expectedHalfway.entrySet()) assertEquals(entry.getValue(), halfway.get(entry.getKey()));
+
+		int iterated = 0;
+		for(PersistentHashMap.Entry<Integer, Integer> entry : map) {
+			assertEquals(expected.get(entry.getKey()), entry.getValue());
+			iterated++;
+		}
+		assertEquals(expected.size(), iterated);
+	}
+
+	@Test
+	public void testCollidingKeys() {
+		PersistentHashMap<CollidingKey, Integer> map = PersistentHashMap.empty();
+		for(int group = 0; group < 3; group++) {
+			for(int id = 0; id < 10; id++) map = map.with(new CollidingKey(group, id), 10 * group + id);
+		}
+
+		assertEquals(30, map.size());
+		assertEquals(17, map.get(new CollidingKey(1, 7)));
+		assertNull(map.get(new CollidingKey(1, 10)));
+
+		for(int id = 0; id < 10; id++) map = map.without(new CollidingKey(1, id));
+		assertEquals(20, map.size());
+		assertFalse(map.containsKey(new CollidingKey(1, 0)));
+		assertEquals(29, map.get(new CollidingKey(2, 9)));
+	}
+
+	@Test
+	public void testTransientAndCopyOf() {
+		SimpleHashtable<Integer, String> table = new SimpleHashtable<>();
+		for(int i = 0; i < 10_000; i++) table.put(i, Integer.toString(i));
+		PersistentHashMap<Integer, String> map = PersistentHashMap.copyOf(table);
+		table.clear();
+
+		assertEquals(10_000, map.size());
+		assertEquals("1234", map.get(1234));
+
+		PersistentHashMap.Transient<Integer, String> builder = map.asTransient();
+		for(int i = 0; i < 5000; i++) builder.remove(i);
+		builder.put(20_000, "x");
+		PersistentHashMap<Integer, String> changed = builder.persistent();
+
+		assertEquals(5001, changed.size());
+		assertNull(changed.get(1234));
+		assertEquals("x", changed.get(20_000));
+		assertEquals(10_000, map.size());
+		assertEquals("1234", map.get(1234));
+		assertThrows(IllegalStateException.class, () -> builder.put(1, "1"));
+	}
+
+}
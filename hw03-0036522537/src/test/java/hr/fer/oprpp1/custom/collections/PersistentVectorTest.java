@@ -0,0 +1,120 @@
+package hr.fer.oprpp1.custom.collections;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class PersistentVectorTest {
+
+	@Test
+	public void testEmptyVector() {
+		PersistentVector<Integer> empty = PersistentVector.empty();
+
+		assertTrue(empty.isEmpty());
+		assertThrows(IndexOutOfBoundsException.class, () -> empty.get(0));
+		assertThrows(NoSuchElementException.class, empty::withoutLast);
+		assertThrows(NullPointerException.class, () -> empty.append(null));
+	}
+
+	@Test
+	public void testOldVersionsAreUnchanged() {
+		PersistentVector<Integer> vector = PersistentVector.empty();
+		java.util.List<PersistentVector<Integer>> versions = new java.util.ArrayList<>();
+		for(int i = 0; i < 2000; i++) {
+			versions.add(vector);
+			vector = vector.append(i);
+		}
+		PersistentVector<Integer> changed = vector.with(1000, -1).withoutLast();
+
+		for(int size = 0; size < versions.size(); size += 37) {
+			PersistentVector<Integer> version = versions.get(size);
+			assertEquals(size, version.size());
+			for(int i = 0; i < size; i++) assertEquals(i, version.get(i));
+		}
+		assertEquals(1000, vector.get(1000));
+		assertEquals(-1, changed.get(1000));
+		assertEquals(1999, changed.size());
+	}
+
+	@Test
+	public void testRandomOperationsMatchJavaUtilList() {
+		Random random = new Random(7);
+		PersistentVector<Integer> vector = PersistentVector.empty();
+		java.util.List<Integer> expected = new java.util.ArrayList<>();
+
+		for(int i = 0; i < 100_000; i++) {
+			int operation = random.nextInt(10);
+			if(operation < 6 || expected.isEmpty()) {
+				vector = vector.append(i);
+				expected.add(i);
+			} else if(operation < 8) {
+				int index = random.nextInt(expected.size());
+				vector = vector.with(index, -i);
+				expected.set(index, -i);
+			} else {
+				vector = vector.withoutLast();
+				expected.remove(expected.size() - 1);
+			}
+		}
+
+		assertEquals(expected.size(), vector.size());
+		assertArrayEquals(expected.toArray(), vector.toArray());
+	}
+
+	@Test
+	public void testTransientBuildsSameVector() {
+		PersistentVector<Integer> prefix = PersistentVector.empty();
+		for(int i = 0; i < 40; i++) prefix = prefix.append(i);
+
+		PersistentVector.Transient<Integer> builder = prefix.asTransient();
+		for(int i = 40; i < 40_000; i++) builder.add(i);
+		builder.set(5, -5).set(39_999, -39_999);
+		PersistentVector<Integer> vector = builder.persistent();
+
+		assertEquals(40, prefix.size());
+		assertEquals(5, prefix.get(5));
+		assertEquals(40_000, vector.size());
+		assertEquals(-5, vector.get(5));
+		assertEquals(-39_999, vector.get(39_999));
+		for(int i = 6; i < 39_999; i++) assertEquals(i, vector.get(i));
+
+		assertThrows(IllegalStateException.class, () -> builder.add(1));
+		assertThrows(IllegalStateException.class, builder::persistent);
+	}
+
+	@Test
+	public void testCopyOfAndElementsGetter() {
+		ArrayIndexedCollection<Integer> collection = new ArrayIndexedCollection<>();
+		for(int i = 0; i < 100; i++) collection.add(i);
+		PersistentVector<Integer> vector = PersistentVector.copyOf(collection);
+		collection.clear();
+
+		ElementsGetter<Integer> getter = vector.createElementsGetter();
+		assertEquals(0, getter.getNextElement());
+		Integer[] buffer = new Integer[50];
+		assertEquals(50, getter.nextChunk(buffer));
+		assertEquals(50, buffer[49]);
+		assertEquals(49, getter.nextChunk(buffer));
+		assertEquals(99, buffer[48]);
+		assertEquals(0, getter.nextChunk(buffer));
+		assertEquals(4950, vector.stream().mapToInt(Integer::intValue).sum());
+	}
+
+	@Test
+	public void testVectorIsImmutable() {
+		PersistentVector<String> vector = PersistentVector.<String>empty().append("a");
+
+		assertThrows(UnsupportedOperationException.class, () -> vector.add("b"));
+		assertThrows(UnsupportedOperationException.class, () -> vector.remove(0));
+		assertThrows(UnsupportedOperationException.class, vector::clear);
+		assertSame(PersistentVector.empty(), vector.withoutLast());
+	}
+
+}
@@ -0,0 +1,111 @@
+package hr.fer.oprpp1.custom.collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ConcurrentModificationException;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class SimpleHashSetTest {
+
+	private SimpleHashSet<String> names;
+
+	@BeforeEach
+	public void setUp() {
+		names = new SimpleHashSet<>(2);
+		names.add("Ivana");
+		names.add("Ante");
+		names.add("Jasna");
+		names.add("Ivana");
+	}
+
+	@Test
+	public void testIllegalExpectedSize() {
+		assertThrows(IllegalArgumentException.class, () -> new SimpleHashSet<>(-1));
+	}
+
+	@Test
+	public void testAddNull() {
+		assertThrows(NullPointerException.class, () -> names.add(null));
+	}
+
+	@Test
+	public void testAddIgnoresDuplicates() {
+		assertEquals(3, names.size());
+		assertFalse(names.addIfAbsent("Ante"));
+		assertTrue(names.addIfAbsent("Kristina"));
+		assertEquals(4, names.size());
+	}
+
+	@Test
+	public void testContainsAndRemove() {
+		assertTrue(names.contains("Jasna"));
+		assertFalse(names.contains("Kristina"));
+		assertFalse(names.contains(null));
+
+		assertTrue(names.remove("Jasna"));
+		assertFalse(names.remove("Jasna"));
+		assertFalse(names.contains("Jasna"));
+		assertEquals(2, names.size());
+	}
+
+	@Test
+	public void testElementsGetter() {
+		Set<Object> fetched = new HashSet<>();
+		ElementsGetter<String> getter = names.createElementsGetter();
+		while(getter.hasNextElement()) fetched.add(getter.getNextElement());
+
+		assertEquals(Set.of("Ivana", "Ante", "Jasna"), fetched);
+		assertEquals(Set.of("Ivana", "Ante", "Jasna"), Set.of(names.toArray()));
+	}
+
+	@Test
+	public void testElementsGetterModifiedSet() {
+		ElementsGetter<String> getter = names.createElementsGetter();
+		names.add("Kristina");
+
+		assertThrows(ConcurrentModificationException.class, getter::hasNextElement);
+	}
+
+	@Test
+	public void testRetainAllAndRemoveAll() {
+		ArrayIndexedCollection<String> kept = new ArrayIndexedCollection<>();
+		kept.add("Ante");
+		kept.add("Jasna");
+		kept.add("Kristina");
+
+		assertTrue(names.retainAll(kept));
+		assertEquals(Set.of("Ante", "Jasna"), Set.of(names.toArray()));
+		assertFalse(names.retainAll(kept));
+
+		assertTrue(names.removeAll(kept));
+		assertTrue(names.isEmpty());
+	}
+
+	@Test
+	public void testRandomOperationsMatchHashSet() {
+		Random random = new Random(7);
+		SimpleHashSet<Integer> set = new SimpleHashSet<>();
+		Set<Integer> expected = new HashSet<>();
+
+		for(int i = 0; i < 100_000; i++) {
+			Integer value = random.nextInt(2_000);
+			if(random.nextBoolean()) {
+				assertEquals(expected.add(value), set.addIfAbsent(value));
+			} else {
+				assertEquals(expected.remove(value), set.remove(value));
+			}
+			assertEquals(expected.size(), set.size());
+		}
+
+		for(int value = 0; value < 2_000; value++) assertEquals(expected.contains(value), set.contains(value));
+	}
+
+}
@@ -6,11 +6,22 @@ import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
 import java.util.ConcurrentModificationException;
+import java.util.HashSet;
 import java.util.Iterator;
+import java.util.Random;
+import java.util.Set;
 
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+import java.util.concurrent.atomic.LongAdder;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 import hr.fer.oprpp1.custom.collections.SimpleHashtable.TableEntry;
 
@@ -163,4 +174,441 @@ public class SimpleHashtableTest {
 		assertThrows(ConcurrentModificationException.class, () -> iterator.remove());
 	}
 	
+	@Test
+	public void testTableGrowsAutomatically() {
+		SimpleHashtable<Integer, Integer> table = new SimpleHashtable<>(2);
+		for(int i = 0; i < 1000; i++) table.put(i, i);
+		
+		assertEquals(1023, table.slot(1023));
+		for(int i = 0; i < 1000; i++) assertEquals(i, table.get(i));
+	}
+	
+	@Test
+	public void testNextPowerOfTwo() {
+		SimpleHashtable<Integer, Integer> table = new SimpleHashtable<>();
+		
+		assertEquals(1, table.nextPowerOfTwo(1));
+		assertEquals(2, table.nextPowerOfTwo(2));
+		assertEquals(4, table.nextPowerOfTwo(3));
+		assertEquals(1024, table.nextPowerOfTwo(1000));
+		assertEquals(1 << 30, table.nextPowerOfTwo(Integer.MAX_VALUE));
+	}
+	
+	@Test
+	public void testKeysDifferingInHigherBitsDoNotCluster() {
+		SimpleHashtable<Integer, Integer> table = new SimpleHashtable<>(64);
+		Set<Integer> slots = new HashSet<>();
+		for(int i = 0; i < 32; i++) {
+			table.put(i << 16, i);
+			slots.add(table.slot(i << 16));
+		}
+		
+		assertEquals(32, slots.size());
+		for(int i = 0; i < 32; i++) assertEquals(i, table.get(i << 16));
+	}
+	
+		@Test
+	public void testIncrementalResizeKeepsAllEntriesReachable() {
+		SimpleHashtable<Integer, Integer> table = new SimpleHashtable<>(2, true);
+		
+		for(int i = 0; i < 10_000; i++) {
+			table.put(i, i);
+			if(i % 7 == 0 && i > 0) table.remove(i / 2);
+			
+			assertEquals(i, table.get(i));
+		}
+		
+		int count = 0;
+		for(TableEntry<Integer, Integer> entry : table) {
+			assertEquals(entry.getValue(), table.get(entry.getKey()));
+			count++;
+		}
+		assertEquals(table.size(), count);
+		assertEquals(count, table.toArray().length);
+	}
+	
+	@Test
+	public void testIncrementalResizeIteratorRemove() {
+		SimpleHashtable<Integer, Integer> table = new SimpleHashtable<>(16, true);
+		for(int i = 0; i < 13; i++) table.put(i, i);
+		
+		Iterator<TableEntry<Integer, Integer>> iterator = table.iterator();
+		int count = 0;
+		while(iterator.hasNext()) {
+			TableEntry<Integer, Integer> entry = iterator.next();
+			if(entry.getKey() % 2 == 0) iterator.remove();
+			count++;
+		}
+		
+		assertEquals(13, count);
+		assertEquals(6, table.size());
+		for(int i = 1; i < 13; i += 2) assertEquals(i, table.get(i));
+	}
+	
+	@Test
+	public void testContainsKeyMappedToNull() {
+		examMarks.put("Test", null);
+		assertTrue(examMarks.containsKey("Test"));
+	}
+	
+	@Test
+	public void testRemoveKeyMappedToNull() {
+		examMarks.put("Test", null);
+		assertNull(examMarks.remove("Test"));
+		assertFalse(examMarks.containsKey("Test"));
+		assertEquals(4, examMarks.size());
+	}
+	
+	@Test
+	public void testPutIfAbsent() {
+		assertEquals(5, examMarks.putIfAbsent("Ivana", 1));
+		assertNull(examMarks.putIfAbsent("Test", 1));
+		
+		assertEquals(5, examMarks.get("Ivana"));
+		assertEquals(1, examMarks.get("Test"));
+		assertEquals(5, examMarks.size());
+	}
+	
+	@Test
+	public void testComputeIfAbsent() {
+		assertEquals(5, examMarks.computeIfAbsent("Ivana", key -> 1));
+		assertEquals(4, examMarks.computeIfAbsent("Test", String::length));
+		assertNull(examMarks.computeIfAbsent("Null", key -> null));
+		
+		assertEquals(5, examMarks.size());
+		assertFalse(examMarks.containsKey("Null"));
+	}
+	
+	@Test
+	public void testComputeIfAbsentModifyingFunction() {
+		assertThrows(ConcurrentModificationException.class, () -> examMarks.computeIfAbsent("Test", key -> examMarks.put("Other", 1)));
+	}
+	
+	@Test
+	public void testMerge() {
+		SimpleHashtable<String, Integer> counters = new SimpleHashtable<>(2);
+		for(String word : "a b a c a b".split(" ")) counters.merge(word, 1, Integer::sum);
+		
+		assertEquals(3, counters.get("a"));
+		assertEquals(2, counters.get("b"));
+		assertEquals(1, counters.get("c"));
+	}
+	
+	@Test
+	public void testMergeRemovesEntryForNullResult() {
+		assertNull(examMarks.merge("Ivana", 1, (oldValue, value) -> null));
+		
+		assertFalse(examMarks.containsKey("Ivana"));
+		assertEquals(3, examMarks.size());
+	}
+	
+	@Test
+	public void testMergeToNullHashesKeyOnce() {
+		for(int count : new int[] {3, 20}) {
+			SimpleHashtable<CollidingKey, Integer> table = new SimpleHashtable<>(16);
+			for(int i = 0; i < count; i++) table.put(new CollidingKey(4 * i), i);
+			
+			CollidingKey key = new CollidingKey(4);
+			assertNull(table.merge(key, 1, (oldValue, value) -> null));
+			
+			assertEquals(1, key.hashCodeCalls);
+			assertEquals(count - 1, table.size());
+			assertFalse(table.containsKey(new CollidingKey(4)));
+			for(int i = 0; i < count; i++) {
+				if(i != 1) assertEquals(i, table.get(new CollidingKey(4 * i)));
+			}
+		}
+	}
+	
+	@Test
+	public void testSpliteratorCoversAllEntriesAfterSplitting() {
+		SimpleHashtable<Integer, Integer> table = new SimpleHashtable<>(16, true);
+		for(int i = 0; i < 1000; i++) table.put(i, i);
+		
+		Spliterator<TableEntry<Integer, Integer>> spliterator = table.spliterator();
+		assertTrue(spliterator.hasCharacteristics(Spliterator.SIZED));
+		assertEquals(1000, spliterator.estimateSize());
+		
+		Spliterator<TableEntry<Integer, Integer>> prefix = spliterator.trySplit();
+		int[] count = new int[1];
+		prefix.forEachRemaining(entry -> count[0]++);
+		while(spliterator.tryAdvance(entry -> count[0]++));
+		
+		assertEquals(1000, count[0]);
+	}
+	
+	@Test
+	public void testStreams() {
+		SimpleHashtable<Integer, Integer> table = new SimpleHashtable<>(16, true);
+		for(int i = 0; i < 100_000; i++) table.put(i, 2 * i);
+		
+		assertEquals(9_999_900_000L, table.parallelStream().mapToLong(TableEntry::getValue).sum());
+		assertEquals(java.util.Set.of("Ivana", "Ante", "Jasna", "Kristina"),
+				examMarks.stream().map(TableEntry::getKey).collect(Collectors.toSet()));
+	}
+	
+	@Test
+	public void testParallelForEach() {
+		SimpleHashtable<Integer, Integer> table = new SimpleHashtable<>();
+		for(int i = 0; i < 10_000; i++) table.put(i, 1);
+		
+		LongAdder sum = new LongAdder();
+		table.parallelForEach(entry -> sum.add(entry.getValue()), 3);
+		
+		assertEquals(10_000, sum.sum());
+	}
+	
+	@Test
+	public void testCollidingComparableKeys() {
+		SimpleHashtable<String, Integer> table = new SimpleHashtable<>(16, true);
+		String[] keys = collidingStrings(10);
+		for(int i = 0; i < keys.length; i++) table.put(keys[i], i);
+		
+		assertEquals(1024, table.size());
+		for(int i = 0; i < keys.length; i++) assertEquals(i, table.get(keys[i]));
+		assertNull(table.get("AaAaAaAaAaAaAaAaAaAaBB"));
+		
+		for(int i = 0; i < keys.length; i += 2) assertEquals(i, table.remove(keys[i]));
+		for(int i = 0; i < keys.length; i++) assertEquals(i % 2 == 0 ? null : (Integer) i, table.get(keys[i]));
+		
+		int count = 0;
+		for(Iterator<TableEntry<String, Integer>> iterator = table.iterator(); iterator.hasNext(); count++) {
+			iterator.next();
+			iterator.remove();
+		}
+		assertEquals(512, count);
+		assertEquals(0, table.size());
+	}
+	
+	@Test
+	public void testTreeBinFindsEqualKeysOfAnotherClass() {
+		SimpleHashtable<java.util.List<Integer>, Integer> table = new SimpleHashtable<>(64);
+		for(int i = 0; i < 20; i++) table.put(new java.util.ArrayList<>(java.util.List.of(i, -31 * i)), i); //svi imaju hashCode 961
+		
+		for(int i = 0; i < 20; i++) {
+			java.util.List<Integer> equalKey = new java.util.LinkedList<>(java.util.List.of(i, -31 * i));
+			assertEquals(i, table.get(equalKey));
+			assertEquals(i, table.put(equalKey, -i));
+		}
+		assertEquals(20, table.size());
+		
+		for(int i = 0; i < 20; i += 2) assertEquals(-i, table.remove(new java.util.LinkedList<>(java.util.List.of(i, -31 * i))));
+		assertEquals(10, table.size());
+		for(int i = 1; i < 20; i += 2) assertEquals(-i, table.get(java.util.List.of(i, -31 * i)));
+	}
+	
+	@Test
+	public void testEntriesOfSlotKeepInsertionOrder() {
+		SimpleHashtable<CollidingKey, Integer> table = new SimpleHashtable<>(2, true);
+		for(int i = 0; i < 200; i++) {
+			table.put(new CollidingKey(4 * i), i); //svi imaju hashCode 0, pa su u istom slotu i kad postanu stablo
+			if(i % 3 == 0) table.remove(new CollidingKey(4 * (i - 3)));
+		}
+		table.computeIfAbsent(new CollidingKey(800), key -> table.get(new CollidingKey(4)));
+		
+		int previous = -1;
+		for(SimpleHashtable.TableEntry<CollidingKey, Integer> entry : table) {
+			assertTrue(entry.getKey().id > previous);
+			previous = entry.getKey().id;
+		}
+		assertEquals(800, previous);
+	}
+	
+	@Test
+	public void testTreeBinFindsEqualComparableKeysOfAnotherClass() {
+		SimpleHashtable<NumberKey, Integer> table = new SimpleHashtable<>(64);
+		for(int i = 0; i < 20; i++) {
+			table.put(new FirstNumberKey(i), i);
+			table.put(new SecondNumberKey(-1 - i), -1 - i);
+		}
+		
+		for(int i = 0; i < 20; i++) {
+			assertEquals(i, table.get(new SecondNumberKey(i)));
+			assertTrue(table.containsKey(new SecondNumberKey(i)));
+			assertEquals(-1 - i, table.get(new FirstNumberKey(-1 - i)));
+		}
+		
+		for(int i = 0; i < 20; i++) assertEquals(i, table.put(new SecondNumberKey(i), 100 + i));
+		assertEquals(40, table.size());
+		for(int i = 0; i < 20; i += 2) assertEquals(100 + i, table.remove(new SecondNumberKey(i)));
+		assertEquals(30, table.size());
+	}
+	
+	@Test
+	public void testCollidingKeysMatchHashMap() {
+		Random random = new Random(42);
+		SimpleHashtable<CollidingKey, Integer> table = new SimpleHashtable<>(2, true);
+		java.util.Map<CollidingKey, Integer> expected = new java.util.HashMap<>();
+		
+		for(int i = 0; i < 20_000; i++) {
+			CollidingKey key = new CollidingKey(random.nextInt(500));
+			switch(random.nextInt(4)) {
+			case 0:
+				table.remove(key);
+				expected.remove(key);
+				break;
+			case 1:
+				table.merge(key, 1, (a, b) -> a + b > 3 ? null : a + b);
+				expected.merge(key, 1, (a, b) -> a + b > 3 ? null : a + b);
+				break;
+			default:
+				table.put(key, i);
+				expected.put(key, i);
+			}
+		}
+		
+		assertEquals(expected.size(), table.size());
+		for(java.util.Map.Entry<CollidingKey, Integer> entry : expected.entrySet()) {
+			assertEquals(entry.getValue(), table.get(entry.getKey()));
+		}
+		
+		int count = 0;
+		for(TableEntry<CollidingKey, Integer> entry : table) {
+			assertEquals(expected.get(entry.getKey()), entry.getValue());
+			count++;
+		}
+		assertEquals(expected.size(), count);
+	}
+	
+	@Test
+	public void testSaveAndLoad(@TempDir Path directory) throws IOException {
+		SimpleHashtable<String, Integer> table = new SimpleHashtable<>(2, true);
+		for(int i = 0; i < 10_000; i++) table.put("key" + i, i);
+		table.put("nothing", null);
+		for(String key : collidingStrings(5)) table.put(key, -1);
+		
+		Path file = directory.resolve("table.bin");
+		table.save(file, BinaryCodec.STRING, BinaryCodec.INTEGER);
+		SimpleHashtable<String, Integer> loaded = SimpleHashtable.load(file, BinaryCodec.STRING, BinaryCodec.INTEGER);
+		
+		assertEquals(table.size(), loaded.size());
+		for(TableEntry<String, Integer> entry : table) assertEquals(entry.getValue(), loaded.get(entry.getKey()));
+		assertTrue(loaded.containsKey("nothing"));
+		
+		loaded.put("key10000", 10_000);
+		assertEquals(10_000, loaded.remove("key10000"));
+		assertEquals(-1, loaded.remove(collidingStrings(5)[3]));
+	}
+	
+	@Test
+	public void testLoadRejectsInvalidFiles(@TempDir Path directory) throws IOException {
+		Path file = directory.resolve("table.bin");
+		Files.write(file, new byte[] {1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12});
+		assertThrows(IOException.class, () -> SimpleHashtable.load(file, BinaryCodec.STRING, BinaryCodec.STRING));
+		
+		SimpleHashtable<String, String> table = new SimpleHashtable<>();
+		table.put("a", "b");
+		table.save(file, BinaryCodec.STRING, BinaryCodec.STRING);
+		byte[] bytes = Files.readAllBytes(file);
+		Files.write(file, Arrays.copyOf(bytes, bytes.length - 1));
+		assertThrows(IOException.class, () -> SimpleHashtable.load(file, BinaryCodec.STRING, BinaryCodec.STRING));
+	}
+	
+		/**
+	 * Creates all strings made of {@code n} blocks which are either "Aa" or "BB", all of which have the same hash code.
+	 */
+	private static String[] collidingStrings(int n) {
+		String[] strings = new String[1 << n];
+		for(int i = 0; i < strings.length; i++) {
+			StringBuilder sb = new StringBuilder();
+			for(int bit = 0; bit < n; bit++) sb.append((i >>> bit & 1) == 0 ? "Aa" : "BB");
+			strings[i] = sb.toString();
+		}
+		return strings;
+	}
+	
+	/**
+	 * A key which is not comparable and whose hash code takes only four values.
+	 */
+	private static abstract class NumberKey implements Comparable<NumberKey> {
+		
+		private final int value;
+		
+		private NumberKey(int value) {
+			this.value = value;
+		}
+		
+		@Override
+		public int hashCode() {
+			return 0;
+		}
+		
+		@Override
+		public boolean equals(Object obj) {
+			return obj instanceof NumberKey && ((NumberKey) obj).value == this.value;
+		}
+		
+		@Override
+		public int compareTo(NumberKey other) {
+			return Integer.compare(this.value, other.value);
+		}
+	}
+	
+	private static class FirstNumberKey extends NumberKey {
+		
+		private FirstNumberKey(int value) {
+			super(value);
+		}
+	}
+	
+	private static class SecondNumberKey extends NumberKey {
+		
+		private SecondNumberKey(int value) {
+			super(value);
+		}
+	}
+	
+	private static class CollidingKey {
+		
+		private final int id;
+		
+		private int hashCodeCalls;
+		
+		private CollidingKey(int id) {
+			this.id = id;
+		}
+		
+		@Override
+		public int hashCode() {
+			this.hashCodeCalls++;
+			return this.id % 4;
+		}
+		
+		@Override
+		public boolean equals(Object obj) {
+			return obj instanceof CollidingKey && ((CollidingKey) obj).id == this.id;
+		}
+	}
+	
+	@Test
+	public void testElementsGetterChunksMatchIterator() {
+		SimpleHashtable<Integer, Integer> table = new SimpleHashtable<>(2, true);
+		for(int i = 0; i < 1000; i++) table.put(i * 31, i);
+		
+		java.util.List<Integer> expected = new java.util.ArrayList<>();
+		for(TableEntry<Integer, Integer> entry : table) expected.add(entry.getKey());
+		
+		java.util.List<Integer> keys = new java.util.ArrayList<>();
+		@SuppressWarnings("unchecked")
+		TableEntry<Integer, Integer>[] buffer = (TableEntry<Integer, Integer>[])new TableEntry<?, ?>[7];
+		ElementsGetter<TableEntry<Integer, Integer>> getter = table.createElementsGetter();
+		getter.getNextElement();
+		getter.processChunks(buffer, (chunk, length) -> {
+			for(int i = 0; i < length; i++) keys.add(chunk[i].getKey());
+		});
+		
+		assertEquals(expected.subList(1, expected.size()), keys);
+		assertFalse(getter.hasNextElement());
+	}
+	
+	@Test
+	public void testElementsGetterModifiedTable() {
+		ElementsGetter<TableEntry<String, Integer>> getter = examMarks.createElementsGetter();
+		examMarks.remove("Ante");
+		
+		@SuppressWarnings("unchecked")
+		TableEntry<String, Integer>[] buffer = (TableEntry<String, Integer>[])new TableEntry<?, ?>[4];
+		assertThrows(ConcurrentModificationException.class, () -> getter.nextChunk(buffer));
+		assertThrows(ConcurrentModificationException.class, getter::hasNextElement);
+	}
 }
@@ -0,0 +1,143 @@
+package hr.fer.oprpp1.custom.collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Random;
+import java.util.TreeMap;
+
+import org.junit.jupiter.api.Test;
+
+import hr.fer.oprpp1.custom.collections.SimpleTreeMap.TreeEntry;
+
+public class SimpleTreeMapTest {
+	
+	@Test
+	public void testPutGetRemove() {
+		SimpleTreeMap<String, Integer> map = new SimpleTreeMap<>();
+		assertNull(map.put("Ivana", 2));
+		assertNull(map.put("Ante", 2));
+		assertNull(map.put("Jasna", 2));
+		assertEquals(2, map.put("Ivana", 5));
+		
+		assertEquals(3, map.size());
+		assertEquals(5, map.get("Ivana"));
+		assertTrue(map.containsKey("Ante"));
+		assertEquals("[Ante=2, Ivana=5, Jasna=2]", map.toString());
+		
+		assertEquals(2, map.remove("Ante"));
+		assertNull(map.remove("Ante"));
+		assertFalse(map.containsKey("Ante"));
+		assertEquals(2, map.size());
+		
+		assertThrows(NullPointerException.class, () -> map.put(null, 1));
+	}
+	
+	@Test
+	public void testClosestEntries() {
+		SimpleTreeMap<Integer, String> map = new SimpleTreeMap<>();
+		for(int i = 10; i <= 50; i += 10) map.put(i, "v" + i);
+		
+		assertEquals(20, map.floorEntry(20).getKey());
+		assertEquals(20, map.floorEntry(25).getKey());
+		assertNull(map.floorEntry(5));
+		assertEquals(30, map.ceilingEntry(25).getKey());
+		assertNull(map.ceilingEntry(55));
+		assertEquals(10, map.lowerEntry(20).getKey());
+		assertEquals(30, map.higherEntry(20).getKey());
+		assertEquals(10, map.firstEntry().getKey());
+		assertEquals(50, map.lastEntry().getKey());
+	}
+	
+	@Test
+	public void testRangeGetterAndSubMap() {
+		SimpleTreeMap<Integer, Integer> map = new SimpleTreeMap<>();
+		for(int i = 0; i < 100; i += 2) map.put(i, i);
+		
+		ElementsGetter<TreeEntry<Integer, Integer>> getter = map.createElementsGetter(10, false, 20, true);
+		StringBuilder sb = new StringBuilder();
+		getter.processRemaining(entry -> sb.append(entry.getKey()).append(' '));
+		assertEquals("12 14 16 18 20 ", sb.toString());
+		
+		assertFalse(map.createElementsGetter(11, true, 11, true).hasNextElement());
+		assertThrows(IllegalArgumentException.class, () -> map.createElementsGetter(20, true, 10, true));
+		
+		SimpleTreeMap<Integer, Integer> subMap = map.subMap(91, true, 200, true);
+		assertEquals("[92=92, 94=94, 96=96, 98=98]", subMap.toString());
+		subMap.remove(92);
+		assertTrue(map.containsKey(92));
+	}
+	
+	@Test
+	public void testComparator() {
+		SimpleTreeMap<String, Integer> map = new SimpleTreeMap<>(Comparator.reverseOrder());
+		map.put("a", 1);
+		map.put("c", 3);
+		map.put("b", 2);
+		
+		assertEquals("[c=3, b=2, a=1]", map.toString());
+		assertEquals("b", map.ceilingEntry("bb").getKey());
+	}
+	
+	@Test
+	public void testIteratorRemoveAndConcurrentModification() {
+		SimpleTreeMap<Integer, Integer> map = new SimpleTreeMap<>();
+		for(int i = 0; i < 10; i++) map.put(i, i);
+		
+		Iterator<TreeEntry<Integer, Integer>> iterator = map.iterator();
+		while(iterator.hasNext()) {
+			if(iterator.next().getKey() % 3 != 0) iterator.remove();
+		}
+		iterator.remove();
+		assertEquals("[0=0, 3=3, 6=6]", map.toString());
+		assertThrows(IllegalStateException.class, iterator::remove);
+		
+		ElementsGetter<TreeEntry<Integer, Integer>> getter = map.createElementsGetter();
+		getter.getNextElement();
+		map.put(100, 100);
+		assertThrows(ConcurrentModificationException.class, getter::getNextElement);
+	}
+	
+	@Test
+	public void testMatchesTreeMap() {
+		Random random = new Random(42);
+		SimpleTreeMap<Integer, Integer> map = new SimpleTreeMap<>();
+		NavigableMap<Integer, Integer> expected = new TreeMap<>();
+		
+		for(int i = 0; i < 50_000; i++) {
+			int key = random.nextInt(2_000);
+			if(random.nextInt(3) == 0) {
+				assertEquals(expected.remove(key), map.remove(key));
+			} else {
+				assertEquals(expected.put(key, i), map.put(key, i));
+			}
+		}
+		
+		assertEquals(expected.size(), map.size());
+		Iterator<TreeEntry<Integer, Integer>> iterator = map.iterator();
+		for(Map.Entry<Integer, Integer> entry : expected.entrySet()) {
+			TreeEntry<Integer, Integer> actual = iterator.next();
+			assertEquals(entry.getKey(), actual.getKey());
+			assertEquals(entry.getValue(), actual.getValue());
+		}
+		assertFalse(iterator.hasNext());
+		
+		for(int key = -1; key <= 2_001; key += 7) {
+			assertEquals(expected.floorKey(key), keyOf(map.floorEntry(key)));
+			assertEquals(expected.higherKey(key), keyOf(map.higherEntry(key)));
+		}
+	}
+	
+	private static Integer keyOf(TreeEntry<Integer, Integer> entry) {
+		return entry == null ? null : entry.getKey();
+	}
+	
+}
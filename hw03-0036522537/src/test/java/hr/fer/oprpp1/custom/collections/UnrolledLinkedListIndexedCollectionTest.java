@@ -0,0 +1,117 @@
+package hr.fer.oprpp1.custom.collections;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.Random;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class UnrolledLinkedListIndexedCollectionTest {
+	
+	private UnrolledLinkedListIndexedCollection<Integer> numbers;
+	
+	@BeforeEach
+	public void setUp() {
+		numbers = new UnrolledLinkedListIndexedCollection<>(4);
+		for(int i = 0; i < 10; i++) numbers.add(i);
+	}
+	
+	@Test
+	public void testIllegalChunkCapacity() {
+		assertThrows(IllegalArgumentException.class, () -> new UnrolledLinkedListIndexedCollection<>(1));
+	}
+	
+	@Test
+	public void testGetAndIndexOf() {
+		for(int i = 0; i < 10; i++) {
+			assertEquals(i, numbers.get(i));
+			assertEquals(i, numbers.indexOf(i));
+		}
+		
+		assertEquals(-1, numbers.indexOf(10));
+		assertThrows(IndexOutOfBoundsException.class, () -> numbers.get(10));
+	}
+	
+	@Test
+	public void testInsertIntoFullChunk() {
+		numbers.insert(-1, 1);
+		numbers.insert(-2, 0);
+		numbers.insert(-3, numbers.size());
+		
+		assertArrayEquals(new Object[] {-2, 0, -1, 1, 2, 3, 4, 5, 6, 7, 8, 9, -3}, numbers.toArray());
+	}
+	
+	@Test
+	public void testRemove() {
+		numbers.remove(0);
+		numbers.remove(numbers.size() - 1);
+		assertTrue(numbers.remove(Integer.valueOf(5)));
+		assertFalse(numbers.remove(Integer.valueOf(5)));
+		
+		assertArrayEquals(new Object[] {1, 2, 3, 4, 6, 7, 8}, numbers.toArray());
+	}
+	
+	@Test
+	public void testRandomOperationsMatchJavaUtilList() {
+		java.util.List<Integer> expected = new ArrayList<>();
+		for(int i = 0; i < 10; i++) expected.add(i);
+		
+		Random random = new Random(42);
+		for(int step = 0; step < 5000; step++) {
+			int operation = random.nextInt(3);
+			if(operation == 0 || expected.isEmpty()) {
+				int position = random.nextInt(expected.size() + 1);
+				numbers.insert(step, position);
+				expected.add(position, step);
+			} else if(operation == 1) {
+				int index = random.nextInt(expected.size());
+				numbers.remove(index);
+				expected.remove(index);
+			} else {
+				int index = random.nextInt(expected.size());
+				assertEquals(expected.get(index), numbers.get(index));
+			}
+		}
+		
+		assertEquals(expected.size(), numbers.size());
+		assertArrayEquals(expected.toArray(), numbers.toArray());
+	}
+	
+	@Test
+	public void testElementsGetter() {
+		ElementsGetter<Integer> getter = numbers.createElementsGetter();
+		assertEquals(0, getter.getNextElement());
+		assertEquals(1, getter.getNextElement());
+		
+		int[] sum = new int[1];
+		getter.processRemaining(value -> sum[0] += value);
+		
+		assertEquals(44, sum[0]);
+		assertFalse(getter.hasNextElement());
+	}
+	
+	@Test
+	public void testElementsGetterConcurrentModification() {
+		ElementsGetter<Integer> getter = numbers.createElementsGetter();
+		numbers.add(10);
+		
+		assertThrows(ConcurrentModificationException.class, getter::getNextElement);
+	}
+	
+	@Test
+	public void testClear() {
+		numbers.clear();
+		
+		assertTrue(numbers.isEmpty());
+		numbers.add(1);
+		assertEquals(1, numbers.get(0));
+	}
+	
+}